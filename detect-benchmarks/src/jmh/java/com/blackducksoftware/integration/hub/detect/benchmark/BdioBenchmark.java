@@ -0,0 +1,112 @@
+/**
+ * detect-benchmarks
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.blackducksoftware.integration.hub.detect.workflow.bdio.StreamingBdioWriter;
+import com.google.gson.Gson;
+import com.synopsys.integration.hub.bdio.BdioNodeFactory;
+import com.synopsys.integration.hub.bdio.BdioPropertyHelper;
+import com.synopsys.integration.hub.bdio.SimpleBdioFactory;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.SimpleBdioDocument;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+/**
+ * Writes the same graph with the streaming writer Detect uses and with SimpleBdioDocument, which the streaming writer replaced, as a reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BdioBenchmark {
+    private static final String PROJECT_NAME = "benchmark";
+    private static final String PROJECT_VERSION = "1.0.0";
+
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public FixtureSize size;
+
+    private DependencyGraph dependencyGraph;
+    private ExternalId projectExternalId;
+    private File outputFile;
+    private BdioNodeFactory bdioNodeFactory;
+    private StreamingBdioWriter streamingBdioWriter;
+    private SimpleBdioFactory simpleBdioFactory;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        dependencyGraph = new FixtureGenerator().dependencyGraph(size, externalIdFactory);
+        projectExternalId = externalIdFactory.createMavenExternalId("com.example", PROJECT_NAME, PROJECT_VERSION);
+        outputFile = File.createTempFile("benchmark_bdio", ".jsonld");
+
+        final BdioPropertyHelper bdioPropertyHelper = new BdioPropertyHelper();
+        bdioNodeFactory = new BdioNodeFactory(bdioPropertyHelper);
+        streamingBdioWriter = new StreamingBdioWriter(bdioNodeFactory, bdioPropertyHelper, new Gson());
+        simpleBdioFactory = new SimpleBdioFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile.toPath());
+    }
+
+    @Benchmark
+    public long writeStreamingBdio() throws IOException {
+        return writeStreamingBdio(false);
+    }
+
+    @Benchmark
+    public long writeCompressedStreamingBdio() throws IOException {
+        return writeStreamingBdio(true);
+    }
+
+    @Benchmark
+    public long writeSimpleBdioDocument() throws IOException {
+        final SimpleBdioDocument simpleBdioDocument = simpleBdioFactory.createSimpleBdioDocument(PROJECT_NAME, PROJECT_NAME, PROJECT_VERSION, projectExternalId, dependencyGraph);
+        simpleBdioFactory.writeSimpleBdioDocumentToFile(outputFile, simpleBdioDocument);
+        return outputFile.length();
+    }
+
+    private long writeStreamingBdio(final boolean compress) throws IOException {
+        streamingBdioWriter.writeBdioFile(outputFile, compress, bdioNodeFactory.createBillOfMaterials(PROJECT_NAME, PROJECT_NAME, PROJECT_VERSION),
+            bdioNodeFactory.createProject(PROJECT_NAME, PROJECT_VERSION, projectExternalId.createBdioId(), projectExternalId), dependencyGraph);
+        return outputFile.length();
+    }
+}
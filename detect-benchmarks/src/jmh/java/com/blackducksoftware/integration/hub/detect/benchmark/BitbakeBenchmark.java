@@ -0,0 +1,73 @@
+/**
+ * detect-benchmarks
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.blackducksoftware.integration.hub.detect.detector.bitbake.GraphParserTransformer;
+import com.paypal.digraph.parser.GraphParser;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BitbakeBenchmark {
+    private static final String TARGET_ARCHITECTURE = "i586-poky-linux";
+
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public FixtureSize size;
+
+    private byte[] recipeDepends;
+    private GraphParser graphParser;
+    private GraphParserTransformer graphParserTransformer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        recipeDepends = new FixtureGenerator().bitbakeRecipeDepends(size).getBytes(StandardCharsets.UTF_8);
+        graphParser = new GraphParser(new ByteArrayInputStream(recipeDepends));
+        graphParserTransformer = new GraphParserTransformer();
+    }
+
+    @Benchmark
+    public DependencyGraph transform() {
+        return graphParserTransformer.transform(graphParser, TARGET_ARCHITECTURE);
+    }
+
+    @Benchmark
+    public DependencyGraph parseAndTransform() {
+        return graphParserTransformer.transform(new GraphParser(new ByteArrayInputStream(recipeDepends)), TARGET_ARCHITECTURE);
+    }
+}
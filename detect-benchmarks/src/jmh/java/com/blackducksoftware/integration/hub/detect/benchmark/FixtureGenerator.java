@@ -0,0 +1,347 @@
+/**
+ * detect-benchmarks
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+/**
+ * Generates synthetic inputs for every benchmarked format. All formats describe the same dependency tree: a direct dependency for every twentieth component,
+ * each component requiring three others down to a depth of three. Components are picked arithmetically, so the output only depends on the size and the same
+ * components show up in many subtrees, the way shared libraries do in real projects.
+ */
+public class FixtureGenerator {
+    private static final int COMPONENTS_PER_ROOT = 20;
+    private static final int CHILDREN_PER_COMPONENT = 3;
+    private static final int MAX_DEPTH = 3;
+    private static final int ROOTS_PER_MAVEN_MODULE = 25;
+
+    public String mavenDependencyTree(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("[INFO] Scanning for projects...\n");
+        final int modules = Math.max(1, getRootCount(size) / ROOTS_PER_MAVEN_MODULE);
+        for (int module = 0; module < modules; module++) {
+            output.append("[INFO] ------------------------------------------------------------------------\n");
+            output.append("[INFO] Building module-").append(module).append(" 1.0.0\n");
+            output.append("[INFO] ------------------------------------------------------------------------\n");
+            output.append("[INFO] \n");
+            output.append("[INFO] --- maven-dependency-plugin:2.10:tree (default-cli) @ module-").append(module).append(" ---\n");
+            output.append("[INFO] com.example:module-").append(module).append(":jar:1.0.0\n");
+            for (int root = module; root < getRootCount(size); root += modules) {
+                walkRoot(size, root, (depth, component, last, leaf) -> {
+                    output.append("[INFO] ");
+                    repeat(output, "|  ", depth);
+                    output.append(last ? "\\- " : "+- ").append(group(component)).append(':').append(name(component)).append(":jar:").append(version(component)).append(":compile\n");
+                });
+            }
+        }
+        output.append("[INFO] ------------------------------------------------------------------------\n");
+        output.append("[INFO] BUILD SUCCESS\n");
+        return output.toString();
+    }
+
+    public String gradleDependencies(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("\n------------------------------------------------------------\nRoot project\n------------------------------------------------------------\n\n");
+        for (final String configuration : new String[] { "compileClasspath - Compile classpath for source set 'main'.", "runtimeClasspath - Runtime classpath of source set 'main'." }) {
+            output.append(configuration).append('\n');
+            walkTree(size, (depth, component, last, leaf) -> {
+                repeat(output, "|    ", depth);
+                output.append(last ? "\\--- " : "+--- ").append(group(component)).append(':').append(name(component)).append(':').append(version(component)).append('\n');
+            });
+            output.append('\n');
+        }
+        output.append("DETECT META DATA START\n");
+        output.append("rootProjectName:benchmark\nrootProjectVersion:1.0.0\n");
+        output.append("projectPath:/benchmark\nprojectGroup:com.example\nprojectName:benchmark\nprojectVersion:1.0.0\n");
+        output.append("DETECT META DATA END\n");
+        return output.toString();
+    }
+
+    public String npmLsJson(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("{\n  \"name\": \"benchmark\",\n  \"version\": \"1.0.0\",\n  \"dependencies\": {");
+        walkTree(size, new TreeVisitor() {
+            private boolean firstSibling = true;
+
+            @Override
+            public void enter(final int depth, final int component, final boolean last, final boolean leaf) {
+                output.append(firstSibling ? "\n" : ",\n");
+                output.append('"').append(name(component)).append("\": {\"version\": \"").append(version(component)).append("\", \"from\": \"").append(name(component)).append("@^")
+                    .append(version(component)).append("\", \"resolved\": \"").append(resolvedUrl(component)).append('"');
+                if (!leaf) {
+                    output.append(", \"dependencies\": {");
+                }
+                firstSibling = !leaf;
+            }
+
+            @Override
+            public void exit(final int depth, final int component, final boolean leaf) {
+                if (!leaf) {
+                    output.append("\n}");
+                }
+                output.append('}');
+                firstSibling = false;
+            }
+        });
+        output.append("\n  }\n}\n");
+        return output.toString();
+    }
+
+    public String npmPackageLock(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("{\n  \"name\": \"benchmark\",\n  \"version\": \"1.0.0\",\n  \"lockfileVersion\": 1,\n  \"requires\": true,\n  \"dependencies\": {\n");
+        for (int component = 0; component < size.getComponents(); component++) {
+            if (component > 0) {
+                output.append(",\n");
+            }
+            output.append("    \"").append(name(component)).append("\": {\n");
+            output.append("      \"version\": \"").append(version(component)).append("\",\n");
+            output.append("      \"resolved\": \"").append(resolvedUrl(component)).append("\",\n");
+            output.append("      \"integrity\": \"sha512-").append(Integer.toHexString(name(component).hashCode())).append("\",\n");
+            output.append("      \"requires\": {\n");
+            for (int child = 1; child <= CHILDREN_PER_COMPONENT; child++) {
+                final int required = getChild(size, component, child);
+                output.append("        \"").append(name(required)).append("\": \"^").append(version(required)).append(child < CHILDREN_PER_COMPONENT ? "\",\n" : "\"\n");
+            }
+            output.append("      }\n    }");
+        }
+        output.append("\n  }\n}\n");
+        return output.toString();
+    }
+
+    public String npmPackageJson(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("{\n  \"name\": \"benchmark\",\n  \"version\": \"1.0.0\",\n  \"dependencies\": {\n");
+        for (int root = 0; root < getRootCount(size); root++) {
+            final int component = getRoot(size, root);
+            output.append(root > 0 ? ",\n" : "").append("    \"").append(name(component)).append("\": \"^").append(version(component)).append('"');
+        }
+        output.append("\n  }\n}\n");
+        return output.toString();
+    }
+
+    public String yarnLock(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("# THIS IS AN AUTOGENERATED FILE. DO NOT EDIT THIS FILE DIRECTLY.\n# yarn lockfile v1\n\n\n");
+        for (int component = 0; component < size.getComponents(); component++) {
+            output.append(name(component)).append("@^").append(version(component)).append(", ").append(name(component)).append('@').append(version(component)).append(":\n");
+            output.append("  version \"").append(version(component)).append("\"\n");
+            output.append("  resolved \"").append(resolvedUrl(component)).append("#0123456789abcdef\"\n");
+            output.append("  dependencies:\n");
+            for (int child = 1; child <= CHILDREN_PER_COMPONENT; child++) {
+                final int required = getChild(size, component, child);
+                output.append("    ").append(name(required)).append(" \"^").append(version(required)).append("\"\n");
+            }
+            output.append('\n');
+        }
+        return output.toString();
+    }
+
+    public List<String> yarnList(final FixtureSize size) {
+        final List<String> output = new ArrayList<>();
+        output.add("yarn list v1.9.4");
+        walkTree(size, (depth, component, last, leaf) -> {
+            final StringBuilder line = new StringBuilder();
+            repeat(line, "\u2502  ", depth);
+            line.append(last ? "\u2514\u2500 " : "\u251C\u2500 ").append(name(component)).append('@').append(depth == 0 ? "" : "^").append(version(component));
+            output.add(line.toString());
+        });
+        output.add("Done in 1.23s.");
+        return output;
+    }
+
+    public String gemfileLock(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("GEM\n  remote: https://rubygems.org/\n  specs:\n");
+        for (int component = 0; component < size.getComponents(); component++) {
+            output.append("    ").append(name(component)).append(" (").append(version(component)).append(")\n");
+            for (int child = 1; child <= CHILDREN_PER_COMPONENT; child++) {
+                output.append("      ").append(name(getChild(size, component, child))).append(" (~> 1.0)\n");
+            }
+        }
+        output.append("\nPLATFORMS\n  ruby\n\nDEPENDENCIES\n");
+        for (int root = 0; root < getRootCount(size); root++) {
+            output.append("  ").append(name(getRoot(size, root))).append('\n');
+        }
+        output.append("\nBUNDLED WITH\n   1.16.2\n");
+        return output.toString();
+    }
+
+    public String composerJson(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("{\n    \"name\": \"example/benchmark\",\n    \"version\": \"1.0.0\",\n    \"require\": {\n        \"php\": \">=7.1\"");
+        for (int root = 0; root < getRootCount(size); root++) {
+            output.append(",\n        \"").append(composerName(getRoot(size, root))).append("\": \"^1.0\"");
+        }
+        output.append("\n    }\n}\n");
+        return output.toString();
+    }
+
+    public String composerLock(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("{\n    \"content-hash\": \"f21d893d503577676cbecd6dbff311d9\",\n    \"packages\": [\n");
+        for (int component = 0; component < size.getComponents(); component++) {
+            if (component > 0) {
+                output.append(",\n");
+            }
+            output.append("        {\n            \"name\": \"").append(composerName(component)).append("\",\n");
+            output.append("            \"version\": \"v").append(version(component)).append("\",\n");
+            output.append("            \"require\": {\n                \"php\": \">=5.5.9\"");
+            for (int child = 1; child <= CHILDREN_PER_COMPONENT; child++) {
+                output.append(",\n                \"").append(composerName(getChild(size, component, child))).append("\": \"~1.0\"");
+            }
+            output.append("\n            },\n            \"type\": \"library\",\n            \"license\": [\n                \"MIT\"\n            ]\n        }");
+        }
+        output.append("\n    ],\n    \"packages-dev\": [],\n    \"aliases\": [],\n    \"platform\": {\n        \"php\": \">=7.1\"\n    }\n}\n");
+        return output.toString();
+    }
+
+    public List<String> pipFreeze(final FixtureSize size) {
+        final List<String> output = new ArrayList<>();
+        for (int component = 0; component < size.getComponents(); component++) {
+            output.add(name(component) + "==" + version(component));
+        }
+        return output;
+    }
+
+    public List<String> pipenvGraph(final FixtureSize size) {
+        final List<String> output = new ArrayList<>();
+        walkTree(size, (depth, component, last, leaf) -> {
+            final StringBuilder line = new StringBuilder();
+            if (depth == 0) {
+                line.append(name(component)).append("==").append(version(component));
+            } else {
+                repeat(line, "  ", depth);
+                line.append("- ").append(name(component)).append(" [required: >=1.0, installed: ").append(version(component)).append(']');
+            }
+            output.add(line.toString());
+        });
+        return output;
+    }
+
+    public String bitbakeRecipeDepends(final FixtureSize size) {
+        final StringBuilder output = new StringBuilder();
+        output.append("digraph depends {\n");
+        for (int component = 0; component < size.getComponents(); component++) {
+            output.append('"').append(name(component)).append("\" [label=\"").append(name(component)).append("\\n:").append(version(component)).append("-r0\\n/poky/meta/recipes/")
+                .append(name(component)).append('/').append(name(component)).append('_').append(version(component)).append(".bb\"]\n");
+            for (int child = 1; child <= CHILDREN_PER_COMPONENT; child++) {
+                output.append('"').append(name(component)).append("\" -> \"").append(name(getChild(size, component, child))).append("\"\n");
+            }
+        }
+        output.append("}\n");
+        return output.toString();
+    }
+
+    public DependencyGraph dependencyGraph(final FixtureSize size, final ExternalIdFactory externalIdFactory) {
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final Dependency[] dependencies = new Dependency[size.getComponents()];
+        final Dependency[] parents = new Dependency[MAX_DEPTH + 1];
+        walkTree(size, (depth, component, last, leaf) -> {
+            if (dependencies[component] == null) {
+                dependencies[component] = new Dependency(name(component), version(component), externalIdFactory.createMavenExternalId(group(component), name(component), version(component)));
+            }
+            if (depth == 0) {
+                graph.addChildToRoot(dependencies[component]);
+            } else {
+                graph.addParentWithChild(parents[depth - 1], dependencies[component]);
+            }
+            parents[depth] = dependencies[component];
+        });
+        return graph;
+    }
+
+    private void walkTree(final FixtureSize size, final TreeVisitor visitor) {
+        for (int root = 0; root < getRootCount(size); root++) {
+            walkRoot(size, root, visitor);
+        }
+    }
+
+    private void walkRoot(final FixtureSize size, final int root, final TreeVisitor visitor) {
+        visit(size, getRoot(size, root), 0, root == getRootCount(size) - 1, visitor);
+    }
+
+    private void visit(final FixtureSize size, final int component, final int depth, final boolean last, final TreeVisitor visitor) {
+        final boolean leaf = depth == MAX_DEPTH;
+        visitor.enter(depth, component, last, leaf);
+        if (!leaf) {
+            for (int child = 1; child <= CHILDREN_PER_COMPONENT; child++) {
+                visit(size, getChild(size, component, child), depth + 1, child == CHILDREN_PER_COMPONENT, visitor);
+            }
+        }
+        visitor.exit(depth, component, leaf);
+    }
+
+    private int getRootCount(final FixtureSize size) {
+        return Math.max(1, size.getComponents() / COMPONENTS_PER_ROOT);
+    }
+
+    private int getRoot(final FixtureSize size, final int root) {
+        return root * (size.getComponents() / getRootCount(size));
+    }
+
+    private int getChild(final FixtureSize size, final int component, final int child) {
+        return (component * 7 + child * 131) % size.getComponents();
+    }
+
+    private String name(final int component) {
+        return "component-" + component;
+    }
+
+    private String composerName(final int component) {
+        return "vendor/" + name(component);
+    }
+
+    private String group(final int component) {
+        return "com.example.group" + component % 40;
+    }
+
+    private String version(final int component) {
+        return "1." + component % 20 + "." + component % 7;
+    }
+
+    private String resolvedUrl(final int component) {
+        return "https://registry.npmjs.org/" + name(component) + "/-/" + name(component) + "-" + version(component) + ".tgz";
+    }
+
+    private void repeat(final StringBuilder output, final String indentation, final int times) {
+        for (int i = 0; i < times; i++) {
+            output.append(indentation);
+        }
+    }
+
+    private interface TreeVisitor {
+        void enter(int depth, int component, boolean last, boolean leaf);
+
+        default void exit(final int depth, final int component, final boolean leaf) {
+        }
+    }
+}
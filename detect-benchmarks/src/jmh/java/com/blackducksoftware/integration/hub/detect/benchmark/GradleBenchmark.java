@@ -0,0 +1,75 @@
+/**
+ * detect-benchmarks
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleReportParser;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GradleBenchmark {
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public FixtureSize size;
+
+    private File dependenciesFile;
+    private GradleReportParser gradleReportParser;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // the parser reads the report the gradle inspector wrote, so the fixture is written to disk once per trial
+        dependenciesFile = File.createTempFile("benchmark_dependencyGraph", ".txt");
+        Files.write(dependenciesFile.toPath(), new FixtureGenerator().gradleDependencies(size).getBytes(StandardCharsets.UTF_8));
+        gradleReportParser = new GradleReportParser(new ExternalIdFactory());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dependenciesFile.toPath());
+    }
+
+    @Benchmark
+    public Optional<DetectCodeLocation> parseDependencies() {
+        return gradleReportParser.parseDependencies(dependenciesFile);
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * detect-benchmarks
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenCodeLocationPackager;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenParseResult;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MavenBenchmark {
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public FixtureSize size;
+
+    private String dependencyTree;
+    private MavenCodeLocationPackager mavenCodeLocationPackager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dependencyTree = new FixtureGenerator().mavenDependencyTree(size);
+        mavenCodeLocationPackager = new MavenCodeLocationPackager(new ExternalIdFactory());
+    }
+
+    @Benchmark
+    public List<MavenParseResult> extractCodeLocations() {
+        return mavenCodeLocationPackager.extractCodeLocations("/benchmark", dependencyTree, "", "");
+    }
+}
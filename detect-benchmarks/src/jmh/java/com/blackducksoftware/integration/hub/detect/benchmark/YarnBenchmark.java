@@ -0,0 +1,80 @@
+/**
+ * detect-benchmarks
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnListParser;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockParser;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class YarnBenchmark {
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public FixtureSize size;
+
+    private String yarnLock;
+    private List<String> yarnList;
+    private Map<String, String> yarnLockVersionMap;
+    private YarnLockParser yarnLockParser;
+    private YarnListParser yarnListParser;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final FixtureGenerator fixtureGenerator = new FixtureGenerator();
+        yarnLock = fixtureGenerator.yarnLock(size);
+        yarnList = fixtureGenerator.yarnList(size);
+        yarnLockParser = new YarnLockParser();
+        yarnListParser = new YarnListParser(new ExternalIdFactory(), yarnLockParser);
+        yarnLockVersionMap = parseYarnLock();
+    }
+
+    @Benchmark
+    public Map<String, String> parseYarnLock() throws IOException {
+        return yarnLockParser.getYarnLockResolvedVersionMap(new BufferedReader(new StringReader(yarnLock)));
+    }
+
+    @Benchmark
+    public DependencyGraph parseYarnList() {
+        return yarnListParser.parseYarnList(yarnLockVersionMap, yarnList);
+    }
+}
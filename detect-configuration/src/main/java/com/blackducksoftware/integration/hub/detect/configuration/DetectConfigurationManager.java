@@ -52,6 +52,7 @@ public class DetectConfigurationManager {
     // properties to be updated
     private String policyCheckFailOnSeverities;
     private int hubSignatureScannerParallelProcessors;
+    private int parallelProcessors;
     private boolean hubOfflineMode;
     // end properties to be updated
 
@@ -64,6 +65,7 @@ public class DetectConfigurationManager {
         resolveTildeInPaths();
         resolvePolicyProperties();
         resolveSignatureScannerProperties(detectOptions);
+        resolveParallelProcessorProperties();
         resolveBomToolSearchProperties();
 
         updateDetectProperties(detectOptions);
@@ -131,6 +133,14 @@ public class DetectConfigurationManager {
         }
     }
 
+    private void resolveParallelProcessorProperties() {
+        int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        if (parallelProcessors == -1) {
+            parallelProcessors = Runtime.getRuntime().availableProcessors();
+        }
+        this.parallelProcessors = parallelProcessors;
+    }
+
     private void resolveBomToolSearchProperties() {
         bomToolSearchDirectoryExclusions = new ArrayList<>();
         for (final String exclusion : detectConfiguration.getStringArrayProperty(DetectProperty.DETECT_BOM_TOOL_SEARCH_EXCLUSION, PropertyAuthority.None)) {
@@ -149,6 +159,9 @@ public class DetectConfigurationManager {
         updateOptionValue(detectOptions, DetectProperty.DETECT_BLACKDUCK_SIGNATURE_SCANNER_PARALLEL_PROCESSORS, String.valueOf(hubSignatureScannerParallelProcessors));
         detectConfiguration.setDetectProperty(DetectProperty.DETECT_BLACKDUCK_SIGNATURE_SCANNER_PARALLEL_PROCESSORS, String.valueOf(hubSignatureScannerParallelProcessors));
 
+        updateOptionValue(detectOptions, DetectProperty.DETECT_PARALLEL_PROCESSORS, String.valueOf(parallelProcessors));
+        detectConfiguration.setDetectProperty(DetectProperty.DETECT_PARALLEL_PROCESSORS, String.valueOf(parallelProcessors));
+
         updateOptionValue(detectOptions, DetectProperty.BLACKDUCK_OFFLINE_MODE, String.valueOf(hubOfflineMode));
         detectConfiguration.setDetectProperty(DetectProperty.BLACKDUCK_OFFLINE_MODE, String.valueOf(hubOfflineMode));
 
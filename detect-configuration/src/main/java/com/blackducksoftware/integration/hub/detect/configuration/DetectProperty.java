@@ -87,6 +87,26 @@ public enum DetectProperty {
     @HelpDescription("If true, the default behavior of printing the Detect Results will be suppressed.")
     DETECT_SUPPRESS_RESULTS_OUTPUT("detect.suppress.results.output", "3.0.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
 
+    @HelpGroup(primary = GROUP_GENERAL)
+    @HelpDescription("The number of threads to run processes in parallel, defaults to 1, but if you specify -1, the number of processors on the machine will be used.")
+    DETECT_PARALLEL_PROCESSORS("detect.parallel.processors", "5.0.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
+    @HelpGroup(primary = GROUP_GENERAL, additional = { SEARCH_GROUP_DEBUG })
+    @HelpDescription("The largest diagnostic zip, in megabytes, that diagnostic mode will create. Files that would make the zip larger are left out and listed in the log.")
+    DETECT_DIAGNOSTIC_ZIP_MAX_SIZE("detect.diagnostic.zip.max.size", "5.0.0", PropertyType.INTEGER, PropertyAuthority.None, "2048"),
+
+    @HelpGroup(primary = GROUP_BLACKDUCK_CONFIGURATION, additional = { SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("The number of BDIO files to upload to Black Duck at the same time.")
+    DETECT_BDIO_UPLOAD_PARALLEL_UPLOADS("detect.bdio.upload.parallel.uploads", "5.0.0", PropertyType.INTEGER, PropertyAuthority.None, "4"),
+
+    @HelpGroup(primary = GROUP_BLACKDUCK_CONFIGURATION, additional = { SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("The number of times a failed BDIO upload is retried, waiting twice as long before each retry.")
+    DETECT_BDIO_UPLOAD_RETRIES("detect.bdio.upload.retries", "5.0.0", PropertyType.INTEGER, PropertyAuthority.None, "3"),
+
+    @HelpGroup(primary = GROUP_BLACKDUCK_CONFIGURATION, additional = { SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("The number of requests to make to Black Duck at the same time while waiting for the BOM to be updated and creating reports.")
+    DETECT_BLACKDUCK_PARALLEL_REQUESTS("detect.blackduck.parallel.requests", "5.0.0", PropertyType.INTEGER, PropertyAuthority.None, "4"),
+
     @HelpGroup(primary = GROUP_CLEANUP)
     @HelpDescription("If true the files created by Detect will be cleaned up.")
     DETECT_CLEANUP("detect.cleanup", "3.2.0", PropertyType.BOOLEAN, PropertyAuthority.None, "true"),
@@ -269,6 +289,10 @@ public enum DetectProperty {
     @HelpDescription("The output directory for all scan files. If not set, the scan files will be in a 'scan' subdirectory of the output path.")
     DETECT_SCAN_OUTPUT_PATH("detect.scan.output.path", "3.0.0", PropertyType.STRING, PropertyAuthority.DirectoryManager),
 
+    @HelpGroup(primary = GROUP_PATHS)
+    @HelpDescription("The output directory for the run profile (run_profile.json and run_profile.csv). If not set, the run profile will be in a 'profiles/<run id>' subdirectory of the output path, which cleanup does not remove.")
+    DETECT_RUN_PROFILE_OUTPUT_PATH("detect.run.profile.output.path", "5.0.0", PropertyType.STRING, PropertyAuthority.DirectoryManager),
+
     @HelpGroup(primary = GROUP_SBT, additional = { GROUP_PATHS })
     @HelpDescription("Depth the sbt detector will use to search for report files.")
     DETECT_SBT_REPORT_DEPTH("detect.sbt.report.search.depth", "4.3.0", PropertyType.INTEGER, PropertyAuthority.None, "3"),
@@ -378,6 +402,14 @@ public enum DetectProperty {
     @HelpDescription("By default, all tools will be included. If you want to include only specific tools, specify the ones to include here. Exclusion rules always win.")
     DETECT_INCLUDED_DETECTOR_TYPES("detect.included.detector.types", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_DETECTOR)
+    @HelpDescription("If true, the results of detectors whose build files have not changed since a previous run will be reused instead of running the build tool again. Cached results are kept in the tools directory of the output path. Only the npm, maven and gradle detectors are cached. For maven and gradle only the build files up to four directories below the detector's directory are compared, so a changed parent pom or build file outside of that tree, or a new SNAPSHOT or dynamic version published to a repository, will not be picked up until the cache is cleared.")
+    DETECT_EXTRACTION_CACHE_ENABLED("detect.extraction.cache.enabled", "5.0.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
+    @HelpGroup(primary = GROUP_DETECTOR)
+    @HelpDescription("The maximum size of the extraction cache in megabytes. When it is exceeded, the least recently used results are removed.")
+    DETECT_EXTRACTION_CACHE_MAX_SIZE("detect.extraction.cache.max.size", "5.0.0", PropertyType.INTEGER, PropertyAuthority.None, "512"),
+
     @HelpGroup(primary = GROUP_PROJECT_INFO, additional = { SEARCH_GROUP_PROJECT })
     @HelpDescription("An override for the name detect will use for the code location it creates. If supplied and multiple code locations are found, detect will append an index to each code location name.")
     DETECT_CODE_LOCATION_NAME("detect.code.location.name", "4.0.0", PropertyType.STRING, PropertyAuthority.None),
@@ -482,6 +514,10 @@ public enum DetectProperty {
     @HelpDescription("The names of the projects to include")
     DETECT_GRADLE_INCLUDED_PROJECTS("detect.gradle.included.projects", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_GRADLE)
+    @HelpDescription("If true, gradle is asked to run in a daemon so every gradle project found in this run, and later runs, can reuse a warm daemon instead of starting a new JVM. Ignored if the build command already chooses --daemon or --no-daemon.")
+    DETECT_GRADLE_DAEMON("detect.gradle.daemon", "5.0.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_NUGET)
     @HelpDescription("The path to the Nuget.Config file to supply to the nuget exe")
     DETECT_NUGET_CONFIG_PATH("detect.nuget.config.path", "4.0.0", PropertyType.STRING, PropertyAuthority.None),
@@ -667,6 +703,10 @@ public enum DetectProperty {
     @HelpDescription("Enables you to adjust the depth to which detect will search when creating signature scanner exclusion patterns")
     DETECT_BLACKDUCK_SIGNATURE_SCANNER_EXCLUSION_PATTERN_SEARCH_DEPTH("detect.blackduck.signature.scanner.exclusion.pattern.search.depth", "5.0.0", PropertyType.INTEGER, PropertyAuthority.None, "4"),
 
+    @HelpGroup(primary = GROUP_SIGNATURE_SCANNER, additional = { SEARCH_GROUP_SIGNATURE_SCANNER, SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("If greater than 0, a directory scan target containing more files than this is split so that each of its subdirectories is scanned as a separate target (with its own code location) and the directory itself is scanned without them. Subdirectories that are still too large are split again.")
+    DETECT_BLACKDUCK_SIGNATURE_SCANNER_SPLIT_FILE_COUNT("detect.blackduck.signature.scanner.split.file.count", "5.0.0", PropertyType.INTEGER, PropertyAuthority.None, "0"),
+
     @Deprecated
     @DetectDeprecation(description = "This property is changing. Please use --detect.blackduck.signature.scanner.paths in the future.", failInVersion = DetectMajorVersion.SIX, removeInVersion = DetectMajorVersion.SEVEN)
     @HelpGroup(primary = GROUP_SIGNATURE_SCANNER, additional = { SEARCH_GROUP_SIGNATURE_SCANNER, SEARCH_GROUP_HUB })
@@ -748,7 +788,7 @@ public enum DetectProperty {
     DETECT_HUB_SIGNATURE_SCANNER_PARALLEL_PROCESSORS("detect.hub.signature.scanner.parallel.processors", "3.0.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
 
     @HelpGroup(primary = GROUP_SIGNATURE_SCANNER, additional = { SEARCH_GROUP_SIGNATURE_SCANNER, SEARCH_GROUP_BLACKDUCK })
-    @HelpDescription("The number of scans to run in parallel, defaults to 1, but if you specify -1, the number of processors on the machine will be used.")
+    @HelpDescription("The number of scans to run in parallel, defaults to 1, but if you specify -1, the number of processors on the machine will be used. Fewer scans run at once when the available memory, or the container's memory limit, cannot hold that many scanners of the configured scanner memory. The status summary shows each target's scan time, and with debug logging also its file count, size and throughput.")
     DETECT_BLACKDUCK_SIGNATURE_SCANNER_PARALLEL_PROCESSORS("detect.blackduck.signature.scanner.parallel.processors", "4.2.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
 
     @Deprecated
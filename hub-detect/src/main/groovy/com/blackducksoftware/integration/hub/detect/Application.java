@@ -134,6 +134,9 @@ public class Application implements ApplicationRunner {
             logger.debug("Detect will NOT attempt to run.");
         }
 
+        //Deliver any events still queued for asynchronous listeners.
+        eventSystem.shutdown();
+
         logger.info("All detect actions completed.");
 
         //Determine how detect should actually exit
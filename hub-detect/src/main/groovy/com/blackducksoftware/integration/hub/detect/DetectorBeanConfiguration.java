@@ -80,7 +80,6 @@ import com.blackducksoftware.integration.hub.detect.detector.hex.Rebar3TreeParse
 import com.blackducksoftware.integration.hub.detect.detector.hex.RebarDetector;
 import com.blackducksoftware.integration.hub.detect.detector.hex.RebarExtractor;
 import com.blackducksoftware.integration.hub.detect.detector.maven.MavenCliExtractor;
-import com.blackducksoftware.integration.hub.detect.detector.maven.MavenCodeLocationPackager;
 import com.blackducksoftware.integration.hub.detect.detector.maven.MavenExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.detector.maven.MavenPomDetector;
 import com.blackducksoftware.integration.hub.detect.detector.maven.MavenPomWrapperDetector;
@@ -294,14 +293,9 @@ public class DetectorBeanConfiguration {
         return new RebarExtractor(executableRunner, rebar3TreeParser());
     }
 
-    @Bean
-    public MavenCodeLocationPackager mavenCodeLocationPackager() {
-        return new MavenCodeLocationPackager(externalIdFactory);
-    }
-
     @Bean
     public MavenCliExtractor mavenCliExtractor() {
-        return new MavenCliExtractor(executableRunner, mavenCodeLocationPackager(), detectConfiguration);
+        return new MavenCliExtractor(executableRunner, externalIdFactory, detectConfiguration);
     }
 
     @Bean
@@ -316,7 +310,7 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public NpmLockfilePackager npmLockfilePackager() {
-        return new NpmLockfilePackager(gson, externalIdFactory);
+        return new NpmLockfilePackager(externalIdFactory);
     }
 
     @Bean
@@ -421,7 +415,7 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public YarnLockExtractor yarnLockExtractor() {
-        return new YarnLockExtractor(externalIdFactory, yarnListParser(), executableRunner, detectConfiguration);
+        return new YarnLockExtractor(externalIdFactory, yarnLockParser(), yarnListParser(), executableRunner, detectConfiguration);
     }
 
     @Bean
@@ -41,6 +41,7 @@ import com.blackducksoftware.integration.hub.detect.tool.docker.DockerProperties
 import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.BlackDuckSignatureScannerOptions;
 import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.OfflineBlackDuckSignatureScanner;
 import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.OnlineBlackDuckSignatureScanner;
+import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.SignatureScanScheduler;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
@@ -185,14 +186,16 @@ public class RunBeanConfiguration {
 
     @Lazy
     @Bean
-    public OnlineBlackDuckSignatureScanner onlineBlackDuckSignatureScanner(BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions, ScanJobManager scanJobManager, HubServerConfig hubServerConfig) {
-        return new OnlineBlackDuckSignatureScanner(directoryManager, detectFileFinder(), codeLocationNameManager(), blackDuckSignatureScannerOptions, eventSystem, scanJobManager, hubServerConfig);
+    public OnlineBlackDuckSignatureScanner onlineBlackDuckSignatureScanner(BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions, ScanJobManager scanJobManager,
+        SignatureScanScheduler signatureScanScheduler, HubServerConfig hubServerConfig) {
+        return new OnlineBlackDuckSignatureScanner(directoryManager, codeLocationNameManager(), blackDuckSignatureScannerOptions, eventSystem, scanJobManager, signatureScanScheduler, hubServerConfig);
     }
 
     @Lazy
     @Bean
-    public OfflineBlackDuckSignatureScanner offlineBlackDuckSignatureScanner(BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions, ScanJobManager scanJobManager) {
-        return new OfflineBlackDuckSignatureScanner(directoryManager, detectFileFinder(), codeLocationNameManager(), blackDuckSignatureScannerOptions, eventSystem, scanJobManager);
+    public OfflineBlackDuckSignatureScanner offlineBlackDuckSignatureScanner(BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions, ScanJobManager scanJobManager,
+        SignatureScanScheduler signatureScanScheduler) {
+        return new OfflineBlackDuckSignatureScanner(directoryManager, codeLocationNameManager(), blackDuckSignatureScannerOptions, eventSystem, scanJobManager, signatureScanScheduler);
     }
 
 }
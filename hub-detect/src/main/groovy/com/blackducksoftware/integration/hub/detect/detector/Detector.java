@@ -25,12 +25,26 @@ package com.blackducksoftware.integration.hub.detect.detector;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectorSearchExcludedDirectories;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
 
 public abstract class Detector {
+    /*
+     * Nested build files (module poms, sub-project gradle files) are looked for this many levels below the detector's directory when computing extraction cache inputs, never descending into the default search exclusions.
+     */
+    protected static final int EXTRACTION_CACHE_INPUT_DEPTH = 4;
+    protected static final Set<String> EXTRACTION_CACHE_EXCLUDED_DIRECTORIES = Arrays.stream(DetectorSearchExcludedDirectories.values())
+                                                                                   .map(DetectorSearchExcludedDirectories::getDirectoryName)
+                                                                                   .collect(Collectors.toSet());
+
     protected DetectorEnvironment environment;
     private final String name;
     private final DetectorType detectorType;
@@ -56,6 +70,34 @@ public abstract class Detector {
      */
     public abstract Extraction extract(ExtractionId extractionId);
 
+    /*
+     * Called with the number of threads the extraction may use for its own work, which is one while other extractions run alongside it. Detectors that parse in parallel override this, the rest ignore it.
+     */
+    public Extraction extract(final ExtractionId extractionId, final int parallelProcessors) {
+        return extract(extractionId);
+    }
+
+    /*
+     * Detectors that modify the source directory or other shared state while extracting should return false so they are never extracted alongside another detector of the same type.
+     */
+    public boolean isConcurrentExtractionSafe() {
+        return true;
+    }
+
+    /*
+     * The files whose contents fully determine the extraction (lockfiles, build files). Detectors that return files here may have their extraction reused from the extraction cache while these files are unchanged.
+     */
+    public List<File> getExtractionCacheInputs() {
+        return Collections.emptyList();
+    }
+
+    /*
+     * Every property the detector, its executable finder and its extractor read. Their values are part of the extraction cache key, so list them all or a changed setting will reuse a stale extraction.
+     */
+    public List<DetectProperty> getExtractionCacheProperties() {
+        return Collections.emptyList();
+    }
+
     public String getName() {
         return name;
     }
@@ -24,20 +24,33 @@
 package com.blackducksoftware.integration.hub.detect.detector;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
 import com.synopsys.integration.util.ExcludedIncludedFilter;
 
 public class DetectorEnvironment {
+    private final Logger logger = LoggerFactory.getLogger(DetectorEnvironment.class);
 
     private final File directory;
+    private DirectoryListing directoryListing;
     private final Set<Detector> appliedToParent;
     private final int depth;
     private final ExcludedIncludedFilter bomToolFilter;
     private final boolean forceNestedSearch;
 
     public DetectorEnvironment(final File directory, final Set<Detector> appliedToParent, final int depth, final ExcludedIncludedFilter bomToolFilter, final boolean forceNestedSearch) {
+        this(directory, null, appliedToParent, depth, bomToolFilter, forceNestedSearch);
+    }
+
+    public DetectorEnvironment(final File directory, final DirectoryListing directoryListing, final Set<Detector> appliedToParent, final int depth, final ExcludedIncludedFilter bomToolFilter,
+        final boolean forceNestedSearch) {
         this.directory = directory;
+        this.directoryListing = directoryListing;
         this.appliedToParent = appliedToParent;
         this.depth = depth;
         this.bomToolFilter = bomToolFilter;
@@ -48,6 +61,21 @@ public class DetectorEnvironment {
         return directory;
     }
 
+    /*
+     * The listing taken when the directory was searched. Detectors should use it to decide applicability rather than reading the directory again.
+     */
+    public synchronized DirectoryListing getDirectoryListing() {
+        if (directoryListing == null) {
+            try {
+                directoryListing = DirectoryListing.read(directory);
+            } catch (final IOException e) {
+                logger.debug(String.format("Could not list the contents of %s: %s", directory.getAbsolutePath(), e.getMessage()));
+                directoryListing = DirectoryListing.empty(directory);
+            }
+        }
+        return directoryListing;
+    }
+
     public Set<Detector> getAppliedToParent() {
         return appliedToParent;
     }
@@ -59,7 +59,7 @@ public class BitbakeDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        foundBuildEnvScript = detectFileFinder.findFile(environment.getDirectory(), detectConfiguration.getProperty(DetectProperty.DETECT_INIT_BUILD_ENV_NAME, PropertyAuthority.None));
+        foundBuildEnvScript = detectFileFinder.findFile(environment.getDirectoryListing(), detectConfiguration.getProperty(DetectProperty.DETECT_INIT_BUILD_ENV_NAME, PropertyAuthority.None));
         if (foundBuildEnvScript == null) {
             return new FileNotFoundDetectorResult(DetectProperty.DETECT_INIT_BUILD_ENV_NAME.getDefaultValue());
         }
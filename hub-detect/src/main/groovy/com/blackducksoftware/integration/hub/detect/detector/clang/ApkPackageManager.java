@@ -23,7 +23,12 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -42,20 +47,82 @@ public class ApkPackageManager extends ClangLinuxPackageManager {
     private static final String INFO_SUBCOMMAND = "info";
     private static final String WHO_OWNS_OPTION = "--who-owns";
     private static final String GET_ARCHITECTURE_OPTION = "--print-arch";
+    private static final String DEFAULT_INSTALLED_DATABASE = "/lib/apk/db/installed";
     private static final Logger logger = LoggerFactory.getLogger(ApkPackageManager.class);
+    private final File installedDatabase;
     private String architecture = null;
 
     public ApkPackageManager() {
+        this(new File(DEFAULT_INSTALLED_DATABASE));
+    }
+
+    public ApkPackageManager(final File installedDatabase) {
         super(logger, PKG_MGR_NAME, PKG_MGR_NAME, Arrays.asList(Forge.ALPINE), VERSION_COMMAND_ARGS,
             VERSION_OUTPUT_EXPECTED_TEXT, Arrays.asList(INFO_SUBCOMMAND, WHO_OWNS_OPTION));
+        this.installedDatabase = installedDatabase;
     }
 
+    // The installed database lists each package (P: name, V: version, A: arch) followed by its directories (F:) and the files in each (R:).
     @Override
-    protected void addToPackageList(final ExecutableRunner executableRunner, File workingDirectory, final List<PackageDetails> dependencyDetailsList, final String queryPackageOutput) throws ExecutableRunnerException {
+    protected Optional<PackageOwnershipIndex> buildOwnershipIndex(final File workingDirectory, final ExecutableRunner executableRunner) throws IOException, ExecutableRunnerException {
+        if (!installedDatabase.isFile()) {
+            logger.debug(String.format("No apk database found at %s", installedDatabase.getAbsolutePath()));
+            return Optional.empty();
+        }
+        final PackageOwnershipIndex index = new PackageOwnershipIndex();
+        try (BufferedReader reader = Files.newBufferedReader(installedDatabase.toPath(), StandardCharsets.UTF_8)) {
+            String name = null;
+            String version = null;
+            String arch = null;
+            String folder = "";
+            List<String> ownedFilePaths = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    addIndexedPackage(executableRunner, workingDirectory, index, name, version, arch, ownedFilePaths);
+                    name = null;
+                    version = null;
+                    arch = null;
+                    folder = "";
+                    ownedFilePaths = new ArrayList<>();
+                } else if (line.startsWith("P:")) {
+                    name = line.substring(2);
+                } else if (line.startsWith("V:")) {
+                    version = line.substring(2);
+                } else if (line.startsWith("A:")) {
+                    arch = line.substring(2);
+                } else if (line.startsWith("F:")) {
+                    folder = line.substring(2);
+                } else if (line.startsWith("R:")) {
+                    ownedFilePaths.add(String.format("/%s/%s", folder, line.substring(2)));
+                }
+            }
+            addIndexedPackage(executableRunner, workingDirectory, index, name, version, arch, ownedFilePaths);
+        }
+        return Optional.of(index);
+    }
+
+    private void addIndexedPackage(final ExecutableRunner executableRunner, final File workingDirectory, final PackageOwnershipIndex index, final String name, final String version, final String arch, final List<String> ownedFilePaths)
+        throws ExecutableRunnerException {
+        // virtual meta packages start with a period and carry no usable version, same as in the --who-owns output
+        if (name == null || name.startsWith(".")) {
+            return;
+        }
+        final String packageArch = arch != null ? arch : getArchitecture(executableRunner, workingDirectory);
+        index.addPackage(new PackageDetails(name, version, packageArch), ownedFilePaths);
+    }
+
+    private String getArchitecture(final ExecutableRunner executableRunner, final File workingDirectory) throws ExecutableRunnerException {
         if (architecture == null) {
             architecture = executableRunner.executeQuietly(workingDirectory, PKG_MGR_NAME, INFO_SUBCOMMAND, GET_ARCHITECTURE_OPTION).getStandardOutput().trim();
             logger.debug(String.format("architecture: %s", architecture));
         }
+        return architecture;
+    }
+
+    @Override
+    protected void addToPackageList(final ExecutableRunner executableRunner, File workingDirectory, final List<PackageDetails> dependencyDetailsList, final String queryPackageOutput) throws ExecutableRunnerException {
+        final String arch = getArchitecture(executableRunner, workingDirectory);
         final String[] packageLines = queryPackageOutput.split("\n");
         for (final String packageLine : packageLines) {
             final Optional<List<String>> pkgNameVersionParts = parseIsOwnedByOutputLine(packageLine);
@@ -65,9 +132,9 @@ public class ApkPackageManager extends ClangLinuxPackageManager {
                 final Optional<String> component = deriveComponent(pkgNameVersionParts.get());
                 logger.trace(String.format("component: %s", component));
                 if (component.isPresent()) {
-                    final String externalId = String.format("%s/%s/%s", component, version, architecture);
+                    final String externalId = String.format("%s/%s/%s", component, version, arch);
                     logger.debug(String.format("Constructed externalId: %s", externalId));
-                    final PackageDetails dependencyDetails = new PackageDetails(component.get(), version, architecture);
+                    final PackageDetails dependencyDetails = new PackageDetails(component.get(), version, arch);
                     dependencyDetailsList.add(dependencyDetails);
                 }
             }
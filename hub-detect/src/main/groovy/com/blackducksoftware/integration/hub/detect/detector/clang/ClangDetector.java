@@ -41,7 +41,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Passe
 import com.synopsys.integration.exception.IntegrationException;
 
 public class ClangDetector extends Detector {
-    private static final String JSON_COMPILATION_DATABASE_FILENAME = "compile_commands.json";
+    public static final String JSON_COMPILATION_DATABASE_FILENAME = "compile_commands.json";
     private final ClangExtractor clangExtractor;
     private File jsonCompilationDatabaseFile = null;
     private final DetectFileFinder fileFinder;
@@ -60,7 +60,7 @@ public class ClangDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        jsonCompilationDatabaseFile = fileFinder.findFile(environment.getDirectory(), JSON_COMPILATION_DATABASE_FILENAME);
+        jsonCompilationDatabaseFile = fileFinder.findFile(environment.getDirectoryListing(), JSON_COMPILATION_DATABASE_FILENAME);
         if (jsonCompilationDatabaseFile == null) {
             return new FileNotFoundDetectorResult(JSON_COMPILATION_DATABASE_FILENAME);
         }
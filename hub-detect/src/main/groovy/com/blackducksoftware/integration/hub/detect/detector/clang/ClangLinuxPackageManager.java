@@ -24,8 +24,10 @@
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -43,6 +45,8 @@ public abstract class ClangLinuxPackageManager {
     private final List<String> checkPresenceCommandArgs;
     private final String checkPresenceCommandOutputExpectedText;
     private final List<String> pkgMgrGetOwnerCmdArgs;
+    private PackageOwnershipIndex ownershipIndex;
+    private boolean ownershipIndexLoadAttempted = false;
 
     public ClangLinuxPackageManager(final Logger logger, final String pkgMgrName, final String pkgMgrCmdString, final List<Forge> forges, final List<String> checkPresenceCommandArgs, final String checkPresenceCommandOutputExpectedText,
         final List<String> pkgMgrGetOwnerCmdArgs) {
@@ -72,6 +76,15 @@ public abstract class ClangLinuxPackageManager {
     }
 
     public List<PackageDetails> getPackages(File workingDirectory, final ExecutableRunner executableRunner, final Set<File> unManagedDependencyFiles, final DependencyFileDetails dependencyFile) {
+        final Optional<PackageOwnershipIndex> index = getOwnershipIndex(workingDirectory, executableRunner);
+        if (index.isPresent()) {
+            final Optional<List<PackageDetails>> owners = index.get().getOwners(dependencyFile.getFile());
+            if (owners.isPresent()) {
+                return new ArrayList<>(owners.get());
+            }
+            addUnManagedDependencyFile(unManagedDependencyFiles, dependencyFile);
+            return new ArrayList<>(0);
+        }
         final List<PackageDetails> dependencyDetailsList = new ArrayList<>(3);
         try {
             final List<String> fileSpecificGetOwnerArgs = new ArrayList<>(pkgMgrGetOwnerCmdArgs);
@@ -82,20 +95,42 @@ public abstract class ClangLinuxPackageManager {
             return dependencyDetailsList;
         } catch (final ExecutableRunnerException e) {
             logger.error(String.format("Error executing %s: %s", pkgMgrCmdString, e.getMessage()));
-            if (!dependencyFile.isInBuildDir()) {
-                logger.debug(String.format("%s is not managed by %s", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
-                unManagedDependencyFiles.add(dependencyFile.getFile());
-            } else {
-                logger.debug(String.format("%s is not managed by %s, but it's in the source.dir", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
-            }
+            addUnManagedDependencyFile(unManagedDependencyFiles, dependencyFile);
             return dependencyDetailsList;
         }
     }
 
+    private void addUnManagedDependencyFile(final Set<File> unManagedDependencyFiles, final DependencyFileDetails dependencyFile) {
+        if (!dependencyFile.isInBuildDir()) {
+            logger.debug(String.format("%s is not managed by %s", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
+            unManagedDependencyFiles.add(dependencyFile.getFile());
+        } else {
+            logger.debug(String.format("%s is not managed by %s, but it's in the source.dir", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
+        }
+    }
+
+    // The index is built at most once per run; if it cannot be built, every file falls back to its own owner query.
+    private synchronized Optional<PackageOwnershipIndex> getOwnershipIndex(File workingDirectory, final ExecutableRunner executableRunner) {
+        if (!ownershipIndexLoadAttempted) {
+            ownershipIndexLoadAttempted = true;
+            try {
+                ownershipIndex = buildOwnershipIndex(workingDirectory, executableRunner).orElse(null);
+                if (ownershipIndex != null) {
+                    logger.info(String.format("Indexed %d files owned by %d %s packages", ownershipIndex.getFileCount(), ownershipIndex.getPackageCount(), pkgMgrName));
+                }
+            } catch (final Exception e) {
+                logger.debug(String.format("Unable to index the %s package database; querying the package manager per file instead: %s", pkgMgrName, e.getMessage()));
+            }
+        }
+        return Optional.ofNullable(ownershipIndex);
+    }
+
     public abstract Forge getDefaultForge();
 
     protected abstract void addToPackageList(final ExecutableRunner executableRunner, File workingDirectory, final List<PackageDetails> dependencyDetailsList, final String queryPackageOutput) throws ExecutableRunnerException;
 
+    protected abstract Optional<PackageOwnershipIndex> buildOwnershipIndex(File workingDirectory, final ExecutableRunner executableRunner) throws IOException, ExecutableRunnerException;
+
     public String getPkgMgrName() {
         return pkgMgrName;
     }
@@ -23,10 +23,17 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,11 +49,87 @@ public class DpkgPackageManager extends ClangLinuxPackageManager {
     private static final String VERSION_OUTPUT_EXPECTED_TEXT = "package management program version";
     private static final String WHO_OWNS_OPTION = "-S";
     private static final String GET_PKG_INFO_OPTION = "-s";
+    private static final String DEFAULT_ADMIN_DIR = "/var/lib/dpkg";
     private static final Logger logger = LoggerFactory.getLogger(DpkgPackageManager.class);
 
+    private final File adminDirectory;
+    private final Map<String, Optional<String>> packageVersionCache = new ConcurrentHashMap<>();
+
     public DpkgPackageManager() {
+        this(new File(DEFAULT_ADMIN_DIR));
+    }
+
+    public DpkgPackageManager(final File adminDirectory) {
         super(logger, PKG_MGR_NAME, PKG_MGR_NAME, Arrays.asList(Forge.UBUNTU, Forge.DEBIAN), VERSION_COMMAND_ARGS,
             VERSION_OUTPUT_EXPECTED_TEXT, Arrays.asList(WHO_OWNS_OPTION));
+        this.adminDirectory = adminDirectory;
+    }
+
+    // Reads the status file for installed packages and info/<package>.list for the files each one owns, so neither -S nor -s is needed per file.
+    @Override
+    protected Optional<PackageOwnershipIndex> buildOwnershipIndex(final File workingDirectory, final ExecutableRunner executableRunner) throws IOException {
+        final File statusFile = new File(adminDirectory, "status");
+        final File infoDirectory = new File(adminDirectory, "info");
+        if (!statusFile.isFile() || !infoDirectory.isDirectory()) {
+            logger.debug(String.format("No dpkg database found at %s", adminDirectory.getAbsolutePath()));
+            return Optional.empty();
+        }
+        final PackageOwnershipIndex index = new PackageOwnershipIndex();
+        for (final PackageDetails installedPackage : parseStatusFile(statusFile)) {
+            final File listFile = findListFile(infoDirectory, installedPackage);
+            if (listFile == null) {
+                logger.trace(String.format("No file list found for %s", installedPackage.getPackageName()));
+                continue;
+            }
+            index.addPackage(installedPackage, Files.readAllLines(listFile.toPath(), StandardCharsets.UTF_8));
+        }
+        return Optional.of(index);
+    }
+
+    private List<PackageDetails> parseStatusFile(final File statusFile) throws IOException {
+        final List<PackageDetails> installedPackages = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(statusFile.toPath(), StandardCharsets.UTF_8)) {
+            String name = null;
+            String version = null;
+            String arch = null;
+            boolean installed = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    if (installed && name != null) {
+                        installedPackages.add(new PackageDetails(name, version, arch));
+                    }
+                    name = null;
+                    version = null;
+                    arch = null;
+                    installed = false;
+                } else if (line.startsWith("Package: ")) {
+                    name = line.substring("Package: ".length()).trim();
+                } else if (line.startsWith("Version: ")) {
+                    version = line.substring("Version: ".length()).trim();
+                } else if (line.startsWith("Architecture: ")) {
+                    arch = line.substring("Architecture: ".length()).trim();
+                } else if (line.startsWith("Status: ")) {
+                    installed = line.trim().endsWith(" installed");
+                }
+            }
+            if (installed && name != null) {
+                installedPackages.add(new PackageDetails(name, version, arch));
+            }
+        }
+        return installedPackages;
+    }
+
+    private File findListFile(final File infoDirectory, final PackageDetails installedPackage) {
+        final File multiArchListFile = new File(infoDirectory, String.format("%s:%s.list", installedPackage.getPackageName(), installedPackage.getPackageArch()));
+        if (multiArchListFile.isFile()) {
+            return multiArchListFile;
+        }
+        final File listFile = new File(infoDirectory, String.format("%s.list", installedPackage.getPackageName()));
+        if (listFile.isFile()) {
+            return listFile;
+        }
+        return null;
     }
 
     @Override
@@ -78,6 +161,10 @@ public class DpkgPackageManager extends ClangLinuxPackageManager {
     }
 
     private Optional<String> getPackageVersion(final ExecutableRunner executableRunner, File workingDirectory, final String packageName) {
+        return packageVersionCache.computeIfAbsent(packageName, name -> queryPackageVersion(executableRunner, workingDirectory, name));
+    }
+
+    private Optional<String> queryPackageVersion(final ExecutableRunner executableRunner, File workingDirectory, final String packageName) {
         try {
             final ExecutableOutput packageStatusOutput = executableRunner.executeQuietly(workingDirectory, PKG_MGR_NAME, GET_PKG_INFO_OPTION, packageName);
             logger.debug(String.format("packageStatusOutput: %s", packageStatusOutput));
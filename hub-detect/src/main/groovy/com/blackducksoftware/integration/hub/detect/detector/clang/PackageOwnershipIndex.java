@@ -0,0 +1,74 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.clang;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An in-memory map of installed file path to the package(s) that own it, built once from the package manager's database so that each
+ * dependency file can be resolved without launching a process.
+ */
+public class PackageOwnershipIndex {
+    private final Map<String, List<PackageDetails>> ownersByFilePath = new HashMap<>();
+    private int packageCount = 0;
+
+    public void addPackage(final PackageDetails packageDetails, final List<String> ownedFilePaths) {
+        addPackage(packageDetails);
+        for (final String ownedFilePath : ownedFilePaths) {
+            addOwnedFile(packageDetails, ownedFilePath);
+        }
+    }
+
+    /**
+     * For package managers that list files one at a time, add the package once and then each of its files as it is read.
+     */
+    public void addPackage(final PackageDetails packageDetails) {
+        packageCount++;
+    }
+
+    public void addOwnedFile(final PackageDetails packageDetails, final String ownedFilePath) {
+        ownersByFilePath.computeIfAbsent(ownedFilePath, path -> new ArrayList<>(1)).add(packageDetails);
+    }
+
+    public Optional<List<PackageDetails>> getOwners(final File file) {
+        List<PackageDetails> owners = ownersByFilePath.get(file.getAbsolutePath());
+        if (owners == null) {
+            owners = ownersByFilePath.get(file.toPath().toAbsolutePath().normalize().toString());
+        }
+        return Optional.ofNullable(owners);
+    }
+
+    public int getFileCount() {
+        return ownersByFilePath.size();
+    }
+
+    public int getPackageCount() {
+        return packageCount;
+    }
+}
@@ -25,12 +25,18 @@ package com.blackducksoftware.integration.hub.detect.detector.clang;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
 import com.synopsys.integration.hub.bdio.model.Forge;
 
 public class RpmPackageManager extends ClangLinuxPackageManager {
@@ -38,6 +44,10 @@ public class RpmPackageManager extends ClangLinuxPackageManager {
     private static final List<String> VERSION_COMMAND_ARGS = Arrays.asList("--version");
     private static final String VERSION_OUTPUT_EXPECTED_TEXT = "RPM version";
     private static final String GET_PKG_INFO_OPTION = "-qf";
+    private static final String QUERY_ALL_OPTION = "-qa";
+    private static final String QUERY_FORMAT_OPTION = "--queryformat";
+    // One line per installed file: name, version-release, arch, path. The %{=TAG} form repeats the package-level tag for each file.
+    private static final String ALL_FILES_QUERY_FORMAT = "[%{=NAME}\\t%{=VERSION}-%{=RELEASE}\\t%{=ARCH}\\t%{FILENAMES}\\n]";
 
     private static final Logger logger = LoggerFactory.getLogger(RpmPackageManager.class);
 
@@ -66,6 +76,32 @@ public class RpmPackageManager extends ClangLinuxPackageManager {
         }
     }
 
+    @Override
+    protected Optional<PackageOwnershipIndex> buildOwnershipIndex(final File workingDirectory, final ExecutableRunner executableRunner) throws ExecutableRunnerException {
+        // the database lists every installed file, so each line goes straight into the index rather than buffering the whole output
+        final PackageOwnershipIndex index = new PackageOwnershipIndex();
+        final Map<String, PackageDetails> packagesByKey = new HashMap<>();
+        final Executable allFilesExecutable = new Executable(workingDirectory, PKG_MGR_NAME, Arrays.asList(QUERY_ALL_OPTION, QUERY_FORMAT_OPTION, ALL_FILES_QUERY_FORMAT));
+        final ExecutableOutput allFilesOutput = executableRunner.executeStreamingQuietly(allFilesExecutable, fileLine -> {
+            final String[] fileLineParts = fileLine.split("\t");
+            if (fileLineParts.length != 4) {
+                return;
+            }
+            final String key = String.format("%s\t%s\t%s", fileLineParts[0], fileLineParts[1], fileLineParts[2]);
+            final PackageDetails packageDetails = packagesByKey.computeIfAbsent(key, k -> {
+                final PackageDetails newPackageDetails = new PackageDetails(fileLineParts[0], fileLineParts[1], fileLineParts[2]);
+                index.addPackage(newPackageDetails);
+                return newPackageDetails;
+            });
+            index.addOwnedFile(packageDetails, fileLineParts[3]);
+        });
+        if (allFilesOutput.getReturnCode() != 0) {
+            logger.debug(String.format("%s %s returned %d: %s", PKG_MGR_NAME, QUERY_ALL_OPTION, allFilesOutput.getReturnCode(), allFilesOutput.getErrorOutput()));
+            return Optional.empty();
+        }
+        return Optional.of(index);
+    }
+
     @Override
     public Forge getDefaultForge() {
         return Forge.CENTOS;
@@ -36,7 +36,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileN
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
 
 public class PodlockDetector extends Detector {
-    private static final String PODFILE_LOCK_FILENAME = "Podfile.lock";
+    public static final String PODFILE_LOCK_FILENAME = "Podfile.lock";
 
     private final DetectFileFinder fileFinder;
     private final PodlockExtractor podlockExtractor;
@@ -51,7 +51,7 @@ public class PodlockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        foundPodlock = fileFinder.findFile(environment.getDirectory(), PODFILE_LOCK_FILENAME);
+        foundPodlock = fileFinder.findFile(environment.getDirectoryListing(), PODFILE_LOCK_FILENAME);
         if (foundPodlock == null) {
             return new FileNotFoundDetectorResult(PODFILE_LOCK_FILENAME);
         }
@@ -62,7 +62,7 @@ public class GoLockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File lock = fileFinder.findFile(environment.getDirectory(), GOPKG_LOCK_FILENAME);
+        final File lock = fileFinder.findFile(environment.getDirectoryListing(), GOPKG_LOCK_FILENAME);
         if (lock == null) {
             return new FileNotFoundDetectorResult(GOPKG_LOCK_FILENAME);
         }
@@ -0,0 +1,52 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+/**
+ * Shares one Dependency (and its ExternalId) per group, artifact and version across every report parsed with it, so the same artifact appearing in hundreds of
+ * subprojects is only held once. Safe to use from several parsing threads at the same time.
+ */
+public class GradleDependencyPool {
+    private final ExternalIdFactory externalIdFactory;
+    private final Map<String, Dependency> dependencies = new ConcurrentHashMap<>();
+
+    public GradleDependencyPool(final ExternalIdFactory externalIdFactory) {
+        this.externalIdFactory = externalIdFactory;
+    }
+
+    public Dependency getDependency(final String group, final String artifact, final String version) {
+        final String key = group + ":" + artifact + ":" + version;
+        return dependencies.computeIfAbsent(key, it -> new Dependency(artifact, version, externalIdFactory.createMavenExternalId(group, artifact, version)));
+    }
+
+    public int size() {
+        return dependencies.size();
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Keeps the "* What went wrong:" section of streamed gradle output so a failed inspection can say why it failed without holding on to the whole --info log.
+ */
+public class GradleFailureCollector implements Consumer<String> {
+    private static final String FAILURE_HEADER = "* What went wrong:";
+    private static final String SECTION_PREFIX = "* ";
+    private static final int MAXIMUM_FAILURE_LINES = 20;
+
+    private final List<String> failureLines = new ArrayList<>();
+    private boolean collecting = false;
+
+    @Override
+    public void accept(final String line) {
+        if (line.startsWith(FAILURE_HEADER)) {
+            collecting = true;
+        } else if (collecting && line.startsWith(SECTION_PREFIX)) {
+            collecting = false;
+        } else if (collecting && StringUtils.isNotBlank(line) && failureLines.size() < MAXIMUM_FAILURE_LINES) {
+            failureLines.add(line.trim());
+        }
+    }
+
+    public Optional<String> getFailureDescription() {
+        if (failureLines.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(StringUtils.join(failureLines, " "));
+    }
+}
@@ -24,7 +24,10 @@
 package com.blackducksoftware.integration.hub.detect.detector.gradle;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
 
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
@@ -60,7 +63,7 @@ public class GradleInspectorDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File buildGradle = fileFinder.findFile(environment.getDirectory(), BUILD_GRADLE_FILENAME);
+        final File buildGradle = fileFinder.findFile(environment.getDirectoryListing(), BUILD_GRADLE_FILENAME);
         if (buildGradle == null) {
             return new FileNotFoundDetectorResult(BUILD_GRADLE_FILENAME);
         }
@@ -85,7 +88,24 @@ public class GradleInspectorDetector extends Detector {
 
     @Override
     public Extraction extract(final ExtractionId extractionId) {
-        return gradleInspectorExtractor.extract(environment.getDirectory(), gradleExe, gradleInspector, extractionId);
+        return extract(extractionId, 1);
+    }
+
+    @Override
+    public Extraction extract(final ExtractionId extractionId, final int parallelProcessors) {
+        return gradleInspectorExtractor.extract(environment.getDirectory(), gradleExe, gradleInspector, extractionId, parallelProcessors);
+    }
+
+    @Override
+    public List<File> getExtractionCacheInputs() {
+        return fileFinder.findAllFilesToDepth(environment.getDirectory(), EXTRACTION_CACHE_INPUT_DEPTH, EXTRACTION_CACHE_EXCLUDED_DIRECTORIES, "*.gradle", "*.gradle.kts", "gradle.properties", "gradle-wrapper.properties");
+    }
+
+    @Override
+    public List<DetectProperty> getExtractionCacheProperties() {
+        return Arrays.asList(DetectProperty.DETECT_GRADLE_PATH, DetectProperty.DETECT_GRADLE_BUILD_COMMAND, DetectProperty.DETECT_GRADLE_DAEMON, DetectProperty.DETECT_GRADLE_INSPECTOR_VERSION,
+            DetectProperty.DETECT_GRADLE_INSPECTOR_REPOSITORY_URL, DetectProperty.DETECT_GRADLE_EXCLUDED_PROJECTS, DetectProperty.DETECT_GRADLE_INCLUDED_PROJECTS,
+            DetectProperty.DETECT_GRADLE_EXCLUDED_CONFIGURATIONS, DetectProperty.DETECT_GRADLE_INCLUDED_CONFIGURATIONS);
     }
 
 }
@@ -64,7 +64,11 @@ public class GradleInspectorExtractor {
         this.detectConfiguration = detectConfiguration;
     }
 
-    public Extraction extract(final File directory, final String gradleExe, final String gradleInspector, final ExtractionId extractionId) {
+    /**
+     * The reports are parsed on up to parallelProcessors threads, the budget the extraction was given so extractions running alongside each other do not
+     * each start a full size pool.
+     */
+    public Extraction extract(final File directory, final String gradleExe, final String gradleInspector, final ExtractionId extractionId, final int parallelProcessors) {
         try {
             final File outputDirectory = directoryManager.getExtractionOutputDirectory(extractionId);
 
@@ -75,13 +79,18 @@ public class GradleInspectorExtractor {
                 gradleCommand = gradleCommand.replaceAll("dependencies", "").trim();
                 Arrays.stream(gradleCommand.split(" ")).filter(StringUtils::isNotBlank).forEach(arguments::add);
             }
+            if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_GRADLE_DAEMON, PropertyAuthority.None) && !arguments.contains("--daemon") && !arguments.contains("--no-daemon")) {
+                arguments.add("--daemon");
+            }
             arguments.add("dependencies");
             arguments.add(String.format("--init-script=%s", gradleInspector));
             arguments.add(String.format("-DGRADLEEXTRACTIONDIR=%s", outputDirectory.getCanonicalPath()));
             arguments.add("--info");
 
             final Executable executable = new Executable(directory, gradleExe, arguments);
-            final ExecutableOutput output = executableRunner.execute(executable);
+            // the inspector writes its reports to the output directory, so the --info output is only logged and searched for the failure reason
+            final GradleFailureCollector failureCollector = new GradleFailureCollector();
+            final ExecutableOutput output = executableRunner.executeStreaming(executable, failureCollector);
 
             if (output.getReturnCode() == 0) {
                 final File rootProjectMetadataFile = detectFileFinder.findFile(outputDirectory, "rootProjectMetadata.txt");
@@ -91,11 +100,7 @@ public class GradleInspectorExtractor {
                 String projectName = null;
                 String projectVersion = null;
                 if (codeLocationFiles != null) {
-                    codeLocationFiles.stream()
-                        .map(codeLocationFile -> gradleReportParser.parseDependencies(codeLocationFile))
-                        .filter(Optional::isPresent)
-                        .map(Optional::get)
-                        .forEach(codeLocations::add);
+                    codeLocations.addAll(gradleReportParser.parseDependencies(codeLocationFiles, parallelProcessors));
 
                     if (rootProjectMetadataFile != null) {
                         final Optional<NameVersion> projectNameVersion = gradleReportParser.parseRootProjectNameVersion(rootProjectMetadataFile);
@@ -109,7 +114,8 @@ public class GradleInspectorExtractor {
                 }
                 return new Extraction.Builder().success(codeLocations).projectName(projectName).projectVersion(projectVersion).build();
             } else {
-                return new Extraction.Builder().failure("The gradle inspector returned a non-zero exit code: " + output.getReturnCode()).build();
+                final String reason = failureCollector.getFailureDescription().map(description -> " - " + description).orElse("");
+                return new Extraction.Builder().failure("The gradle inspector returned a non-zero exit code: " + output.getReturnCode() + reason).build();
             }
         } catch (final Exception e) {
             return new Extraction.Builder().exception(e).build();
@@ -24,7 +24,17 @@
 package com.blackducksoftware.integration.hub.detect.detector.gradle;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -40,10 +50,15 @@ import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapManager;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 
 import freemarker.template.Configuration;
+import freemarker.template.TemplateException;
 
 public class GradleInspectorManager {
     private static final String GRADLE_DIR_NAME = "gradle";
-    private static final String GENERATED_GRADLE_SCRIPT_NAME = "init-detect.gradle";
+    private static final String GENERATED_GRADLE_SCRIPT_PREFIX = "init-detect-";
+    private static final String GENERATED_GRADLE_SCRIPT_EXTENSION = ".gradle";
+    private static final String AIR_GAP_SCRIPT_DIR_NAME = "air-gap";
+    private static final String RESOLVED_VERSION_FILE_NAME = "inspector-version.txt";
+    private static final long RESOLVED_VERSION_MAX_AGE = TimeUnit.HOURS.toMillis(24);
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final DirectoryManager directoryManager;
@@ -69,17 +84,16 @@ public class GradleInspectorManager {
             hasResolvedInspector = true;
             try {
                 final File airGapPath = deriveGradleAirGapDir();
-                final File generatedGradleScriptFile = directoryManager.getSharedFile(GRADLE_DIR_NAME, GENERATED_GRADLE_SCRIPT_NAME);
                 GradleScriptCreator gradleScriptCreator = new GradleScriptCreator(detectConfiguration, configuration);
                 if (airGapPath == null) {
                     Optional<String> version = findVersion();
                     if (version.isPresent()) {
-                        generatedGradleScriptPath = gradleScriptCreator.generateOnlineScript(generatedGradleScriptFile, version.get());
+                        generatedGradleScriptPath = findOrGenerateScript(gradleScriptCreator, gradleScriptCreator.createOnlineScriptData(version.get()), version.get());
                     } else {
                         throw new DetectorException("Unable to find the gradle inspector version from artifactory.");
                     }
                 } else {
-                    generatedGradleScriptPath = gradleScriptCreator.generateAirGapScript(generatedGradleScriptFile, airGapPath.getCanonicalPath());
+                    generatedGradleScriptPath = findOrGenerateScript(gradleScriptCreator, gradleScriptCreator.createAirGapScriptData(airGapPath.getCanonicalPath()), AIR_GAP_SCRIPT_DIR_NAME);
                 }
             } catch (final Exception e) {
                 throw new DetectorException(e);
@@ -92,6 +106,55 @@ public class GradleInspectorManager {
         return generatedGradleScriptPath;
     }
 
+    /**
+     * Init scripts are kept in the tools directory by inspector version and named after a hash of the template and everything written into it, so a script
+     * generated by an earlier run with the same settings is reused as is.
+     */
+    private String findOrGenerateScript(final GradleScriptCreator gradleScriptCreator, final Map<String, String> scriptData, final String scriptDirectoryName)
+        throws IOException, TemplateException, NoSuchAlgorithmException {
+        final File scriptDirectory = new File(getPermanentGradleDirectory(), scriptDirectoryName);
+        final String scriptHash = hashScript(gradleScriptCreator.getTemplateSource(), scriptData);
+        final File scriptFile = new File(scriptDirectory, GENERATED_GRADLE_SCRIPT_PREFIX + scriptHash + GENERATED_GRADLE_SCRIPT_EXTENSION);
+        if (scriptFile.isFile()) {
+            logger.debug(String.format("Reusing the gradle inspector script: %s", scriptFile.getCanonicalPath()));
+            return scriptFile.getCanonicalPath();
+        }
+
+        scriptDirectory.mkdirs();
+        final File temporaryScriptFile = File.createTempFile(GENERATED_GRADLE_SCRIPT_PREFIX, GENERATED_GRADLE_SCRIPT_EXTENSION, scriptDirectory);
+        try {
+            gradleScriptCreator.generateGradleScript(temporaryScriptFile, scriptData);
+            try {
+                Files.move(temporaryScriptFile.toPath(), scriptFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporaryScriptFile.toPath(), scriptFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            // only left behind when the script could not be generated or moved into place
+            Files.deleteIfExists(temporaryScriptFile.toPath());
+        }
+        return scriptFile.getCanonicalPath();
+    }
+
+    private String hashScript(final String templateSource, final Map<String, String> scriptData) throws NoSuchAlgorithmException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(templateSource.getBytes(StandardCharsets.UTF_8));
+        for (final Map.Entry<String, String> entry : new TreeMap<>(scriptData).entrySet()) {
+            digest.update((byte) 0);
+            digest.update((entry.getKey() + "=" + entry.getValue()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        final StringBuilder hex = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.substring(0, 16);
+    }
+
+    private File getPermanentGradleDirectory() {
+        return new File(directoryManager.getPermanentDirectory(), GRADLE_DIR_NAME);
+    }
+
     private File deriveGradleAirGapDir() {
         String gradleInspectorAirGapDirectoryPath = airGapManager.getGradleInspectorAirGapPath();
 
@@ -106,9 +169,53 @@ public class GradleInspectorManager {
         return gradleInspectorAirGapDirectory;
     }
 
+    /**
+     * An explicit version is used as is. Otherwise the version artifactory last reported is reused for a day, and is also used when artifactory can not be reached.
+     */
     private Optional<String> findVersion() {
         String gradleVersion = detectConfiguration.getProperty(DetectProperty.DETECT_GRADLE_INSPECTOR_VERSION, PropertyAuthority.None);
-        return artifactResolver.resolveArtifactVersion(ArtifactoryConstants.ARTIFACTORY_URL, ArtifactoryConstants.GRADLE_INSPECTOR_REPO, ArtifactoryConstants.GRADLE_INSPECTOR_PROPERTY, gradleVersion);
+        if (StringUtils.isNotBlank(gradleVersion)) {
+            return Optional.of(gradleVersion);
+        }
+
+        final File resolvedVersionFile = new File(getPermanentGradleDirectory(), RESOLVED_VERSION_FILE_NAME);
+        final Optional<String> cachedVersion = readResolvedVersion(resolvedVersionFile);
+        if (cachedVersion.isPresent() && System.currentTimeMillis() - resolvedVersionFile.lastModified() < RESOLVED_VERSION_MAX_AGE) {
+            logger.debug(String.format("Using the gradle inspector version resolved by a previous run: %s", cachedVersion.get()));
+            return cachedVersion;
+        }
+
+        final Optional<String> resolvedVersion = artifactResolver.resolveArtifactVersion(ArtifactoryConstants.ARTIFACTORY_URL, ArtifactoryConstants.GRADLE_INSPECTOR_REPO, ArtifactoryConstants.GRADLE_INSPECTOR_PROPERTY, gradleVersion);
+        if (resolvedVersion.isPresent()) {
+            writeResolvedVersion(resolvedVersionFile, resolvedVersion.get());
+            return resolvedVersion;
+        }
+        if (cachedVersion.isPresent()) {
+            logger.warn(String.format("Unable to find the gradle inspector version from artifactory, using the version resolved by a previous run: %s", cachedVersion.get()));
+        }
+        return cachedVersion;
+    }
+
+    private Optional<String> readResolvedVersion(final File resolvedVersionFile) {
+        if (!resolvedVersionFile.isFile()) {
+            return Optional.empty();
+        }
+        try {
+            final String version = new String(Files.readAllBytes(resolvedVersionFile.toPath()), StandardCharsets.UTF_8).trim();
+            return StringUtils.isNotBlank(version) ? Optional.of(version) : Optional.empty();
+        } catch (final IOException e) {
+            logger.debug("Unable to read the previously resolved gradle inspector version.", e);
+            return Optional.empty();
+        }
+    }
+
+    private void writeResolvedVersion(final File resolvedVersionFile, final String version) {
+        try {
+            resolvedVersionFile.getParentFile().mkdirs();
+            Files.write(resolvedVersionFile.toPath(), version.getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            logger.debug("Unable to save the resolved gradle inspector version.", e);
+        }
     }
 
 }
@@ -27,7 +27,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
-import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
 
 public class GradleReportConfigurationParser {
     private final Logger logger = LoggerFactory.getLogger(GradleReportConfigurationParser.class);
@@ -37,9 +36,9 @@ public class GradleReportConfigurationParser {
     private String lineThatMayContainConfigurationName;
     private GradleReportLine gradleReportLine;
 
-    public Dependency parseDependency(final ExternalIdFactory externalIdFactory, final String line) {
+    public Dependency parseDependency(final GradleDependencyPool dependencyPool, final String line) {
         if (shouldParseLine(line)) {
-            final Dependency dependency = gradleReportLine.createDependencyNode(externalIdFactory);
+            final Dependency dependency = gradleReportLine.createDependencyNode(dependencyPool);
             return dependency;
         }
         return null;
@@ -54,6 +54,28 @@ public class GradleReportLine {
     }
 
     public Dependency createDependencyNode(final ExternalIdFactory externalIdFactory) {
+        final List<String> gavPieces = parseGavPieces();
+        if (gavPieces == null) {
+            return null;
+        }
+
+        final String group = gavPieces.get(0);
+        final String artifact = gavPieces.get(1);
+        final String version = gavPieces.get(2);
+        final Dependency dependency = new Dependency(artifact, version, externalIdFactory.createMavenExternalId(group, artifact, version));
+        return dependency;
+    }
+
+    public Dependency createDependencyNode(final GradleDependencyPool dependencyPool) {
+        final List<String> gavPieces = parseGavPieces();
+        if (gavPieces == null) {
+            return null;
+        }
+
+        return dependencyPool.getDependency(gavPieces.get(0), gavPieces.get(1), gavPieces.get(2));
+    }
+
+    private List<String> parseGavPieces() {
         if (!originalLine.contains(COMPONENT_PREFIX)) {
             return null;
         }
@@ -90,11 +112,7 @@ public class GradleReportLine {
             return null;
         }
 
-        final String group = gavPieces.get(0);
-        final String artifact = gavPieces.get(1);
-        final String version = gavPieces.get(2);
-        final Dependency dependency = new Dependency(artifact, version, externalIdFactory.createMavenExternalId(group, artifact, version));
-        return dependency;
+        return gavPieces;
     }
 
     public int getTreeLevel() {
@@ -29,7 +29,13 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -59,13 +65,48 @@ public class GradleReportParser {
 
     private final ExternalIdFactory externalIdFactory;
 
-    private GradleReportConfigurationParser gradleReportConfigurationParser = new GradleReportConfigurationParser();
-
     public GradleReportParser(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
+    /**
+     * Parses the reports on up to parallelProcessors threads. Every report shares one dependency pool so an artifact used by many subprojects is only created
+     * once. The code locations are returned in the order of the files, skipping any report that could not be read.
+     */
+    public List<DetectCodeLocation> parseDependencies(final List<File> codeLocationFiles, final int parallelProcessors) throws InterruptedException, ExecutionException {
+        final GradleDependencyPool dependencyPool = new GradleDependencyPool(externalIdFactory);
+        final List<DetectCodeLocation> codeLocations = new ArrayList<>();
+
+        final int threadCount = Math.min(parallelProcessors, codeLocationFiles.size());
+        if (threadCount <= 1) {
+            for (final File codeLocationFile : codeLocationFiles) {
+                parseDependencies(codeLocationFile, dependencyPool).ifPresent(codeLocations::add);
+            }
+            return codeLocations;
+        }
+
+        logger.info(String.format("Parsing %d gradle reports with %d threads.", codeLocationFiles.size(), threadCount));
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<Optional<DetectCodeLocation>>> futures = new ArrayList<>();
+            for (final File codeLocationFile : codeLocationFiles) {
+                futures.add(executorService.submit(() -> parseDependencies(codeLocationFile, dependencyPool)));
+            }
+            for (final Future<Optional<DetectCodeLocation>> future : futures) {
+                future.get().ifPresent(codeLocations::add);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        logger.debug(String.format("Gradle reports shared %d unique dependencies.", dependencyPool.size()));
+        return codeLocations;
+    }
+
     public Optional<DetectCodeLocation> parseDependencies(final File codeLocationFile) {
+        return parseDependencies(codeLocationFile, new GradleDependencyPool(externalIdFactory));
+    }
+
+    public Optional<DetectCodeLocation> parseDependencies(final File codeLocationFile, final GradleDependencyPool dependencyPool) {
         DetectCodeLocation codeLocation = null;
         String projectSourcePath = "";
         String projectGroup = "";
@@ -74,10 +115,11 @@ public class GradleReportParser {
         boolean processingMetaData = false;
         final MutableDependencyGraph graph = new MutableMapDependencyGraph();
         final DependencyHistory history = new DependencyHistory();
+        GradleReportConfigurationParser gradleReportConfigurationParser = new GradleReportConfigurationParser();
 
         try (FileInputStream dependenciesInputStream = new FileInputStream(codeLocationFile); BufferedReader reader = new BufferedReader(new InputStreamReader(dependenciesInputStream, StandardCharsets.UTF_8));) {
-            while (reader.ready()) {
-                final String line = reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
                 /**
                  * The meta data section will be at the end of the file after all of the "gradle dependencies" output
                  */
@@ -108,7 +150,7 @@ public class GradleReportParser {
                     continue;
                 }
 
-                final Dependency dependency = gradleReportConfigurationParser.parseDependency(externalIdFactory, line);
+                final Dependency dependency = gradleReportConfigurationParser.parseDependency(dependencyPool, line);
                 if (dependency == null) {
                     continue;
                 }
@@ -146,8 +188,8 @@ public class GradleReportParser {
         boolean processingMetaData = false;
 
         try (FileInputStream dependenciesInputStream = new FileInputStream(rootProjectMetadataFile); BufferedReader reader = new BufferedReader(new InputStreamReader(dependenciesInputStream, StandardCharsets.UTF_8));) {
-            while (reader.ready()) {
-                final String line = reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
 
                 if (line.startsWith(DETECT_META_DATA_HEADER)) {
                     processingMetaData = true;
@@ -59,15 +59,33 @@ public class GradleScriptCreator {
     }
 
     public String generateAirGapScript(File scriptFile, String airGapLibs) throws IOException, TemplateException {
-        return generateGradleScript(scriptFile, airGapLibs, null);
+        return generateGradleScript(scriptFile, createAirGapScriptData(airGapLibs));
     }
 
     public String generateOnlineScript(File scriptFile, String inspectorVersion) throws IOException, TemplateException {
-        return generateGradleScript(scriptFile, null, inspectorVersion);
+        return generateGradleScript(scriptFile, createOnlineScriptData(inspectorVersion));
+    }
+
+    public Map<String, String> createAirGapScriptData(String airGapLibs) {
+        return createGradleScriptData(airGapLibs, null);
+    }
+
+    public Map<String, String> createOnlineScriptData(String inspectorVersion) {
+        return createGradleScriptData(null, inspectorVersion);
+    }
+
+    public String generateGradleScript(File scriptFile, Map<String, String> gradleScriptData) throws IOException, TemplateException {
+        populateGradleScriptWithData(scriptFile, gradleScriptData);
+        logger.trace(String.format("Derived generatedGradleScriptFile path: %s", scriptFile.getCanonicalPath()));
+        return scriptFile.getCanonicalPath();
+    }
+
+    public String getTemplateSource() throws IOException {
+        return configuration.getTemplate(GRADLE_SCRIPT_TEMPLATE_FILENAME).toString();
     }
 
     //You must provide EITHER an airGapLibs OR an inspectorVersion.
-    private String generateGradleScript(File scriptFile, String airGapLibs, String inspectorVersion) throws IOException, TemplateException {
+    private Map<String, String> createGradleScriptData(String airGapLibs, String inspectorVersion) {
         final Map<String, String> gradleScriptData = new HashMap<>();
         gradleScriptData.put("airGapLibs", StringEscapeUtils.escapeJava(airGapLibs));
         gradleScriptData.put("gradleInspectorVersion", StringEscapeUtils.escapeJava(inspectorVersion));
@@ -82,10 +100,7 @@ public class GradleScriptCreator {
         } else {
             gradleScriptData.put("customRepositoryUrl", ArtifactoryConstants.GRADLE_INSPECTOR_MAVEN_REPO);
         }
-
-        populateGradleScriptWithData(scriptFile, gradleScriptData);
-        logger.trace(String.format("Derived generatedGradleScriptFile path: %s", scriptFile.getCanonicalPath()));
-        return scriptFile.getCanonicalPath();
+        return gradleScriptData;
     }
 
     private void populateGradleScriptWithData(File generatedGradleScriptFile, Map<String, String> gradleScriptData) throws IOException, TemplateException {
@@ -57,7 +57,7 @@ public class RebarDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File rebar = fileFinder.findFile(environment.getDirectory(), REBAR_CONFIG);
+        final File rebar = fileFinder.findFile(environment.getDirectoryListing(), REBAR_CONFIG);
         if (rebar == null) {
             return new FileNotFoundDetectorResult(REBAR_CONFIG);
         }
@@ -40,15 +40,16 @@ import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOu
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
 
 public class MavenCliExtractor {
     private final ExecutableRunner executableRunner;
-    private final MavenCodeLocationPackager mavenCodeLocationPackager;
+    private final ExternalIdFactory externalIdFactory;
     private final DetectConfiguration detectConfiguration;
 
-    public MavenCliExtractor(final ExecutableRunner executableRunner, final MavenCodeLocationPackager mavenCodeLocationPackager, final DetectConfiguration detectConfiguration) {
+    public MavenCliExtractor(final ExecutableRunner executableRunner, final ExternalIdFactory externalIdFactory, final DetectConfiguration detectConfiguration) {
         this.executableRunner = executableRunner;
-        this.mavenCodeLocationPackager = mavenCodeLocationPackager;
+        this.externalIdFactory = externalIdFactory;
         this.detectConfiguration = detectConfiguration;
     }
 
@@ -72,14 +73,17 @@ public class MavenCliExtractor {
             }
             arguments.add("dependency:tree");
 
+            final String excludedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_EXCLUDED_MODULES, PropertyAuthority.None);
+            final String includedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_INCLUDED_MODULES, PropertyAuthority.None);
+            // the packager holds the parse state, so each extraction gets its own and the tree is parsed while maven is still writing it
+            final MavenCodeLocationPackager mavenCodeLocationPackager = new MavenCodeLocationPackager(externalIdFactory);
+            mavenCodeLocationPackager.startParsing(directory.toString(), excludedModules, includedModules);
+
             final Executable mvnExecutable = new Executable(directory, mavenExe, arguments);
-            final ExecutableOutput mvnOutput = executableRunner.execute(mvnExecutable);
+            final ExecutableOutput mvnOutput = executableRunner.executeStreaming(mvnExecutable, mavenCodeLocationPackager::parseLine);
 
             if (mvnOutput.getReturnCode() == 0) {
-
-                final String excludedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_EXCLUDED_MODULES, PropertyAuthority.None);
-                final String includedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_INCLUDED_MODULES, PropertyAuthority.None);
-                final List<MavenParseResult> mavenResults = mavenCodeLocationPackager.extractCodeLocations(directory.toString(), mvnOutput.getStandardOutput(), excludedModules, includedModules);
+                final List<MavenParseResult> mavenResults = mavenCodeLocationPackager.finishParsing();
 
                 final List<DetectCodeLocation> codeLocations = mavenResults.stream()
                                                                    .map(it -> it.codeLocation)
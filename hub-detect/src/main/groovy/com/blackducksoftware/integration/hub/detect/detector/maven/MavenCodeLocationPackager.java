@@ -27,7 +27,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -56,101 +55,118 @@ public class MavenCodeLocationPackager {
     private boolean parsingProjectSection;
     private int level;
     private MutableDependencyGraph currentGraph = null;
+    private String sourcePath;
+    private ExcludedIncludedFilter filter;
 
     public MavenCodeLocationPackager(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
     public List<MavenParseResult> extractCodeLocations(final String sourcePath, final String mavenOutputText, final String excludedModules, final String includedModules) {
-        final ExcludedIncludedFilter filter = new ExcludedIncludedFilter(excludedModules, includedModules);
+        startParsing(sourcePath, excludedModules, includedModules);
+        for (final String currentLine : mavenOutputText.split(System.lineSeparator())) {
+            parseLine(currentLine);
+        }
+        return finishParsing();
+    }
+
+    /**
+     * Resets the parser so that the dependency:tree output can be fed to {@link #parseLine(String)} one line at a time, as it is produced.
+     */
+    public void startParsing(final String sourcePath, final String excludedModules, final String includedModules) {
+        this.sourcePath = sourcePath;
+        filter = new ExcludedIncludedFilter(excludedModules, includedModules);
         codeLocations = new ArrayList<>();
         currentMavenProject = null;
         dependencyParentStack = new Stack<>();
         parsingProjectSection = false;
         currentGraph = new MutableMapDependencyGraph();
-
         level = 0;
-        for (final String currentLine : mavenOutputText.split(System.lineSeparator())) {
-            String line = currentLine.trim();
-            if (!isLineRelevant(line)) {
-                continue;
-            }
-            line = trimLogLevel(line);
-            if (StringUtils.isBlank(line)) {
-                continue;
-            }
-            if (isProjectSection(line)) {
-                parsingProjectSection = true;
-                continue;
-            }
-            if (!parsingProjectSection) {
-                continue;
-            }
-            if (isDependencyTreeUpdates(line)) {
-                continue;
-            }
+    }
 
-            if (parsingProjectSection && currentMavenProject == null) {
-                // this is the first line of a new code location, the following lines will be the tree of dependencies for this code location
-                currentGraph = new MutableMapDependencyGraph();
-                final MavenParseResult mavenProject = createMavenParseResult(sourcePath, line, currentGraph);
-                if (null != mavenProject && filter.shouldInclude(mavenProject.projectName)) {
-                    this.currentMavenProject = mavenProject;
-                    codeLocations.add(mavenProject);
-                } else {
-                    currentMavenProject = null;
-                    dependencyParentStack.clear();
-                    parsingProjectSection = false;
-                    level = 0;
-                }
-                continue;
-            }
+    public void parseLine(final String currentLine) {
+        String line = currentLine.trim();
+        final int endOfLogLevel = indexOfEndOfSegments(line, "[", "INFO", "]");
+        if (!isLineRelevant(line, endOfLogLevel)) {
+            return;
+        }
+        line = trimLogLevel(line, endOfLogLevel);
+        if (StringUtils.isBlank(line)) {
+            return;
+        }
+        if (isProjectSection(line)) {
+            parsingProjectSection = true;
+            return;
+        }
+        if (!parsingProjectSection) {
+            return;
+        }
+        if (isDependencyTreeUpdates(line)) {
+            return;
+        }
 
-            final boolean finished = line.contains("--------");
-            if (finished) {
+        if (parsingProjectSection && currentMavenProject == null) {
+            // this is the first line of a new code location, the following lines will be the tree of dependencies for this code location
+            currentGraph = new MutableMapDependencyGraph();
+            final MavenParseResult mavenProject = createMavenParseResult(sourcePath, line, currentGraph);
+            if (null != mavenProject && filter.shouldInclude(mavenProject.projectName)) {
+                this.currentMavenProject = mavenProject;
+                codeLocations.add(mavenProject);
+            } else {
                 currentMavenProject = null;
                 dependencyParentStack.clear();
                 parsingProjectSection = false;
                 level = 0;
-                continue;
             }
+            return;
+        }
 
-            final int previousLevel = level;
-            final String cleanedLine = calculateCurrentLevelAndCleanLine(line);
-            final Dependency dependency = textToDependency(cleanedLine);
-            if (null == dependency) {
-                continue;
-            }
+        final boolean finished = line.contains("--------");
+        if (finished) {
+            currentMavenProject = null;
+            dependencyParentStack.clear();
+            parsingProjectSection = false;
+            level = 0;
+            return;
+        }
 
-            if (currentMavenProject != null) {
-                if (level == 1) {
-                    // a direct dependency, clear the stack and add this as a potential parent for the next line
-                    currentGraph.addChildToRoot(dependency);
-                    dependencyParentStack.clear();
+        final int previousLevel = level;
+        final String cleanedLine = calculateCurrentLevelAndCleanLine(line);
+        final Dependency dependency = textToDependency(cleanedLine);
+        if (null == dependency) {
+            return;
+        }
+
+        if (currentMavenProject != null) {
+            if (level == 1) {
+                // a direct dependency, clear the stack and add this as a potential parent for the next line
+                currentGraph.addChildToRoot(dependency);
+                dependencyParentStack.clear();
+                dependencyParentStack.push(dependency);
+            } else {
+                // level should be greater than 1
+                if (level == previousLevel) {
+                    // a sibling of the previous dependency
+                    dependencyParentStack.pop();
+                    currentGraph.addParentWithChild(dependencyParentStack.peek(), dependency);
+                    dependencyParentStack.push(dependency);
+                } else if (level > previousLevel) {
+                    // a child of the previous dependency
+                    currentGraph.addParentWithChild(dependencyParentStack.peek(), dependency);
                     dependencyParentStack.push(dependency);
                 } else {
-                    // level should be greater than 1
-                    if (level == previousLevel) {
-                        // a sibling of the previous dependency
+                    // a child of a dependency further back than 1 line
+                    for (int i = previousLevel; i >= level; i--) {
                         dependencyParentStack.pop();
-                        currentGraph.addParentWithChild(dependencyParentStack.peek(), dependency);
-                        dependencyParentStack.push(dependency);
-                    } else if (level > previousLevel) {
-                        // a child of the previous dependency
-                        currentGraph.addParentWithChild(dependencyParentStack.peek(), dependency);
-                        dependencyParentStack.push(dependency);
-                    } else {
-                        // a child of a dependency further back than 1 line
-                        for (int i = previousLevel; i >= level; i--) {
-                            dependencyParentStack.pop();
-                        }
-                        currentGraph.addParentWithChild(dependencyParentStack.peek(), dependency);
-                        dependencyParentStack.push(dependency);
                     }
+                    currentGraph.addParentWithChild(dependencyParentStack.peek(), dependency);
+                    dependencyParentStack.push(dependency);
                 }
             }
         }
+    }
 
+    public List<MavenParseResult> finishParsing() {
         return codeLocations;
     }
 
@@ -167,24 +183,31 @@ public class MavenCodeLocationPackager {
         return null;
     }
 
+    // The tree prefix is a run of three character units, one per level, so the level is found by walking the units from the start of the line.
     String calculateCurrentLevelAndCleanLine(final String line) {
         level = 0;
-        String cleanedLine = line;
-        for (final String pattern : indentationStrings) {
-            while (cleanedLine.contains(pattern)) {
-                level++;
-                cleanedLine = cleanedLine.replaceFirst(Pattern.quote(pattern), "");
+        int offset = 0;
+        boolean matchedIndentation = true;
+        while (matchedIndentation) {
+            matchedIndentation = false;
+            for (final String indentation : indentationStrings) {
+                if (line.startsWith(indentation, offset)) {
+                    level++;
+                    offset += indentation.length();
+                    matchedIndentation = true;
+                    break;
+                }
             }
         }
 
-        return cleanedLine;
+        return line.substring(offset);
     }
 
     Dependency textToDependency(final String componentText) {
-        if (!isGav(componentText)) {
+        final String[] gavParts = splitGav(componentText);
+        if (gavParts == null) {
             return null;
         }
-        final String[] gavParts = componentText.split(":");
         final String group = gavParts[0];
         final String artifact = gavParts[1];
 
@@ -200,10 +223,10 @@ public class MavenCodeLocationPackager {
     }
 
     Dependency textToProject(final String componentText) {
-        if (!isGav(componentText)) {
+        final String[] gavParts = splitGav(componentText);
+        if (gavParts == null) {
             return null;
         }
-        final String[] gavParts = componentText.split(":");
         final String group = gavParts[0];
         final String artifact = gavParts[1];
         String version;
@@ -222,15 +245,15 @@ public class MavenCodeLocationPackager {
     }
 
     boolean isLineRelevant(final String line) {
-        final String editableLine = line;
-        if (!doesLineContainSegmentsInOrder(line, "[", "INFO", "]")) {
+        return isLineRelevant(line, indexOfEndOfSegments(line, "[", "INFO", "]"));
+    }
+
+    private boolean isLineRelevant(final String line, final int endOfLogLevel) {
+        if (endOfLogLevel == -1) {
             // Does not contain [INFO]
             return false;
         }
-        final int index = indexOfEndOfSegments(line, "[", "INFO", "]");
-        final String trimmedLine = editableLine.substring(index);
-
-        if (StringUtils.isBlank(trimmedLine) || trimmedLine.contains("Downloaded") || trimmedLine.contains("Downloading")) {
+        if (isBlankFrom(line, endOfLogLevel) || line.indexOf("Downloaded", endOfLogLevel) >= 0 || line.indexOf("Downloading", endOfLogLevel) >= 0) {
             // Does not have content or this a line about download information
             return false;
         }
@@ -238,15 +261,15 @@ public class MavenCodeLocationPackager {
     }
 
     String trimLogLevel(final String line) {
-        final String editableLine = line;
-
-        final int index = indexOfEndOfSegments(line, "[", "INFO", "]");
-        String trimmedLine = editableLine.substring(index);
+        return trimLogLevel(line, indexOfEndOfSegments(line, "[", "INFO", "]"));
+    }
 
-        if (trimmedLine.startsWith(" ")) {
-            trimmedLine = trimmedLine.substring(1);
+    private String trimLogLevel(final String line, final int endOfLogLevel) {
+        int start = endOfLogLevel;
+        if (line.startsWith(" ", start)) {
+            start++;
         }
-        return trimmedLine;
+        return line.substring(start);
     }
 
     boolean isProjectSection(final String line) {
@@ -263,19 +286,23 @@ public class MavenCodeLocationPackager {
     }
 
     boolean isGav(final String componentText) {
-        final String debugMessage = String.format("%s does not look like a GAV we recognize", componentText);
+        return splitGav(componentText) != null;
+    }
+
+    // Splits the text once for both the GAV check and the dependency, returning null if it is not a GAV we recognize.
+    private String[] splitGav(final String componentText) {
         final String[] gavParts = componentText.split(":");
         if (gavParts.length >= 4) {
             for (final String part : gavParts) {
                 if (StringUtils.isBlank(part)) {
-                    logger.debug(debugMessage);
-                    return false;
+                    logger.debug(String.format("%s does not look like a GAV we recognize", componentText));
+                    return null;
                 }
             }
-            return true;
+            return gavParts;
         }
-        logger.debug(debugMessage);
-        return false;
+        logger.debug(String.format("%s does not look like a GAV we recognize", componentText));
+        return null;
     }
 
     boolean doesLineContainSegmentsInOrder(final String line, final String... segments) {
@@ -295,21 +322,26 @@ public class MavenCodeLocationPackager {
             endOfSegments = 0;
         }
 
-        String editableLine = line;
         for (final String segment : segments) {
-            final int index = editableLine.indexOf(segment);
+            // search only the remainder of the line after the segment we just found
+            final int index = line.indexOf(segment, endOfSegments);
             // If the string does not contain the segment indexOf returns -1
             if (index == -1) {
                 endOfSegments = -1;
                 break;
             }
-            // Add the index to the total to keep track of the index in the original String
-            endOfSegments += (index + segment.length());
-
-            // cut the string off right after the segment we just found so we are only looking at the remainder of the line for the next segment
-            editableLine = editableLine.substring(index + segment.length());
+            endOfSegments = index + segment.length();
         }
         return endOfSegments;
     }
 
+    private boolean isBlankFrom(final String line, final int start) {
+        for (int i = start; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
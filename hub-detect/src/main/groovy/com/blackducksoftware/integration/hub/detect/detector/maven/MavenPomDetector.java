@@ -24,7 +24,10 @@
 package com.blackducksoftware.integration.hub.detect.detector.maven;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
 
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
@@ -54,7 +57,7 @@ public class MavenPomDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File pom = fileFinder.findFile(environment.getDirectory(), POM_FILENAME);
+        final File pom = fileFinder.findFile(environment.getDirectoryListing(), POM_FILENAME);
         if (pom == null) {
             return new FileNotFoundDetectorResult(POM_FILENAME);
         }
@@ -78,4 +81,15 @@ public class MavenPomDetector extends Detector {
         return mavenCliExtractor.extract(environment.getDirectory(), mavenExe);
     }
 
+    @Override
+    public List<File> getExtractionCacheInputs() {
+        return fileFinder.findAllFilesToDepth(environment.getDirectory(), EXTRACTION_CACHE_INPUT_DEPTH, EXTRACTION_CACHE_EXCLUDED_DIRECTORIES, POM_FILENAME);
+    }
+
+    @Override
+    public List<DetectProperty> getExtractionCacheProperties() {
+        return Arrays.asList(DetectProperty.DETECT_MAVEN_PATH, DetectProperty.DETECT_MAVEN_BUILD_COMMAND, DetectProperty.DETECT_MAVEN_SCOPE, DetectProperty.DETECT_MAVEN_EXCLUDED_MODULES,
+            DetectProperty.DETECT_MAVEN_INCLUDED_MODULES);
+    }
+
 }
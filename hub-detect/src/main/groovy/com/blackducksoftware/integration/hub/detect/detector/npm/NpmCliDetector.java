@@ -24,7 +24,12 @@
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
@@ -41,6 +46,9 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Passe
 public class NpmCliDetector extends Detector {
     public static final String NODE_MODULES = "node_modules";
     public static final String PACKAGE_JSON = "package.json";
+    public static final String PACKAGE_LOCK_JSON = "package-lock.json";
+    public static final String SHRINKWRAP_JSON = "npm-shrinkwrap.json";
+    public static final String HIDDEN_LOCKFILE = ".package-lock.json";
 
     private final DetectFileFinder fileFinder;
     private final NpmExecutableFinder npmExecutableFinder;
@@ -57,7 +65,7 @@ public class NpmCliDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File packageJson = fileFinder.findFile(environment.getDirectory(), PACKAGE_JSON);
+        final File packageJson = fileFinder.findFile(environment.getDirectoryListing(), PACKAGE_JSON);
         if (packageJson == null) {
             return new FileNotFoundDetectorResult(PACKAGE_JSON);
         }
@@ -86,4 +94,28 @@ public class NpmCliDetector extends Detector {
         return npmCliExtractor.extract(environment.getDirectory(), npmExe, extractionId);
     }
 
+    @Override
+    public List<File> getExtractionCacheInputs() {
+        // npm ls reports what is installed, so without the hidden lockfile npm writes whenever node_modules changes there is nothing to key on and the extraction is not cached
+        final File hiddenLockfile = new File(new File(environment.getDirectory(), NODE_MODULES), HIDDEN_LOCKFILE);
+        if (!hiddenLockfile.isFile()) {
+            return Collections.emptyList();
+        }
+
+        final List<File> inputs = new ArrayList<>();
+        inputs.add(hiddenLockfile);
+        for (final String filename : new String[] { PACKAGE_JSON, PACKAGE_LOCK_JSON, SHRINKWRAP_JSON }) {
+            final File input = fileFinder.findFile(environment.getDirectory(), filename);
+            if (input != null) {
+                inputs.add(input);
+            }
+        }
+        return inputs;
+    }
+
+    @Override
+    public List<DetectProperty> getExtractionCacheProperties() {
+        return Arrays.asList(DetectProperty.DETECT_NPM_PATH, DetectProperty.DETECT_NPM_NODE_PATH, DetectProperty.DETECT_NPM_ARGUMENTS, DetectProperty.DETECT_NPM_INCLUDE_DEV_DEPENDENCIES);
+    }
+
 }
@@ -23,17 +23,46 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import com.google.gson.annotations.SerializedName;
-
 public class NpmDependency {
-    @SerializedName("version")
+    public final NpmDependency parent;
+
+    public String name;
     public String version;
+    public boolean dev;
+    public Map<String, String> requires;
+    public Map<String, NpmDependency> dependencies;
 
-    @SerializedName("dev")
-    public Boolean dev;
+    public NpmDependency(final String name, final NpmDependency parent) {
+        this.name = name;
+        this.parent = parent;
+    }
 
-    @SerializedName("requires")
-    public Map<String, String> requires;
+    public void addRequires(final String childName, final String childVersion) {
+        if (requires == null) {
+            requires = new LinkedHashMap<>();
+        }
+        requires.put(childName, childVersion);
+    }
+
+    public void addDependency(final NpmDependency dependency) {
+        if (dependencies == null) {
+            dependencies = new LinkedHashMap<>();
+        }
+        dependencies.put(dependency.name, dependency);
+    }
+
+    public NpmDependency resolve(final String childName) {
+        for (NpmDependency scope = this; scope != null; scope = scope.parent) {
+            if (scope.dependencies != null) {
+                final NpmDependency resolved = scope.dependencies.get(childName);
+                if (resolved != null) {
+                    return resolved;
+                }
+            }
+        }
+        return null;
+    }
 }
@@ -23,11 +23,11 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-
-import org.apache.commons.io.FileUtils;
+import java.nio.file.Files;
 
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
@@ -44,16 +44,9 @@ public class NpmLockfileExtractor {
     }
 
     public Extraction extract(final File directory, final File lockfile) {
-        String lockText;
-        try {
-            lockText = FileUtils.readFileToString(lockfile, StandardCharsets.UTF_8);
-        } catch (final IOException e) {
-            return new Extraction.Builder().exception(e).build();
-        }
-
-        try {
+        try (final BufferedReader lockReader = Files.newBufferedReader(lockfile.toPath(), StandardCharsets.UTF_8)) {
             final boolean includeDevDeps = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_NPM_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None);
-            final NpmParseResult result = npmLockfilePackager.parse(directory.getCanonicalPath(), lockText, includeDevDeps);
+            final NpmParseResult result = npmLockfilePackager.parse(directory.getCanonicalPath(), lockReader, includeDevDeps);
             return new Extraction.Builder().success(result.codeLocation).projectName(result.projectName).projectVersion(result.projectVersion).build();
         } catch (final IOException e) {
             return new Extraction.Builder().exception(e).build();
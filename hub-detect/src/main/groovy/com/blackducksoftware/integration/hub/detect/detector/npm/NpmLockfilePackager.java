@@ -23,86 +23,192 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.codehaus.plexus.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.util.CompactDependencyGraphBuilder;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
-import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
-import com.synopsys.integration.hub.bdio.graph.builder.LazyExternalIdDependencyGraphBuilder;
 import com.synopsys.integration.hub.bdio.model.Forge;
-import com.synopsys.integration.hub.bdio.model.dependencyid.DependencyId;
-import com.synopsys.integration.hub.bdio.model.dependencyid.NameDependencyId;
-import com.synopsys.integration.hub.bdio.model.dependencyid.NameVersionDependencyId;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
 
 public class NpmLockfilePackager {
     private final Logger logger = LoggerFactory.getLogger(NpmLockfilePackager.class);
-    private final Gson gson;
     private final ExternalIdFactory externalIdFactory;
 
-    public NpmLockfilePackager(final Gson gson, final ExternalIdFactory externalIdFactory) {
-        this.gson = gson;
+    public NpmLockfilePackager(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
-    public NpmParseResult parse(final String sourcePath, final String lockFileText, final boolean includeDevDependencies) {
-        final LazyExternalIdDependencyGraphBuilder lazyBuilder = new LazyExternalIdDependencyGraphBuilder();
-        logger.info("Parsing lock file text: ");
-        logger.debug(lockFileText);
+    public NpmParseResult parse(final String sourcePath, final String lockFileText, final boolean includeDevDependencies) throws IOException {
+        return parse(sourcePath, new StringReader(lockFileText), includeDevDependencies);
+    }
+
+    public NpmParseResult parse(final String sourcePath, final Reader lockFileReader, final boolean includeDevDependencies) throws IOException {
+        logger.info("Parsing lock file.");
+        final NpmDependency npmProject = readProject(lockFileReader);
 
-        final NpmProject npmProject = gson.fromJson(lockFileText, NpmProject.class);
+        final CompactDependencyGraphBuilder graphBuilder = new CompactDependencyGraphBuilder(externalIdFactory);
         logger.info("Processing project.");
         if (npmProject.dependencies != null) {
             logger.info(String.format("Found %d dependencies.", npmProject.dependencies.size()));
-            npmProject.dependencies.forEach((name, npmDependency) -> {
+            final Set<NpmDependency> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            final Deque<NpmDependency> pending = new ArrayDeque<>();
+            for (final NpmDependency npmDependency : npmProject.dependencies.values()) {
                 if (shouldInclude(npmDependency, includeDevDependencies)) {
-                    final DependencyId dependency = createDependencyId(name, npmDependency.version);
-                    setDependencyInfo(dependency, name, npmDependency.version, lazyBuilder);
-                    lazyBuilder.addChildToRoot(dependency);
-                    if (npmDependency.requires != null) {
-                        npmDependency.requires.forEach((childName, childVersion) -> {
-                            final DependencyId childId = createDependencyId(childName, childVersion);
-                            setDependencyInfo(childId, childName, childVersion, lazyBuilder);
-                            lazyBuilder.addChildWithParent(childId, dependency);
-                        });
-                    }
+                    graphBuilder.addChildToRoot(addDependency(npmDependency.name, npmDependency.version, graphBuilder));
+                    visited.add(npmDependency);
+                    pending.push(npmDependency);
                 }
-            });
+            }
+            while (!pending.isEmpty()) {
+                addRequirements(pending.pop(), visited, pending, graphBuilder);
+            }
         } else {
             logger.info("Lock file did not have a 'dependencies' section.");
         }
         logger.info("Finished processing.");
-        final DependencyGraph graph = lazyBuilder.build();
+        final DependencyGraph graph = graphBuilder.build();
         final ExternalId projectId = externalIdFactory.createNameVersionExternalId(Forge.NPM, npmProject.name, npmProject.version);
         final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.NPM, sourcePath, projectId, graph).build();
         return new NpmParseResult(npmProject.name, npmProject.version, codeLocation);
     }
 
-    private boolean shouldInclude(final NpmDependency npmDependency, final boolean includeDevDependencies) {
-        boolean isDev = false;
-        if (npmDependency.dev != null && npmDependency.dev == true) {
-            isDev = true;
+    /**
+     * Adds the edges of a dependency. Each required name is resolved the way node resolves it, starting at the requiring dependency and walking
+     * up through the enclosing scopes, so the edge points at the version that is actually installed. Only dependencies reached this way are
+     * queued, so a nested install that nothing requires never becomes a disconnected part of the graph.
+     */
+    private void addRequirements(final NpmDependency npmDependency, final Set<NpmDependency> visited, final Deque<NpmDependency> pending, final CompactDependencyGraphBuilder graphBuilder) {
+        if (npmDependency.requires == null) {
+            return;
+        }
+        final int dependency = addDependency(npmDependency.name, npmDependency.version, graphBuilder);
+        for (final Map.Entry<String, String> requirement : npmDependency.requires.entrySet()) {
+            final NpmDependency resolved = npmDependency.resolve(requirement.getKey());
+            final String childVersion = resolved != null && resolved.version != null ? resolved.version : requirement.getValue();
+            graphBuilder.addParentWithChild(dependency, addDependency(requirement.getKey(), childVersion, graphBuilder));
+            if (resolved != null && visited.add(resolved)) {
+                pending.push(resolved);
+            }
+        }
+    }
+
+    private NpmDependency readProject(final Reader lockFileReader) throws IOException {
+        final NpmDependency npmProject = new NpmDependency(null, null);
+        try (final JsonReader reader = new JsonReader(lockFileReader)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String property = reader.nextName();
+                if ("name".equals(property)) {
+                    npmProject.name = nextString(reader);
+                } else if ("version".equals(property)) {
+                    npmProject.version = nextString(reader);
+                } else if ("dependencies".equals(property)) {
+                    readDependencies(reader, npmProject);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return npmProject;
+    }
+
+    private void readDependencies(final JsonReader reader, final NpmDependency parent) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final NpmDependency npmDependency = new NpmDependency(reader.nextName(), parent);
+            readDependency(reader, npmDependency);
+            parent.addDependency(npmDependency);
+        }
+        reader.endObject();
+    }
+
+    private void readDependency(final JsonReader reader, final NpmDependency npmDependency) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
         }
-        if (isDev) {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String property = reader.nextName();
+            if ("version".equals(property)) {
+                npmDependency.version = nextString(reader);
+            } else if ("dev".equals(property)) {
+                npmDependency.dev = nextBoolean(reader);
+            } else if ("requires".equals(property)) {
+                readRequires(reader, npmDependency);
+            } else if ("dependencies".equals(property)) {
+                readDependencies(reader, npmDependency);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private void readRequires(final JsonReader reader, final NpmDependency npmDependency) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String childName = reader.nextName();
+            npmDependency.addRequires(childName, nextString(reader));
+        }
+        reader.endObject();
+    }
+
+    private String nextString(final JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    private boolean nextBoolean(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        }
+        reader.skipValue();
+        return false;
+    }
+
+    private boolean shouldInclude(final NpmDependency npmDependency, final boolean includeDevDependencies) {
+        if (npmDependency.dev) {
             return includeDevDependencies;
         }
         return true;
     }
 
-    private DependencyId createDependencyId(final String name, final String version) {
+    private int addDependency(final String name, final String version, final CompactDependencyGraphBuilder graphBuilder) {
         if (StringUtils.isNotBlank(version)) {
-            return new NameVersionDependencyId(name, version);
+            return graphBuilder.addNameVersionNode(Forge.NPM, name, version);
         } else {
-            return new NameDependencyId(name);
+            return graphBuilder.addNameVersionNode(Forge.NPM, name, null);
         }
     }
-
-    private void setDependencyInfo(final DependencyId dependencyId, final String name, final String version, final LazyExternalIdDependencyGraphBuilder lazyBuilder) {
-        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPM, name, version);
-        lazyBuilder.setDependencyInfo(dependencyId, name, version, externalId);
-    }
 }
@@ -51,7 +51,7 @@ public class NpmPackageLockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        lockfile = fileFinder.findFile(environment.getDirectory(), PACKAGE_LOCK_JSON);
+        lockfile = fileFinder.findFile(environment.getDirectoryListing(), PACKAGE_LOCK_JSON);
         if (lockfile == null) {
             return new FileNotFoundDetectorResult(PACKAGE_LOCK_JSON);
         }
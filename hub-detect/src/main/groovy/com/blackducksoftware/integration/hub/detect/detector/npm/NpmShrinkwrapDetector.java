@@ -51,7 +51,7 @@ public class NpmShrinkwrapDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        lockfile = fileFinder.findFile(environment.getDirectory(), SHRINKWRAP_JSON);
+        lockfile = fileFinder.findFile(environment.getDirectoryListing(), SHRINKWRAP_JSON);
         if (lockfile == null) {
             return new FileNotFoundDetectorResult(SHRINKWRAP_JSON);
         }
@@ -28,12 +28,9 @@ import java.util.List;
 
 import com.blackducksoftware.integration.hub.detect.detector.nuget.model.NugetPackageId;
 import com.blackducksoftware.integration.hub.detect.detector.nuget.model.NugetPackageSet;
+import com.blackducksoftware.integration.hub.detect.util.CompactDependencyGraphBuilder;
 import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
-import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
-import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.hub.bdio.model.Forge;
-import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
-import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
 
 public class NugetDependencyNodeBuilder {
@@ -55,24 +52,23 @@ public class NugetDependencyNodeBuilder {
     }
 
     public DependencyGraph createDependencyGraph(final List<NugetPackageId> packageDependencies) {
-        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final CompactDependencyGraphBuilder graphBuilder = new CompactDependencyGraphBuilder(externalIdFactory);
 
         for (final NugetPackageSet packageSet : packageSets) {
+            final int parent = convertPackageId(graphBuilder, packageSet.packageId);
             for (final NugetPackageId id : packageSet.dependencies) {
-                graph.addParentWithChild(convertPackageId(packageSet.packageId), convertPackageId(id));
+                graphBuilder.addParentWithChild(parent, convertPackageId(graphBuilder, id));
             }
         }
 
         packageDependencies.forEach(it -> {
-            graph.addChildToRoot(convertPackageId(it));
+            graphBuilder.addChildToRoot(convertPackageId(graphBuilder, it));
         });
 
-        return graph;
+        return graphBuilder.build();
     }
 
-    private Dependency convertPackageId(final NugetPackageId id) {
-        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NUGET, id.name, id.version);
-        final Dependency node = new Dependency(id.name, id.version, externalId);
-        return node;
+    private int convertPackageId(final CompactDependencyGraphBuilder graphBuilder, final NugetPackageId id) {
+        return graphBuilder.addNameVersionNode(Forge.NUGET, id.name, id.version);
     }
 }
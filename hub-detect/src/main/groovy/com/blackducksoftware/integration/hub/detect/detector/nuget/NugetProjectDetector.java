@@ -37,7 +37,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Inspe
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
 
 public class NugetProjectDetector extends Detector {
-    static final String[] SUPPORTED_PROJECT_PATTERNS = new String[] {
+    public static final String[] SUPPORTED_PROJECT_PATTERNS = new String[] {
         // C#
         "*.csproj",
         // F#
@@ -100,7 +100,7 @@ public class NugetProjectDetector extends Detector {
     @Override
     public DetectorResult applicable() {
         for (final String filepattern : SUPPORTED_PROJECT_PATTERNS) {
-            if (fileFinder.findFile(environment.getDirectory(), filepattern) != null) {
+            if (fileFinder.findFile(environment.getDirectoryListing(), filepattern) != null) {
                 return new PassedDetectorResult();
             }
         }
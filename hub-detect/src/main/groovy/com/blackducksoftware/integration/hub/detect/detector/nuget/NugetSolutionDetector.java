@@ -37,7 +37,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Inspe
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
 
 public class NugetSolutionDetector extends Detector {
-    static final String[] SUPPORTED_SOLUTION_PATTERNS = new String[] { "*.sln" };
+    public static final String[] SUPPORTED_SOLUTION_PATTERNS = new String[] { "*.sln" };
 
     private final DetectFileFinder fileFinder;
     private final NugetInspectorManager nugetInspectorManager;
@@ -55,7 +55,7 @@ public class NugetSolutionDetector extends Detector {
     @Override
     public DetectorResult applicable() {
         for (final String filepattern : SUPPORTED_SOLUTION_PATTERNS) {
-            if (fileFinder.findFile(environment.getDirectory(), filepattern) != null) {
+            if (fileFinder.findFile(environment.getDirectoryListing(), filepattern) != null) {
                 return new PassedDetectorResult();
             }
         }
@@ -23,10 +23,10 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.packagist;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
-
-import org.apache.commons.io.FileUtils;
+import java.nio.file.Files;
 
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 
@@ -39,11 +39,9 @@ public class ComposerLockExtractor {
     }
 
     public Extraction extract(final File directory, final File composerJson, final File composerLock) {
-        try {
-            final String composerJsonText = FileUtils.readFileToString(composerJson, StandardCharsets.UTF_8);
-            final String composerLockText = FileUtils.readFileToString(composerLock, StandardCharsets.UTF_8);
-
-            final PackagistParseResult result = packagistParser.getDependencyGraphFromProject(directory.toString(), composerJsonText, composerLockText);
+        try (final BufferedReader composerJsonReader = Files.newBufferedReader(composerJson.toPath(), StandardCharsets.UTF_8);
+            final BufferedReader composerLockReader = Files.newBufferedReader(composerLock.toPath(), StandardCharsets.UTF_8)) {
+            final PackagistParseResult result = packagistParser.getDependencyGraphFromProject(directory.toString(), composerJsonReader, composerLockReader);
 
             return new Extraction.Builder().success(result.codeLocation).projectName(result.projectName).projectVersion(result.projectVersion).build();
         } catch (final Exception e) {
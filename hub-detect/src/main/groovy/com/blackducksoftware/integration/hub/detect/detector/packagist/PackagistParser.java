@@ -23,8 +23,15 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.packagist;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,9 +41,8 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
 import com.synopsys.integration.hub.bdio.graph.builder.LazyExternalIdDependencyGraphBuilder;
 import com.synopsys.integration.hub.bdio.model.Forge;
@@ -56,25 +62,29 @@ public class PackagistParser {
         this.detectConfiguration = detectConfiguration;
     }
 
-    public PackagistParseResult getDependencyGraphFromProject(final String sourcePath, final String composerJsonText, final String composerLockText) {
-        final LazyExternalIdDependencyGraphBuilder builder = new LazyExternalIdDependencyGraphBuilder();
+    public PackagistParseResult getDependencyGraphFromProject(final String sourcePath, final String composerJsonText, final String composerLockText) throws IOException {
+        return getDependencyGraphFromProject(sourcePath, new StringReader(composerJsonText), new StringReader(composerLockText));
+    }
 
-        final JsonObject composerJsonObject = new JsonParser().parse(composerJsonText).getAsJsonObject();
-        final NameVersion projectNameVersion = parseNameVersionFromJson(composerJsonObject);
+    public PackagistParseResult getDependencyGraphFromProject(final String sourcePath, final Reader composerJsonReader, final Reader composerLockReader) throws IOException {
+        final boolean includeDev = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PACKAGIST_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None);
 
-        final JsonObject composerLockObject = new JsonParser().parse(composerLockText).getAsJsonObject();
-        final List<PackagistPackage> models = convertJsonToModel(composerLockObject, detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PACKAGIST_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None));
-        final List<NameVersion> rootPackages = parseDependencies(composerJsonObject, detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PACKAGIST_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None));
+        final PackagistPackage project = readPackage(new JsonReader(composerJsonReader), includeDev);
+        final Map<String, PackagistPackage> packages = readLockfilePackages(new JsonReader(composerLockReader), includeDev);
 
-        models.forEach(it -> {
+        final Set<String> rootPackageNames = new HashSet<>();
+        project.getDependencies().forEach(it -> rootPackageNames.add(it.getName()));
+
+        final LazyExternalIdDependencyGraphBuilder builder = new LazyExternalIdDependencyGraphBuilder();
+        packages.values().forEach(it -> {
             final ExternalId id = externalIdFactory.createNameVersionExternalId(Forge.PACKAGIST, it.getNameVersion().getName(), it.getNameVersion().getVersion());
             final NameDependencyId dependencyId = new NameDependencyId(it.getNameVersion().getName());
             builder.setDependencyInfo(dependencyId, it.getNameVersion().getName(), it.getNameVersion().getVersion(), id);
-            if (isRootPackage(it.getNameVersion(), rootPackages)) {
+            if (rootPackageNames.contains(it.getNameVersion().getName())) {
                 builder.addChildToRoot(dependencyId);
             }
             it.getDependencies().forEach(child -> {
-                if (existsInPackages(child, models)) {
+                if (packages.containsKey(child.getName())) {
                     final NameDependencyId childId = new NameDependencyId(child.getName());
                     builder.addChildWithParent(childId, dependencyId);
                 } else {
@@ -83,6 +93,7 @@ public class PackagistParser {
             });
         });
 
+        final NameVersion projectNameVersion = project.getNameVersion();
         ExternalId projectExternalId;
         if (projectNameVersion.getName() == null || projectNameVersion.getVersion() == null) {
             projectExternalId = externalIdFactory.createPathExternalId(Forge.PACKAGIST, sourcePath);
@@ -96,72 +107,88 @@ public class PackagistParser {
         return new PackagistParseResult(projectNameVersion.getName(), projectNameVersion.getVersion(), codeLocation);
     }
 
-    private NameVersion parseNameVersionFromJson(final JsonObject json) {
-        final JsonElement nameElement = json.get("name");
-        final JsonElement versionElement = json.get("version");
-
-        String name = null;
-        String version = null;
-
-        if (nameElement != null) {
-            name = nameElement.toString().replace("\"", "");
-        }
-        if (versionElement != null) {
-            version = versionElement.toString().replace("\"", "");
+    /*
+     * Packages are indexed by name so each require can be resolved without searching the whole lock file. Packages under packages-dev are only included when dev dependencies are.
+     */
+    private Map<String, PackagistPackage> readLockfilePackages(final JsonReader reader, final boolean includeDev) throws IOException {
+        final Map<String, PackagistPackage> packages = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String key = reader.nextName();
+            if ("packages".equals(key) || (includeDev && "packages-dev".equals(key))) {
+                readPackageArray(reader, packages);
+            } else {
+                reader.skipValue();
+            }
         }
-
-        return new NameVersion(name, version);
-    }
-
-    private boolean isRootPackage(final NameVersion nameVersion, final List<NameVersion> rootPackages) {
-        return rootPackages.stream().anyMatch(it -> it.getName().equals(nameVersion.getName()));
-    }
-
-    private boolean existsInPackages(final NameVersion nameVersion, final List<PackagistPackage> models) {
-        return models.stream().anyMatch(it -> it.getNameVersion().getName().equals(nameVersion.getName()));
+        reader.endObject();
+        return packages;
     }
 
-    private List<PackagistPackage> convertJsonToModel(final JsonObject lockfile, final boolean checkDev) {
-        final List<PackagistPackage> packages = new ArrayList<>();
-        lockfile.get("packages").getAsJsonArray().forEach(it -> {
-            if (it.isJsonObject()) {
-                final JsonObject itObject = it.getAsJsonObject();
-                final NameVersion nameVersion = parseNameVersionFromJson(itObject);
-                final List<NameVersion> dependencies = parseDependencies(itObject, checkDev);
-                packages.add(new PackagistPackage(nameVersion, dependencies));
+    private void readPackageArray(final JsonReader reader, final Map<String, PackagistPackage> packages) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                // the require-dev of a locked package is never installed, only the root package's dev requirements are
+                final PackagistPackage packagistPackage = readPackage(reader, false);
+                packages.put(packagistPackage.getNameVersion().getName(), packagistPackage);
+            } else {
+                reader.skipValue();
             }
-        });
-        return packages;
+        }
+        reader.endArray();
     }
 
-    private List<NameVersion> parseDependencies(final JsonObject packageJson, final boolean checkDev) {
+    private PackagistPackage readPackage(final JsonReader reader, final boolean includeDev) throws IOException {
+        String name = null;
+        String version = null;
         final List<NameVersion> dependencies = new ArrayList<>();
 
-        final JsonElement require = packageJson.get("require");
-        if (require != null && require.isJsonObject()) {
-            dependencies.addAll(parseDependenciesFromRequire(require.getAsJsonObject()));
-        }
-
-        if (checkDev) {
-            final JsonElement devRequire = packageJson.get("require-dev");
-            if (devRequire != null && devRequire.isJsonObject()) {
-                dependencies.addAll(parseDependenciesFromRequire(devRequire.getAsJsonObject()));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String key = reader.nextName();
+            if ("name".equals(key)) {
+                name = readString(reader);
+            } else if ("version".equals(key)) {
+                version = readString(reader);
+            } else if ("require".equals(key) || (includeDev && "require-dev".equals(key))) {
+                readRequire(reader, dependencies);
+            } else {
+                reader.skipValue();
             }
-
         }
+        reader.endObject();
 
-        return dependencies;
+        return new PackagistPackage(new NameVersion(name, version), dependencies);
     }
 
-    private List<NameVersion> parseDependenciesFromRequire(final JsonObject requireObject) {
-        final List<NameVersion> dependencies = new ArrayList<>();
-        requireObject.entrySet().forEach(it -> {
-            if (!it.getKey().equalsIgnoreCase("php")) {
-                final NameVersion nameVersion = new NameVersion(it.getKey().toString(), it.getValue().toString());
-                dependencies.add(nameVersion);
+    private void readRequire(final JsonReader reader, final List<NameVersion> dependencies) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            final String constraint = readString(reader);
+            if (!name.equalsIgnoreCase("php")) {
+                dependencies.add(new NameVersion(name, constraint));
             }
-        });
-        return dependencies;
+        }
+        reader.endObject();
+    }
+
+    private String readString(final JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
     }
 
 }
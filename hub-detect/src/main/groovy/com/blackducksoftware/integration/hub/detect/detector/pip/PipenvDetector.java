@@ -61,8 +61,8 @@ public class PipenvDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        pipfile = fileFinder.findFile(environment.getDirectory(), PIPFILE_FILE_NAME);
-        pipfileDotLock = fileFinder.findFile(environment.getDirectory(), PIPFILE_DOT_LOCK_FILE_NAME);
+        pipfile = fileFinder.findFile(environment.getDirectoryListing(), PIPFILE_FILE_NAME);
+        pipfileDotLock = fileFinder.findFile(environment.getDirectoryListing(), PIPFILE_DOT_LOCK_FILE_NAME);
 
         if (pipfile != null || pipfileDotLock != null) {
             return new PassedDetectorResult();
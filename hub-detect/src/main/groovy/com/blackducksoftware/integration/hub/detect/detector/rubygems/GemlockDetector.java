@@ -51,7 +51,7 @@ public class GemlockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        gemlock = fileFinder.findFile(environment.getDirectory(), GEMFILE_LOCK_FILENAME);
+        gemlock = fileFinder.findFile(environment.getDirectoryListing(), GEMFILE_LOCK_FILENAME);
         if (gemlock == null) {
             return new FileNotFoundDetectorResult(GEMFILE_LOCK_FILENAME);
         }
@@ -26,106 +26,172 @@ package com.blackducksoftware.integration.hub.detect.detector.rubygems;
 import static com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser.GemfileLockSection.BUNDLED_WITH;
 import static com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser.GemfileLockSection.DEPENDENCIES;
 import static com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser.GemfileLockSection.NONE;
+import static com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser.GemfileLockSection.SOURCE;
 import static com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser.GemfileLockSection.SPECS;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.util.CompactDependencyGraphBuilder;
 import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
-import com.synopsys.integration.hub.bdio.graph.builder.LazyExternalIdDependencyGraphBuilder;
 import com.synopsys.integration.hub.bdio.model.Forge;
-import com.synopsys.integration.hub.bdio.model.dependencyid.DependencyId;
-import com.synopsys.integration.hub.bdio.model.dependencyid.NameDependencyId;
-import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
 import com.synopsys.integration.util.NameVersion;
 
+/**
+ * Parses a Gemfile.lock one line at a time. Gems are tracked by name, so a gem referenced before its spec line is resolved later, and gems that are never given a version keep an empty one.
+ * Specs in GEM, GIT, PATH and PLUGIN SOURCE sections are all treated as installed gems.
+ */
 public class GemlockParser {
     public static final String DEPENDENCIES_HEADER = "DEPENDENCIES";
     public static final String BUNDLED_WITH_HEADER = "BUNDLED WITH";
     public static final String SPECS_HEADER = "specs:";
+    public static final Set<String> SOURCE_HEADERS = new HashSet<>(Arrays.asList("GEM", "GIT", "PATH", "PLUGIN SOURCE"));
 
     public static final String SPEC_RELATIONSHIP_PREFIX = "      ";
     public static final String SPEC_PACKAGE_PREFIX = "    ";
 
     public static final String VERSION_CHARACTERS = "()<>=~";
     public static final String FUZZY_VERSION_CHARACTERS = "<>";
-    public static final String VERSION_PREFIX_PATTERN = " \\(";
+    public static final String VERSION_PREFIX = " (";
     public static final String VERSION_SUFFIX = ")";
 
     private final Logger logger = LoggerFactory.getLogger(GemlockParser.class);
 
     private final ExternalIdFactory externalIdFactory;
-    private LazyExternalIdDependencyGraphBuilder lazyBuilder;
-    private DependencyId currentParent;
 
     private GemfileLockSection currentSection = NONE;
+    private int currentParent = -1;
 
-    private List<String> encounteredDependencies = new ArrayList<>();
-    private List<String> resolvedDependencies = new ArrayList<>();
+    private final Map<String, Integer> gemIds = new HashMap<>();
+    private final List<String> gemNames = new ArrayList<>();
+    private final List<String> gemVersions = new ArrayList<>();
+    private int[] relationships = new int[256];
+    private int relationshipCount = 0;
+    private int[] roots = new int[64];
+    private int rootCount = 0;
 
     public GemlockParser(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
     public DependencyGraph parseProjectDependencies(final List<String> gemfileLockLines) {
-        encounteredDependencies = new ArrayList<>();
-        resolvedDependencies = new ArrayList<>();
-        lazyBuilder = new LazyExternalIdDependencyGraphBuilder();
-        currentParent = null;
-
+        reset();
         for (final String line : gemfileLockLines) {
-            final String trimmedLine = StringUtils.trimToEmpty(line);
-
-            if (StringUtils.isBlank(trimmedLine)) {
-                currentSection = NONE;
-            } else if (SPECS_HEADER.equals(trimmedLine)) {
-                currentSection = SPECS;
-            } else if (DEPENDENCIES_HEADER.equals(trimmedLine)) {
-                currentSection = DEPENDENCIES;
-            } else if (BUNDLED_WITH_HEADER.equals(trimmedLine)) {
-                currentSection = BUNDLED_WITH;
-            } else if (BUNDLED_WITH.equals(currentSection)) {
-                addBundlerDependency(trimmedLine);
-            } else if (SPECS.equals(currentSection)) {
-                parseSpecsSectionLine(line);
-            } else if (DEPENDENCIES.equals(currentSection)) {
-                parseDependencySectionLine(trimmedLine);
-            }
+            parseLine(line);
         }
+        return buildGraph();
+    }
 
-        List<String> missingDependencies = encounteredDependencies.stream().filter(it -> !resolvedDependencies.contains(it)).collect(Collectors.toList());
-        for (final String missingName : missingDependencies) {
-            String missingVersion = "";
-            final DependencyId dependencyId = new NameDependencyId(missingName);
-            final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, missingName, missingVersion);
-            lazyBuilder.setDependencyInfo(dependencyId, missingName, missingVersion, externalId);
+    public DependencyGraph parseProjectDependencies(final BufferedReader gemfileLockReader) throws IOException {
+        reset();
+        String line;
+        while ((line = gemfileLockReader.readLine()) != null) {
+            parseLine(line);
         }
+        return buildGraph();
+    }
 
-        return lazyBuilder.build();
+    private void reset() {
+        currentSection = NONE;
+        currentParent = -1;
+        gemIds.clear();
+        gemNames.clear();
+        gemVersions.clear();
+        relationshipCount = 0;
+        rootCount = 0;
     }
 
-    private void encounteredDependency(String name) {
-        encounteredDependencies.add(name);
+    private void parseLine(final String line) {
+        final String trimmedLine = StringUtils.trimToEmpty(line);
+
+        if (StringUtils.isBlank(trimmedLine)) {
+            currentSection = NONE;
+        } else if (SPECS_HEADER.equals(trimmedLine)) {
+            currentSection = SPECS;
+        } else if (DEPENDENCIES_HEADER.equals(trimmedLine)) {
+            currentSection = DEPENDENCIES;
+        } else if (BUNDLED_WITH_HEADER.equals(trimmedLine)) {
+            currentSection = BUNDLED_WITH;
+        } else if (SOURCE_HEADERS.contains(trimmedLine)) {
+            currentSection = SOURCE;
+        } else if (BUNDLED_WITH.equals(currentSection)) {
+            addBundlerDependency(trimmedLine);
+        } else if (SPECS.equals(currentSection)) {
+            parseSpecsSectionLine(line);
+        } else if (DEPENDENCIES.equals(currentSection)) {
+            parseDependencySectionLine(trimmedLine);
+        }
+    }
+
+    private DependencyGraph buildGraph() {
+        final CompactDependencyGraphBuilder graphBuilder = new CompactDependencyGraphBuilder(externalIdFactory);
+        final int[] nodes = new int[gemNames.size()];
+        Arrays.fill(nodes, -1);
+
+        for (int i = 0; i < rootCount; i++) {
+            graphBuilder.addChildToRoot(toNode(graphBuilder, nodes, roots[i]));
+        }
+        for (int i = 0; i < relationshipCount; i += 2) {
+            graphBuilder.addParentWithChild(toNode(graphBuilder, nodes, relationships[i]), toNode(graphBuilder, nodes, relationships[i + 1]));
+        }
+
+        return graphBuilder.build();
     }
 
-    private void setDependencyInfo(final DependencyId id, final String name, final String version, final ExternalId externalId) {
-        resolvedDependencies.add(name);
-        lazyBuilder.setDependencyInfo(id, name, version, externalId);
+    private int toNode(final CompactDependencyGraphBuilder graphBuilder, final int[] nodes, final int gemId) {
+        if (nodes[gemId] == -1) {
+            final String version = gemVersions.get(gemId);
+            nodes[gemId] = graphBuilder.addNameVersionNode(Forge.RUBYGEMS, gemNames.get(gemId), version == null ? "" : version);
+        }
+        return nodes[gemId];
+    }
+
+    private int gemId(final String name) {
+        final Integer existing = gemIds.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        final int id = gemNames.size();
+        gemIds.put(name, id);
+        gemNames.add(name);
+        gemVersions.add(null);
+        return id;
+    }
+
+    private void setVersion(final int gemId, final String version) {
+        gemVersions.set(gemId, version);
+    }
+
+    private void addRoot(final int gemId) {
+        if (rootCount == roots.length) {
+            roots = Arrays.copyOf(roots, rootCount * 2);
+        }
+        roots[rootCount++] = gemId;
+    }
+
+    private void addRelationship(final int parentId, final int childId) {
+        if (relationshipCount + 2 > relationships.length) {
+            relationships = Arrays.copyOf(relationships, relationships.length * 2);
+        }
+        relationships[relationshipCount++] = parentId;
+        relationships[relationshipCount++] = childId;
     }
 
     private void addBundlerDependency(final String trimmedLine) {
-        final String name = "bundler";
-        final String version = trimmedLine;
-        final DependencyId bundlerId = new NameDependencyId(name);
-        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, name, version);
-        setDependencyInfo(bundlerId, name, version, externalId);
+        setVersion(gemId("bundler"), trimmedLine);
     }
 
     private void parseSpecsSectionLine(final String untrimmedLine) {
@@ -139,22 +205,19 @@ public class GemlockParser {
     }
 
     private void parseSpecRelationshipLine(final String trimmedLine) {
-        if (currentParent == null) {
+        if (currentParent == -1) {
             logger.error(String.format("Trying to add a child without a parent: %s", trimmedLine));
         } else {
             final NameVersion childNode = parseNameVersion(trimmedLine);
-            final DependencyId childId = new NameDependencyId(childNode.getName());
-            encounteredDependency(childNode.getName());
-            lazyBuilder.addChildWithParent(childId, currentParent);
+            addRelationship(currentParent, gemId(childNode.getName()));
         }
     }
 
     private void parseSpecPackageLine(final String trimmedLine) {
         final NameVersion parentNameVersion = parseNameVersion(trimmedLine);
         if (StringUtils.isNotBlank(parentNameVersion.getVersion())) {
-            currentParent = new NameDependencyId(parentNameVersion.getName());
-            final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, parentNameVersion.getName(), parentNameVersion.getVersion());
-            setDependencyInfo(currentParent, parentNameVersion.getName(), parentNameVersion.getVersion(), externalId);
+            currentParent = gemId(parentNameVersion.getName());
+            setVersion(currentParent, parentNameVersion.getVersion());
         } else {
             logger.error(String.format("An installed spec did not have a non-fuzzy version: %s", trimmedLine));
         }
@@ -165,23 +228,23 @@ public class GemlockParser {
         if (dependencyNameVersionNode.getName() == null) {
             logger.error(String.format("Line in dependencies section can't be parsed: %s", trimmedLine));
         } else {
+            final int dependencyId = gemId(dependencyNameVersionNode.getName());
             if (StringUtils.isNotBlank(dependencyNameVersionNode.getVersion())) {
-                DependencyId dependencyId = new NameDependencyId(dependencyNameVersionNode.getName());
-                ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, dependencyNameVersionNode.getName(), dependencyNameVersionNode.getVersion());
-                setDependencyInfo(dependencyId, dependencyNameVersionNode.getName(), dependencyNameVersionNode.getVersion(), externalId);
+                setVersion(dependencyId, dependencyNameVersionNode.getVersion());
             }
-            encounteredDependency(dependencyNameVersionNode.getName());
-            lazyBuilder.addChildToRoot(new NameDependencyId(dependencyNameVersionNode.getName()));
+            addRoot(dependencyId);
         }
     }
 
     private NameVersion parseNameVersion(final String trimmedLine) {
-        final String[] pieces = trimmedLine.split(VERSION_PREFIX_PATTERN);
-        String name = pieces[0].trim();
+        final int versionStart = trimmedLine.indexOf(VERSION_PREFIX);
+        String name = (versionStart < 0 ? trimmedLine : trimmedLine.substring(0, versionStart)).trim();
         String version = "";
 
-        if (pieces.length > 1) {
-            final Optional<String> validVersion = parseValidVersion(pieces[1].trim());
+        if (versionStart >= 0) {
+            final int versionEnd = trimmedLine.indexOf(VERSION_PREFIX, versionStart + VERSION_PREFIX.length());
+            final String versionPiece = trimmedLine.substring(versionStart + VERSION_PREFIX.length(), versionEnd < 0 ? trimmedLine.length() : versionEnd);
+            final Optional<String> validVersion = parseValidVersion(versionPiece.trim());
             version = validVersion.orElse("");
         }
 
@@ -207,6 +270,7 @@ public class GemlockParser {
         BUNDLED_WITH,
         DEPENDENCIES,
         NONE,
+        SOURCE,
         SPECS;
     }
 
@@ -23,6 +23,8 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.sbt;
 
+import java.util.Objects;
+
 import com.synopsys.integration.util.Stringable;
 
 public class SbtAggregate extends Stringable {
@@ -35,4 +37,21 @@ public class SbtAggregate extends Stringable {
         this.org = org;
         this.version = version;
     }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SbtAggregate)) {
+            return false;
+        }
+        final SbtAggregate otherAggregate = (SbtAggregate) other;
+        return Objects.equals(name, otherAggregate.name) && Objects.equals(org, otherAggregate.org) && Objects.equals(version, otherAggregate.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, org, version);
+    }
 }
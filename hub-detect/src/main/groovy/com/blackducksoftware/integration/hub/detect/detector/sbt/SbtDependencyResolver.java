@@ -27,7 +27,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
-import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
@@ -40,10 +39,9 @@ public class SbtDependencyResolver {
         this.externalIdFactory = externalIdFactory;
     }
 
-    public SbtDependencyModule resolveReport(final SbtReport report) {
+    public void resolveReport(final SbtReport report, final MutableDependencyGraph graph) {
         final ExternalId rootId = externalIdFactory.createMavenExternalId(report.getOrganisation(), report.getModule(), report.getRevision());
         logger.debug("Created external id: " + rootId.toString());
-        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
 
         logger.debug("Dependencies found: " + report.getDependencies().size());
 
@@ -67,15 +65,5 @@ public class SbtDependencyResolver {
                 });
             });
         });
-
-        final SbtDependencyModule module = new SbtDependencyModule();
-        module.name = report.getModule();
-        module.version = report.getRevision();
-        module.org = report.getOrganisation();
-
-        module.graph = graph;
-        module.configuration = report.getConfiguration();
-
-        return module;
     }
 }
@@ -23,25 +23,33 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.sbt;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.synopsys.integration.hub.bdio.graph.DependencyGraphCombiner;
 import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
 
 public class SbtModuleAggregator {
     private final Logger logger = LoggerFactory.getLogger(SbtModuleAggregator.class);
 
-    public List<SbtDependencyModule> aggregateModules(final List<SbtDependencyModule> modules) {
-        final Set<SbtAggregate> aggregates = uniqueAggregates(modules);
+    /**
+     * Groups the reports by module in a single pass and resolves every report of a group straight into the group's graph, so no graph is copied.
+     */
+    public List<SbtDependencyModule> aggregateReports(final List<SbtReport> reports, final SbtDependencyResolver resolver) {
+        final Map<SbtAggregate, List<SbtReport>> aggregates = new LinkedHashMap<>();
+        for (final SbtReport report : reports) {
+            aggregates.computeIfAbsent(reportToAggregate(report), aggregate -> new ArrayList<>()).add(report);
+        }
         logger.debug("Found unique aggregates: " + aggregates.size());
 
-        return aggregates.stream().map(aggregate -> {
+        final List<SbtDependencyModule> modules = new ArrayList<>();
+        for (final Map.Entry<SbtAggregate, List<SbtReport>> entry : aggregates.entrySet()) {
+            final SbtAggregate aggregate = entry.getKey();
             final SbtDependencyModule aggregated = new SbtDependencyModule();
             aggregated.name = aggregate.name;
             aggregated.version = aggregate.version;
@@ -50,33 +58,17 @@ public class SbtModuleAggregator {
             final MutableDependencyGraph graph = new MutableMapDependencyGraph();
             aggregated.graph = graph;
 
-            final DependencyGraphCombiner combiner = new DependencyGraphCombiner();
+            for (final SbtReport report : entry.getValue()) {
+                logger.debug("Combining configuration '" + report.getConfiguration() + "' with '" + aggregate.name + "'");
+                resolver.resolveReport(report, graph);
+            }
 
-            modules.forEach(module -> {
-                if (moduleEqualsAggregate(module, aggregate)) {
-                    logger.debug("Combining '" + module.name + "' with '" + aggregate.name + "'");
-                    combiner.addGraphAsChildrenToRoot(graph, module.graph);
-                }
-            });
-
-            return aggregated;
-        }).collect(Collectors.toList());
-    }
-
-    private boolean moduleEqualsAggregate(final SbtDependencyModule module, final SbtAggregate aggregate) {
-        final boolean namesMatch = module.name.equals(aggregate.name);
-        final boolean versionsMatch = module.version.equals(aggregate.version);
-        final boolean groupsMatch = module.org.equals(aggregate.org);
-
-        return namesMatch && groupsMatch && versionsMatch;
-    }
-
-    private SbtAggregate moduleToAggregate(final SbtDependencyModule module) {
-        final SbtAggregate aggregate = new SbtAggregate(module.name, module.org, module.version);
-        return aggregate;
+            modules.add(aggregated);
+        }
+        return modules;
     }
 
-    private Set<SbtAggregate> uniqueAggregates(final List<SbtDependencyModule> modules) {
-        return modules.stream().map(module -> moduleToAggregate(module)).collect(Collectors.toSet());
+    private SbtAggregate reportToAggregate(final SbtReport report) {
+        return new SbtAggregate(report.getModule(), report.getOrganisation(), report.getRevision());
     }
 }
@@ -27,18 +27,19 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.xml.sax.SAXException;
 
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
@@ -58,13 +59,25 @@ public class SbtPackager {
 
     private final ExternalIdFactory externalIdFactory;
     private final DetectFileFinder detectFileFinder;
+    private final ExecutorService executorService;
 
+    /**
+     * Parses the report files on the calling thread.
+     */
     public SbtPackager(final ExternalIdFactory externalIdFactory, final DetectFileFinder detectFileFinder) {
+        this(externalIdFactory, detectFileFinder, null);
+    }
+
+    /**
+     * Parses the report files on the given executor, which is shared by every report folder and is left to the caller to shut down.
+     */
+    public SbtPackager(final ExternalIdFactory externalIdFactory, final DetectFileFinder detectFileFinder, final ExecutorService executorService) {
         this.externalIdFactory = externalIdFactory;
         this.detectFileFinder = detectFileFinder;
+        this.executorService = executorService;
     }
 
-    public SbtProject extractProject(final String path, final int depth, final String included, final String excluded) throws IOException, SAXException, ParserConfigurationException {
+    public SbtProject extractProject(final String path, final int depth, final String included, final String excluded) throws IOException, XMLStreamException, InterruptedException, ExecutionException {
         final List<SbtDependencyModule> rawModules = extractModules(path, depth, included, excluded);
         final List<SbtDependencyModule> modules = rawModules.stream().filter(it -> it.graph != null).collect(Collectors.toList());
         final int skipped = rawModules.size() - modules.size();
@@ -112,7 +125,7 @@ public class SbtPackager {
         return version;
     }
 
-    private List<SbtDependencyModule> extractModules(final String path, final int depth, final String included, final String excluded) throws IOException, SAXException, ParserConfigurationException {
+    private List<SbtDependencyModule> extractModules(final String path, final int depth, final String included, final String excluded) throws IOException, XMLStreamException, InterruptedException, ExecutionException {
         final List<File> sbtFiles = detectFileFinder.findFilesToDepth(path, BUILD_SBT_FILENAME, depth);
         final List<File> resolutionCaches = detectFileFinder.findDirectoriesContainingDirectoriesToDepth(path, RESOLUTION_CACHE_DIRECTORY, depth);
 
@@ -120,7 +133,7 @@ public class SbtPackager {
         logger.info(String.format("Found %s resolution caches.", resolutionCaches.size()));
 
         final List<SbtDependencyModule> modules = new ArrayList<>();
-        final List<String> usedReports = new ArrayList<>();
+        final Set<String> usedReports = new HashSet<>();
 
         for (final File sbtFile : sbtFiles) {
             logger.debug(String.format("Found SBT build file: %s", sbtFile.getCanonicalPath()));
@@ -166,8 +179,8 @@ public class SbtPackager {
         return file.getCanonicalPath().startsWith(projectPath.getCanonicalPath());
     }
 
-    private List<SbtDependencyModule> extractReportModules(final String path, final File reportPath, final File source, final String included, final String excluded, final List<String> usedReports)
-        throws IOException, SAXException, ParserConfigurationException {
+    private List<SbtDependencyModule> extractReportModules(final String path, final File reportPath, final File source, final String included, final String excluded, final Set<String> usedReports)
+        throws IOException, XMLStreamException, InterruptedException, ExecutionException {
         final List<SbtDependencyModule> modules = new ArrayList<>();
         final String canonical = reportPath.getCanonicalPath();
         if (usedReports.contains(canonical)) {
@@ -200,35 +213,59 @@ public class SbtPackager {
         return modules;
     }
 
-    private List<SbtDependencyModule> makeModuleAggregate(final List<File> reportFiles, final String include, final String exclude) throws SAXException, IOException, ParserConfigurationException {
-        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        final DocumentBuilder builder = factory.newDocumentBuilder();
-
-        final SbtReportParser parser = new SbtReportParser();
+    private List<SbtDependencyModule> makeModuleAggregate(final List<File> reportFiles, final String include, final String exclude)
+        throws IOException, XMLStreamException, InterruptedException, ExecutionException {
         final SbtDependencyResolver resolver = new SbtDependencyResolver(externalIdFactory);
         final ExcludedIncludedFilter filter = new ExcludedIncludedFilter(exclude, include);
         final SbtModuleAggregator aggregator = new SbtModuleAggregator();
 
-        final List<SbtDependencyModule> modules = new ArrayList<>();
-        for (final File reportFile : reportFiles) {
-            final Document xml = builder.parse(reportFile);
-            logger.debug(String.format("Parsing SBT report file: %s", reportFile.getCanonicalPath()));
-            final SbtReport report = parser.parseReportFromXml(xml);
-            final SbtDependencyModule tree = resolver.resolveReport(report);
-            modules.add(tree);
-        }
-
-        final List<SbtDependencyModule> includedModules = modules.stream().filter(module -> filter.shouldInclude(module.configuration)).collect(Collectors.toList());
+        final List<SbtReport> reports = parseReports(reportFiles);
+        final List<SbtReport> includedReports = reports.stream().filter(report -> filter.shouldInclude(report.getConfiguration())).collect(Collectors.toList());
 
-        if (modules.size() <= 0) {
+        if (reports.size() <= 0) {
             logger.warn("No sbt configurations were found in report folder.");
             return null;
-        } else if (includedModules.size() <= 0) {
-            logger.warn(String.format("Although %s configs were found, none were included.", modules.size()));
+        } else if (includedReports.size() <= 0) {
+            logger.warn(String.format("Although %s configs were found, none were included.", reports.size()));
             return null;
         }
 
-        return aggregator.aggregateModules(includedModules);
+        return aggregator.aggregateReports(includedReports, resolver);
+    }
+
+    /**
+     * Parses the report files on the shared executor when there is one, returning the reports in the order of the files.
+     */
+    private List<SbtReport> parseReports(final List<File> reportFiles) throws IOException, XMLStreamException, InterruptedException, ExecutionException {
+        final SbtReportParser parser = new SbtReportParser();
+        final List<SbtReport> reports = new ArrayList<>();
+
+        if (executorService == null || reportFiles.size() <= 1) {
+            for (final File reportFile : reportFiles) {
+                reports.add(parseReport(parser, reportFile));
+            }
+            return reports;
+        }
+
+        logger.debug(String.format("Parsing %d SBT report files in parallel.", reportFiles.size()));
+        final List<Future<SbtReport>> futures = new ArrayList<>();
+        try {
+            for (final File reportFile : reportFiles) {
+                futures.add(executorService.submit(() -> parseReport(parser, reportFile)));
+            }
+            for (final Future<SbtReport> future : futures) {
+                reports.add(future.get());
+            }
+        } finally {
+            // the executor outlives this folder, so reports still queued after a failure are cancelled here
+            futures.forEach(future -> future.cancel(true));
+        }
+        return reports;
+    }
+
+    private SbtReport parseReport(final SbtReportParser parser, final File reportFile) throws IOException, XMLStreamException {
+        logger.debug(String.format("Parsing SBT report file: %s", reportFile.getCanonicalPath()));
+        return parser.parseReport(reportFile);
     }
 
 }
@@ -23,14 +23,22 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.sbt;
 
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-
-import com.blackducksoftware.integration.hub.detect.util.XmlUtil;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
+/**
+ * Reads an ivy report with a streaming reader so only the modules, revisions and callers are kept in memory, not the whole document.
+ */
 public class SbtReportParser {
     private static final String IVY_REPORT_NODE_KEY = "ivy-report";
     private static final String INFO_NODE_KEY = "info";
@@ -43,46 +51,110 @@ public class SbtReportParser {
     private static final String CALLER_NODE_KEY = "caller";
     private static final String CALLER_REVISION_NODE_KEY = "callerrev";
 
-    public SbtReport parseReportFromXml(final Document xmlReport) {
-        final Node ivyReport = XmlUtil.getNode(IVY_REPORT_NODE_KEY, xmlReport);
-        final Node infoNode = XmlUtil.getNode(INFO_NODE_KEY, ivyReport);
-        final Node dependenciesNode = XmlUtil.getNode(DEPENDENCIES_NODE_KEY, ivyReport);
-        final List<Node> xmlModules = XmlUtil.getNodeList(MODULE_NODE_KEY, dependenciesNode);
+    private static final int IVY_REPORT_DEPTH = 1;
+    private static final int INFO_DEPTH = 2;
+    private static final int MODULE_DEPTH = 3;
+    private static final int REVISION_DEPTH = 4;
+    private static final int CALLER_DEPTH = 5;
 
-        final String organisation = XmlUtil.getAttribute(ORGANISATION_NODE_KEY, infoNode);
-        final String module = XmlUtil.getAttribute(MODULE_NODE_KEY, infoNode);
-        final String revision = XmlUtil.getAttribute(REVISION_NODE_KEY, infoNode);
-        final String configuration = XmlUtil.getAttribute(CONFIGURATION_NODE_KEY, infoNode);
-        final List<SbtModule> dependencies = xmlModules.stream().map(this::createModule).collect(Collectors.toList());
+    private final XMLInputFactory xmlInputFactory;
 
-        return new SbtReport(organisation, module, revision, configuration, dependencies);
+    public SbtReportParser() {
+        xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     }
 
-    private SbtModule createModule(final Node xmlModule) {
-        final List<Node> xmlRevisions = XmlUtil.getNodeList(REVISION_NODE_KEY, xmlModule);
-
-        final String name = XmlUtil.getAttribute(NAME_NODE_KEY, xmlModule);
-        final String organisation = XmlUtil.getAttribute(ORGANISATION_NODE_KEY, xmlModule);
-        final List<SbtRevision> revisions = xmlRevisions.stream().map(this::createRevision).collect(Collectors.toList());
-
-        return new SbtModule(organisation, name, revisions);
+    public SbtReport parseReport(final File reportFile) throws IOException, XMLStreamException {
+        try (InputStream reportStream = new BufferedInputStream(new FileInputStream(reportFile))) {
+            return parseReport(reportStream);
+        }
     }
 
-    private SbtRevision createRevision(final Node xmlRevision) {
-        final List<Node> xmlCallers = XmlUtil.getNodeList(CALLER_NODE_KEY, xmlRevision);
+    public SbtReport parseReport(final InputStream reportStream) throws XMLStreamException {
+        final XMLStreamReader reader;
+        // the factory is shared by the threads parsing reports but is not guaranteed to be thread safe
+        synchronized (xmlInputFactory) {
+            reader = xmlInputFactory.createXMLStreamReader(reportStream);
+        }
+        try {
+            return parseReport(reader);
+        } finally {
+            reader.close();
+        }
+    }
 
-        final String name = XmlUtil.getAttribute(NAME_NODE_KEY, xmlRevision);
-        final List<SbtCaller> callers = xmlCallers.stream().map(this::createCaller).collect(Collectors.toList());
+    private SbtReport parseReport(final XMLStreamReader reader) throws XMLStreamException {
+        String organisation = null;
+        String module = null;
+        String revision = null;
+        String configuration = null;
+        boolean foundInfo = false;
+        final List<SbtModule> dependencies = new ArrayList<>();
+
+        boolean inDependencies = false;
+        String moduleOrganisation = null;
+        String moduleName = null;
+        List<SbtRevision> moduleRevisions = null;
+        String revisionName = null;
+        List<SbtCaller> revisionCallers = null;
+
+        int depth = 0;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                final String element = reader.getLocalName();
+                if (depth == IVY_REPORT_DEPTH && !IVY_REPORT_NODE_KEY.equals(element)) {
+                    throw new XMLStreamException(String.format("Expected an %s but found %s.", IVY_REPORT_NODE_KEY, element), reader.getLocation());
+                } else if (depth == INFO_DEPTH && INFO_NODE_KEY.equals(element) && !foundInfo) {
+                    foundInfo = true;
+                    organisation = getAttribute(reader, ORGANISATION_NODE_KEY);
+                    module = getAttribute(reader, MODULE_NODE_KEY);
+                    revision = getAttribute(reader, REVISION_NODE_KEY);
+                    configuration = getAttribute(reader, CONFIGURATION_NODE_KEY);
+                } else if (depth == INFO_DEPTH && DEPENDENCIES_NODE_KEY.equals(element)) {
+                    inDependencies = true;
+                } else if (depth == MODULE_DEPTH && inDependencies && MODULE_NODE_KEY.equals(element)) {
+                    moduleName = getAttribute(reader, NAME_NODE_KEY);
+                    moduleOrganisation = getAttribute(reader, ORGANISATION_NODE_KEY);
+                    moduleRevisions = new ArrayList<>();
+                } else if (depth == REVISION_DEPTH && moduleRevisions != null && REVISION_NODE_KEY.equals(element)) {
+                    revisionName = getAttribute(reader, NAME_NODE_KEY);
+                    revisionCallers = new ArrayList<>();
+                } else if (depth == CALLER_DEPTH && revisionCallers != null && CALLER_NODE_KEY.equals(element)) {
+                    final String callerOrganisation = getAttribute(reader, ORGANISATION_NODE_KEY);
+                    final String callerName = getAttribute(reader, NAME_NODE_KEY);
+                    final String callerRevision = getAttribute(reader, CALLER_REVISION_NODE_KEY);
+                    revisionCallers.add(new SbtCaller(callerOrganisation, callerName, callerRevision));
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == REVISION_DEPTH && revisionCallers != null) {
+                    moduleRevisions.add(new SbtRevision(revisionName, revisionCallers));
+                    revisionCallers = null;
+                } else if (depth == MODULE_DEPTH && moduleRevisions != null) {
+                    dependencies.add(new SbtModule(moduleOrganisation, moduleName, moduleRevisions));
+                    moduleRevisions = null;
+                } else if (depth == INFO_DEPTH) {
+                    inDependencies = false;
+                }
+                depth--;
+            }
+        }
+
+        if (!foundInfo) {
+            throw new XMLStreamException(String.format("The %s did not contain an %s element.", IVY_REPORT_NODE_KEY, INFO_NODE_KEY));
+        }
 
-        return new SbtRevision(name, callers);
+        return new SbtReport(organisation, module, revision, configuration, dependencies);
     }
 
-    private SbtCaller createCaller(final Node xmlCaller) {
-        final String organisation = XmlUtil.getAttribute(ORGANISATION_NODE_KEY, xmlCaller);
-        final String name = XmlUtil.getAttribute(NAME_NODE_KEY, xmlCaller);
-        final String revision = XmlUtil.getAttribute(CALLER_REVISION_NODE_KEY, xmlCaller);
-
-        return new SbtCaller(organisation, name, revision);
+    private String getAttribute(final XMLStreamReader reader, final String key) throws XMLStreamException {
+        final String value = reader.getAttributeValue(null, key);
+        if (value == null) {
+            throw new XMLStreamException(String.format("The %s element is missing the %s attribute.", reader.getLocalName(), key), reader.getLocation());
+        }
+        return value;
     }
 
 }
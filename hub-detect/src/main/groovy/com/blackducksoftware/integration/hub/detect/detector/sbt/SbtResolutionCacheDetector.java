@@ -49,7 +49,7 @@ public class SbtResolutionCacheDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File build = fileFinder.findFile(environment.getDirectory(), BUILD_SBT_FILENAME);
+        final File build = fileFinder.findFile(environment.getDirectoryListing(), BUILD_SBT_FILENAME);
         if (build == null) {
             return new FileNotFoundDetectorResult(BUILD_SBT_FILENAME);
         }
@@ -64,7 +64,12 @@ public class SbtResolutionCacheDetector extends Detector {
 
     @Override
     public Extraction extract(final ExtractionId extractionId) {
-        return sbtResolutionCacheExtractor.extract(environment.getDirectory());
+        return extract(extractionId, 1);
+    }
+
+    @Override
+    public Extraction extract(final ExtractionId extractionId, final int parallelProcessors) {
+        return sbtResolutionCacheExtractor.extract(environment.getDirectory(), parallelProcessors);
     }
 
 }
@@ -26,6 +26,8 @@ package com.blackducksoftware.integration.hub.detect.detector.sbt;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,15 +55,30 @@ public class SbtResolutionCacheExtractor {
         this.detectConfiguration = detectConfiguration;
     }
 
-    public Extraction extract(final File directory) {
+    /**
+     * Parses the reports on up to parallelProcessors threads, the extraction manager passes one when this extraction runs beside others.
+     */
+    public Extraction extract(final File directory, final int parallelProcessors) {
         try {
             final String included = detectConfiguration.getProperty(DetectProperty.DETECT_SBT_INCLUDED_CONFIGURATIONS, PropertyAuthority.None);
             final String excluded = detectConfiguration.getProperty(DetectProperty.DETECT_SBT_EXCLUDED_CONFIGURATIONS, PropertyAuthority.None);
 
             final int depth = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_SBT_REPORT_DEPTH, PropertyAuthority.None);
 
-            final SbtPackager packager = new SbtPackager(externalIdFactory, detectFileFinder);
-            final SbtProject project = packager.extractProject(directory.getAbsolutePath(), depth, included, excluded);
+            final SbtProject project;
+            if (parallelProcessors > 1) {
+                // one pool serves every report folder of this extraction
+                final ExecutorService executorService = Executors.newFixedThreadPool(parallelProcessors);
+                try {
+                    final SbtPackager packager = new SbtPackager(externalIdFactory, detectFileFinder, executorService);
+                    project = packager.extractProject(directory.getAbsolutePath(), depth, included, excluded);
+                } finally {
+                    executorService.shutdownNow();
+                }
+            } else {
+                final SbtPackager packager = new SbtPackager(externalIdFactory, detectFileFinder);
+                project = packager.extractProject(directory.getAbsolutePath(), depth, included, excluded);
+            }
 
             final List<DetectCodeLocation> codeLocations = new ArrayList<>();
 
@@ -25,13 +25,11 @@ package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
 public abstract class BaseYarnParser {
     protected int getLineLevel(final String line) {
-        int level = 0;
-        String tmpLine = line;
-        while (tmpLine.startsWith("  ")) {
-            tmpLine = tmpLine.replaceFirst("  ", "");
-            level++;
+        int spaces = 0;
+        while (spaces < line.length() && line.charAt(spaces) == ' ') {
+            spaces++;
         }
 
-        return level;
+        return spaces / 2;
     }
 }
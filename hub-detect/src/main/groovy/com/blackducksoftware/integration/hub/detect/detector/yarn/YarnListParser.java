@@ -37,7 +37,6 @@ import com.synopsys.integration.hub.bdio.model.Forge;
 import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
-import com.synopsys.integration.util.NameVersion;
 
 public class YarnListParser extends BaseYarnParser {
     private final Logger logger = LoggerFactory.getLogger(YarnListParser.class);
@@ -48,26 +47,93 @@ public class YarnListParser extends BaseYarnParser {
     public static final String NTH_DEPENDENCY_PREFIX = "\u251C\u2500";
     public static final String INNER_LEVEL_CHARACTER = "\u2502";
 
+    private static final char TREE_BRANCH = '\u251C';
+    private static final char TREE_LAST_BRANCH = '\u2514';
+    private static final char TREE_LINE = '\u2500';
+
     public YarnListParser(final ExternalIdFactory externalIdFactory, final YarnLockParser yarnLockParser) {
         this.externalIdFactory = externalIdFactory;
         this.yarnLockParser = yarnLockParser;
     }
 
     public DependencyGraph parseYarnList(final List<String> yarnLockText, final List<String> yarnListAsList) {
-        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
-        final DependencyHistory history = new DependencyHistory();
-
-        final Map<String, String> yarnLockVersionMap = yarnLockParser.getYarnLockResolvedVersionMap(yarnLockText);
+        return parseYarnList(yarnLockParser.getYarnLockResolvedVersionMap(yarnLockText), yarnListAsList);
+    }
 
+    public DependencyGraph parseYarnList(final Map<String, String> yarnLockVersionMap, final List<String> yarnListAsList) {
+        final YarnListParse yarnListParse = startParsing(yarnLockVersionMap);
         for (final String line : yarnListAsList) {
-            final String lowerCaseLine = line.toLowerCase().trim();
-            final String cleanedLine = line.replaceAll(NTH_DEPENDENCY_PREFIX, "").replaceAll(INNER_LEVEL_CHARACTER, "").replaceAll(LAST_DEPENDENCY_PREFIX, "");
-            if (!cleanedLine.contains("@") || lowerCaseLine.startsWith("yarn list") || lowerCaseLine.startsWith("done in") || lowerCaseLine.startsWith("warning")) {
-                continue;
+            yarnListParse.parseLine(line);
+        }
+        return yarnListParse.finishParsing();
+    }
+
+    /**
+     * Starts a parse that the yarn list output can be fed to one line at a time, as it is produced. Each parse holds its own state, so one parser can serve
+     * several extractions at once.
+     */
+    public YarnListParse startParsing(final Map<String, String> yarnLockVersionMap) {
+        return new YarnListParse(yarnLockVersionMap);
+    }
+
+    public Dependency parseDependencyFromLine(final String cleanedLine, final Map<String, String> yarnLockVersionMap) {
+        final String fuzzyNameVersionString = cleanedLine.trim();
+        // a scoped package name starts with @, so the version separator is the first @ after it
+        final int versionSeparator = fuzzyNameVersionString.indexOf('@', 1);
+        if (versionSeparator < 0) {
+            return null;
+        }
+
+        final String name = fuzzyNameVersionString.substring(0, versionSeparator);
+        String version = yarnLockVersionMap.get(fuzzyNameVersionString);
+        if (version == null) {
+            version = fuzzyNameVersionString.substring(versionSeparator + 1);
+        }
+
+        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPM, name, version);
+        return new Dependency(name, version, externalId);
+    }
+
+    private boolean startsWithIgnoreCase(final String text, final String prefix) {
+        return text.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    public class YarnListParse {
+        private final Map<String, String> yarnLockVersionMap;
+        private final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        private final DependencyHistory history = new DependencyHistory();
+
+        private YarnListParse(final Map<String, String> yarnLockVersionMap) {
+            this.yarnLockVersionMap = yarnLockVersionMap;
+        }
+
+        public void parseLine(final String line) {
+            // the tree drawing characters are skipped, only the spaces between them count towards the depth
+            int start = 0;
+            int spaces = 0;
+            boolean treeLine = false;
+            while (start < line.length()) {
+                final char character = line.charAt(start);
+                if (character == ' ') {
+                    spaces++;
+                } else if (character == TREE_BRANCH || character == TREE_LAST_BRANCH || character == TREE_LINE || character == INNER_LEVEL_CHARACTER.charAt(0)) {
+                    treeLine = true;
+                } else {
+                    break;
+                }
+                start++;
+            }
+
+            final String entry = line.substring(start).trim();
+            if (entry.indexOf('@') < 0 || (!treeLine && (startsWithIgnoreCase(entry, "yarn list") || startsWithIgnoreCase(entry, "done in") || startsWithIgnoreCase(entry, "warning")))) {
+                return;
             }
 
-            final Dependency dependency = parseDependencyFromLine(cleanedLine, yarnLockVersionMap);
-            final int lineLevel = getLineLevel(cleanedLine);
+            final Dependency dependency = parseDependencyFromLine(entry, yarnLockVersionMap);
+            if (dependency == null) {
+                return;
+            }
+            final int lineLevel = spaces / 2;
             try {
                 history.clearDependenciesDeeperThan(lineLevel);
             } catch (final IllegalStateException e) {
@@ -83,26 +149,9 @@ public class YarnListParser extends BaseYarnParser {
             history.add(dependency);
         }
 
-        return graph;
-    }
-
-    public Dependency parseDependencyFromLine(final String cleanedLine, final Map<String, String> yarnLockVersionMap) {
-        final String fuzzyNameVersionString = cleanedLine.trim();
-        String cleanedFuzzyNameVersionString = fuzzyNameVersionString;
-        if (fuzzyNameVersionString.startsWith("@")) {
-            cleanedFuzzyNameVersionString = fuzzyNameVersionString.substring(1);
+        public DependencyGraph finishParsing() {
+            return graph;
         }
-
-        final String[] nameVersionArray = cleanedFuzzyNameVersionString.split("@");
-        final NameVersion nameVersion = new NameVersion(nameVersionArray[0], nameVersionArray[1]);
-        final String resolvedVersion = yarnLockVersionMap.get(fuzzyNameVersionString);
-
-        if (resolvedVersion != null) {
-            nameVersion.setVersion(resolvedVersion);
-        }
-
-        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPM, nameVersion.getName(), nameVersion.getVersion());
-        return new Dependency(nameVersion.getName(), nameVersion.getVersion(), externalId);
     }
 
 }
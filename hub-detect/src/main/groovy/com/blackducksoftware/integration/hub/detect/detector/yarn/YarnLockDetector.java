@@ -42,7 +42,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileN
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
 
 public class YarnLockDetector extends Detector {
-    private static final String YARN_LOCK_FILENAME = "yarn.lock";
+    public static final String YARN_LOCK_FILENAME = "yarn.lock";
 
     private final DetectFileFinder fileFinder;
     private final CacheableExecutableFinder cacheableExecutableFinder;
@@ -60,7 +60,7 @@ public class YarnLockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        yarnlock = fileFinder.findFile(environment.getDirectory(), YARN_LOCK_FILENAME);
+        yarnlock = fileFinder.findFile(environment.getDirectoryListing(), YARN_LOCK_FILENAME);
         if (yarnlock == null) {
             return new FileNotFoundDetectorResult(YARN_LOCK_FILENAME);
         }
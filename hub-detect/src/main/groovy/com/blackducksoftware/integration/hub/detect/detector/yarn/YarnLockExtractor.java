@@ -23,11 +23,13 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -50,12 +52,15 @@ public class YarnLockExtractor {
     public static final String ERROR_FILE = "detect_yarn_error.txt";
 
     private final ExternalIdFactory externalIdFactory;
+    private final YarnLockParser yarnLockParser;
     private final YarnListParser yarnListParser;
     private final ExecutableRunner executableRunner;
     private final DetectConfiguration detectConfiguration;
 
-    public YarnLockExtractor(final ExternalIdFactory externalIdFactory, final YarnListParser yarnListParser, final ExecutableRunner executableRunner, final DetectConfiguration detectConfiguration) {
+    public YarnLockExtractor(final ExternalIdFactory externalIdFactory, final YarnLockParser yarnLockParser, final YarnListParser yarnListParser, final ExecutableRunner executableRunner,
+        final DetectConfiguration detectConfiguration) {
         this.externalIdFactory = externalIdFactory;
+        this.yarnLockParser = yarnLockParser;
         this.yarnListParser = yarnListParser;
         this.executableRunner = executableRunner;
         this.detectConfiguration = detectConfiguration;
@@ -63,22 +68,27 @@ public class YarnLockExtractor {
 
     public Extraction extract(final File directory, final File yarnlock, final String yarnExe) {
         try {
-            final List<String> yarnLockText = Files.readAllLines(yarnlock.toPath(), StandardCharsets.UTF_8);
+            final Map<String, String> yarnLockVersionMap;
+            try (final BufferedReader yarnLockReader = Files.newBufferedReader(yarnlock.toPath(), StandardCharsets.UTF_8)) {
+                yarnLockVersionMap = yarnLockParser.getYarnLockResolvedVersionMap(yarnLockReader);
+            }
             final List<String> exeArgs = Stream.of("list", "--emoji", "false").collect(Collectors.toCollection(ArrayList::new));
 
             if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_YARN_PROD_ONLY, PropertyAuthority.None)) {
                 exeArgs.add("--prod");
             }
 
+            // the tree is parsed while yarn is still writing it, so the listing is never held in memory
+            final YarnListParser.YarnListParse yarnListParse = yarnListParser.startParsing(yarnLockVersionMap);
             final Executable yarnListExe = new Executable(directory, yarnExe, exeArgs);
-            final ExecutableOutput executableOutput = executableRunner.execute(yarnListExe);
+            final ExecutableOutput executableOutput = executableRunner.executeStreaming(yarnListExe, yarnListParse::parseLine);
 
             if (executableOutput.getReturnCode() != 0) {
                 final Extraction.Builder builder = new Extraction.Builder().failure(String.format("Executing command '%s' returned a non-zero exit code %s", String.join(" ", exeArgs), executableOutput.getReturnCode()));
                 return builder.build();
             }
 
-            final DependencyGraph dependencyGraph = yarnListParser.parseYarnList(yarnLockText, executableOutput.getStandardOutputAsList());
+            final DependencyGraph dependencyGraph = yarnListParse.finishParsing();
 
             final ExternalId externalId = externalIdFactory.createPathExternalId(Forge.NPM, directory.getCanonicalPath());
             final DetectCodeLocation detectCodeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.YARN, directory.getCanonicalPath(), externalId, dependencyGraph).build();
@@ -23,14 +23,12 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-
-import org.apache.commons.lang3.StringUtils;
 
 public class YarnLockParser extends BaseYarnParser {
     public static final String COMMENT_PREFIX = "#";
@@ -42,29 +40,76 @@ public class YarnLockParser extends BaseYarnParser {
         final List<String> fuzzyIds = new ArrayList<>();
 
         for (final String line : yarnLockFileAsList) {
-            if (StringUtils.isBlank(line) || line.trim().startsWith(COMMENT_PREFIX)) {
-                continue;
-            }
+            parseLine(line, fuzzyIds, yarnLockResolvedVersions);
+        }
 
-            final String trimmedLine = line.trim();
-            final int level = getLineLevel(line);
-            if (level == 0) {
-                fuzzyIds.addAll(getFuzzyIdsFromLine(line));
-            } else if (level == 1 && trimmedLine.startsWith(VERSION_PREFIX)) {
-                final String resolvedVersion = trimmedLine.substring(VERSION_PREFIX.length(), trimmedLine.lastIndexOf(VERSION_SUFFIX));
-                fuzzyIds.stream().forEach(fuzzyId -> yarnLockResolvedVersions.put(fuzzyId, resolvedVersion));
-                fuzzyIds.clear();
-            }
+        return yarnLockResolvedVersions;
+    }
+
+    public Map<String, String> getYarnLockResolvedVersionMap(final BufferedReader yarnLockReader) throws IOException {
+        final Map<String, String> yarnLockResolvedVersions = new HashMap<>();
+        final List<String> fuzzyIds = new ArrayList<>();
+
+        String line;
+        while ((line = yarnLockReader.readLine()) != null) {
+            parseLine(line, fuzzyIds, yarnLockResolvedVersions);
         }
 
         return yarnLockResolvedVersions;
     }
 
-    private List<String> getFuzzyIdsFromLine(final String s) {
-        final String[] lines = s.split(",");
-        return Arrays.stream(lines)
-                   .map(line -> line.trim().replaceAll("\"", "").replaceAll(":", ""))
-                   .collect(Collectors.toList());
+    private void parseLine(final String line, final List<String> fuzzyIds, final Map<String, String> yarnLockResolvedVersions) {
+        int start = 0;
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        if (start == line.length() || line.startsWith(COMMENT_PREFIX, start)) {
+            return;
+        }
+
+        final int level = getLineLevel(line);
+        if (level == 0) {
+            addFuzzyIds(line, fuzzyIds);
+        } else if (level == 1 && line.startsWith(VERSION_PREFIX, start)) {
+            final String resolvedVersion = line.substring(start + VERSION_PREFIX.length(), line.lastIndexOf(VERSION_SUFFIX));
+            for (final String fuzzyId : fuzzyIds) {
+                yarnLockResolvedVersions.put(fuzzyId, resolvedVersion);
+            }
+            fuzzyIds.clear();
+        }
+    }
+
+    // A key line lists every range resolved to the entry, for example: "@babel/code-frame@^7.0.0", "@babel/code-frame@7.0.0-beta.44":
+    private void addFuzzyIds(final String line, final List<String> fuzzyIds) {
+        int end = line.length();
+        while (end > 0 && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        if (end > 0 && line.charAt(end - 1) == ':') {
+            end--;
+        }
+
+        int start = 0;
+        while (start <= end) {
+            int separator = line.indexOf(',', start);
+            if (separator < 0 || separator > end) {
+                separator = end;
+            }
+            addFuzzyId(line, start, separator, fuzzyIds);
+            start = separator + 1;
+        }
+    }
+
+    private void addFuzzyId(final String line, int start, int end, final List<String> fuzzyIds) {
+        while (start < end && (Character.isWhitespace(line.charAt(start)) || line.charAt(start) == '"')) {
+            start++;
+        }
+        while (end > start && (Character.isWhitespace(line.charAt(end - 1)) || line.charAt(end - 1) == '"')) {
+            end--;
+        }
+        if (start < end) {
+            fuzzyIds.add(line.substring(start, end));
+        }
     }
 
 }
@@ -69,6 +69,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.phonehome.OfflinePh
 import com.blackducksoftware.integration.hub.detect.workflow.phonehome.OnlinePhoneHomeManager;
 import com.blackducksoftware.integration.hub.detect.workflow.phonehome.PhoneHomeManager;
 import com.blackducksoftware.integration.hub.detect.workflow.profiling.BomToolProfiler;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunProfiler;
 import com.google.gson.Gson;
 import com.google.gson.JsonParser;
 import com.synopsys.integration.exception.IntegrationException;
@@ -171,6 +172,7 @@ public class BootManager {
         detectContext.registerBean(phoneHomeManager);
         detectContext.registerBean(diagnosticManager);
         detectContext.registerBean(connectivityManager);
+        detectContext.registerBean(new RunProfiler());
 
         detectContext.registerBean(gson);
         detectContext.registerBean(jsonParser);
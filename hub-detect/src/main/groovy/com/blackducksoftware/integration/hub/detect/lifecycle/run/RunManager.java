@@ -23,6 +23,8 @@
  */
 package com.blackducksoftware.integration.hub.detect.lifecycle.run;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -50,14 +52,18 @@ import com.blackducksoftware.integration.hub.detect.tool.swip.SwipCliManager;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.ConnectivityManager;
 import com.blackducksoftware.integration.hub.detect.workflow.DetectConfigurationFactory;
+import com.blackducksoftware.integration.hub.detect.workflow.DetectRun;
 import com.blackducksoftware.integration.hub.detect.workflow.DetectToolFilter;
 import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioManager;
+import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioResult;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.BdioCodeLocationCreator;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.CodeLocationNameManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+import com.blackducksoftware.integration.hub.detect.workflow.hub.BdioUploadQueue;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.DetectBdioUploadService;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.DetectCodeLocationUnmapService;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.DetectProjectService;
@@ -65,9 +71,13 @@ import com.blackducksoftware.integration.hub.detect.workflow.hub.DetectProjectSe
 import com.blackducksoftware.integration.hub.detect.workflow.hub.HubManager;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.PolicyChecker;
 import com.blackducksoftware.integration.hub.detect.workflow.phonehome.PhoneHomeManager;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunPhase;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunProfileWriter;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunProfiler;
 import com.blackducksoftware.integration.hub.detect.workflow.project.ProjectNameVersionDecider;
 import com.blackducksoftware.integration.hub.detect.workflow.project.ProjectNameVersionOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchOptions;
+import com.google.gson.Gson;
 import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionView;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.hub.bdio.SimpleBdioFactory;
@@ -85,6 +95,29 @@ public class RunManager {
     }
 
     public RunResult run() throws DetectUserFriendlyException, InterruptedException, IntegrationException {
+        RunProfiler runProfiler = detectContext.getBean(RunProfiler.class);
+        try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.RUN)) {
+            return performRun(runProfiler);
+        } finally {
+            writeRunProfile(runProfiler);
+        }
+    }
+
+    private void writeRunProfile(RunProfiler runProfiler) {
+        DirectoryManager directoryManager = detectContext.getBean(DirectoryManager.class);
+        DetectRun detectRun = detectContext.getBean(DetectRun.class);
+        DetectInfo detectInfo = detectContext.getBean(DetectInfo.class);
+        RunProfileWriter runProfileWriter = new RunProfileWriter(detectContext.getBean(Gson.class));
+        try {
+            File runProfileDirectory = directoryManager.getRunProfileOutputDirectory();
+            runProfileWriter.writeProfile(runProfileDirectory, detectRun.getRunId(), detectInfo.getDetectVersion(), runProfiler.getTimings());
+            logger.info("Run profile written to: " + runProfileDirectory.getAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to write the run profile: " + e.getMessage());
+        }
+    }
+
+    private RunResult performRun(RunProfiler runProfiler) throws DetectUserFriendlyException, InterruptedException, IntegrationException {
         //TODO: Better way for run manager to get dependencies so he can be tested. (And better ways of creating his objects)
         PhoneHomeManager phoneHomeManager = detectContext.getBean(PhoneHomeManager.class);
         DetectConfiguration detectConfiguration = detectContext.getBean(DetectConfiguration.class);
@@ -108,7 +141,10 @@ public class RunManager {
             logger.info("Will include the docker tool.");
             DockerTool dockerTool = new DockerTool(detectContext);
 
-            DockerToolResult dockerToolResult = dockerTool.run();
+            DockerToolResult dockerToolResult;
+            try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.DOCKER)) {
+                dockerToolResult = dockerTool.run();
+            }
             runResult.addToolNameVersionIfPresent(DetectTool.DOCKER, dockerToolResult.dockerProjectNameVersion);
             runResult.addDetectCodeLocations(dockerToolResult.dockerCodeLocations);
             runResult.addDockerFile(dockerToolResult.dockerTar);
@@ -125,9 +161,13 @@ public class RunManager {
             logger.info("Will include the detector tool.");
             String projectBomTool = detectConfiguration.getProperty(DetectProperty.DETECT_PROJECT_BOM_TOOL, PropertyAuthority.None);
             SearchOptions searchOptions = detectConfigurationFactory.createSearchOptions(directoryManager.getSourceDirectory());
+            ExtractionOptions extractionOptions = detectConfigurationFactory.createExtractionOptions();
             DetectorTool detectorTool = new DetectorTool(detectContext);
 
-            DetectorToolResult detectorToolResult = detectorTool.performDetectors(searchOptions, projectBomTool);
+            DetectorToolResult detectorToolResult;
+            try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.DETECTORS)) {
+                detectorToolResult = detectorTool.performDetectors(searchOptions, extractionOptions, projectBomTool);
+            }
             runResult.addToolNameVersionIfPresent(DetectTool.DETECTOR, detectorToolResult.bomToolProjectNameVersion);
             runResult.addDetectCodeLocations(detectorToolResult.bomToolCodeLocations);
             runResult.addApplicableDetectors(detectorToolResult.applicableDetectorTypes);
@@ -144,49 +184,68 @@ public class RunManager {
 
         logger.info("Determining project info.");
 
-        ProjectNameVersionOptions projectNameVersionOptions = detectConfigurationFactory.createProjectNameVersionOptions(directoryManager.getSourceDirectory().getName());
-        ProjectNameVersionDecider projectNameVersionDecider = new ProjectNameVersionDecider(projectNameVersionOptions);
-        NameVersion projectNameVersion = projectNameVersionDecider.decideProjectNameVersion(runOptions.getPreferredTools(), runResult.getDetectToolProjectInfo());
-
-        logger.info("Project name: " + projectNameVersion.getName());
-        logger.info("Project version: " + projectNameVersion.getVersion());
-
+        NameVersion projectNameVersion;
         Optional<ProjectVersionView> projectView = Optional.empty();
+        try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.PROJECT)) {
+            ProjectNameVersionOptions projectNameVersionOptions = detectConfigurationFactory.createProjectNameVersionOptions(directoryManager.getSourceDirectory().getName());
+            ProjectNameVersionDecider projectNameVersionDecider = new ProjectNameVersionDecider(projectNameVersionOptions);
+            projectNameVersion = projectNameVersionDecider.decideProjectNameVersion(runOptions.getPreferredTools(), runResult.getDetectToolProjectInfo());
 
-        if (connectivityManager.isDetectOnline() && connectivityManager.getHubServiceManager().isPresent()) {
-            HubServiceManager hubServiceManager = connectivityManager.getHubServiceManager().get();
-            logger.info("Getting or creating project.");
-            DetectProjectServiceOptions options = detectConfigurationFactory.createDetectProjectServiceOptions();
-            DetectProjectService detectProjectService = new DetectProjectService(hubServiceManager, options);
-            projectView = detectProjectService.createOrUpdateHubProject(projectNameVersion);
-            if (projectView.isPresent() && runOptions.shouldUnmapCodeLocations()) {
-                logger.info("Unmapping code locations.");
-                DetectCodeLocationUnmapService detectCodeLocationUnmapService = new DetectCodeLocationUnmapService(hubServiceManager.createHubService(), hubServiceManager.createCodeLocationService());
-                detectCodeLocationUnmapService.unmapCodeLocations(projectView.get());
+            logger.info("Project name: " + projectNameVersion.getName());
+            logger.info("Project version: " + projectNameVersion.getVersion());
+
+            if (connectivityManager.isDetectOnline() && connectivityManager.getHubServiceManager().isPresent()) {
+                HubServiceManager hubServiceManager = connectivityManager.getHubServiceManager().get();
+                logger.info("Getting or creating project.");
+                DetectProjectServiceOptions options = detectConfigurationFactory.createDetectProjectServiceOptions();
+                DetectProjectService detectProjectService = new DetectProjectService(hubServiceManager, options);
+                projectView = detectProjectService.createOrUpdateHubProject(projectNameVersion);
+                if (projectView.isPresent() && runOptions.shouldUnmapCodeLocations()) {
+                    logger.info("Unmapping code locations.");
+                    DetectCodeLocationUnmapService detectCodeLocationUnmapService = new DetectCodeLocationUnmapService(hubServiceManager.createHubService(), hubServiceManager.createCodeLocationService());
+                    detectCodeLocationUnmapService.unmapCodeLocations(projectView.get());
+                } else {
+                    logger.debug("Will not unmap code locations: Project view was not present, or should not unmap code locations.");
+                }
             } else {
-                logger.debug("Will not unmap code locations: Project view was not present, or should not unmap code locations.");
+                logger.debug("Detect is not online, and will not create the project.");
             }
-        } else {
-            logger.debug("Detect is not online, and will not create the project.");
         }
-
         logger.info("Completed project and version actions.");
 
         logger.info("Processing Detect Code Locations.");
+        BdioOptions bdioOptions = detectConfigurationFactory.createBdioOptions();
+        Optional<BdioUploadQueue> bdioUploadQueue = Optional.empty();
+        if (connectivityManager.isDetectOnline() && connectivityManager.getHubServiceManager().isPresent()) {
+            logger.info("BDIO files will be uploaded as they are created.");
+            HubServiceManager hubServiceManager = connectivityManager.getHubServiceManager().get();
+            DetectBdioUploadService detectBdioUploadService = new DetectBdioUploadService(detectConfiguration, hubServiceManager.createCodeLocationService());
+            bdioUploadQueue = Optional.of(detectBdioUploadService.startUploadQueue(bdioOptions));
+        }
+
         BdioManager bdioManager = new BdioManager(detectInfo, new SimpleBdioFactory(), new IntegrationEscapeUtil(), codeLocationNameManager, detectConfiguration, bdioCodeLocationCreator, directoryManager, eventSystem);
-        BdioResult bdioResult = bdioManager.createBdioFiles(runOptions.getAggregateName(), projectNameVersion, runResult.getDetectCodeLocations());
+        try {
+            BdioResult bdioResult;
+            try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.BDIO_CREATION)) {
+                Optional<BdioUploadQueue> uploadQueue = bdioUploadQueue;
+                bdioResult = bdioManager.createBdioFiles(bdioOptions, projectNameVersion, runResult.getDetectCodeLocations(), bdioFile -> uploadQueue.ifPresent(it -> it.submit(bdioFile)));
+            }
 
-        if (bdioResult.getBdioFiles().size() > 0) {
-            logger.info("Created " + bdioResult.getBdioFiles().size() + " BDIO files.");
-            bdioResult.getBdioFiles().forEach(it -> eventSystem.publishEvent(Event.OutputFileOfInterest, it));
-            if (connectivityManager.isDetectOnline() && connectivityManager.getHubServiceManager().isPresent()) {
-                logger.info("Uploading BDIO files.");
-                HubServiceManager hubServiceManager = connectivityManager.getHubServiceManager().get();
-                DetectBdioUploadService detectBdioUploadService = new DetectBdioUploadService(detectConfiguration, hubServiceManager.createCodeLocationService());
-                detectBdioUploadService.uploadBdioFiles(bdioResult.getBdioFiles());
+            if (bdioResult.getBdioFiles().size() > 0) {
+                logger.info("Created " + bdioResult.getBdioFiles().size() + " BDIO files.");
+                bdioResult.getBdioFiles().forEach(it -> eventSystem.publishEvent(Event.OutputFileOfInterest, it));
+            } else {
+                logger.debug("Did not create any BDIO files.");
             }
-        } else {
-            logger.debug("Did not create any BDIO files.");
+            if (bdioUploadQueue.isPresent()) {
+                logger.info("Waiting for BDIO uploads to finish.");
+                try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.BDIO_UPLOAD_WAIT)) {
+                    bdioUploadQueue.get().awaitUploads();
+                }
+            }
+        } finally {
+            // the upload pool is not daemon, so it must never outlive this phase whatever went wrong
+            bdioUploadQueue.ifPresent(BdioUploadQueue::cancel);
         }
 
         logger.info("Completed Detect Code Location processing.");
@@ -195,7 +254,9 @@ public class RunManager {
             logger.info("Will include the signature scanner tool.");
             BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions = detectConfigurationFactory.createBlackDuckSignatureScannerOptions();
             BlackDuckSignatureScannerTool blackDuckSignatureScannerTool = new BlackDuckSignatureScannerTool(blackDuckSignatureScannerOptions, detectContext);
-            blackDuckSignatureScannerTool.runScanTool(projectNameVersion, runResult.getDockerTar());
+            try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.SIGNATURE_SCAN)) {
+                blackDuckSignatureScannerTool.runScanTool(projectNameVersion, runResult.getDockerTar());
+            }
             logger.info("Signature scanner actions finished.");
         } else {
             logger.info("Singature scan tool will not be run.");
@@ -206,7 +267,9 @@ public class RunManager {
             if (connectivityManager.isDetectOnline() && connectivityManager.getHubServiceManager().isPresent()) {
                 HubServiceManager hubServiceManager = connectivityManager.getHubServiceManager().get();
                 BlackDuckBinaryScannerTool blackDuckBinaryScanner = new BlackDuckBinaryScannerTool(codeLocationNameManager, detectConfiguration, hubServiceManager);
-                blackDuckBinaryScanner.performBinaryScanActions(projectNameVersion);
+                try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.BINARY_SCAN)) {
+                    blackDuckBinaryScanner.performBinaryScanActions(projectNameVersion);
+                }
             }
             logger.info("Binary scanner actions finished.");
         } else {
@@ -216,7 +279,9 @@ public class RunManager {
         if (detectToolFilter.shouldInclude(DetectTool.SWIP_CLI)) {
             logger.info("Will include the swip tool.");
             SwipCliManager swipCliManager = new SwipCliManager(directoryManager, new ExecutableRunner(), connectionManager);
-            swipCliManager.runSwip(new Slf4jIntLogger(logger), directoryManager.getSourceDirectory());
+            try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.SWIP)) {
+                swipCliManager.runSwip(new Slf4jIntLogger(logger), directoryManager.getSourceDirectory());
+            }
             logger.info("Swip actions finished.");
         } else {
             logger.info("Swip CLI tool will not be run.");
@@ -226,8 +291,10 @@ public class RunManager {
             HubServiceManager hubServiceManager = connectivityManager.getHubServiceManager().get();
 
             logger.info("Will perform Black Duck post actions.");
-            HubManager hubManager = new HubManager(codeLocationNameManager, detectConfiguration, hubServiceManager, new PolicyChecker(detectConfiguration), eventSystem);
-            hubManager.performPostHubActions(projectNameVersion, projectView.get());
+            HubManager hubManager = new HubManager(codeLocationNameManager, detectConfiguration, hubServiceManager, new PolicyChecker(detectConfiguration), eventSystem, runProfiler);
+            try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.BLACKDUCK_POST_ACTIONS)) {
+                hubManager.performPostHubActions(projectNameVersion, projectView.get());
+            }
             logger.info("Black Duck actions have finished.");
         } else {
             logger.debug("Will not perform post actions: Detect is not online.");
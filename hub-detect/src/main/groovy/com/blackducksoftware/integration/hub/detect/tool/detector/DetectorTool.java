@@ -23,24 +23,32 @@
  */
 package com.blackducksoftware.integration.hub.detect.tool.detector;
 
+import java.io.File;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.DetectInfo;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
 import com.blackducksoftware.integration.hub.detect.lifecycle.DetectContext;
 import com.blackducksoftware.integration.hub.detect.workflow.detector.DetectorManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionManager;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationManager;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.cache.ExtractionCache;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunProfiler;
 import com.blackducksoftware.integration.hub.detect.workflow.project.DetectorEvaluationNameVersionDecider;
 import com.blackducksoftware.integration.hub.detect.workflow.project.DetectorNameVersionDecider;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchManager;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchEvaluator;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchProvider;
+import com.google.gson.Gson;
 import com.synopsys.integration.util.NameVersion;
 
 public class DetectorTool {
@@ -51,10 +59,11 @@ public class DetectorTool {
         this.detectContext = detectContext;
     }
 
-    public DetectorToolResult performDetectors(SearchOptions searchOptions, String projectBomTool) {
+    public DetectorToolResult performDetectors(SearchOptions searchOptions, ExtractionOptions extractionOptions, String projectBomTool) {
         logger.info("Preparing to initialize detectors.");
         DetectorFactory detectorFactory = detectContext.getBean(DetectorFactory.class);
         EventSystem eventSystem = detectContext.getBean(EventSystem.class);
+        RunProfiler runProfiler = detectContext.getBean(RunProfiler.class);
 
         logger.info("Building detector system.");
         DetectorSearchProvider detectorSearchProvider = new DetectorSearchProvider(detectorFactory);
@@ -62,9 +71,10 @@ public class DetectorTool {
 
         SearchManager searchManager = new SearchManager(searchOptions, detectorSearchProvider, detectorSearchEvaluator, eventSystem);
         PreparationManager preparationManager = new PreparationManager(eventSystem);
-        ExtractionManager extractionManager = new ExtractionManager();
+        ExtractionCache extractionCache = createExtractionCache(extractionOptions);
+        ExtractionManager extractionManager = new ExtractionManager(extractionOptions, extractionCache, eventSystem, runProfiler);
 
-        DetectorManager detectorManager = new DetectorManager(searchManager, extractionManager, preparationManager, eventSystem);
+        DetectorManager detectorManager = new DetectorManager(searchManager, extractionManager, preparationManager, eventSystem, runProfiler);
         logger.info("Running detectors.");
         DetectorToolResult detectorToolResult = detectorManager.runDetectors();
         logger.info("Finished running detectors.");
@@ -79,4 +89,15 @@ public class DetectorTool {
 
         return detectorToolResult;
     }
+
+    private ExtractionCache createExtractionCache(ExtractionOptions extractionOptions) {
+        DirectoryManager directoryManager = detectContext.getBean(DirectoryManager.class);
+        DetectInfo detectInfo = detectContext.getBean(DetectInfo.class);
+        DetectConfiguration detectConfiguration = detectContext.getBean(DetectConfiguration.class);
+        Gson gson = detectContext.getBean(Gson.class);
+
+        File cacheDirectory = new File(directoryManager.getPermanentDirectory(), "extraction-cache");
+        long maxSizeBytes = extractionOptions.getExtractionCacheMaxSizeMegabytes() * 1024L * 1024L;
+        return new ExtractionCache(cacheDirectory, extractionOptions.isExtractionCacheEnabled(), maxSizeBytes, detectInfo.getDetectVersion(), detectConfiguration, gson);
+    }
 }
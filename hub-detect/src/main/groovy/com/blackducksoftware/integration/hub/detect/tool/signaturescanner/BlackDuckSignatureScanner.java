@@ -26,7 +26,9 @@ package com.blackducksoftware.integration.hub.detect.tool.signaturescanner;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -40,7 +42,6 @@ import com.blackducksoftware.integration.hub.detect.lifecycle.shutdown.ExitCodeR
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.CodeLocationNameManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
-import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.ExclusionPatternCreator;
 import com.blackducksoftware.integration.hub.detect.workflow.status.SignatureScanStatus;
@@ -48,7 +49,6 @@ import com.blackducksoftware.integration.hub.detect.workflow.status.StatusType;
 import com.synopsys.integration.blackduck.signaturescanner.ScanJob;
 import com.synopsys.integration.blackduck.signaturescanner.ScanJobBuilder;
 import com.synopsys.integration.blackduck.signaturescanner.ScanJobManager;
-import com.synopsys.integration.blackduck.signaturescanner.ScanJobOutput;
 import com.synopsys.integration.blackduck.signaturescanner.command.ScanCommandOutput;
 import com.synopsys.integration.blackduck.signaturescanner.command.ScanTarget;
 import com.synopsys.integration.blackduck.signaturescanner.command.SnippetMatching;
@@ -60,20 +60,20 @@ public abstract class BlackDuckSignatureScanner {
     private final Logger logger = LoggerFactory.getLogger(BlackDuckSignatureScanner.class);
 
     private final DirectoryManager directoryManager;
-    private final DetectFileFinder detectFileFinder;
     private final CodeLocationNameManager codeLocationNameManager;
     private final BlackDuckSignatureScannerOptions signatureScannerOptions;
     private final EventSystem eventSystem;
     private final ScanJobManager scanJobManager;
+    private final SignatureScanScheduler signatureScanScheduler;
 
-    public BlackDuckSignatureScanner(final DirectoryManager directoryManager, final DetectFileFinder detectFileFinder, final CodeLocationNameManager codeLocationNameManager,
-        final BlackDuckSignatureScannerOptions signatureScannerOptions, EventSystem eventSystem, final ScanJobManager scanJobManager) {
+    public BlackDuckSignatureScanner(final DirectoryManager directoryManager, final CodeLocationNameManager codeLocationNameManager,
+        final BlackDuckSignatureScannerOptions signatureScannerOptions, EventSystem eventSystem, final ScanJobManager scanJobManager, final SignatureScanScheduler signatureScanScheduler) {
         this.directoryManager = directoryManager;
-        this.detectFileFinder = detectFileFinder;
         this.codeLocationNameManager = codeLocationNameManager;
         this.signatureScannerOptions = signatureScannerOptions;
         this.eventSystem = eventSystem;
         this.scanJobManager = scanJobManager;
+        this.signatureScanScheduler = signatureScanScheduler;
     }
 
     protected abstract ScanJob createScanJob(NameVersion projectNameVersion, List<SignatureScanPath> signatureScanPaths, File dockerTarFile);
@@ -84,28 +84,19 @@ public abstract class BlackDuckSignatureScanner {
 
     private void scanPaths(final NameVersion projectNameVersion, File dockerTarFile) throws IntegrationException, InterruptedException, IOException {
         List<SignatureScanPath> signatureScanPaths = determinePathsAndExclusions(projectNameVersion, signatureScannerOptions.getMaxDepth(), dockerTarFile);
-        final ScanJob scanJob = createScanJob(projectNameVersion, signatureScanPaths, dockerTarFile);
+        // every target is its own scan job, so targets can be scanned side by side and each reports its own time
+        final List<SignatureScanOutput> signatureScanOutputs = signatureScanScheduler.scan(signatureScanPaths, scanJobManager,
+            signatureScanPath -> createScanJob(projectNameVersion, Collections.singletonList(signatureScanPath), dockerTarFile));
 
-        List<ScanCommandOutput> scanCommandOutputs = new ArrayList<>();
-        try {
-            final ScanJobOutput scanJobOutput = scanJobManager.executeScans(scanJob);
-            if (scanJobOutput.getScanCommandOutputs() != null) {
-                for (ScanCommandOutput scanCommandOutput : scanJobOutput.getScanCommandOutputs()) {
-                    scanCommandOutputs.add(scanCommandOutput);
-                }
-            }
-        } catch (IOException e) {
-            throw new IntegrationException("Could not execute the scans: " + e.getMessage());
-        }
-
-        reportResults(signatureScanPaths, scanCommandOutputs);
+        reportResults(signatureScanOutputs);
     }
 
-    private void reportResults(List<SignatureScanPath> signatureScanPaths, List<ScanCommandOutput> scanCommandOutputList) {
+    private void reportResults(List<SignatureScanOutput> signatureScanOutputs) {
         boolean anyFailed = false;
         boolean anyExitCodeIs64 = false;
-        for (final SignatureScanPath target : signatureScanPaths) {
-            Optional<ScanCommandOutput> targetOutput = scanCommandOutputList.stream()
+        for (final SignatureScanOutput signatureScanOutput : signatureScanOutputs) {
+            final SignatureScanPath target = signatureScanOutput.getSignatureScanPath();
+            Optional<ScanCommandOutput> targetOutput = signatureScanOutput.getScanCommandOutputs().stream()
                                                            .filter(output -> output.getScanTarget().equals(target.targetPath))
                                                            .findFirst();
 
@@ -138,7 +129,7 @@ public abstract class BlackDuckSignatureScanner {
             }
 
             anyFailed = anyFailed || scanStatus == StatusType.FAILURE;
-            eventSystem.publishEvent(Event.StatusSummary, new SignatureScanStatus(target.targetPath, scanStatus));
+            eventSystem.publishEvent(Event.StatusSummary, new SignatureScanStatus(target.targetPath, scanStatus, describeScanTime(signatureScanOutput)));
         }
 
         if (anyFailed) {
@@ -155,22 +146,30 @@ public abstract class BlackDuckSignatureScanner {
         }
     }
 
+    private String describeScanTime(final SignatureScanOutput signatureScanOutput) {
+        final double seconds = signatureScanOutput.getDurationInMilliseconds() / 1000.0;
+        if (!signatureScanOutput.getScanTargetSize().isPresent() || seconds <= 0) {
+            return String.format("%.1f seconds", seconds);
+        }
+        final ScanTargetSize scanTargetSize = signatureScanOutput.getScanTargetSize().get();
+        final double megabytes = scanTargetSize.getByteCount() / (1024.0 * 1024.0);
+        return String.format("%.1f seconds, %d files, %.1f MB, %.0f files/s, %.1f MB/s", seconds, scanTargetSize.getFileCount(), megabytes, scanTargetSize.getFileCount() / seconds, megabytes / seconds);
+    }
+
     private List<SignatureScanPath> determinePathsAndExclusions(final NameVersion projectNameVersion, Integer maxDepth, File dockerTarFile) throws IntegrationException, IOException {
         final String[] providedSignatureScanPaths = signatureScannerOptions.getSignatureScannerPaths();
         final boolean userProvidedScanTargets = null != providedSignatureScanPaths && providedSignatureScanPaths.length > 0;
         final String[] providedExclusionPatterns = signatureScannerOptions.getExclusionPatterns();
         final String[] hubSignatureScannerExclusionNamePatterns = signatureScannerOptions.getExclusionNamePatterns();
 
-        List<SignatureScanPath> signatureScanPaths = new ArrayList<>();
+        final List<String> scanPaths = new ArrayList<>();
         if (null != projectNameVersion.getName() && null != projectNameVersion.getVersion() && userProvidedScanTargets) {
             for (final String path : providedSignatureScanPaths) {
                 logger.info(String.format("Registering explicit scan path %s", path));
-                SignatureScanPath scanPath = createScanPath(path, maxDepth, hubSignatureScannerExclusionNamePatterns, providedExclusionPatterns);
-                signatureScanPaths.add(scanPath);
+                scanPaths.add(path);
             }
         } else if (dockerTarFile != null) {
-            SignatureScanPath scanPath = createScanPath(dockerTarFile.getCanonicalPath(), maxDepth, hubSignatureScannerExclusionNamePatterns, providedExclusionPatterns);
-            signatureScanPaths.add(scanPath);
+            scanPaths.add(dockerTarFile.getCanonicalPath());
         } else {
             final String sourcePath = directoryManager.getSourceDirectory().getAbsolutePath();
             if (userProvidedScanTargets) {
@@ -178,31 +177,40 @@ public abstract class BlackDuckSignatureScanner {
             } else {
                 logger.info(String.format("No scan targets provided - registering the source path %s to scan", sourcePath));
             }
-            SignatureScanPath scanPath = createScanPath(sourcePath, maxDepth, hubSignatureScannerExclusionNamePatterns, providedExclusionPatterns);
-            signatureScanPaths.add(scanPath);
+            scanPaths.add(sourcePath);
         }
-        return signatureScanPaths;
+
+        final ScanTargetSplitter scanTargetSplitter = new ScanTargetSplitter(signatureScannerOptions.getSplitFileCount(), hubSignatureScannerExclusionNamePatterns, providedExclusionPatterns);
+        final Map<String, Set<String>> targetExclusions = scanTargetSplitter.splitScanPaths(scanPaths);
+        return createScanPaths(targetExclusions, maxDepth, hubSignatureScannerExclusionNamePatterns);
     }
 
-    private SignatureScanPath createScanPath(final String path, Integer maxDepth, final String[] hubSignatureScannerExclusionNamePatterns, final String[] providedExclusionPatterns) throws IntegrationException {
+    private List<SignatureScanPath> createScanPaths(final Map<String, Set<String>> targetExclusions, Integer maxDepth, final String[] hubSignatureScannerExclusionNamePatterns) throws IntegrationException {
         try {
-            final File target = new File(path);
-            final String targetPath = target.getCanonicalPath();
-            final ExclusionPatternCreator exclusionPatternCreator = new ExclusionPatternCreator(detectFileFinder, target);
+            final List<File> targets = new ArrayList<>();
+            final List<Set<String>> targetBaseExclusions = new ArrayList<>();
+            for (final Map.Entry<String, Set<String>> targetExclusion : targetExclusions.entrySet()) {
+                targets.add(new File(targetExclusion.getKey()));
+                targetBaseExclusions.add(targetExclusion.getValue());
+            }
+            final ExclusionPatternCreator exclusionPatternCreator = new ExclusionPatternCreator(signatureScannerOptions.getParrallelProcessors());
 
             final String maxDepthHitMsg = String.format("Maximum depth %d hit while traversing source tree to generate signature scanner exclusion patterns. To search deeper, adjust the value of property %s",
                 maxDepth, DetectProperty.DETECT_BLACKDUCK_SIGNATURE_SCANNER_EXCLUSION_PATTERN_SEARCH_DEPTH.getPropertyName());
 
-            final Set<String> scanExclusionPatterns = exclusionPatternCreator.determineExclusionPatterns(maxDepthHitMsg, maxDepth, hubSignatureScannerExclusionNamePatterns);
-            if (null != providedExclusionPatterns) {
-                for (final String providedExclusionPattern : providedExclusionPatterns) {
-                    scanExclusionPatterns.add(providedExclusionPattern);
-                }
+            // every target is searched in the same traversal, so overlapping targets do not walk their shared directories twice
+            final Map<File, Set<String>> targetExclusionPatterns = exclusionPatternCreator.determineExclusionPatterns(targets, maxDepthHitMsg, maxDepth, hubSignatureScannerExclusionNamePatterns);
+
+            final List<SignatureScanPath> signatureScanPaths = new ArrayList<>();
+            for (int i = 0; i < targets.size(); i++) {
+                final File target = targets.get(i);
+                SignatureScanPath signatureScanPath = new SignatureScanPath();
+                signatureScanPath.targetPath = exclusionPatternCreator.getCanonicalPath(target);
+                signatureScanPath.exclusions.addAll(targetExclusionPatterns.get(target));
+                signatureScanPath.exclusions.addAll(targetBaseExclusions.get(i));
+                signatureScanPaths.add(signatureScanPath);
             }
-            SignatureScanPath signatureScanPath = new SignatureScanPath();
-            signatureScanPath.targetPath = targetPath;
-            signatureScanPath.exclusions.addAll(scanExclusionPatterns);
-            return signatureScanPath;
+            return signatureScanPaths;
         } catch (final IOException e) {
             throw new IntegrationException(e.getMessage(), e);
         }
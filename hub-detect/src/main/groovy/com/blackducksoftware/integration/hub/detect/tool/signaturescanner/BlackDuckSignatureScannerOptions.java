@@ -37,9 +37,11 @@ public class BlackDuckSignatureScannerOptions {
     private final String codeLocationSuffix;
     private final String additionalArguments;
     private final Integer maxDepth;
+    private final Integer splitFileCount;
 
     public BlackDuckSignatureScannerOptions(final String[] signatureScannerPaths, final String[] exclusionPatterns, final String[] exclusionNamePatterns, final Integer scanMemory, final Integer parrallelProcessors,
-        final Boolean cleanupOutput, final Boolean dryRun, final Boolean snippetMatching, final String codeLocationPrefix, final String codeLocationSuffix, final String additionalArguments, final Integer maxDepth) {
+        final Boolean cleanupOutput, final Boolean dryRun, final Boolean snippetMatching, final String codeLocationPrefix, final String codeLocationSuffix, final String additionalArguments, final Integer maxDepth,
+        final Integer splitFileCount) {
         this.signatureScannerPaths = signatureScannerPaths;
         this.exclusionPatterns = exclusionPatterns;
         this.exclusionNamePatterns = exclusionNamePatterns;
@@ -52,6 +54,7 @@ public class BlackDuckSignatureScannerOptions {
         this.codeLocationSuffix = codeLocationSuffix;
         this.additionalArguments = additionalArguments;
         this.maxDepth = maxDepth;
+        this.splitFileCount = splitFileCount;
     }
 
     public String[] getSignatureScannerPaths() {
@@ -101,4 +104,8 @@ public class BlackDuckSignatureScannerOptions {
     public Integer getMaxDepth() {
         return maxDepth;
     }
+
+    public Integer getSplitFileCount() {
+        return splitFileCount;
+    }
 }
@@ -74,7 +74,8 @@ public class BlackDuckSignatureScannerTool {
         final String userProvidedScannerInstallUrl = detectConfiguration.getProperty(DetectProperty.DETECT_BLACKDUCK_SIGNATURE_SCANNER_HOST_URL, PropertyAuthority.None);
 
         BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions = detectConfigurationFactory.createBlackDuckSignatureScannerOptions();
-        final ExecutorService executorService = Executors.newFixedThreadPool(blackDuckSignatureScannerOptions.getParrallelProcessors());
+        final SignatureScanScheduler signatureScanScheduler = new SignatureScanScheduler(blackDuckSignatureScannerOptions.getParrallelProcessors(), blackDuckSignatureScannerOptions.getScanMemory());
+        final ExecutorService executorService = Executors.newFixedThreadPool(signatureScanScheduler.getConcurrentScans());
         IntEnvironmentVariables intEnvironmentVariables = new IntEnvironmentVariables();
 
         ScanJobManagerFactory scanJobManagerFactory = new ScanJobManagerFactory();
@@ -95,9 +96,9 @@ public class BlackDuckSignatureScannerTool {
 
         BlackDuckSignatureScanner blackDuckSignatureScanner;
         if (hubServerConfig.isPresent()) {
-            blackDuckSignatureScanner = detectContext.getBean(OnlineBlackDuckSignatureScanner.class, signatureScannerOptions, scanJobManager, hubServerConfig.get());
+            blackDuckSignatureScanner = detectContext.getBean(OnlineBlackDuckSignatureScanner.class, signatureScannerOptions, scanJobManager, signatureScanScheduler, hubServerConfig.get());
         } else {
-            blackDuckSignatureScanner = detectContext.getBean(OfflineBlackDuckSignatureScanner.class, signatureScannerOptions, scanJobManager);
+            blackDuckSignatureScanner = detectContext.getBean(OfflineBlackDuckSignatureScanner.class, signatureScannerOptions, scanJobManager, signatureScanScheduler);
         }
         try {
             blackDuckSignatureScanner.performScanActions(projectNameVersion, dockerTar.orElse(null)); //TODO: get docker tar file.
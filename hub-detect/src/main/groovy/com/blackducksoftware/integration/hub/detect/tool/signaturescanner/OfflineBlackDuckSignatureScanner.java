@@ -28,7 +28,6 @@ import java.util.List;
 
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.CodeLocationNameManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
-import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.synopsys.integration.blackduck.signaturescanner.ScanJob;
 import com.synopsys.integration.blackduck.signaturescanner.ScanJobBuilder;
@@ -38,9 +37,10 @@ import com.synopsys.integration.util.NameVersion;
 
 public class OfflineBlackDuckSignatureScanner extends BlackDuckSignatureScanner {
 
-    public OfflineBlackDuckSignatureScanner(final DirectoryManager directoryManager, final DetectFileFinder detectFileFinder,
-        final CodeLocationNameManager codeLocationNameManager, final BlackDuckSignatureScannerOptions signatureScannerOptions, final EventSystem eventSystem, final ScanJobManager scanJobManager) {
-        super(directoryManager, detectFileFinder, codeLocationNameManager, signatureScannerOptions, eventSystem, scanJobManager);
+    public OfflineBlackDuckSignatureScanner(final DirectoryManager directoryManager, final CodeLocationNameManager codeLocationNameManager,
+        final BlackDuckSignatureScannerOptions signatureScannerOptions, final EventSystem eventSystem, final ScanJobManager scanJobManager,
+        final SignatureScanScheduler signatureScanScheduler) {
+        super(directoryManager, codeLocationNameManager, signatureScannerOptions, eventSystem, scanJobManager, signatureScanScheduler);
     }
 
     @Override
@@ -28,7 +28,6 @@ import java.util.List;
 
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.CodeLocationNameManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
-import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.synopsys.integration.blackduck.configuration.HubServerConfig;
 import com.synopsys.integration.blackduck.signaturescanner.ScanJob;
@@ -41,10 +40,10 @@ public class OnlineBlackDuckSignatureScanner extends BlackDuckSignatureScanner {
 
     private final HubServerConfig hubServerConfig;
 
-    public OnlineBlackDuckSignatureScanner(final DirectoryManager directoryManager, final DetectFileFinder detectFileFinder,
-        final CodeLocationNameManager codeLocationNameManager, final BlackDuckSignatureScannerOptions signatureScannerOptions, final EventSystem eventSystem, final ScanJobManager scanJobManager,
-        final HubServerConfig hubServerConfig) {
-        super(directoryManager, detectFileFinder, codeLocationNameManager, signatureScannerOptions, eventSystem, scanJobManager);
+    public OnlineBlackDuckSignatureScanner(final DirectoryManager directoryManager, final CodeLocationNameManager codeLocationNameManager,
+        final BlackDuckSignatureScannerOptions signatureScannerOptions, final EventSystem eventSystem, final ScanJobManager scanJobManager,
+        final SignatureScanScheduler signatureScanScheduler, final HubServerConfig hubServerConfig) {
+        super(directoryManager, codeLocationNameManager, signatureScannerOptions, eventSystem, scanJobManager, signatureScanScheduler);
         this.hubServerConfig = hubServerConfig;
     }
 
@@ -0,0 +1,129 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.tool.signaturescanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
+
+/**
+ * Decides the scan targets and their base exclusions. A directory target holding more files than the split file count is scanned without its subdirectories,
+ * and each subdirectory becomes a target of its own, so no single scanner has to hold the whole tree.
+ */
+public class ScanTargetSplitter {
+    private final Logger logger = LoggerFactory.getLogger(ScanTargetSplitter.class);
+
+    private final int splitFileCount;
+    private final String[] exclusionNamePatterns;
+    private final String[] providedExclusionPatterns;
+
+    public ScanTargetSplitter(final int splitFileCount, final String[] exclusionNamePatterns, final String[] providedExclusionPatterns) {
+        this.splitFileCount = splitFileCount;
+        this.exclusionNamePatterns = exclusionNamePatterns == null ? new String[0] : exclusionNamePatterns;
+        this.providedExclusionPatterns = providedExclusionPatterns == null ? new String[0] : providedExclusionPatterns;
+    }
+
+    public Map<String, Set<String>> splitScanPaths(final List<String> scanPaths) {
+        final Map<String, Set<String>> targetExclusions = new LinkedHashMap<>();
+        for (final String scanPath : scanPaths) {
+            // the provided exclusion patterns are relative to the targets they were given for, so only those targets get them
+            final Set<String> exclusions = new HashSet<>(Arrays.asList(providedExclusionPatterns));
+            targetExclusions.put(scanPath, exclusions);
+            splitTarget(new File(scanPath), exclusions, targetExclusions);
+        }
+        return targetExclusions;
+    }
+
+    private void splitTarget(final File target, final Set<String> exclusions, final Map<String, Set<String>> targetExclusions) {
+        if (splitFileCount <= 0 || !target.isDirectory() || !hasMoreFilesThan(target, splitFileCount)) {
+            return;
+        }
+
+        final DirectoryListing directoryListing;
+        try {
+            directoryListing = DirectoryListing.read(target);
+        } catch (final IOException e) {
+            logger.debug(String.format("Could not list %s, it will be scanned as a single target. %s", target.getAbsolutePath(), e.getMessage()));
+            return;
+        }
+
+        for (final File subDirectory : directoryListing.getSubDirectories()) {
+            final String subDirectoryPattern = "/" + subDirectory.getName() + "/";
+            if (Files.isSymbolicLink(subDirectory.toPath()) || matchesExclusionNamePattern(subDirectory) || exclusions.stream().anyMatch(exclusion -> exclusion.startsWith(subDirectoryPattern))) {
+                // excluded directories, and directories an exclusion pattern reaches into, stay with the target so the exclusion still applies
+                continue;
+            }
+            final String subDirectoryPath = subDirectory.getPath();
+            if (targetExclusions.containsKey(subDirectoryPath)) {
+                continue;
+            }
+            logger.info(String.format("Scan target %s has more than %d files, scanning %s separately.", target.getPath(), splitFileCount, subDirectoryPath));
+            exclusions.add(subDirectoryPattern);
+            final Set<String> subDirectoryExclusions = new HashSet<>();
+            targetExclusions.put(subDirectoryPath, subDirectoryExclusions);
+            splitTarget(subDirectory, subDirectoryExclusions, targetExclusions);
+        }
+    }
+
+    private boolean matchesExclusionNamePattern(final File file) {
+        return Arrays.stream(exclusionNamePatterns).anyMatch(pattern -> FilenameUtils.wildcardMatchOnSystem(file.getName(), pattern));
+    }
+
+    private boolean hasMoreFilesThan(final File directory, final int fileCount) {
+        final long[] counted = new long[1];
+        try {
+            Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                    counted[0]++;
+                    return counted[0] > fileCount ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (final IOException e) {
+            logger.debug(String.format("Could not count the files in %s. %s", directory.getAbsolutePath(), e.getMessage()));
+        }
+        return counted[0] > fileCount;
+    }
+}
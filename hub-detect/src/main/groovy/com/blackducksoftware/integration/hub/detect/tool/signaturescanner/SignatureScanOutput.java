@@ -0,0 +1,59 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.tool.signaturescanner;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.synopsys.integration.blackduck.signaturescanner.command.ScanCommandOutput;
+
+public class SignatureScanOutput {
+    private final SignatureScanPath signatureScanPath;
+    private final List<ScanCommandOutput> scanCommandOutputs;
+    private final long durationInMilliseconds;
+    private final Optional<ScanTargetSize> scanTargetSize;
+
+    public SignatureScanOutput(final SignatureScanPath signatureScanPath, final List<ScanCommandOutput> scanCommandOutputs, final long durationInMilliseconds, final Optional<ScanTargetSize> scanTargetSize) {
+        this.signatureScanPath = signatureScanPath;
+        this.scanCommandOutputs = scanCommandOutputs;
+        this.durationInMilliseconds = durationInMilliseconds;
+        this.scanTargetSize = scanTargetSize;
+    }
+
+    public SignatureScanPath getSignatureScanPath() {
+        return signatureScanPath;
+    }
+
+    public List<ScanCommandOutput> getScanCommandOutputs() {
+        return scanCommandOutputs;
+    }
+
+    public long getDurationInMilliseconds() {
+        return durationInMilliseconds;
+    }
+
+    public Optional<ScanTargetSize> getScanTargetSize() {
+        return scanTargetSize;
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.tool.signaturescanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.blackduck.signaturescanner.ScanJob;
+import com.synopsys.integration.blackduck.signaturescanner.ScanJobManager;
+import com.synopsys.integration.blackduck.signaturescanner.ScanJobOutput;
+import com.synopsys.integration.blackduck.signaturescanner.command.ScanCommandOutput;
+import com.synopsys.integration.exception.IntegrationException;
+
+/**
+ * Runs each signature scan target as its own scan job. The number of scanners running at once is the requested parallel processors, limited to the processors
+ * on the machine and to how many scanner JVMs fit in the physical memory that is currently available, or in what is left of the container's memory limit when
+ * that is smaller. A target that cannot be scanned is reported as never scanned and the other targets are still scanned.
+ */
+public class SignatureScanScheduler {
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    private final Logger logger = LoggerFactory.getLogger(SignatureScanScheduler.class);
+
+    private final int concurrentScans;
+
+    public SignatureScanScheduler(final int requestedScans, final int scanMemoryInMegabytes) {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        int scans = Math.max(1, Math.min(requestedScans, processors));
+
+        final Optional<Long> availableMemory = findAvailablePhysicalMemory();
+        if (availableMemory.isPresent() && scanMemoryInMegabytes > 0) {
+            // a scanner JVM needs its heap plus roughly a quarter again for metaspace, thread stacks and native buffers
+            final long scannerMemory = scanMemoryInMegabytes * BYTES_PER_MEGABYTE * 5 / 4;
+            final int scansThatFit = (int) Math.max(1, Math.min(Integer.MAX_VALUE, availableMemory.get() / scannerMemory));
+            if (scansThatFit < scans) {
+                logger.info(String.format("Only %d MB of memory is available, running %d signature scans at a time instead of %d.", availableMemory.get() / BYTES_PER_MEGABYTE, scansThatFit, scans));
+                scans = scansThatFit;
+            }
+        }
+        concurrentScans = scans;
+        logger.debug(String.format("Signature scans will run %d at a time (requested %d, %d processors).", concurrentScans, requestedScans, processors));
+    }
+
+    public int getConcurrentScans() {
+        return concurrentScans;
+    }
+
+    public List<SignatureScanOutput> scan(final List<SignatureScanPath> signatureScanPaths, final ScanJobManager scanJobManager, final Function<SignatureScanPath, ScanJob> scanJobCreator)
+        throws IntegrationException, InterruptedException {
+        final List<SignatureScanOutput> signatureScanOutputs = new ArrayList<>();
+        if (signatureScanPaths.isEmpty()) {
+            return signatureScanOutputs;
+        }
+
+        // the first job installs or updates the scanner, so it runs alone and the other jobs find the scanner ready
+        signatureScanOutputs.add(scanTarget(signatureScanPaths.get(0), scanJobManager, scanJobCreator));
+        final List<SignatureScanPath> remainingPaths = signatureScanPaths.subList(1, signatureScanPaths.size());
+
+        final int threadCount = Math.min(concurrentScans, remainingPaths.size());
+        if (threadCount <= 1) {
+            for (final SignatureScanPath signatureScanPath : remainingPaths) {
+                signatureScanOutputs.add(scanTarget(signatureScanPath, scanJobManager, scanJobCreator));
+            }
+            return signatureScanOutputs;
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<SignatureScanOutput>> futures = new ArrayList<>();
+            for (final SignatureScanPath signatureScanPath : remainingPaths) {
+                futures.add(executorService.submit(() -> scanTarget(signatureScanPath, scanJobManager, scanJobCreator)));
+            }
+            for (final Future<SignatureScanOutput> future : futures) {
+                signatureScanOutputs.add(future.get());
+            }
+        } catch (final ExecutionException e) {
+            throw new IntegrationException("Could not execute the scans: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+        return signatureScanOutputs;
+    }
+
+    private SignatureScanOutput scanTarget(final SignatureScanPath signatureScanPath, final ScanJobManager scanJobManager, final Function<SignatureScanPath, ScanJob> scanJobCreator) {
+        final long startTime = System.currentTimeMillis();
+        final List<ScanCommandOutput> scanCommandOutputs = new ArrayList<>();
+        try {
+            final ScanJobOutput scanJobOutput = scanJobManager.executeScans(scanJobCreator.apply(signatureScanPath));
+            if (scanJobOutput.getScanCommandOutputs() != null) {
+                scanCommandOutputs.addAll(scanJobOutput.getScanCommandOutputs());
+            }
+        } catch (final IntegrationException | IOException e) {
+            // the other targets are still worth scanning, this target is reported as never scanned
+            logger.error(String.format("Could not scan %s: %s", signatureScanPath.targetPath, e.getMessage()));
+            logger.debug(e.getMessage(), e);
+            return new SignatureScanOutput(signatureScanPath, Collections.emptyList(), 0, Optional.empty());
+        }
+        final long duration = System.currentTimeMillis() - startTime;
+
+        // the scanner does not report what it walked and walking the target again is only worth it when someone is reading the debug output,
+        // so the status summary shows files and throughput only with debug logging (see the parallel processors property help)
+        Optional<ScanTargetSize> scanTargetSize = Optional.empty();
+        if (logger.isDebugEnabled()) {
+            try {
+                scanTargetSize = Optional.of(ScanTargetSize.measure(new File(signatureScanPath.targetPath).toPath(), signatureScanPath.exclusions));
+            } catch (final IOException e) {
+                logger.debug(String.format("Could not measure the size of %s: %s", signatureScanPath.targetPath, e.getMessage()));
+            }
+        }
+        return new SignatureScanOutput(signatureScanPath, scanCommandOutputs, duration, scanTargetSize);
+    }
+
+    private Optional<Long> findAvailablePhysicalMemory() {
+        // in a container the host can have plenty of memory while the scanners are killed at the container's limit
+        final Optional<Long> containerMemory = findAvailableContainerMemory();
+        final Optional<Long> hostMemory = findAvailableHostMemory();
+        if (containerMemory.isPresent() && hostMemory.isPresent()) {
+            return Optional.of(Math.min(containerMemory.get(), hostMemory.get()));
+        } else if (containerMemory.isPresent()) {
+            return containerMemory;
+        }
+        return hostMemory;
+    }
+
+    private Optional<Long> findAvailableContainerMemory() {
+        // cgroup v2 publishes memory.max, cgroup v1 publishes memory.limit_in_bytes, either way what is left is the limit less the usage
+        final Optional<Long> version2Limit = readMemoryValue(new File("/sys/fs/cgroup/memory.max"));
+        if (version2Limit.isPresent()) {
+            return Optional.of(Math.max(0L, version2Limit.get() - readMemoryValue(new File("/sys/fs/cgroup/memory.current")).orElse(0L)));
+        }
+        final Optional<Long> version1Limit = readMemoryValue(new File("/sys/fs/cgroup/memory/memory.limit_in_bytes"));
+        if (version1Limit.isPresent()) {
+            return Optional.of(Math.max(0L, version1Limit.get() - readMemoryValue(new File("/sys/fs/cgroup/memory/memory.usage_in_bytes")).orElse(0L)));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Long> readMemoryValue(final File memoryFile) {
+        if (!memoryFile.isFile()) {
+            return Optional.empty();
+        }
+        try {
+            final String value = StringUtils.trimToEmpty(new String(Files.readAllBytes(memoryFile.toPath()), StandardCharsets.UTF_8));
+            // an unlimited cgroup v2 reads "max", an unlimited cgroup v1 reads a number close to Long.MAX_VALUE
+            if (!StringUtils.isNumeric(value) || value.length() > 18) {
+                return Optional.empty();
+            }
+            return Optional.of(Long.parseLong(value));
+        } catch (final IOException | NumberFormatException e) {
+            logger.debug(String.format("Could not read the memory from %s: %s", memoryFile.getPath(), e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Long> findAvailableHostMemory() {
+        // MemAvailable counts reclaimable page cache, which the free memory the JVM reports does not
+        final File memoryInfo = new File("/proc/meminfo");
+        if (memoryInfo.isFile()) {
+            try {
+                for (final String line : Files.readAllLines(memoryInfo.toPath(), StandardCharsets.UTF_8)) {
+                    if (line.startsWith("MemAvailable:")) {
+                        final String kilobytes = StringUtils.substringBefore(StringUtils.substringAfter(line, ":").trim(), " ");
+                        return Optional.of(Long.parseLong(kilobytes) * 1024L);
+                    }
+                }
+            } catch (final IOException | NumberFormatException e) {
+                logger.debug("Could not read the available memory from /proc/meminfo: " + e.getMessage());
+            }
+        }
+
+        // not every JVM publishes the free physical memory, in which case only the processors limit the scans
+        try {
+            final Object freePhysicalMemory = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME), "FreePhysicalMemorySize");
+            if (freePhysicalMemory instanceof Long) {
+                return Optional.of((Long) freePhysicalMemory);
+            }
+        } catch (final JMException | RuntimeException e) {
+            logger.debug("Could not read the free physical memory: " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.hub.bdio.model.Forge;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+/**
+ * Builds a dependency graph without allocating a Dependency and ExternalId per edge. Each distinct component is interned once into an integer node id,
+ * its strings are shared between nodes and the edges are kept in primitive int arrays. The bdio DependencyGraph is only created by build().
+ */
+public class CompactDependencyGraphBuilder {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_DUPLICATE_SCAN = 32;
+
+    private final ExternalIdFactory externalIdFactory;
+
+    private final Map<String, String> internedStrings = new HashMap<>();
+    private final Map<NodeKey, Integer> nodeIds = new HashMap<>();
+
+    private Forge[] forges = new Forge[INITIAL_CAPACITY];
+    private String[] groups = new String[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] versions = new String[INITIAL_CAPACITY];
+    private int[][] children = new int[INITIAL_CAPACITY][];
+    private int[] childCounts = new int[INITIAL_CAPACITY];
+    private BitSet[] childSets = new BitSet[INITIAL_CAPACITY];
+    private int nodeCount = 0;
+
+    private int[] roots = new int[INITIAL_CAPACITY];
+    private int rootCount = 0;
+    private final BitSet rootNodes = new BitSet();
+
+    public CompactDependencyGraphBuilder(final ExternalIdFactory externalIdFactory) {
+        this.externalIdFactory = externalIdFactory;
+    }
+
+    public int addNameVersionNode(final Forge forge, final String name, final String version) {
+        return addNode(forge, null, name, version);
+    }
+
+    public int addMavenNode(final String group, final String name, final String version) {
+        return addNode(Forge.MAVEN, group, name, version);
+    }
+
+    public void addChildToRoot(final int child) {
+        if (rootNodes.get(child)) {
+            return;
+        }
+        rootNodes.set(child);
+        if (rootCount == roots.length) {
+            roots = Arrays.copyOf(roots, rootCount * 2);
+        }
+        roots[rootCount++] = child;
+    }
+
+    public void addParentWithChild(final int parent, final int child) {
+        int[] parentChildren = children[parent];
+        final int count = childCounts[parent];
+        if (parentChildren == null) {
+            parentChildren = new int[4];
+            children[parent] = parentChildren;
+        } else {
+            // small child lists are scanned for duplicates, larger ones get a set of their children so every list stays free of duplicates
+            if (count < MAX_DUPLICATE_SCAN) {
+                for (int i = 0; i < count; i++) {
+                    if (parentChildren[i] == child) {
+                        return;
+                    }
+                }
+            } else {
+                BitSet childSet = childSets[parent];
+                if (childSet == null) {
+                    childSet = new BitSet();
+                    for (int i = 0; i < count; i++) {
+                        childSet.set(parentChildren[i]);
+                    }
+                    childSets[parent] = childSet;
+                }
+                if (childSet.get(child)) {
+                    return;
+                }
+                childSet.set(child);
+            }
+            if (count == parentChildren.length) {
+                parentChildren = Arrays.copyOf(parentChildren, count * 2);
+                children[parent] = parentChildren;
+            }
+        }
+        parentChildren[count] = child;
+        childCounts[parent] = count + 1;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    int getChildCount(final int parent) {
+        return childCounts[parent];
+    }
+
+    public DependencyGraph build() {
+        final Dependency[] dependencies = new Dependency[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            dependencies[node] = new Dependency(names[node], versions[node], createExternalId(node));
+        }
+
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        for (int i = 0; i < rootCount; i++) {
+            graph.addChildToRoot(dependencies[roots[i]]);
+        }
+        for (int parent = 0; parent < nodeCount; parent++) {
+            final int[] parentChildren = children[parent];
+            for (int i = 0; i < childCounts[parent]; i++) {
+                graph.addParentWithChild(dependencies[parent], dependencies[parentChildren[i]]);
+            }
+        }
+        return graph;
+    }
+
+    private int addNode(final Forge forge, final String group, final String name, final String version) {
+        final NodeKey key = new NodeKey(forge, intern(group), intern(name), intern(version));
+        final Integer existing = nodeIds.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (nodeCount == names.length) {
+            final int capacity = nodeCount * 2;
+            forges = Arrays.copyOf(forges, capacity);
+            groups = Arrays.copyOf(groups, capacity);
+            names = Arrays.copyOf(names, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            children = Arrays.copyOf(children, capacity);
+            childCounts = Arrays.copyOf(childCounts, capacity);
+            childSets = Arrays.copyOf(childSets, capacity);
+        }
+
+        final int node = nodeCount++;
+        forges[node] = forge;
+        groups[node] = key.group;
+        names[node] = key.name;
+        versions[node] = key.version;
+        nodeIds.put(key, node);
+        return node;
+    }
+
+    private ExternalId createExternalId(final int node) {
+        if (groups[node] != null) {
+            return externalIdFactory.createMavenExternalId(groups[node], names[node], versions[node]);
+        }
+        return externalIdFactory.createNameVersionExternalId(forges[node], names[node], versions[node]);
+    }
+
+    private String intern(final String value) {
+        if (value == null) {
+            return null;
+        }
+        final String existing = internedStrings.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    private static class NodeKey {
+        private final Forge forge;
+        private final String group;
+        private final String name;
+        private final String version;
+        private final int hashCode;
+
+        private NodeKey(final Forge forge, final String group, final String name, final String version) {
+            this.forge = forge;
+            this.group = group;
+            this.name = name;
+            this.version = version;
+            this.hashCode = Objects.hash(forge.getName(), group, name, version);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof NodeKey)) {
+                return false;
+            }
+            final NodeKey otherKey = (NodeKey) other;
+            return forge.getName().equals(otherKey.forge.getName()) && Objects.equals(group, otherKey.group) && Objects.equals(name, otherKey.name) && Objects.equals(version, otherKey.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -76,14 +76,30 @@ public class ExecutableRunner {
         return runExecutable(executable, logger::debug, logger::trace);
     }
 
+    /**
+     * Hands each line of standard output to the consumer as it is produced instead of collecting it, so the returned output only carries the return code and error output.
+     */
+    public ExecutableOutput executeStreaming(final Executable executable, final Consumer<String> standardOutputConsumer) throws ExecutableRunnerException {
+        return runExecutable(executable, standardOutputConsumer, logger::info, logger::trace);
+    }
+
+    public ExecutableOutput executeStreamingQuietly(final Executable executable, final Consumer<String> standardOutputConsumer) throws ExecutableRunnerException {
+        return runExecutable(executable, standardOutputConsumer, logger::debug, logger::trace);
+    }
+
     public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod) throws ExecutableRunnerException {
+        return runExecutable(executable, null, standardLoggingMethod, traceLoggingMethod);
+    }
+
+    public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardOutputConsumer, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod)
+        throws ExecutableRunnerException {
         standardLoggingMethod.accept(String.format("Running executable >%s", executable.getMaskedExecutableDescription()));
         try {
             final ProcessBuilder processBuilder = executable.createProcessBuilder();
             final Process process = processBuilder.start();
 
             try (InputStream standardOutputStream = process.getInputStream(); InputStream standardErrorStream = process.getErrorStream()) {
-                final ExecutableStreamThread standardOutputThread = new ExecutableStreamThread(standardOutputStream, standardLoggingMethod, traceLoggingMethod);
+                final ExecutableStreamThread standardOutputThread = new ExecutableStreamThread(standardOutputStream, standardOutputConsumer, standardLoggingMethod, traceLoggingMethod);
                 standardOutputThread.start();
 
                 final ExecutableStreamThread errorOutputThread = new ExecutableStreamThread(standardErrorStream, standardLoggingMethod, traceLoggingMethod);
@@ -95,6 +111,10 @@ public class ExecutableRunner {
                 standardOutputThread.join();
                 errorOutputThread.join();
 
+                if (standardOutputThread.getLineConsumerException() != null) {
+                    throw standardOutputThread.getLineConsumerException();
+                }
+
                 final String standardOutput = standardOutputThread.getExecutableOutput().trim();
                 final String errorOutput = errorOutputThread.getExecutableOutput().trim();
 
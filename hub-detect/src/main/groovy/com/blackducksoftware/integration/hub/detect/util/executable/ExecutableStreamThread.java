@@ -28,32 +28,54 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.function.Consumer;
 
+import org.slf4j.MDC;
+
 public class ExecutableStreamThread extends Thread {
     private final BufferedReader bufferedReader;
     private final StringBuilder stringBuilder;
+    private final Consumer<String> lineConsumer;
     private final Consumer<String> outputLoggingMethod;
     private final Consumer<String> traceLoggingMethod;
+    private final Map<String, String> loggingContext;
 
     private String executableOutput;
+    private RuntimeException lineConsumerException;
 
     public ExecutableStreamThread(final InputStream executableStream, final Consumer<String> outputLoggingMethod, final Consumer<String> traceLoggingMethod) {
+        this(executableStream, null, outputLoggingMethod, traceLoggingMethod);
+    }
+
+    /**
+     * When a line consumer is given, each line is handed to it as it is read and nothing is retained, so the executable output will be empty.
+     */
+    public ExecutableStreamThread(final InputStream executableStream, final Consumer<String> lineConsumer, final Consumer<String> outputLoggingMethod, final Consumer<String> traceLoggingMethod) {
         super(Thread.currentThread().getName() + "-Executable_Stream_Thread");
+        this.lineConsumer = lineConsumer;
         this.outputLoggingMethod = outputLoggingMethod;
         this.traceLoggingMethod = traceLoggingMethod;
         final InputStreamReader reader = new InputStreamReader(executableStream, StandardCharsets.UTF_8);
         this.bufferedReader = new BufferedReader(reader);
         this.stringBuilder = new StringBuilder();
+        this.loggingContext = MDC.getCopyOfContextMap();
     }
 
     @Override
     public void run() {
+        if (loggingContext != null) {
+            MDC.setContextMap(loggingContext);
+        }
         try {
             String line;
             final String separator = System.lineSeparator();
             while ((line = bufferedReader.readLine()) != null) {
-                stringBuilder.append(line + separator);
+                if (lineConsumer == null) {
+                    stringBuilder.append(line).append(separator);
+                } else if (lineConsumerException == null) {
+                    consumeLine(line);
+                }
                 outputLoggingMethod.accept(line);
             }
         } catch (final IOException e) {
@@ -63,8 +85,21 @@ public class ExecutableStreamThread extends Thread {
         this.executableOutput = stringBuilder.toString();
     }
 
+    // A failing consumer must not stop us reading, otherwise the process could block on a full pipe; the failure is reported once the process ends.
+    private void consumeLine(final String line) {
+        try {
+            lineConsumer.accept(line);
+        } catch (final RuntimeException e) {
+            lineConsumerException = e;
+        }
+    }
+
     public String getExecutableOutput() {
         return executableOutput;
     }
 
+    public RuntimeException getLineConsumerException() {
+        return lineConsumerException;
+    }
+
 }
@@ -35,6 +35,7 @@ import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthor
 import com.blackducksoftware.integration.hub.detect.lifecycle.run.RunOptions;
 import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.BlackDuckSignatureScannerOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioOptions;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.DetectProjectServiceOptions;
@@ -73,8 +74,9 @@ public class DetectConfigurationFactory {
         String outputPath = detectConfiguration.getProperty(DetectProperty.DETECT_OUTPUT_PATH, PropertyAuthority.DirectoryManager);
         String bdioPath = detectConfiguration.getProperty(DetectProperty.DETECT_BDIO_OUTPUT_PATH, PropertyAuthority.DirectoryManager);
         String scanPath = detectConfiguration.getProperty(DetectProperty.DETECT_SCAN_OUTPUT_PATH, PropertyAuthority.DirectoryManager);
+        String runProfilePath = detectConfiguration.getProperty(DetectProperty.DETECT_RUN_PROFILE_OUTPUT_PATH, PropertyAuthority.DirectoryManager);
 
-        return new DirectoryOptions(sourcePath, outputPath, bdioPath, scanPath);
+        return new DirectoryOptions(sourcePath, outputPath, bdioPath, scanPath, runProfilePath);
     }
 
     public AirGapOptions createAirGapOptions() {
@@ -92,12 +94,23 @@ public class DetectConfigurationFactory {
         String excluded = detectConfiguration.getProperty(DetectProperty.DETECT_EXCLUDED_DETECTOR_TYPES, PropertyAuthority.None).toUpperCase();
         String included = detectConfiguration.getProperty(DetectProperty.DETECT_INCLUDED_DETECTOR_TYPES, PropertyAuthority.None).toUpperCase();
         OverridableExcludedIncludedFilter bomToolFilter = new OverridableExcludedIncludedFilter(excluded, included);
-        return new SearchOptions(directory, excludedDirectories, forceNestedSearch, maxDepth, bomToolFilter);
+        int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        return new SearchOptions(directory, excludedDirectories, forceNestedSearch, maxDepth, bomToolFilter, parallelProcessors);
+    }
+
+    public ExtractionOptions createExtractionOptions() {
+        int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        boolean extractionCacheEnabled = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_EXTRACTION_CACHE_ENABLED, PropertyAuthority.None);
+        int extractionCacheMaxSize = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_EXTRACTION_CACHE_MAX_SIZE, PropertyAuthority.None);
+        return new ExtractionOptions(parallelProcessors, extractionCacheEnabled, extractionCacheMaxSize);
     }
 
     public BdioOptions createBdioOptions() {
         String aggregateName = detectConfiguration.getProperty(DetectProperty.DETECT_BOM_AGGREGATE_NAME, PropertyAuthority.None);
-        return new BdioOptions(aggregateName);
+        int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        int parallelUploads = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_BDIO_UPLOAD_PARALLEL_UPLOADS, PropertyAuthority.None);
+        int uploadRetries = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_BDIO_UPLOAD_RETRIES, PropertyAuthority.None);
+        return new BdioOptions(aggregateName, parallelProcessors, parallelUploads, uploadRetries);
 
     }
 
@@ -138,7 +151,8 @@ public class DetectConfigurationFactory {
         final String codeLocationSuffix = detectConfiguration.getProperty(DetectProperty.DETECT_PROJECT_CODELOCATION_SUFFIX, PropertyAuthority.None);
         final String additionalArguments = detectConfiguration.getProperty(DetectProperty.DETECT_BLACKDUCK_SIGNATURE_SCANNER_ARGUMENTS, PropertyAuthority.None);
         final Integer maxDepth = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_BLACKDUCK_SIGNATURE_SCANNER_EXCLUSION_PATTERN_SEARCH_DEPTH, PropertyAuthority.None);
+        final Integer splitFileCount = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_BLACKDUCK_SIGNATURE_SCANNER_SPLIT_FILE_COUNT, PropertyAuthority.None);
         return new BlackDuckSignatureScannerOptions(signatureScannerPaths, exclusionPatterns, exclusionNamePatterns, scanMemory, parrallelProcessors, cleanupOutput, dryRun,
-            snippetMatching, codeLocationPrefix, codeLocationSuffix, additionalArguments, maxDepth);
+            snippetMatching, codeLocationPrefix, codeLocationSuffix, additionalArguments, maxDepth, splitFileCount);
     }
 }
@@ -27,6 +27,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -73,23 +74,25 @@ public class BdioManager {
         this.eventSystem = eventSystem;
     }
 
-    public BdioResult createBdioFiles(String aggregateName, NameVersion projectNameVersion, List<DetectCodeLocation> codeLocations) throws DetectUserFriendlyException {
-        DetectBdioWriter detectBdioWriter = new DetectBdioWriter(simpleBdioFactory, detectInfo);
+    public BdioResult createBdioFiles(BdioOptions bdioOptions, NameVersion projectNameVersion, List<DetectCodeLocation> codeLocations, Consumer<File> bdioFileConsumer) throws DetectUserFriendlyException {
+        DetectBdioWriter detectBdioWriter = new DetectBdioWriter(detectInfo);
 
-        if (StringUtils.isBlank(aggregateName)) {
+        if (StringUtils.isBlank(bdioOptions.getBdioAggregateName())) {
             logger.info("Creating BDIO code locations.");
             final BdioCodeLocationResult codeLocationResult = bdioCodeLocationCreator.createFromDetectCodeLocations(codeLocations, projectNameVersion);
             codeLocationResult.getFailedBomToolGroupTypes().forEach(it -> eventSystem.publishEvent(Event.StatusSummary, new DetectorStatus(it, StatusType.FAILURE)));
 
             logger.info("Creating BDIO files from code locations.");
-            CodeLocationBdioCreator codeLocationBdioCreator = new CodeLocationBdioCreator(detectBdioWriter, simpleBdioFactory);
-            final List<File> createdBdioFiles = codeLocationBdioCreator.createBdioFiles(directoryManager.getBdioOutputDirectory(), codeLocationResult.getBdioCodeLocations(), projectNameVersion);
+            CodeLocationBdioCreator codeLocationBdioCreator = new CodeLocationBdioCreator(detectBdioWriter);
+            final List<File> createdBdioFiles = codeLocationBdioCreator.createBdioFiles(directoryManager.getBdioOutputDirectory(), codeLocationResult.getBdioCodeLocations(), projectNameVersion, bdioOptions.getParallelProcessors(),
+                bdioFileConsumer);
 
             return new BdioResult(codeLocationResult.getBdioCodeLocations(), createdBdioFiles);
         } else {
             logger.info("Creating aggregate BDIO file.");
             AggregateBdioCreator aggregateBdioCreator = new AggregateBdioCreator(simpleBdioFactory, integrationEscapeUtil, codeLocationNameManager, detectConfiguration, detectBdioWriter);
             final File aggregateBdioFile = aggregateBdioCreator.createAggregateBdioFile(directoryManager.getSourceDirectory(), directoryManager.getBdioOutputDirectory(), codeLocations, projectNameVersion);
+            bdioFileConsumer.accept(aggregateBdioFile);
             return new BdioResult(new ArrayList<>(), Arrays.asList(aggregateBdioFile));
         }
     }
@@ -25,12 +25,30 @@ package com.blackducksoftware.integration.hub.detect.workflow.bdio;
 
 public class BdioOptions {
     private final String bdioAggregateName;
+    private final int parallelProcessors;
+    private final int parallelUploads;
+    private final int uploadRetries;
 
-    public BdioOptions(final String bdioAggregateName) {
+    public BdioOptions(final String bdioAggregateName, final int parallelProcessors, final int parallelUploads, final int uploadRetries) {
         this.bdioAggregateName = bdioAggregateName;
+        this.parallelProcessors = parallelProcessors;
+        this.parallelUploads = parallelUploads;
+        this.uploadRetries = uploadRetries;
     }
 
     public String getBdioAggregateName() {
         return bdioAggregateName;
     }
+
+    public int getParallelProcessors() {
+        return parallelProcessors;
+    }
+
+    public int getParallelUploads() {
+        return parallelUploads;
+    }
+
+    public int getUploadRetries() {
+        return uploadRetries;
+    }
 }
@@ -26,42 +26,83 @@ package com.blackducksoftware.integration.hub.detect.workflow.bdio;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
+import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.BdioCodeLocation;
-import com.synopsys.integration.hub.bdio.SimpleBdioFactory;
 import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
-import com.synopsys.integration.hub.bdio.model.SimpleBdioDocument;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.util.NameVersion;
 
 public class CodeLocationBdioCreator {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final DetectBdioWriter detectBdioWriter;
-    private SimpleBdioFactory simpleBdioFactory;
 
-    public CodeLocationBdioCreator(final DetectBdioWriter detectBdioWriter, final SimpleBdioFactory simpleBdioFactory) {
+    public CodeLocationBdioCreator(final DetectBdioWriter detectBdioWriter) {
         this.detectBdioWriter = detectBdioWriter;
-        this.simpleBdioFactory = simpleBdioFactory;
     }
 
-    public List<File> createBdioFiles(File bdioOutput, final List<BdioCodeLocation> bdioCodeLocations, NameVersion projectNameVersion) throws DetectUserFriendlyException {
-        final List<File> bdioFiles = new ArrayList<>();
-        for (final BdioCodeLocation bdioCodeLocation : bdioCodeLocations) {
-            String codeLocationName = bdioCodeLocation.codeLocationName;
-            ExternalId externalId = bdioCodeLocation.codeLocation.getExternalId();
-            DependencyGraph dependencyGraph = bdioCodeLocation.codeLocation.getDependencyGraph();
+    /**
+     * Each file is handed to the bdioFileConsumer as soon as it is written so it can be uploaded while the remaining files are still being created. With more than one processor the consumer is called from worker threads.
+     */
+    public List<File> createBdioFiles(File bdioOutput, final List<BdioCodeLocation> bdioCodeLocations, NameVersion projectNameVersion, int parallelProcessors, Consumer<File> bdioFileConsumer)
+        throws DetectUserFriendlyException {
+        final int threadCount = Math.min(parallelProcessors, bdioCodeLocations.size());
+        if (threadCount <= 1) {
+            final List<File> bdioFiles = new ArrayList<>();
+            for (final BdioCodeLocation bdioCodeLocation : bdioCodeLocations) {
+                final File outputFile = createBdioFile(bdioOutput, bdioCodeLocation, projectNameVersion);
+                bdioFileConsumer.accept(outputFile);
+                bdioFiles.add(outputFile);
+            }
+            return bdioFiles;
+        }
 
-            final SimpleBdioDocument simpleBdioDocument = simpleBdioFactory.createSimpleBdioDocument(codeLocationName, projectNameVersion.getName(), projectNameVersion.getVersion(), externalId, dependencyGraph);
+        logger.info(String.format("Creating %d BDIO files with %d threads.", bdioCodeLocations.size(), threadCount));
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<File>> futures = new ArrayList<>();
+            for (final BdioCodeLocation bdioCodeLocation : bdioCodeLocations) {
+                futures.add(executorService.submit(() -> {
+                    final File outputFile = createBdioFile(bdioOutput, bdioCodeLocation, projectNameVersion);
+                    bdioFileConsumer.accept(outputFile);
+                    return outputFile;
+                }));
+            }
 
-            final File outputFile = new File(bdioOutput, bdioCodeLocation.bdioName);
-            detectBdioWriter.writeBdioFile(outputFile, simpleBdioDocument);
-            bdioFiles.add(outputFile);
+            final List<File> bdioFiles = new ArrayList<>();
+            for (final Future<File> future : futures) {
+                bdioFiles.add(future.get());
+            }
+            return bdioFiles;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DetectUserFriendlyException("Interrupted while creating BDIO files.", e, ExitCodeType.FAILURE_GENERAL_ERROR);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof DetectUserFriendlyException) {
+                throw (DetectUserFriendlyException) e.getCause();
+            }
+            throw new DetectUserFriendlyException(String.format("Unable to create BDIO files: %s", e.getCause().getMessage()), e.getCause(), ExitCodeType.FAILURE_GENERAL_ERROR);
+        } finally {
+            executorService.shutdownNow();
         }
+    }
+
+    private File createBdioFile(File bdioOutput, BdioCodeLocation bdioCodeLocation, NameVersion projectNameVersion) throws DetectUserFriendlyException {
+        String codeLocationName = bdioCodeLocation.codeLocationName;
+        ExternalId externalId = bdioCodeLocation.codeLocation.getExternalId();
+        DependencyGraph dependencyGraph = bdioCodeLocation.codeLocation.getDependencyGraph();
 
-        return bdioFiles;
+        final File outputFile = new File(bdioOutput, bdioCodeLocation.bdioName);
+        detectBdioWriter.writeBdioFile(outputFile, codeLocationName, projectNameVersion, externalId, dependencyGraph);
+        return outputFile;
     }
 }
@@ -32,21 +32,31 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.DetectInfo;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
-import com.synopsys.integration.hub.bdio.SimpleBdioFactory;
-import com.synopsys.integration.hub.bdio.model.SimpleBdioDocument;
+import com.google.gson.Gson;
+import com.synopsys.integration.hub.bdio.BdioNodeFactory;
+import com.synopsys.integration.hub.bdio.BdioPropertyHelper;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.BdioBillOfMaterials;
+import com.synopsys.integration.hub.bdio.model.BdioProject;
 import com.synopsys.integration.hub.bdio.model.SpdxCreator;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.util.NameVersion;
 
 public class DetectBdioWriter {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
-    private SimpleBdioFactory simpleBdioFactory;
+    private final BdioNodeFactory bdioNodeFactory;
+    private final StreamingBdioWriter streamingBdioWriter;
     private DetectInfo detectInfo;
 
-    public DetectBdioWriter(final SimpleBdioFactory simpleBdioFactory, final DetectInfo detectInfo) {
-        this.simpleBdioFactory = simpleBdioFactory;
+    public DetectBdioWriter(final DetectInfo detectInfo) {
+        final BdioPropertyHelper bdioPropertyHelper = new BdioPropertyHelper();
+        this.bdioNodeFactory = new BdioNodeFactory(bdioPropertyHelper);
+        this.streamingBdioWriter = new StreamingBdioWriter(bdioNodeFactory, bdioPropertyHelper, new Gson());
         this.detectInfo = detectInfo;
     }
 
-    public void writeBdioFile(final File outputFile, final SimpleBdioDocument simpleBdioDocument) throws DetectUserFriendlyException {
+    public void writeBdioFile(final File outputFile, final String codeLocationName, final NameVersion projectNameVersion, final ExternalId projectExternalId, final DependencyGraph dependencyGraph)
+        throws DetectUserFriendlyException {
         if (outputFile.exists()) {
             final boolean deleteSuccess = outputFile.delete();
             logger.debug(String.format("%s deleted: %b", outputFile.getAbsolutePath(), deleteSuccess));
@@ -55,8 +65,10 @@ public class DetectBdioWriter {
         try {
             final String hubDetectVersion = detectInfo.getDetectVersion();
             final SpdxCreator hubDetectCreator = SpdxCreator.createToolSpdxCreator("Detect", hubDetectVersion);
-            simpleBdioDocument.billOfMaterials.creationInfo.setPrimarySpdxCreator(hubDetectCreator);
-            simpleBdioFactory.writeSimpleBdioDocumentToFile(outputFile, simpleBdioDocument);
+            final BdioBillOfMaterials billOfMaterials = bdioNodeFactory.createBillOfMaterials(codeLocationName, projectNameVersion.getName(), projectNameVersion.getVersion());
+            billOfMaterials.creationInfo.setPrimarySpdxCreator(hubDetectCreator);
+            final BdioProject project = bdioNodeFactory.createProject(projectNameVersion.getName(), projectNameVersion.getVersion(), projectExternalId.createBdioId(), projectExternalId);
+            streamingBdioWriter.writeBdioFile(outputFile, false, billOfMaterials, project, dependencyGraph);
             logger.info(String.format("BDIO Generated: %s", outputFile.getAbsolutePath()));
         } catch (final IOException e) {
             throw new DetectUserFriendlyException(e.getMessage(), e, ExitCodeType.FAILURE_GENERAL_ERROR);
@@ -0,0 +1,108 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.bdio;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.hub.bdio.BdioNodeFactory;
+import com.synopsys.integration.hub.bdio.BdioPropertyHelper;
+import com.synopsys.integration.hub.bdio.BdioWriter;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.BdioBillOfMaterials;
+import com.synopsys.integration.hub.bdio.model.BdioComponent;
+import com.synopsys.integration.hub.bdio.model.BdioProject;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+
+/**
+ * Writes a BDIO document straight from a dependency graph. Unlike SimpleBdioDocument, which holds a component for every dependency until the whole document is written,
+ * each component is serialized as soon as it is created so only the graph itself and the set of already written external ids stay on the heap.
+ */
+public class StreamingBdioWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BdioNodeFactory bdioNodeFactory;
+    private final BdioPropertyHelper bdioPropertyHelper;
+    private final Gson gson;
+
+    public StreamingBdioWriter(final BdioNodeFactory bdioNodeFactory, final BdioPropertyHelper bdioPropertyHelper, final Gson gson) {
+        this.bdioNodeFactory = bdioNodeFactory;
+        this.bdioPropertyHelper = bdioPropertyHelper;
+        this.gson = gson;
+    }
+
+    public void writeBdioFile(final File outputFile, final boolean compress, final BdioBillOfMaterials billOfMaterials, final BdioProject project, final DependencyGraph dependencyGraph) throws IOException {
+        // writeBdio closes the stream it is given, closing the file stream again here only matters when the gzip header or the writer could not be created
+        try (OutputStream fileStream = new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()), BUFFER_SIZE)) {
+            final OutputStream outputStream = compress ? new GZIPOutputStream(fileStream, BUFFER_SIZE) : fileStream;
+            writeBdio(outputStream, billOfMaterials, project, dependencyGraph);
+        }
+    }
+
+    /**
+     * Closes the output stream once the document is written.
+     */
+    public void writeBdio(final OutputStream outputStream, final BdioBillOfMaterials billOfMaterials, final BdioProject project, final DependencyGraph dependencyGraph) throws IOException {
+        try (BdioWriter bdioWriter = new BdioWriter(gson, outputStream)) {
+            bdioWriter.writeBdioNode(billOfMaterials);
+
+            final Deque<Dependency> pending = new ArrayDeque<>();
+            for (final Dependency rootDependency : dependencyGraph.getRootDependencies()) {
+                bdioPropertyHelper.addRelationship(project, createComponent(rootDependency));
+                pending.push(rootDependency);
+            }
+            bdioWriter.writeBdioNode(project);
+
+            final Set<String> written = new HashSet<>();
+            while (!pending.isEmpty()) {
+                final Dependency dependency = pending.pop();
+                final BdioComponent component = createComponent(dependency);
+                if (!written.add(component.id)) {
+                    continue;
+                }
+                for (final Dependency child : dependencyGraph.getChildrenForParent(dependency)) {
+                    final BdioComponent childComponent = createComponent(child);
+                    bdioPropertyHelper.addRelationship(component, childComponent);
+                    if (!written.contains(childComponent.id)) {
+                        pending.push(child);
+                    }
+                }
+                bdioWriter.writeBdioNode(component);
+            }
+        }
+    }
+
+    private BdioComponent createComponent(final Dependency dependency) {
+        return bdioNodeFactory.createComponent(dependency.name, dependency.version, dependency.externalId);
+    }
+}
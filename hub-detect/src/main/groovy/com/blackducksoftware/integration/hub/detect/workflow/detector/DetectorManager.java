@@ -36,6 +36,8 @@ import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extracti
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionResult;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationManager;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationResult;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunPhase;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunProfiler;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchManager;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchResult;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
@@ -48,28 +50,39 @@ public class DetectorManager {
     PreparationManager preparationManager;
     ExtractionManager extractionManager;
     EventSystem eventSystem;
+    RunProfiler runProfiler;
 
-    public DetectorManager(SearchManager searchManager, ExtractionManager extractionManager, PreparationManager preparationManager, EventSystem eventSystem) {
+    public DetectorManager(SearchManager searchManager, ExtractionManager extractionManager, PreparationManager preparationManager, EventSystem eventSystem, RunProfiler runProfiler) {
         this.searchManager = searchManager;
         this.extractionManager = extractionManager;
         this.preparationManager = preparationManager;
         this.eventSystem = eventSystem;
+        this.runProfiler = runProfiler;
     }
 
     public DetectorToolResult runDetectors() {
         List<DetectorEvaluation> detectorEvaluations = new ArrayList<>();
 
         //search
-        SearchResult searchResult = searchManager.performSearch();
+        SearchResult searchResult;
+        try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.SEARCH)) {
+            searchResult = searchManager.performSearch();
+        }
         eventSystem.publishEvent(Event.SearchCompleted, searchResult);
         detectorEvaluations.addAll(searchResult.getDetectorEvaluations());
 
         //prepare
-        PreparationResult preparationResult = preparationManager.prepareExtractions(detectorEvaluations);
+        PreparationResult preparationResult;
+        try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.PREPARATION)) {
+            preparationResult = preparationManager.prepareExtractions(detectorEvaluations);
+        }
         eventSystem.publishEvent(Event.PreparationsCompleted, preparationResult);
 
         //extract
-        ExtractionResult extractionResult = extractionManager.performExtractions(detectorEvaluations);
+        ExtractionResult extractionResult;
+        try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.EXTRACTION)) {
+            extractionResult = extractionManager.performExtractions(detectorEvaluations);
+        }
         eventSystem.publishEvent(Event.ExtractionsCompleted, extractionResult);
 
         //create results
@@ -27,6 +27,8 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.output.TeeOutputStream;
 import org.slf4j.Logger;
@@ -35,12 +37,15 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionManager;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
 
 public class DiagnosticLogManager {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -53,7 +58,7 @@ public class DiagnosticLogManager {
     private File stdOutFile;
     private FileOutputStream stdOutStream;
     private FileAppender<ILoggingEvent> fileAppender;
-    private FileAppender<ILoggingEvent> extractionAppender;
+    private final Map<String, FileAppender<ILoggingEvent>> extractionAppenders = new ConcurrentHashMap<>();
 
     public DiagnosticLogManager(File logDirectory, EventSystem eventSystem) {
 
@@ -72,8 +77,8 @@ public class DiagnosticLogManager {
         logger.info("Attempting to redirect sysout.");
         captureStdOut();
 
-        eventSystem.registerListener(Event.ExtractionStarted, it -> startLoggingExtraction(it.getExtractionId()));
-        eventSystem.registerListener(Event.ExtractionEnded, it -> stopLoggingExtraction(it.getExtractionId()));
+        eventSystem.registerListener(Event.ExtractionStarted, it -> startLoggingExtraction(it.getEvaluation().getExtractionId()));
+        eventSystem.registerListener(Event.ExtractionEnded, it -> stopLoggingExtraction(it.getEvaluation().getExtractionId()));
     }
 
     public void finish() {
@@ -103,7 +108,8 @@ public class DiagnosticLogManager {
         final File logFile = new File(logDir, extractionId.toUniqueString() + ".txt");
         try {
             final String logFilePath = logFile.getCanonicalPath();
-            extractionAppender = addAppender(logFilePath);
+            final FileAppender<ILoggingEvent> extractionAppender = addAppender(logFilePath, new ExtractionLogFilter(extractionId.toUniqueString()));
+            extractionAppenders.put(extractionId.toUniqueString(), extractionAppender);
             logger.info("Redirected to file: " + logFilePath);
         } catch (final IOException e) {
             logger.info("Failed to redirect.", e);
@@ -113,6 +119,7 @@ public class DiagnosticLogManager {
 
     public void stopLoggingExtraction(final ExtractionId extractionId) {
         logger.info("Diagnostics finished redirecting for extraction: " + extractionId.toUniqueString());
+        final FileAppender<ILoggingEvent> extractionAppender = extractionAppenders.remove(extractionId.toUniqueString());
         if (extractionAppender != null) {
             removeAppender(extractionAppender);
             extractionAppender.stop();
@@ -126,10 +133,14 @@ public class DiagnosticLogManager {
 
     private void removeAppender(final FileAppender<ILoggingEvent> appender) {
         final ch.qos.logback.classic.Logger logbackLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(LOGBACK_LOGGER_NAME);
-        logbackLogger.detachAppender(extractionAppender);
+        logbackLogger.detachAppender(appender);
     }
 
     private FileAppender<ILoggingEvent> addAppender(final String file) {
+        return addAppender(file, null);
+    }
+
+    private FileAppender<ILoggingEvent> addAppender(final String file, final Filter<ILoggingEvent> filter) {
         final LoggerContext lc = (LoggerContext) LoggerFactory.getILoggerFactory();
         final PatternLayoutEncoder ple = new PatternLayoutEncoder();
 
@@ -141,6 +152,10 @@ public class DiagnosticLogManager {
         appender.setFile(file);
         appender.setEncoder(ple);
         appender.setContext(lc);
+        if (filter != null) {
+            filter.start();
+            appender.addFilter(filter);
+        }
         appender.start();
 
         final ch.qos.logback.classic.Logger logbackLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(LOGBACK_LOGGER_NAME);
@@ -150,6 +165,24 @@ public class DiagnosticLogManager {
         return appender;
     }
 
+    // Extractions may run in parallel, so only the events logged on behalf of the extraction (see ExtractionManager) belong in its log.
+    private static class ExtractionLogFilter extends Filter<ILoggingEvent> {
+        private final String extractionId;
+
+        public ExtractionLogFilter(final String extractionId) {
+            this.extractionId = extractionId;
+        }
+
+        @Override
+        public FilterReply decide(final ILoggingEvent event) {
+            final String eventExtractionId = event.getMDCPropertyMap().get(ExtractionManager.EXTRACTION_ID_MDC_KEY);
+            if (extractionId.equals(eventExtractionId)) {
+                return FilterReply.NEUTRAL;
+            }
+            return FilterReply.DENY;
+        }
+    }
+
     private File getStdOutFile() {
         final File dest = new File(logDirectory, stdOutFilePath);
         return dest;
@@ -143,7 +143,9 @@ public class DiagnosticManager {
         final List<File> directoriesToCompress = new ArrayList<>();
         directoriesToCompress.add(directoryManager.getRunHomeDirectory());
 
-        final DiagnosticZipCreator zipper = new DiagnosticZipCreator();
+        final int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        final long maxZipSize = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_DIAGNOSTIC_ZIP_MAX_SIZE, PropertyAuthority.None) * 1024L * 1024L;
+        final DiagnosticZipCreator zipper = new DiagnosticZipCreator(parallelProcessors, maxZipSize);
         return zipper.createDiagnosticZip(detectRun.getRunId(), directoryManager.getRunsOutputDirectory(), directoriesToCompress);
     }
 
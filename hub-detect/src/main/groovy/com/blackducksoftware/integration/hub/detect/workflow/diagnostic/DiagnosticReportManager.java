@@ -84,18 +84,22 @@ public class DiagnosticReportManager {
     private final BomToolProfiler bomToolProfiler;
     private final File reportDirectory;
     private final String runId;
+    private final EventSystem eventSystem;
 
     public DiagnosticReportManager(final File reportDirectory, final String runId, EventSystem eventSystem, final BomToolProfiler bomToolProfiler) {
         this.reportDirectory = reportDirectory;
         this.runId = runId;
         this.bomToolProfiler = bomToolProfiler;
+        this.eventSystem = eventSystem;
         createReports();
 
-        eventSystem.registerListener(Event.BomToolsComplete, event -> completedBomToolEvaluations(event.evaluatedDetectors));
-        eventSystem.registerListener(Event.CodeLocationsCalculated, event -> completedCodeLocations(event.getCodeLocationNames()));
+        // the reports are only file output, so they are written off the publishing thread
+        eventSystem.registerAsyncListener(Event.BomToolsComplete, event -> completedBomToolEvaluations(event.evaluatedDetectors));
+        eventSystem.registerAsyncListener(Event.CodeLocationsCalculated, event -> completedCodeLocations(event.getCodeLocationNames()));
     }
 
     public void finish() {
+        eventSystem.flush();
         writeReports();
 
         closeReportWriters();
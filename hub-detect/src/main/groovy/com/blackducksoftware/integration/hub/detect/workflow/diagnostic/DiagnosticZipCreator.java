@@ -26,39 +26,126 @@ package com.blackducksoftware.integration.hub.detect.workflow.diagnostic;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
+import org.apache.commons.compress.archivers.zip.StreamCompressor;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.parallel.FileBasedScatterGatherBackingStore;
+import org.apache.commons.compress.parallel.ScatterGatherBackingStore;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Writes the diagnostic zip without holding any file in memory. Each file is read exactly once, in parallel, into a temporary part: deflated, or stored when it
+ * is already compressed or does not get smaller. The parts are then added to the zip in order as raw entries, so the checksum and size always match the bytes
+ * written even if a file changes while detect is running. Entries that would take the zip past the maximum size are left out.
+ */
 public class DiagnosticZipCreator {
+    private static final List<String> COMPRESSED_EXTENSIONS = Arrays.asList(".zip", ".gz", ".tgz", ".bz2", ".xz", ".7z", ".jar", ".war", ".ear", ".png", ".jpg", ".jpeg");
+
+    // the most a local header, central directory header and their zip64 extra fields can add to an entry beyond twice its name
+    private static final int ENTRY_OVERHEAD = 30 + 46 + 2 * 32;
+    // the end of central directory record with its zip64 record and locator
+    private static final int END_OVERHEAD = 22 + 56 + 20;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    private final int parallelProcessors;
+    private final long maxZipSize;
+
+    public DiagnosticZipCreator(final int parallelProcessors, final long maxZipSize) {
+        this.parallelProcessors = Math.max(1, parallelProcessors);
+        this.maxZipSize = maxZipSize;
+    }
+
     public boolean createDiagnosticZip(final String runId, final File outputDirectory, final List<File> compressList) {
+        File partsDirectory = null;
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelProcessors);
         try {
             final String zipPath = "detect-run-" + runId + ".zip";
             final File zip = new File(outputDirectory, zipPath);
             logger.info("Diagnostics zip location: " + zip.toPath());
-            try (FileOutputStream fileStream = new FileOutputStream(zip)) {
-                try (ZipOutputStream outputStream = new ZipOutputStream(fileStream)) {
-                    for (final File file : compressList) {
-                        compress(outputStream, outputDirectory.toPath(), file.toPath(), zip, runId);
+
+            final List<ZipSource> sources = new ArrayList<>();
+            for (final File file : compressList) {
+                collect(sources, outputDirectory.toPath(), file.toPath(), runId);
+            }
+
+            partsDirectory = Files.createTempDirectory(outputDirectory.toPath(), "detect-run-" + runId + "-zip").toFile();
+            final File parts = partsDirectory;
+
+            // at most this many entries are compressed ahead of the writer, which bounds the temporary disk used
+            final Semaphore pending = new Semaphore(parallelProcessors * 2);
+            final List<Future<PreparedEntry>> futures = new ArrayList<>();
+            try (CountingOutputStream countingOutputStream = new CountingOutputStream(new FileOutputStream(zip));
+                ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(countingOutputStream)) {
+                zipOutputStream.setEncoding(StandardCharsets.UTF_8.name());
+                zipOutputStream.setUseZip64(Zip64Mode.AsNeeded);
+
+                long centralDirectorySize = 0;
+                int entryCount = 0;
+                int next = 0;
+                for (int i = 0; i < sources.size(); i++) {
+                    while (next < sources.size() && pending.tryAcquire()) {
+                        final ZipSource source = sources.get(next++);
+                        futures.add(executorService.submit(() -> prepare(source, parts)));
+                    }
+                    final PreparedEntry entry = futures.get(i).get();
+                    try {
+                        if (entry.part == null) {
+                            continue;
+                        }
+                        final int nameLength = entry.source.name.getBytes(StandardCharsets.UTF_8).length;
+                        final long projectedSize = countingOutputStream.getByteCount() + entry.compressedSize + centralDirectorySize + ENTRY_OVERHEAD + 2 * nameLength + END_OVERHEAD;
+                        if (projectedSize > maxZipSize) {
+                            logger.warn(String.format("Leaving %s out of the diagnostics zip, it would make the zip larger than %d bytes.", entry.source.name, maxZipSize));
+                            continue;
+                        }
+                        logger.debug("Adding file to zip: " + entry.source.name);
+                        write(zipOutputStream, entry);
+                        centralDirectorySize += 46 + 32 + nameLength;
+                        entryCount++;
+                    } finally {
+                        entry.close();
+                        pending.release();
                     }
-                    logger.info("Diagnostics file created at: " + zip.getCanonicalPath());
                 }
+                zipOutputStream.finish();
+                logger.info(String.format("Diagnostics file created at: %s (%d files, %d bytes)", zip.getCanonicalPath(), entryCount, countingOutputStream.getByteCount()));
             }
             return true;
+        } catch (final InterruptedException e) {
+            logger.error("Interrupted while creating the diagnostics zip.");
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            logger.error("Failed to create zip.", e.getCause());
         } catch (final Exception e) {
             logger.error("Failed to create zip.", e);
+        } finally {
+            executorService.shutdownNow();
+            FileUtils.deleteQuietly(partsDirectory);
         }
         return false;
     }
@@ -84,23 +171,113 @@ public class DiagnosticZipCreator {
         }
     }
 
-    public void compress(final ZipOutputStream outputStream, final Path sourceDir, final Path toCompress, final File out, final String removePiece) throws IOException {
+    private void collect(final List<ZipSource> sources, final Path sourceDir, final Path toCompress, final String removePiece) throws IOException {
         Files.walkFileTree(toCompress, new SimpleFileVisitor<Path>() {
             @Override
             public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
-                try {
-                    final Path targetFile = sourceDir.relativize(file);
-                    final String target = toZipEntryName(targetFile, removePiece);
-                    logger.debug("Adding file to zip: " + target);
-                    outputStream.putNextEntry(new ZipEntry(target));
-                    final byte[] bytes = Files.readAllBytes(file);
-                    outputStream.write(bytes, 0, bytes.length);
-                    outputStream.closeEntry();
-                } catch (final IOException e) {
-                    logger.error("Failed to write to zip.", e);
+                if (attributes.isRegularFile()) {
+                    final String target = toZipEntryName(sourceDir.relativize(file), removePiece);
+                    sources.add(new ZipSource(file.toFile(), target, attributes.lastModifiedTime().toMillis()));
+                } else {
+                    logger.warn("Leaving " + file + " out of the diagnostics zip, it is not a regular file.");
                 }
                 return FileVisitResult.CONTINUE;
             }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+                logger.error("Failed to read file for zip, it will be left out: " + file, e);
+                return FileVisitResult.CONTINUE;
+            }
         });
     }
+
+    private PreparedEntry prepare(final ZipSource source, final File partsDirectory) {
+        try {
+            if (!isAlreadyCompressed(source.name)) {
+                final PreparedEntry deflated = compress(source, partsDirectory, ZipEntry.DEFLATED);
+                if (deflated.compressedSize < deflated.size) {
+                    return deflated;
+                }
+                deflated.close();
+            }
+            return compress(source, partsDirectory, ZipEntry.STORED);
+        } catch (final IOException e) {
+            logger.error("Failed to write to zip, it will be left out: " + source.name, e);
+            return new PreparedEntry(source, null, ZipEntry.STORED, 0, 0, 0);
+        }
+    }
+
+    /*
+     * The crc and sizes come from the same read that wrote the part, so a stored part is a snapshot of the file rather than a promise about it.
+     */
+    private PreparedEntry compress(final ZipSource source, final File partsDirectory, final int method) throws IOException {
+        final ScatterGatherBackingStore part = new FileBasedScatterGatherBackingStore(File.createTempFile("entry", ".part", partsDirectory));
+        try (InputStream inputStream = Files.newInputStream(source.file.toPath());
+            StreamCompressor compressor = StreamCompressor.create(Deflater.DEFAULT_COMPRESSION, part)) {
+            compressor.deflate(inputStream, method);
+            part.closeForWriting();
+            return new PreparedEntry(source, part, method, compressor.getCrc32(), compressor.getBytesWrittenForLastEntry(), compressor.getBytesRead());
+        } catch (final IOException e) {
+            part.close();
+            throw e;
+        }
+    }
+
+    private boolean isAlreadyCompressed(final String name) {
+        final String lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+        return COMPRESSED_EXTENSIONS.stream().anyMatch(lowerCaseName::endsWith);
+    }
+
+    private void write(final ZipArchiveOutputStream zipOutputStream, final PreparedEntry entry) throws IOException {
+        final ZipArchiveEntry zipEntry = new ZipArchiveEntry(entry.source.name);
+        zipEntry.setMethod(entry.method);
+        zipEntry.setCrc(entry.crc);
+        zipEntry.setCompressedSize(entry.compressedSize);
+        zipEntry.setSize(entry.size);
+        zipEntry.setTime(entry.source.lastModified);
+        try (InputStream rawStream = entry.part.getInputStream()) {
+            zipOutputStream.addRawArchiveEntry(zipEntry, rawStream);
+        }
+    }
+
+    private static class ZipSource {
+        private final File file;
+        private final String name;
+        private final long lastModified;
+
+        private ZipSource(final File file, final String name, final long lastModified) {
+            this.file = file;
+            this.name = name;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static class PreparedEntry {
+        private final ZipSource source;
+        private final ScatterGatherBackingStore part;
+        private final int method;
+        private final long crc;
+        private final long compressedSize;
+        private final long size;
+
+        private PreparedEntry(final ZipSource source, final ScatterGatherBackingStore part, final int method, final long crc, final long compressedSize, final long size) {
+            this.source = source;
+            this.part = part;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+        }
+
+        private void close() {
+            if (part != null) {
+                try {
+                    part.close();
+                } catch (final IOException e) {
+                    // the parts directory is deleted when the zip is finished
+                }
+            }
+        }
+    }
 }
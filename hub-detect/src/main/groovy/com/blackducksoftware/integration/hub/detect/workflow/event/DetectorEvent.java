@@ -0,0 +1,53 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.event;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+
+/**
+ * A detector step starting or ending. The time is taken when the event is created, so an asynchronous listener sees when the step happened rather than when
+ * the event reached it.
+ */
+public class DetectorEvent {
+    private final DetectorEvaluation evaluation;
+    private final long nanoTime;
+
+    public DetectorEvent(final DetectorEvaluation evaluation) {
+        this.evaluation = evaluation;
+        this.nanoTime = System.nanoTime();
+    }
+
+    public DetectorEvaluation getEvaluation() {
+        return evaluation;
+    }
+
+    public Detector getDetector() {
+        return evaluation.getDetector();
+    }
+
+    public long getNanoTime() {
+        return nanoTime;
+    }
+}
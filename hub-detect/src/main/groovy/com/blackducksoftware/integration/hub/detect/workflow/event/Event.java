@@ -25,7 +25,6 @@ package com.blackducksoftware.integration.hub.detect.workflow.event;
 
 import java.io.File;
 
-import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.lifecycle.shutdown.ExitCodeRequest;
 import com.blackducksoftware.integration.hub.detect.tool.detector.DetectorToolResult;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.BdioCodeLocationResult;
@@ -33,7 +32,6 @@ import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extracti
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationResult;
 import com.blackducksoftware.integration.hub.detect.workflow.profiling.BomToolAggregateTimings;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchResult;
-import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 import com.blackducksoftware.integration.hub.detect.workflow.status.Status;
 
 public class Event {
@@ -42,12 +40,12 @@ public class Event {
     public static EventType<ExtractionResult> ExtractionsCompleted = new EventType(ExtractionResult.class);
     public static EventType<DetectorToolResult> BomToolsComplete = new EventType(DetectorToolResult.class);
     public static EventType<BomToolAggregateTimings> BomToolsProfiled = new EventType(BomToolAggregateTimings.class);
-    public static EventType<Detector> ApplicableStarted = new EventType(Detector.class);
-    public static EventType<Detector> ApplicableEnded = new EventType(Detector.class);
-    public static EventType<Detector> ExtractableStarted = new EventType(Detector.class);
-    public static EventType<Detector> ExtractableEnded = new EventType(Detector.class);
-    public static EventType<DetectorEvaluation> ExtractionStarted = new EventType(DetectorEvaluation.class);
-    public static EventType<DetectorEvaluation> ExtractionEnded = new EventType(DetectorEvaluation.class);
+    public static EventType<DetectorEvent> ApplicableStarted = new EventType(DetectorEvent.class);
+    public static EventType<DetectorEvent> ApplicableEnded = new EventType(DetectorEvent.class);
+    public static EventType<DetectorEvent> ExtractableStarted = new EventType(DetectorEvent.class);
+    public static EventType<DetectorEvent> ExtractableEnded = new EventType(DetectorEvent.class);
+    public static EventType<DetectorEvent> ExtractionStarted = new EventType(DetectorEvent.class);
+    public static EventType<DetectorEvent> ExtractionEnded = new EventType(DetectorEvent.class);
     public static EventType<BdioCodeLocationResult> CodeLocationsCalculated = new EventType(BdioCodeLocationResult.class);
     public static EventType<ExitCodeRequest> ExitCode = new EventType(ExitCodeRequest.class);
     public static EventType<Status> StatusSummary = new EventType(Status.class);
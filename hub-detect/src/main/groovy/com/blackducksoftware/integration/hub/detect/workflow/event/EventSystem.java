@@ -24,40 +24,182 @@
 package com.blackducksoftware.integration.hub.detect.workflow.event;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Listeners are kept in copy on write lists so events can be published from any thread without locking, and an event nobody listens to costs a single map
+ * lookup. Synchronous listeners run on the publishing thread. Asynchronous listeners are handed to one consumer thread through a bounded queue and see their
+ * events in the order they were published; call flush() before reading anything an asynchronous listener produces.
+ */
 public class EventSystem {
+    private static final int ASYNC_QUEUE_CAPACITY = 1024;
+    private static final int ASYNC_BATCH_SIZE = 64;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    Map<EventType, List<EventListener>> eventListenerMap = new HashMap<>();
+    private final Map<EventType<?>, Subscribers<?>> subscribersMap = new ConcurrentHashMap<>();
+    private final BlockingQueue<Runnable> asyncQueue = new ArrayBlockingQueue<>(ASYNC_QUEUE_CAPACITY);
+    private volatile Thread asyncConsumer = null;
+    private volatile boolean shutdown = false;
+
+    public <T> void publishEvent(final EventType<T> event, final T payload) {
+        final Subscribers<T> subscribers = getSubscribers(event);
+        if (subscribers == null) {
+            return;
+        }
 
-    public <T> void publishEvent(EventType<T> event, T payload) {
-        for (EventListener listener : safelyGetListeners(event)) {
+        for (final EventListener<T> listener : subscribers.synchronousListeners) {
             listener.eventOccured(payload);
         }
+        if (!subscribers.asynchronousListeners.isEmpty()) {
+            enqueue(() -> {
+                for (final EventListener<T> listener : subscribers.asynchronousListeners) {
+                    listener.eventOccured(payload);
+                }
+            });
+        }
+    }
+
+    public <T> void registerListener(final EventType<T> event, final EventListener<T> listener) {
+        safelyGetSubscribers(event).synchronousListeners.add(listener);
     }
 
-    public <T> void registerListener(EventType<T> event, EventListener<T> listener) {
-        safelyGetListeners(event).add(listener);
+    public <T> void registerAsyncListener(final EventType<T> event, final EventListener<T> listener) {
+        startAsyncConsumer();
+        safelyGetSubscribers(event).asynchronousListeners.add(listener);
     }
 
-    public <T> void unregisterListener(EventType<T> event, EventListener<T> listener) {
-        safelyGetListeners(event).remove(listener);
+    public <T> void unregisterListener(final EventType<T> event, final EventListener<T> listener) {
+        final Subscribers<T> subscribers = getSubscribers(event);
+        if (subscribers == null) {
+            return;
+        }
+        subscribers.synchronousListeners.remove(listener);
+        subscribers.asynchronousListeners.remove(listener);
+    }
+
+    /**
+     * Waits until every event published before this call has been delivered to the asynchronous listeners.
+     */
+    public void flush() {
+        final Thread consumer = asyncConsumer;
+        if (consumer == null || consumer == Thread.currentThread()) {
+            return;
+        }
+
+        final CountDownLatch delivered = new CountDownLatch(1);
+        enqueue(delivered::countDown);
+        try {
+            delivered.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Delivers the outstanding events and stops the consumer thread, later events for asynchronous listeners are delivered on the publishing thread.
+     */
+    public void shutdown() {
+        flush();
+        shutdown = true;
+
+        final Thread consumer = asyncConsumer;
+        if (consumer == null) {
+            return;
+        }
+        consumer.interrupt();
+        try {
+            consumer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        deliverRemaining();
     }
 
-    private List<EventListener> safelyGetListeners(EventType event) {
-        List<EventListener> listeners;
-        if (eventListenerMap.containsKey(event)) {
-            listeners = eventListenerMap.get(event);
+    private void enqueue(final Runnable delivery) {
+        if (shutdown) {
+            deliverSafely(delivery);
+        } else if (Thread.currentThread() == asyncConsumer) {
+            // an asynchronous listener publishing an event must not wait on its own queue
+            if (!asyncQueue.offer(delivery)) {
+                deliverSafely(delivery);
+            }
         } else {
-            listeners = new ArrayList<>();
-            eventListenerMap.put(event, listeners);
+            try {
+                asyncQueue.put(delivery);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                deliverSafely(delivery);
+                return;
+            }
+            // a shutdown that began after the check above may already have drained the queue, so nothing else would deliver this event
+            if (shutdown) {
+                deliverRemaining();
+            }
+        }
+    }
+
+    private void deliverRemaining() {
+        final List<Runnable> remaining = new ArrayList<>();
+        while (asyncQueue.drainTo(remaining) > 0) {
+            remaining.forEach(this::deliverSafely);
+            remaining.clear();
+        }
+    }
+
+    private void consumeAsyncEvents() {
+        final List<Runnable> batch = new ArrayList<>(ASYNC_BATCH_SIZE);
+        while (!shutdown) {
+            try {
+                batch.add(asyncQueue.take());
+            } catch (final InterruptedException e) {
+                return;
+            }
+            asyncQueue.drainTo(batch, ASYNC_BATCH_SIZE - 1);
+            batch.forEach(this::deliverSafely);
+            batch.clear();
+        }
+    }
+
+    private void deliverSafely(final Runnable delivery) {
+        try {
+            delivery.run();
+        } catch (final Throwable e) {
+            // an error must not stop the consumer thread, or flush() and a full queue would block forever
+            logger.error("An asynchronous event listener failed.", e);
         }
-        return listeners;
+    }
+
+    private synchronized void startAsyncConsumer() {
+        if (asyncConsumer == null && !shutdown) {
+            asyncConsumer = new Thread(this::consumeAsyncEvents, "detect-events");
+            asyncConsumer.setDaemon(true);
+            asyncConsumer.start();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Subscribers<T> getSubscribers(final EventType<T> event) {
+        return (Subscribers<T>) subscribersMap.get(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Subscribers<T> safelyGetSubscribers(final EventType<T> event) {
+        return (Subscribers<T>) subscribersMap.computeIfAbsent(event, key -> new Subscribers<T>());
+    }
+
+    private static class Subscribers<T> {
+        private final List<EventListener<T>> synchronousListeners = new CopyOnWriteArrayList<>();
+        private final List<EventListener<T>> asynchronousListeners = new CopyOnWriteArrayList<>();
     }
 }
@@ -23,26 +23,54 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.extraction;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.event.DetectorEvent;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.cache.ExtractionCache;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunPhase;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunProfiler;
 import com.blackducksoftware.integration.hub.detect.workflow.report.InfoLogReportWriter;
 import com.blackducksoftware.integration.hub.detect.workflow.report.ObjectPrinter;
 import com.blackducksoftware.integration.hub.detect.workflow.report.ReportConstants;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 
 public class ExtractionManager {
+    public static final String EXTRACTION_ID_MDC_KEY = "extractionId";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    public ExtractionManager() {
+    private final ExtractionOptions extractionOptions;
+    private final ExtractionCache extractionCache;
+    private final EventSystem eventSystem;
+    private final RunProfiler runProfiler;
+    private final Map<DetectorType, Object> detectorTypeLocks = new ConcurrentHashMap<>();
+
+    public ExtractionManager(final ExtractionOptions extractionOptions, final ExtractionCache extractionCache, final EventSystem eventSystem, final RunProfiler runProfiler) {
+        this.extractionOptions = extractionOptions;
+        this.extractionCache = extractionCache;
+        this.eventSystem = eventSystem;
+        this.runProfiler = runProfiler;
     }
 
     public ExtractionResult performExtractions(final List<DetectorEvaluation> results) {
@@ -50,15 +78,25 @@ public class ExtractionManager {
 
         for (int i = 0; i < extractable.size(); i++) {
             final DetectorEvaluation detectorEvaluation = extractable.get(i);
-            final String progress = Integer.toString((int) Math.floor((i * 100.0f) / extractable.size()));
-            logger.info(String.format("Extracting %d of %d (%s%%)", i + 1, extractable.size(), progress));
-            logger.info(ReportConstants.SEPERATOR);
-
             final ExtractionId extractionId = new ExtractionId(detectorEvaluation.getDetector().getDetectorType(), Integer.toString(i));
             detectorEvaluation.setExtractionId(extractionId);
+        }
 
-            extract(extractable.get(i));
+        final int threadCount = Math.min(extractionOptions.getParallelProcessors(), extractable.size());
+        if (threadCount > 1) {
+            logger.info(String.format("Extracting %d detectors with %d threads.", extractable.size(), threadCount));
+            // the processors are already shared out between the extractions, so each one does its own work on its worker thread
+            performParallelExtractions(extractable, threadCount, 1);
+        } else {
+            for (int i = 0; i < extractable.size(); i++) {
+                final String progress = Integer.toString((int) Math.floor((i * 100.0f) / extractable.size()));
+                logger.info(String.format("Extracting %d of %d (%s%%)", i + 1, extractable.size(), progress));
+                logger.info(ReportConstants.SEPERATOR);
+
+                extract(extractable.get(i), extractionOptions.getParallelProcessors());
+            }
         }
+        extractionCache.logSummary();
 
         final Set<DetectorType> succesfulBomToolGroups = extractable.stream()
                                                              .filter(it -> it.wasExtractionSuccessful())
@@ -78,17 +116,83 @@ public class ExtractionManager {
         return new ExtractionResult(codeLocations, succesfulBomToolGroups, failedBomToolGroups);
     }
 
-    private void extract(final DetectorEvaluation result) { //TODO: Replace reporting.
+    private void performParallelExtractions(final List<DetectorEvaluation> extractable, final int threadCount, final int parallelProcessorsPerExtraction) {
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        final AtomicInteger finished = new AtomicInteger(0);
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (final DetectorEvaluation detectorEvaluation : extractable) {
+                futures.add(executorService.submit(() -> {
+                    extractRespectingConcurrency(detectorEvaluation, parallelProcessorsPerExtraction);
+                    final int finishedCount = finished.incrementAndGet();
+                    final String progress = Integer.toString((int) Math.floor((finishedCount * 100.0f) / extractable.size()));
+                    logger.info(String.format("Finished extraction %s, %d of %d (%s%%)", detectorEvaluation.getExtractionId().toUniqueString(), finishedCount, extractable.size(), progress));
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (final ExecutionException e) {
+                    // one crashing extraction is recorded as failed, the others keep running
+                    final DetectorEvaluation detectorEvaluation = extractable.get(i);
+                    logger.error(String.format("Extraction %s could not be completed.", detectorEvaluation.getExtractionId().toUniqueString()), e.getCause());
+                    if (detectorEvaluation.getExtraction() == null) {
+                        final Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                        detectorEvaluation.setExtraction(new Extraction.Builder().exception(cause).build());
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            logger.error("Interrupted while waiting for extractions to finish.");
+            Thread.currentThread().interrupt();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void extractRespectingConcurrency(final DetectorEvaluation detectorEvaluation, final int parallelProcessors) {
+        if (detectorEvaluation.getDetector().isConcurrentExtractionSafe()) {
+            extract(detectorEvaluation, parallelProcessors);
+        } else {
+            final Object lock = detectorTypeLocks.computeIfAbsent(detectorEvaluation.getDetector().getDetectorType(), it -> new Object());
+            synchronized (lock) {
+                extract(detectorEvaluation, parallelProcessors);
+            }
+        }
+    }
+
+    private void extract(final DetectorEvaluation result, final int parallelProcessors) { //TODO: Replace reporting.
+        MDC.put(EXTRACTION_ID_MDC_KEY, result.getExtractionId().toUniqueString());
+        try {
+            performExtraction(result, parallelProcessors);
+        } finally {
+            MDC.remove(EXTRACTION_ID_MDC_KEY);
+        }
+    }
+
+    private void performExtraction(final DetectorEvaluation result, final int parallelProcessors) {
+        eventSystem.publishEvent(Event.ExtractionStarted, new DetectorEvent(result));
 
         logger.info("Starting extraction: " + result.getDetector().getDetectorType() + " - " + result.getDetector().getName());
         logger.info("Identifier: " + result.getExtractionId().toUniqueString());
         ObjectPrinter.printObjectPrivate(new InfoLogReportWriter(), result.getDetector());
         logger.info(ReportConstants.SEPERATOR);
 
-        try {
-            result.setExtraction(result.getDetector().extract(result.getExtractionId()));
-        } catch (final Exception e) {
-            result.setExtraction(new Extraction.Builder().exception(e).build());
+        final String profileDetail = result.getDetector().getDetectorType() + " - " + result.getDetector().getName();
+        try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.EXTRACTION, profileDetail)) {
+            final Optional<String> cacheKey = extractionCache.createKey(result.getDetector(), result.getEnvironment().getDirectory());
+            final Optional<Extraction> cachedExtraction = cacheKey.flatMap(extractionCache::findExtraction);
+            if (cachedExtraction.isPresent()) {
+                logger.info("Reusing cached extraction, the cache inputs have not changed.");
+                result.setExtraction(cachedExtraction.get());
+            } else {
+                try {
+                    result.setExtraction(result.getDetector().extract(result.getExtractionId(), parallelProcessors));
+                } catch (final Exception e) {
+                    result.setExtraction(new Extraction.Builder().exception(e).build());
+                }
+                cacheKey.ifPresent(key -> extractionCache.storeExtraction(key, result.getExtraction()));
+            }
         }
 
         logger.info(ReportConstants.SEPERATOR);
@@ -101,6 +205,7 @@ public class ExtractionManager {
         }
         logger.info(ReportConstants.SEPERATOR);
 
+        eventSystem.publishEvent(Event.ExtractionEnded, new DetectorEvent(result));
     }
 
 }
@@ -28,6 +28,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.workflow.event.DetectorEvent;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
@@ -42,13 +43,13 @@ public class PreparationManager {
 
     private void prepare(final DetectorEvaluation result) {
         if (result.isApplicable()) {
-            eventSystem.publishEvent(Event.ExtractableStarted, result.getDetector());
+            eventSystem.publishEvent(Event.ExtractableStarted, new DetectorEvent(result));
             try {
                 result.setExtractable(result.getDetector().extractable());
             } catch (final Exception e) {
                 result.setExtractable(new ExceptionDetectorResult(e));
             }
-            eventSystem.publishEvent(Event.ExtractableEnded, result.getDetector());
+            eventSystem.publishEvent(Event.ExtractableEnded, new DetectorEvent(result));
         }
     }
 
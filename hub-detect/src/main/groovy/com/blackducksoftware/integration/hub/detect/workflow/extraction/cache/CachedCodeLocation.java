@@ -0,0 +1,110 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.extraction.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
+
+/**
+ * A code location flattened for storage: each dependency is written once and the graph is kept as indexes into that list.
+ */
+public class CachedCodeLocation {
+    public DetectCodeLocationType codeLocationType;
+    public String sourcePath;
+    public String dockerImage;
+    public ExternalId externalId;
+    public List<CachedDependency> dependencies = new ArrayList<>();
+    public List<Integer> rootDependencies = new ArrayList<>();
+    public List<int[]> relationships = new ArrayList<>();
+
+    public static class CachedDependency {
+        public String name;
+        public String version;
+        public ExternalId externalId;
+    }
+
+    public static CachedCodeLocation fromCodeLocation(final DetectCodeLocation codeLocation) {
+        final CachedCodeLocation cachedCodeLocation = new CachedCodeLocation();
+        cachedCodeLocation.codeLocationType = codeLocation.getCodeLocationType();
+        cachedCodeLocation.sourcePath = codeLocation.getSourcePath();
+        cachedCodeLocation.dockerImage = codeLocation.getDockerImage();
+        cachedCodeLocation.externalId = codeLocation.getExternalId();
+
+        final DependencyGraph graph = codeLocation.getDependencyGraph();
+        final Map<ExternalId, Integer> indexes = new HashMap<>();
+        final List<Dependency> toVisit = new ArrayList<>();
+        for (final Dependency rootDependency : graph.getRootDependencies()) {
+            cachedCodeLocation.rootDependencies.add(indexOf(cachedCodeLocation, indexes, toVisit, rootDependency));
+        }
+        for (int i = 0; i < toVisit.size(); i++) {
+            final Dependency parent = toVisit.get(i);
+            final int parentIndex = indexes.get(parent.externalId);
+            for (final Dependency child : graph.getChildrenForParent(parent)) {
+                cachedCodeLocation.relationships.add(new int[] { parentIndex, indexOf(cachedCodeLocation, indexes, toVisit, child) });
+            }
+        }
+        return cachedCodeLocation;
+    }
+
+    private static int indexOf(final CachedCodeLocation cachedCodeLocation, final Map<ExternalId, Integer> indexes, final List<Dependency> toVisit, final Dependency dependency) {
+        final Integer existing = indexes.get(dependency.externalId);
+        if (existing != null) {
+            return existing;
+        }
+        final CachedDependency cachedDependency = new CachedDependency();
+        cachedDependency.name = dependency.name;
+        cachedDependency.version = dependency.version;
+        cachedDependency.externalId = dependency.externalId;
+        final int index = cachedCodeLocation.dependencies.size();
+        cachedCodeLocation.dependencies.add(cachedDependency);
+        indexes.put(dependency.externalId, index);
+        toVisit.add(dependency);
+        return index;
+    }
+
+    public DetectCodeLocation toCodeLocation() {
+        final List<Dependency> restored = new ArrayList<>(dependencies.size());
+        for (final CachedDependency cachedDependency : dependencies) {
+            restored.add(new Dependency(cachedDependency.name, cachedDependency.version, cachedDependency.externalId));
+        }
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        for (final Integer rootIndex : rootDependencies) {
+            graph.addChildToRoot(restored.get(rootIndex));
+        }
+        for (final int[] relationship : relationships) {
+            graph.addParentWithChild(restored.get(relationship[0]), restored.get(relationship[1]));
+        }
+        return new DetectCodeLocation.Builder(codeLocationType, sourcePath, externalId, graph).dockerImage(dockerImage).build();
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.extraction.cache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.google.gson.Gson;
+
+/**
+ * Stores successful extractions on disk so an unchanged project does not have to run its build tool again.
+ * An entry is keyed by the detector, the source directory, the contents of the detector's cache inputs and the values of the properties the detector lists.
+ * Entries are evicted least recently used first once the cache grows past its maximum size.
+ */
+public class ExtractionCache {
+    private static final String CACHE_FORMAT_VERSION = "1";
+    private static final String ENTRY_EXTENSION = ".json";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File cacheDirectory;
+    private final boolean enabled;
+    private final long maxSizeBytes;
+    private final String detectVersion;
+    private final DetectConfiguration detectConfiguration;
+    private final Gson gson;
+
+    private final AtomicInteger hits = new AtomicInteger(0);
+    private final AtomicInteger misses = new AtomicInteger(0);
+    private final AtomicInteger stored = new AtomicInteger(0);
+    private final AtomicInteger evicted = new AtomicInteger(0);
+
+    public ExtractionCache(final File cacheDirectory, final boolean enabled, final long maxSizeBytes, final String detectVersion, final DetectConfiguration detectConfiguration, final Gson gson) {
+        this.cacheDirectory = cacheDirectory;
+        this.enabled = enabled;
+        this.maxSizeBytes = maxSizeBytes;
+        this.detectVersion = detectVersion;
+        this.detectConfiguration = detectConfiguration;
+        this.gson = gson;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns empty when the cache is disabled or the detector does not declare any cache inputs.
+     */
+    public Optional<String> createKey(final Detector detector, final File directory) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        final List<File> inputs = new ArrayList<>(detector.getExtractionCacheInputs());
+        if (inputs.isEmpty()) {
+            return Optional.empty();
+        }
+        inputs.sort(Comparator.comparing(File::getAbsolutePath));
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, CACHE_FORMAT_VERSION);
+            update(digest, detectVersion);
+            update(digest, detector.getDetectorType().name());
+            update(digest, detector.getClass().getName());
+            update(digest, directory.getAbsolutePath());
+            for (final DetectProperty property : detector.getExtractionCacheProperties()) {
+                update(digest, property.getPropertyName() + "=" + detectConfiguration.getPropertyValueAsString(property, PropertyAuthority.None));
+            }
+            for (final File input : inputs) {
+                update(digest, input.getAbsolutePath());
+                if (input.isFile()) {
+                    updateWithContents(digest, input);
+                } else {
+                    update(digest, "<missing>");
+                }
+            }
+            return Optional.of(toHex(digest.digest()));
+        } catch (final NoSuchAlgorithmException | IOException e) {
+            logger.debug("Could not compute an extraction cache key, the extraction will not be cached.", e);
+            return Optional.empty();
+        }
+    }
+
+    public Optional<Extraction> findExtraction(final String key) {
+        final File entryFile = getEntryFile(key);
+        if (!entryFile.isFile()) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        try (Reader reader = Files.newBufferedReader(entryFile.toPath(), StandardCharsets.UTF_8)) {
+            final CachedExtraction cachedExtraction = gson.fromJson(reader, CachedExtraction.class);
+            final List<DetectCodeLocation> codeLocations = new ArrayList<>();
+            for (final CachedCodeLocation cachedCodeLocation : cachedExtraction.codeLocations) {
+                codeLocations.add(cachedCodeLocation.toCodeLocation());
+            }
+            entryFile.setLastModified(System.currentTimeMillis());
+            hits.incrementAndGet();
+            return Optional.of(new Extraction.Builder()
+                                   .success(codeLocations)
+                                   .projectName(cachedExtraction.projectName)
+                                   .projectVersion(cachedExtraction.projectVersion)
+                                   .build());
+        } catch (final Exception e) {
+            logger.debug(String.format("Could not read extraction cache entry %s, it will be replaced.", entryFile.getAbsolutePath()), e);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    public void storeExtraction(final String key, final Extraction extraction) {
+        if (extraction.result != ExtractionResultType.SUCCESS) {
+            return;
+        }
+
+        final CachedExtraction cachedExtraction = new CachedExtraction();
+        cachedExtraction.projectName = extraction.projectName;
+        cachedExtraction.projectVersion = extraction.projectVersion;
+        for (final DetectCodeLocation codeLocation : extraction.codeLocations) {
+            cachedExtraction.codeLocations.add(CachedCodeLocation.fromCodeLocation(codeLocation));
+        }
+
+        try {
+            cacheDirectory.mkdirs();
+            final File entryFile = getEntryFile(key);
+            final File temporaryFile = File.createTempFile(key, ".tmp", cacheDirectory);
+            try (Writer writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(cachedExtraction, writer);
+            }
+            Files.move(temporaryFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            stored.incrementAndGet();
+        } catch (final Exception e) {
+            logger.debug("Could not store the extraction in the extraction cache.", e);
+            return;
+        }
+
+        evict();
+    }
+
+    public void logSummary() {
+        if (!enabled) {
+            return;
+        }
+        logger.info(String.format("Extraction cache: %d hits, %d misses, %d stored, %d evicted (%s).", hits.get(), misses.get(), stored.get(), evicted.get(), cacheDirectory.getAbsolutePath()));
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public int getStored() {
+        return stored.get();
+    }
+
+    public int getEvicted() {
+        return evicted.get();
+    }
+
+    private synchronized void evict() {
+        final File[] entries = cacheDirectory.listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+        if (entries == null) {
+            return;
+        }
+
+        long totalSize = 0;
+        for (final File entry : entries) {
+            totalSize += entry.length();
+        }
+        if (totalSize <= maxSizeBytes) {
+            return;
+        }
+
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        for (final File entry : entries) {
+            if (totalSize <= maxSizeBytes) {
+                break;
+            }
+            final long entrySize = entry.length();
+            if (entry.delete()) {
+                totalSize -= entrySize;
+                evicted.incrementAndGet();
+            }
+        }
+    }
+
+    private File getEntryFile(final String key) {
+        return new File(cacheDirectory, key + ENTRY_EXTENSION);
+    }
+
+    private void update(final MessageDigest digest, final String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private void updateWithContents(final MessageDigest digest, final File file) throws IOException {
+        final byte[] buffer = new byte[8192];
+        try (InputStream inputStream = new FileInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        digest.update((byte) 0);
+    }
+
+    private String toHex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -31,6 +31,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -78,8 +79,15 @@ public class DetectFileFinder {
     }
 
     public File findFile(final File sourceDirectory, final String filenamePattern) {
+        return chooseFoundFile(sourceDirectory, filenamePattern, findFiles(sourceDirectory, filenamePattern));
+    }
+
+    public File findFile(final DirectoryListing directoryListing, final String filenamePattern) {
+        return chooseFoundFile(directoryListing.getDirectory(), filenamePattern, findFiles(directoryListing, filenamePattern));
+    }
+
+    private File chooseFoundFile(final File sourceDirectory, final String filenamePattern, final List<File> foundFiles) {
         final File foundFile;
-        final List<File> foundFiles = findFiles(sourceDirectory, filenamePattern);
         if (foundFiles == null || foundFiles.isEmpty()) {
             logger.debug(String.format("Could not find any matches for %s in %s", filenamePattern, sourceDirectory.getAbsolutePath()));
             foundFile = null;
@@ -106,6 +114,16 @@ public class DetectFileFinder {
         return Arrays.asList(foundFiles);
     }
 
+    public List<File> findFiles(final DirectoryListing directoryListing, final String filenamePattern) {
+        final List<File> foundFiles = directoryListing.getFiles().stream()
+                                          .filter(file -> FilenameUtils.wildcardMatchOnSystem(file.getName(), filenamePattern))
+                                          .collect(Collectors.toList());
+        if (foundFiles.isEmpty()) {
+            return null;
+        }
+        return foundFiles;
+    }
+
     public List<File> findFilesToDepth(final File sourceDirectory, final String filenamePattern, final int maxDepth) {
         return findFilesRecursive(sourceDirectory, 0, maxDepth, null, true, filenamePattern);
     }
@@ -121,6 +139,29 @@ public class DetectFileFinder {
         return findFilesRecursive(sourceDirectory, 0, maxDepth, maxDepthHitMsgPattern, false, filenamePatterns);
     }
 
+    /**
+     * Like findAllFilesToDepth, but it will never descend into a directory whose name is one of the excluded directory names.
+     */
+    public List<File> findAllFilesToDepth(final File sourceDirectory, final int maxDepth, final Set<String> excludedDirectoryNames, final String... filenamePatterns) {
+        final List<File> files = new ArrayList<>();
+        if (maxDepth <= 0 || !sourceDirectory.isDirectory()) {
+            return files;
+        }
+        final File[] children = sourceDirectory.listFiles();
+        if (children == null) {
+            return files;
+        }
+        for (final File file : children) {
+            final boolean fileMatchesPatterns = Arrays.stream(filenamePatterns).anyMatch(pattern -> FilenameUtils.wildcardMatchOnSystem(file.getName(), pattern));
+            if (fileMatchesPatterns) {
+                files.add(file);
+            } else if (file.isDirectory() && !excludedDirectoryNames.contains(file.getName())) {
+                files.addAll(findAllFilesToDepth(file, maxDepth - 1, excludedDirectoryNames, filenamePatterns));
+            }
+        }
+        return files;
+    }
+
     public List<File> findDirectoriesContainingDirectoriesToDepth(final String sourcePath, final String filenamePattern, final int maxDepth) {
         return findDirectoriesContainingDirectoriesToDepth(new File(sourcePath), filenamePattern, maxDepth);
     }
@@ -0,0 +1,79 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The contents of a directory read once, so the detector search and every detector's applicable check can share a single listing instead of each reading the directory again.
+ */
+public class DirectoryListing {
+    private final File directory;
+    private final List<File> files;
+    private final List<File> subDirectories;
+
+    public DirectoryListing(final File directory, final List<File> files, final List<File> subDirectories) {
+        this.directory = directory;
+        this.files = files;
+        this.subDirectories = subDirectories;
+    }
+
+    public static DirectoryListing read(final File directory) throws IOException {
+        final List<File> files = new ArrayList<>();
+        final List<File> subDirectories = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory.toPath())) {
+            for (final File file : stream.map(path -> path.toFile()).collect(Collectors.toList())) {
+                files.add(file);
+                if (file.isDirectory()) {
+                    subDirectories.add(file);
+                }
+            }
+        }
+        return new DirectoryListing(directory, Collections.unmodifiableList(files), Collections.unmodifiableList(subDirectories));
+    }
+
+    public static DirectoryListing empty(final File directory) {
+        return new DirectoryListing(directory, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public List<File> getFiles() {
+        return files;
+    }
+
+    public List<File> getSubDirectories() {
+        return subDirectories;
+    }
+}
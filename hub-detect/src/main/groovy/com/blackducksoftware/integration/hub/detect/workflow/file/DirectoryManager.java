@@ -42,7 +42,8 @@ public class DirectoryManager {
 
     private enum OutputDirectory {
         Runs("runs"),
-        Tools("tools");
+        Tools("tools"),
+        Profiles("profiles");
 
         private String directoryName;
 
@@ -78,6 +79,7 @@ public class DirectoryManager {
 
     private final File runDirectory;
     private final File sourceDirectory;
+    private final File runProfileDirectory;
 
     private final Map<OutputDirectory, File> outputDirectories = new HashMap<>();
     private final Map<RunDirectory, File> runDirectories = new HashMap<>();
@@ -117,11 +119,18 @@ public class DirectoryManager {
             runDirectories.put(RunDirectory.Scan, new File(directoryOptions.getScanOutputPathOverride()));
         }
 
+        // the run profile is kept after cleanup removes the run directory, so runs can be compared later
+        if (StringUtils.isNotBlank(directoryOptions.getRunProfileOutputPathOverride())) {
+            runProfileDirectory = new File(directoryOptions.getRunProfileOutputPathOverride());
+        } else {
+            runProfileDirectory = new File(outputDirectories.get(OutputDirectory.Profiles), detectRun.getRunId());
+        }
+
         runDirectories.values().forEach(it -> temporaryFiles.add(it));
 
     }
 
-    public File getExtractionOutputDirectory(final ExtractionId extractionId) {
+    public synchronized File getExtractionOutputDirectory(final ExtractionId extractionId) {
         if (extractionDirectories.containsKey(extractionId)) {
             return extractionDirectories.get(extractionId);
         } else {
@@ -169,6 +178,13 @@ public class DirectoryManager {
         return runDirectory;
     }
 
+    public File getRunProfileOutputDirectory() {
+        if (!runProfileDirectory.exists()) {
+            runProfileDirectory.mkdirs();
+        }
+        return runProfileDirectory;
+    }
+
     private File getOutputDirectory(OutputDirectory directory) {
         File actualDirectory = outputDirectories.get(directory);
         if (!actualDirectory.exists()) {
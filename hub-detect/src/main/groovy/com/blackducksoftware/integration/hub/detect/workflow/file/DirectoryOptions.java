@@ -28,12 +28,14 @@ public class DirectoryOptions {
     private String outputPath;
     private String bdioOutputPath;
     private String scanOutputPath;
+    private String runProfileOutputPath;
 
-    public DirectoryOptions(final String sourcePath, final String outputPath, final String bdioOutputPath, final String scanOutputPath) {
+    public DirectoryOptions(final String sourcePath, final String outputPath, final String bdioOutputPath, final String scanOutputPath, final String runProfileOutputPath) {
         this.sourcePath = sourcePath;
         this.outputPath = outputPath;
         this.bdioOutputPath = bdioOutputPath;
         this.scanOutputPath = scanOutputPath;
+        this.runProfileOutputPath = runProfileOutputPath;
     }
 
     public String getSourcePathOverride() {
@@ -51,4 +53,8 @@ public class DirectoryOptions {
     public String getScanOutputPathOverride() {
         return scanOutputPath;
     }
+
+    public String getRunProfileOutputPathOverride() {
+        return runProfileOutputPath;
+    }
 }
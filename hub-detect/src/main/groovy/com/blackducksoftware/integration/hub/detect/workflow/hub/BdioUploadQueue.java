@@ -0,0 +1,138 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.blackduck.service.CodeLocationService;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+/**
+ * Uploads BDIO files on a bounded pool as they are submitted, retrying uploads that fail with an I/O error or a server error with exponential backoff.
+ */
+public class BdioUploadQueue {
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(BdioUploadQueue.class);
+
+    private final CodeLocationService codeLocationService;
+    private final String blackDuckUrl;
+    private final int uploadRetries;
+    private final long initialRetryDelayMillis;
+    private final ExecutorService executorService;
+    private final List<Future<?>> uploads = new ArrayList<>();
+
+    public BdioUploadQueue(final CodeLocationService codeLocationService, final String blackDuckUrl, final int parallelUploads, final int uploadRetries) {
+        this(codeLocationService, blackDuckUrl, parallelUploads, uploadRetries, INITIAL_RETRY_DELAY_MILLIS);
+    }
+
+    BdioUploadQueue(final CodeLocationService codeLocationService, final String blackDuckUrl, final int parallelUploads, final int uploadRetries, final long initialRetryDelayMillis) {
+        this.codeLocationService = codeLocationService;
+        this.blackDuckUrl = blackDuckUrl;
+        this.uploadRetries = Math.max(0, uploadRetries);
+        this.initialRetryDelayMillis = initialRetryDelayMillis;
+        this.executorService = Executors.newFixedThreadPool(Math.max(1, parallelUploads));
+    }
+
+    public synchronized void submit(final File bdioFile) {
+        uploads.add(executorService.submit(() -> {
+            upload(bdioFile);
+            return null;
+        }));
+    }
+
+    public void awaitUploads() throws IntegrationException {
+        final List<Future<?>> submitted;
+        synchronized (this) {
+            submitted = new ArrayList<>(uploads);
+        }
+        try {
+            for (final Future<?> upload : submitted) {
+                upload.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while uploading BDIO files.", e);
+        } catch (final CancellationException e) {
+            throw new IntegrationException("The BDIO uploads were cancelled.", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IntegrationException) {
+                throw (IntegrationException) e.getCause();
+            }
+            throw new IntegrationException(String.format("Unable to upload BDIO files: %s", e.getCause().getMessage()), e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Stops any running uploads and discards the queued ones. Safe to call more than once and after awaitUploads.
+     */
+    public synchronized void cancel() {
+        for (final Future<?> upload : uploads) {
+            upload.cancel(true);
+        }
+        executorService.shutdownNow();
+    }
+
+    private void upload(final File bdioFile) throws IntegrationException, InterruptedException {
+        int attempt = 0;
+        while (true) {
+            try {
+                logger.info(String.format("uploading %s to %s", bdioFile.getName(), blackDuckUrl));
+                codeLocationService.importBomFile(bdioFile);
+                return;
+            } catch (final IntegrationException e) {
+                if (attempt >= uploadRetries || !isRetryable(e)) {
+                    throw e;
+                }
+                final long delay = initialRetryDelayMillis << attempt;
+                attempt++;
+                logger.warn(String.format("Failed to upload %s, retry %d of %d in %d ms: %s", bdioFile.getName(), attempt, uploadRetries, delay, e.getMessage()));
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    private boolean isRetryable(final IntegrationException e) {
+        if (e instanceof IntegrationRestException) {
+            // a client error (bad request, unauthorized, conflict) will fail the same way every time
+            return ((IntegrationRestException) e).getHttpStatusCode() >= 500;
+        }
+        return ExceptionUtils.indexOfType(e, IOException.class) >= 0;
+    }
+}
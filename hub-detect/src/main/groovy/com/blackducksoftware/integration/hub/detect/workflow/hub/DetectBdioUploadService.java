@@ -23,21 +23,13 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.hub;
 
-import java.io.File;
-import java.util.List;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioOptions;
 import com.synopsys.integration.blackduck.service.CodeLocationService;
-import com.synopsys.integration.exception.IntegrationException;
 
 public class DetectBdioUploadService {
-    private final Logger logger = LoggerFactory.getLogger(DetectBdioUploadService.class);
-
     private final DetectConfiguration detectConfiguration;
     private final CodeLocationService codeLocationService;
 
@@ -46,11 +38,9 @@ public class DetectBdioUploadService {
         this.codeLocationService = codeLocationService;
     }
 
-    public void uploadBdioFiles(List<File> bdioFiles) throws IntegrationException {
-        for (final File file : bdioFiles) {
-            logger.info(String.format("uploading %s to %s", file.getName(), detectConfiguration.getProperty(DetectProperty.BLACKDUCK_URL, PropertyAuthority.None)));
-            codeLocationService.importBomFile(file);
-        }
+    public BdioUploadQueue startUploadQueue(BdioOptions bdioOptions) {
+        final String blackDuckUrl = detectConfiguration.getProperty(DetectProperty.BLACKDUCK_URL, PropertyAuthority.None);
+        return new BdioUploadQueue(codeLocationService, blackDuckUrl, bdioOptions.getParallelUploads(), bdioOptions.getUploadRetries());
     }
 
 }
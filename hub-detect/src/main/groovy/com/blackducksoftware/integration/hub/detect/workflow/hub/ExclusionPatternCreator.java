@@ -25,47 +25,136 @@ package com.blackducksoftware.integration.hub.detect.workflow.hub;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
 
+/**
+ * Finds the signature scanner exclusion patterns for all scan targets in one traversal. Targets are searched in parallel, a directory shared by overlapping
+ * targets is only listed once and each canonical path is only resolved once.
+ */
 public class ExclusionPatternCreator {
     private final Logger logger = LoggerFactory.getLogger(ExclusionPatternCreator.class);
 
-    private final DetectFileFinder detectFileFinder;
-    private final File scanTarget;
+    private final int parallelProcessors;
+    private final Map<File, DirectoryListing> directoryListings = new ConcurrentHashMap<>();
+    private final Map<File, String> canonicalPaths = new ConcurrentHashMap<>();
+    private boolean shareDirectoryListings = false;
 
-    public ExclusionPatternCreator(final DetectFileFinder detectFileFinder, final File scanTarget) {
-        this.detectFileFinder = detectFileFinder;
-        this.scanTarget = scanTarget;
+    public ExclusionPatternCreator(final int parallelProcessors) {
+        this.parallelProcessors = parallelProcessors;
     }
 
-    public Set<String> determineExclusionPatterns(final String maxDepthHitMsg, final int maxDepth, final String... hubSignatureScannerExclusionNamePatterns) {
-        if (null == hubSignatureScannerExclusionNamePatterns || hubSignatureScannerExclusionNamePatterns.length < 1 && scanTarget.isDirectory()) {
-            return Collections.emptySet();
+    public Map<File, Set<String>> determineExclusionPatterns(final List<File> scanTargets, final String maxDepthHitMsg, final int maxDepth, final String... hubSignatureScannerExclusionNamePatterns) {
+        final Map<File, Set<String>> scanExclusionPatterns = new LinkedHashMap<>();
+        for (final File scanTarget : scanTargets) {
+            scanExclusionPatterns.put(scanTarget, new HashSet<>());
+        }
+        if (null == hubSignatureScannerExclusionNamePatterns || hubSignatureScannerExclusionNamePatterns.length < 1) {
+            return scanExclusionPatterns;
+        }
+
+        final List<TargetSearch> targetSearches = new ArrayList<>();
+        for (final File scanTarget : scanExclusionPatterns.keySet()) {
+            if (!scanTarget.isDirectory()) {
+                continue;
+            }
+            try {
+                targetSearches.add(new TargetSearch(scanTarget, getCanonicalPath(scanTarget), maxDepthHitMsg, maxDepth, hubSignatureScannerExclusionNamePatterns));
+            } catch (final IOException e) {
+                logger.warn("Problem encountered finding the exclusion patterns for the scanner. " + e.getMessage());
+                logger.debug(e.getMessage(), e);
+            }
+        }
+        shareDirectoryListings = anyTargetsOverlap(targetSearches);
+
+        final boolean parallel = parallelProcessors > 1 && !targetSearches.isEmpty();
+        final List<DirectoryTask> targetTasks = new ArrayList<>();
+        for (final TargetSearch targetSearch : targetSearches) {
+            targetTasks.add(new DirectoryTask(targetSearch.scanTarget, 0, targetSearch, parallel));
         }
-        final Set<String> scanExclusionPatterns = new HashSet<>();
         try {
-            final String scanTargetPath = scanTarget.getCanonicalPath();
-            final List<File> matchingFiles = detectFileFinder.findAllFilesToDepth(scanTarget, new StringBuilder(maxDepthHitMsg), maxDepth, hubSignatureScannerExclusionNamePatterns);
-            for (final File matchingFile : matchingFiles) {
-                final String matchingFilePath = matchingFile.getCanonicalPath();
-                final String scanExclusionPattern = createExclusionPatternFromPaths(scanTargetPath, matchingFilePath);
-                scanExclusionPatterns.add(scanExclusionPattern);
+            if (parallel) {
+                final ForkJoinPool forkJoinPool = new ForkJoinPool(parallelProcessors);
+                try {
+                    final List<ForkJoinTask<Set<String>>> submittedTasks = new ArrayList<>();
+                    for (final DirectoryTask targetTask : targetTasks) {
+                        submittedTasks.add(forkJoinPool.submit(targetTask));
+                    }
+                    for (int i = 0; i < targetTasks.size(); i++) {
+                        scanExclusionPatterns.get(targetSearches.get(i).scanTarget).addAll(submittedTasks.get(i).join());
+                    }
+                } finally {
+                    forkJoinPool.shutdown();
+                }
+            } else {
+                for (int i = 0; i < targetTasks.size(); i++) {
+                    scanExclusionPatterns.get(targetSearches.get(i).scanTarget).addAll(targetTasks.get(i).compute());
+                }
             }
-        } catch (final IOException e) {
-            logger.warn("Problem encountered finding the exclusion patterns for the scanner. " + e.getMessage());
-            logger.debug(e.getMessage(), e);
+        } finally {
+            directoryListings.clear();
         }
         return scanExclusionPatterns;
     }
 
+    public String getCanonicalPath(final File file) throws IOException {
+        String canonicalPath = canonicalPaths.get(file);
+        if (canonicalPath == null) {
+            canonicalPath = file.getCanonicalPath();
+            canonicalPaths.put(file, canonicalPath);
+        }
+        return canonicalPath;
+    }
+
+    // Listings are only kept when one target contains another, otherwise every directory is visited once anyway and keeping them would only cost memory.
+    private boolean anyTargetsOverlap(final List<TargetSearch> targetSearches) {
+        for (final TargetSearch targetSearch : targetSearches) {
+            for (final TargetSearch otherSearch : targetSearches) {
+                if (targetSearch != otherSearch && isSameOrUnder(targetSearch.scanTargetPath, otherSearch.scanTargetPath)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isSameOrUnder(final String path, final String directoryPath) {
+        return path.equals(directoryPath) || path.startsWith(directoryPath.endsWith(File.separator) ? directoryPath : directoryPath + File.separator);
+    }
+
+    private DirectoryListing listDirectory(final File directory) {
+        DirectoryListing directoryListing = shareDirectoryListings ? directoryListings.get(directory) : null;
+        if (directoryListing == null) {
+            try {
+                directoryListing = DirectoryListing.read(directory);
+            } catch (final IOException e) {
+                logger.debug(String.format("Could not list %s while finding the exclusion patterns for the scanner. %s", directory.getAbsolutePath(), e.getMessage()));
+                directoryListing = DirectoryListing.empty(directory);
+            }
+            if (shareDirectoryListings) {
+                directoryListings.put(directory, directoryListing);
+            }
+        }
+        return directoryListing;
+    }
+
     private String createExclusionPatternFromPaths(final String rootPath, final String targetPath) {
         String scanExclusionPattern = targetPath.replace(rootPath, "/");
         if (scanExclusionPattern.contains("\\\\")) {
@@ -82,4 +171,84 @@ public class ExclusionPatternCreator {
         }
         return scanExclusionPattern;
     }
+
+    private static class TargetSearch {
+        private final File scanTarget;
+        private final String scanTargetPath;
+        private final String maxDepthHitMsg;
+        private final int maxDepth;
+        private final String[] exclusionNamePatterns;
+        private final AtomicBoolean maxDepthHitReported = new AtomicBoolean(false);
+
+        public TargetSearch(final File scanTarget, final String scanTargetPath, final String maxDepthHitMsg, final int maxDepth, final String[] exclusionNamePatterns) {
+            this.scanTarget = scanTarget;
+            this.scanTargetPath = scanTargetPath;
+            this.maxDepthHitMsg = maxDepthHitMsg;
+            this.maxDepth = maxDepth;
+            this.exclusionNamePatterns = exclusionNamePatterns;
+        }
+    }
+
+    // A matching file or directory becomes an exclusion pattern and a matching directory is not searched any further, the same as DetectFileFinder.findAllFilesToDepth.
+    private class DirectoryTask extends RecursiveTask<Set<String>> {
+        private static final long serialVersionUID = 1L;
+
+        private final File directory;
+        private final int depth;
+        private final TargetSearch targetSearch;
+        private final boolean parallel;
+
+        public DirectoryTask(final File directory, final int depth, final TargetSearch targetSearch, final boolean parallel) {
+            this.directory = directory;
+            this.depth = depth;
+            this.targetSearch = targetSearch;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected Set<String> compute() {
+            final Set<String> scanExclusionPatterns = new HashSet<>();
+            if (depth >= targetSearch.maxDepth) {
+                if (StringUtils.isNotBlank(targetSearch.maxDepthHitMsg) && targetSearch.maxDepthHitReported.compareAndSet(false, true)) {
+                    logger.warn(String.format(targetSearch.maxDepthHitMsg, directory.getAbsolutePath()));
+                }
+                return scanExclusionPatterns;
+            }
+
+            final DirectoryListing directoryListing = listDirectory(directory);
+            for (final File file : directoryListing.getFiles()) {
+                if (matchesExclusionPatterns(file)) {
+                    try {
+                        scanExclusionPatterns.add(createExclusionPatternFromPaths(targetSearch.scanTargetPath, getCanonicalPath(file)));
+                    } catch (final IOException e) {
+                        logger.warn("Problem encountered finding the exclusion patterns for the scanner. " + e.getMessage());
+                        logger.debug(e.getMessage(), e);
+                    }
+                }
+            }
+
+            final List<DirectoryTask> subdirectoryTasks = new ArrayList<>();
+            for (final File subDirectory : directoryListing.getSubDirectories()) {
+                if (!matchesExclusionPatterns(subDirectory)) {
+                    subdirectoryTasks.add(new DirectoryTask(subDirectory, depth + 1, targetSearch, parallel));
+                }
+            }
+
+            if (parallel) {
+                invokeAll(subdirectoryTasks);
+                for (final DirectoryTask subdirectoryTask : subdirectoryTasks) {
+                    scanExclusionPatterns.addAll(subdirectoryTask.join());
+                }
+            } else {
+                for (final DirectoryTask subdirectoryTask : subdirectoryTasks) {
+                    scanExclusionPatterns.addAll(subdirectoryTask.compute());
+                }
+            }
+            return scanExclusionPatterns;
+        }
+
+        private boolean matchesExclusionPatterns(final File file) {
+            return Arrays.stream(targetSearch.exclusionNamePatterns).anyMatch(pattern -> FilenameUtils.wildcardMatchOnSystem(file.getName(), pattern));
+        }
+    }
 }
@@ -24,8 +24,12 @@
 package com.blackducksoftware.integration.hub.detect.workflow.hub;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -41,6 +45,8 @@ import com.blackducksoftware.integration.hub.detect.lifecycle.shutdown.ExitCodeR
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.CodeLocationNameManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunPhase;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunProfiler;
 import com.synopsys.integration.blackduck.api.generated.view.CodeLocationView;
 import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionView;
 import com.synopsys.integration.blackduck.api.view.ScanSummaryView;
@@ -49,7 +55,6 @@ import com.synopsys.integration.blackduck.service.CodeLocationService;
 import com.synopsys.integration.blackduck.service.HubService;
 import com.synopsys.integration.blackduck.service.ProjectService;
 import com.synopsys.integration.blackduck.service.ReportService;
-import com.synopsys.integration.blackduck.service.ScanStatusService;
 import com.synopsys.integration.blackduck.service.model.PolicyStatusDescription;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.rest.exception.IntegrationRestException;
@@ -63,54 +68,66 @@ public class HubManager {
     private final HubServiceManager hubServiceManager;
     private final PolicyChecker policyChecker;
     private final EventSystem eventSystem;
+    private final RunProfiler runProfiler;
 
     public HubManager(final CodeLocationNameManager codeLocationNameManager, final DetectConfiguration detectConfiguration, final HubServiceManager hubServiceManager,
-        final PolicyChecker policyChecker, final EventSystem eventSystem) {
+        final PolicyChecker policyChecker, final EventSystem eventSystem, final RunProfiler runProfiler) {
         this.codeLocationNameManager = codeLocationNameManager;
         this.detectConfiguration = detectConfiguration;
         this.hubServiceManager = hubServiceManager;
         this.policyChecker = policyChecker;
         this.eventSystem = eventSystem;
+        this.runProfiler = runProfiler;
     }
 
     public void performPostHubActions(final NameVersion projectNameVersion, final ProjectVersionView projectVersionView) throws DetectUserFriendlyException {
+        final int parallelRequests = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_BLACKDUCK_PARALLEL_REQUESTS, PropertyAuthority.None);
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, parallelRequests));
         try {
             final ProjectService projectService = hubServiceManager.createProjectService();
             final ReportService reportService = hubServiceManager.createReportService();
             final HubService hubService = hubServiceManager.createHubService();
             final CodeLocationService codeLocationService = hubServiceManager.createCodeLocationService();
-            final ScanStatusService scanStatusService = hubServiceManager.createScanStatusService();
 
             if (StringUtils.isNotBlank(detectConfiguration.getProperty(DetectProperty.DETECT_POLICY_CHECK_FAIL_ON_SEVERITIES, PropertyAuthority.None)) || detectConfiguration
                                                                                                                                                               .getBooleanProperty(DetectProperty.DETECT_RISK_REPORT_PDF, PropertyAuthority.None)
                     || detectConfiguration.getBooleanProperty(DetectProperty.DETECT_NOTICES_REPORT, PropertyAuthority.None)) {
-                waitForBomUpdate(codeLocationService, hubService, scanStatusService);
+                try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.BOM_UPDATE_WAIT)) {
+                    waitForBomUpdate(codeLocationService, hubService, executorService);
+                }
+            }
+
+            // the reports only need the BOM to be ready, so they are created while the policy status is checked
+            final List<Future<Void>> reports = new ArrayList<>();
+            if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_RISK_REPORT_PDF, PropertyAuthority.None)) {
+                reports.add(executorService.submit(() -> {
+                    try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.REPORT, "risk report pdf")) {
+                        createRiskReportPdf(reportService, projectNameVersion);
+                    }
+                    return null;
+                }));
+            }
+            if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_NOTICES_REPORT, PropertyAuthority.None)) {
+                reports.add(executorService.submit(() -> {
+                    try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.REPORT, "notices report")) {
+                        createNoticesReport(reportService, projectNameVersion);
+                    }
+                    return null;
+                }));
             }
 
             if (StringUtils.isNotBlank(detectConfiguration.getProperty(DetectProperty.DETECT_POLICY_CHECK_FAIL_ON_SEVERITIES, PropertyAuthority.None))) {
-                final PolicyStatusDescription policyStatusDescription = policyChecker.getPolicyStatus(projectService, projectVersionView);
+                final PolicyStatusDescription policyStatusDescription;
+                try (RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.POLICY_CHECK)) {
+                    policyStatusDescription = policyChecker.getPolicyStatus(projectService, projectVersionView);
+                }
                 logger.info(policyStatusDescription.getPolicyStatusMessage());
                 if (policyChecker.policyViolated(policyStatusDescription)) {
                     eventSystem.publishEvent(Event.ExitCode, new ExitCodeRequest(ExitCodeType.FAILURE_POLICY_VIOLATION, policyStatusDescription.getPolicyStatusMessage()));
                 }
             }
 
-            if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_RISK_REPORT_PDF, PropertyAuthority.None)) {
-                logger.info("Creating risk report pdf");
-                final File pdfFile = reportService
-                                         .createReportPdfFile(new File(detectConfiguration.getProperty(DetectProperty.DETECT_RISK_REPORT_PDF_PATH, PropertyAuthority.None)), projectNameVersion.getName(), projectNameVersion.getVersion());
-                logger.info(String.format("Created risk report pdf: %s", pdfFile.getCanonicalPath()));
-            }
-
-            if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_NOTICES_REPORT, PropertyAuthority.None)) {
-                logger.info("Creating notices report");
-                final File noticesFile = reportService.createNoticesReportFile(new File(detectConfiguration.getProperty(DetectProperty.DETECT_NOTICES_REPORT_PATH, PropertyAuthority.None)), projectNameVersion.getName(),
-                    projectNameVersion.getVersion()
-                );
-                if (noticesFile != null) {
-                    logger.info(String.format("Created notices report: %s", noticesFile.getCanonicalPath()));
-                }
-            }
+            HubRequestFutures.awaitAll(reports);
         } catch (final IllegalStateException e) {
             throw new DetectUserFriendlyException(String.format("Your Black Duck configuration is not valid: %s", e.getMessage()), e, ExitCodeType.FAILURE_HUB_CONNECTIVITY);
         } catch (final IntegrationRestException e) {
@@ -119,25 +136,51 @@ public class HubManager {
             throw new DetectUserFriendlyException(e.getMessage(), e, ExitCodeType.FAILURE_TIMEOUT);
         } catch (final Exception e) {
             throw new DetectUserFriendlyException(String.format("There was a problem: %s", e.getMessage()), e, ExitCodeType.FAILURE_GENERAL_ERROR);
+        } finally {
+            executorService.shutdownNow();
         }
     }
 
-    private void waitForBomUpdate(final CodeLocationService codeLocationService, final HubService hubService, final ScanStatusService scanStatusService) throws IntegrationException, InterruptedException {
-        final List<CodeLocationView> allCodeLocations = new ArrayList<>();
+    private void createRiskReportPdf(final ReportService reportService, final NameVersion projectNameVersion) throws IntegrationException, IOException {
+        logger.info("Creating risk report pdf");
+        final File pdfFile = reportService
+                                 .createReportPdfFile(new File(detectConfiguration.getProperty(DetectProperty.DETECT_RISK_REPORT_PDF_PATH, PropertyAuthority.None)), projectNameVersion.getName(), projectNameVersion.getVersion());
+        logger.info(String.format("Created risk report pdf: %s", pdfFile.getCanonicalPath()));
+    }
+
+    private void createNoticesReport(final ReportService reportService, final NameVersion projectNameVersion) throws IntegrationException, IOException {
+        logger.info("Creating notices report");
+        final File noticesFile = reportService.createNoticesReportFile(new File(detectConfiguration.getProperty(DetectProperty.DETECT_NOTICES_REPORT_PATH, PropertyAuthority.None)), projectNameVersion.getName(),
+            projectNameVersion.getVersion()
+        );
+        if (noticesFile != null) {
+            logger.info(String.format("Created notices report: %s", noticesFile.getCanonicalPath()));
+        }
+    }
+
+    private void waitForBomUpdate(final CodeLocationService codeLocationService, final HubService hubService, final ExecutorService executorService) throws IntegrationException, InterruptedException {
+        // every code location and its scans are looked up concurrently instead of one round trip after another
+        final List<Future<List<ScanSummaryView>>> lookups = new ArrayList<>();
         for (final String codeLocationName : codeLocationNameManager.getCodeLocationNames()) {
-            final CodeLocationView codeLocationView = codeLocationService.getCodeLocationByName(codeLocationName);
-            allCodeLocations.add(codeLocationView);
+            lookups.add(executorService.submit(() -> findScanSummaries(codeLocationService, hubService, codeLocationName)));
         }
         final List<ScanSummaryView> scanSummaryViews = new ArrayList<>();
-        for (final CodeLocationView codeLocationView : allCodeLocations) {
-            final String scansLink = hubService.getFirstLinkSafely(codeLocationView, CodeLocationView.SCANS_LINK);
-            if (StringUtils.isNotBlank(scansLink)) {
-                final List<ScanSummaryView> codeLocationScanSummaryViews = hubService.getResponses(scansLink, ScanSummaryView.class, true);
-                scanSummaryViews.addAll(codeLocationScanSummaryViews);
-            }
+        for (final List<ScanSummaryView> codeLocationScanSummaryViews : HubRequestFutures.awaitAll(lookups)) {
+            scanSummaryViews.addAll(codeLocationScanSummaryViews);
         }
         logger.info("Waiting for the BOM to be updated");
-        scanStatusService.assertScansFinished(scanSummaryViews);
+        final long timeout = detectConfiguration.getLongProperty(DetectProperty.DETECT_API_TIMEOUT, PropertyAuthority.None);
+        final ScanStatusPoller scanStatusPoller = new ScanStatusPoller(hubService, executorService, timeout);
+        scanStatusPoller.waitForScans(scanSummaryViews);
         logger.info("The BOM has been updated");
     }
+
+    private List<ScanSummaryView> findScanSummaries(final CodeLocationService codeLocationService, final HubService hubService, final String codeLocationName) throws IntegrationException {
+        final CodeLocationView codeLocationView = codeLocationService.getCodeLocationByName(codeLocationName);
+        final String scansLink = hubService.getFirstLinkSafely(codeLocationView, CodeLocationView.SCANS_LINK);
+        if (StringUtils.isNotBlank(scansLink)) {
+            return hubService.getResponses(scansLink, ScanSummaryView.class, true);
+        }
+        return new ArrayList<>();
+    }
 }
@@ -0,0 +1,106 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.util.DetectEnumUtil;
+import com.synopsys.integration.blackduck.api.view.ScanSummaryView;
+import com.synopsys.integration.blackduck.exception.HubTimeoutExceededException;
+import com.synopsys.integration.blackduck.service.HubService;
+import com.synopsys.integration.exception.IntegrationException;
+
+/**
+ * Waits for Black Duck to finish processing scans. Each round refreshes only the scans still pending, concurrently on the given pool, and the wait between
+ * rounds doubles up to a maximum so short scans are noticed quickly without polling long ones constantly.
+ */
+public class ScanStatusPoller {
+    private static final long INITIAL_POLL_DELAY_MILLIS = 1000;
+    private static final long MAXIMUM_POLL_DELAY_MILLIS = 30000;
+
+    private final Logger logger = LoggerFactory.getLogger(ScanStatusPoller.class);
+
+    private final HubService hubService;
+    private final ExecutorService executorService;
+    private final long timeoutInMilliseconds;
+    private final long initialPollDelayMillis;
+
+    public ScanStatusPoller(final HubService hubService, final ExecutorService executorService, final long timeoutInMilliseconds) {
+        this(hubService, executorService, timeoutInMilliseconds, INITIAL_POLL_DELAY_MILLIS);
+    }
+
+    ScanStatusPoller(final HubService hubService, final ExecutorService executorService, final long timeoutInMilliseconds, final long initialPollDelayMillis) {
+        this.hubService = hubService;
+        this.executorService = executorService;
+        this.timeoutInMilliseconds = timeoutInMilliseconds;
+        this.initialPollDelayMillis = initialPollDelayMillis;
+    }
+
+    public void waitForScans(final List<ScanSummaryView> scanSummaryViews) throws IntegrationException, InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutInMilliseconds;
+        List<ScanSummaryView> pendingScans = findPendingScans(scanSummaryViews);
+        long delay = initialPollDelayMillis;
+        while (!pendingScans.isEmpty()) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new HubTimeoutExceededException(String.format("The Black Duck scans did not finish within %d ms, %d of them are still pending.", timeoutInMilliseconds, pendingScans.size()));
+            }
+            logger.debug(String.format("%d scans are still pending, checking again in %d ms.", pendingScans.size(), Math.min(delay, remaining)));
+            Thread.sleep(Math.min(delay, remaining));
+            delay = Math.min(delay * 2, MAXIMUM_POLL_DELAY_MILLIS);
+            pendingScans = findPendingScans(refreshScans(pendingScans));
+        }
+    }
+
+    private List<ScanSummaryView> refreshScans(final List<ScanSummaryView> scanSummaryViews) throws IntegrationException, InterruptedException {
+        final List<Future<ScanSummaryView>> refreshes = new ArrayList<>();
+        for (final ScanSummaryView scanSummaryView : scanSummaryViews) {
+            refreshes.add(executorService.submit(() -> hubService.getResponse(hubService.getHref(scanSummaryView), ScanSummaryView.class)));
+        }
+        return HubRequestFutures.awaitAll(refreshes);
+    }
+
+    private List<ScanSummaryView> findPendingScans(final List<ScanSummaryView> scanSummaryViews) throws IntegrationException {
+        final List<ScanSummaryView> pendingScans = new ArrayList<>();
+        for (final ScanSummaryView scanSummaryView : scanSummaryViews) {
+            final String status = scanSummaryView.status == null ? "" : scanSummaryView.status.toString();
+            final Optional<ScanStatusType> scanStatusType = DetectEnumUtil.getValueOf(ScanStatusType.class, status);
+            if (scanStatusType.isPresent() && scanStatusType.get().isError()) {
+                throw new IntegrationException(String.format("There was a problem with one of the code locations. Error Status: %s", status));
+            }
+            // a status this version of detect does not know yet is not treated as done, so the scan is polled until the timeout
+            if (!scanStatusType.isPresent() || !scanStatusType.get().isDone()) {
+                pendingScans.add(scanSummaryView);
+            }
+        }
+        return pendingScans;
+    }
+}
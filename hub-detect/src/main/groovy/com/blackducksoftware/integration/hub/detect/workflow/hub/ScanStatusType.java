@@ -0,0 +1,61 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The statuses Black Duck reports for a scan, with the same done and error states hub-common's ScanStatusService waits on. A done scan is no longer polled and
+ * an error fails the wait.
+ */
+public enum ScanStatusType {
+    UNSTARTED,
+    SCANNING,
+    SAVING_SCAN_DATA,
+    SCAN_DATA_SAVE_COMPLETE,
+    REQUESTED_MATCH_JOB,
+    MATCHING,
+    BOM_VERSION_CHECK,
+    BUILDING_BOM,
+    COMPLETE,
+    CANCELLED,
+    CLONED,
+    ERROR_SCANNING,
+    ERROR_SAVING_SCAN_DATA,
+    ERROR_MATCHING,
+    ERROR_BUILDING_BOM,
+    ERROR;
+
+    private static final Set<ScanStatusType> DONE_STATES = EnumSet.of(COMPLETE, CANCELLED, CLONED, ERROR_SCANNING, ERROR_SAVING_SCAN_DATA, ERROR_MATCHING, ERROR_BUILDING_BOM, ERROR);
+    private static final Set<ScanStatusType> ERROR_STATES = EnumSet.of(CANCELLED, ERROR_SCANNING, ERROR_SAVING_SCAN_DATA, ERROR_MATCHING, ERROR_BUILDING_BOM, ERROR);
+
+    public boolean isDone() {
+        return DONE_STATES.contains(this);
+    }
+
+    public boolean isError() {
+        return ERROR_STATES.contains(this);
+    }
+}
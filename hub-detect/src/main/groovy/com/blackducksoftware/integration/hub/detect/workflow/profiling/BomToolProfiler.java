@@ -27,8 +27,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.workflow.event.DetectorEvent;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 
@@ -40,39 +40,42 @@ public class BomToolProfiler {
 
     public BomToolProfiler(EventSystem eventSystem) {
         this.eventSystem = eventSystem;
-        eventSystem.registerListener(Event.ApplicableStarted, event -> applicableStarted(event));
-        eventSystem.registerListener(Event.ApplicableEnded, event -> applicableEnded(event));
-        eventSystem.registerListener(Event.ExtractableStarted, event -> extractableStarted(event));
-        eventSystem.registerListener(Event.ExtractableEnded, event -> extractableEnded(event));
-        eventSystem.registerListener(Event.ExtractionStarted, event -> extractionStarted(event.getDetector()));
-        eventSystem.registerListener(Event.ExtractionEnded, event -> extractionEnded(event.getDetector()));
+        // the events carry the time they were published, so keeping time does not have to happen on the detector's thread
+        eventSystem.registerAsyncListener(Event.ApplicableStarted, event -> applicableStarted(event));
+        eventSystem.registerAsyncListener(Event.ApplicableEnded, event -> applicableEnded(event));
+        eventSystem.registerAsyncListener(Event.ExtractableStarted, event -> extractableStarted(event));
+        eventSystem.registerAsyncListener(Event.ExtractableEnded, event -> extractableEnded(event));
+        eventSystem.registerAsyncListener(Event.ExtractionStarted, event -> extractionStarted(event));
+        eventSystem.registerAsyncListener(Event.ExtractionEnded, event -> extractionEnded(event));
+        // phone home listens for the profiled timings, so they are published from the thread that finished the detectors
         eventSystem.registerListener(Event.BomToolsComplete, event -> bomToolsComplete());
     }
 
-    private void applicableStarted(final Detector detector) {
-        applicableTimekeeper.started(detector);
+    private void applicableStarted(final DetectorEvent event) {
+        applicableTimekeeper.started(event.getDetector(), event.getNanoTime());
     }
 
-    private void applicableEnded(final Detector detector) {
-        applicableTimekeeper.ended(detector);
+    private void applicableEnded(final DetectorEvent event) {
+        applicableTimekeeper.ended(event.getDetector(), event.getNanoTime());
     }
 
-    private void extractableStarted(final Detector detector) {
-        extractableTimekeeper.started(detector);
+    private void extractableStarted(final DetectorEvent event) {
+        extractableTimekeeper.started(event.getDetector(), event.getNanoTime());
     }
 
-    private void extractableEnded(final Detector detector) {
-        extractableTimekeeper.ended(detector);
+    private void extractableEnded(final DetectorEvent event) {
+        extractableTimekeeper.ended(event.getDetector(), event.getNanoTime());
     }
 
-    private void extractionStarted(final Detector detector) {
-        extractionTimekeeper.started(detector);
+    private void extractionStarted(final DetectorEvent event) {
+        extractionTimekeeper.started(event.getDetector(), event.getNanoTime());
     }
 
-    private void extractionEnded(final Detector detector) {
-        extractionTimekeeper.ended(detector);
+    private void extractionEnded(final DetectorEvent event) {
+        extractionTimekeeper.ended(event.getDetector(), event.getNanoTime());
     }
 
+    // callers read the timings after flushing the event system, or see only the events delivered so far
     public List<BomToolTime> getApplicableTimings() {
         return applicableTimekeeper.getTimings();
     }
@@ -86,6 +89,7 @@ public class BomToolProfiler {
     }
 
     public void bomToolsComplete() {
+        eventSystem.flush();
         BomToolAggregateTimings timings = new BomToolAggregateTimings();
         timings.bomToolTimings = getAggregateBomToolGroupTimes();
         eventSystem.publishEvent(Event.BomToolsProfiled, timings);
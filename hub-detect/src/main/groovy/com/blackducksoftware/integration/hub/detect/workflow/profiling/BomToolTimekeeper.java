@@ -27,41 +27,34 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-import org.apache.commons.lang3.time.StopWatch;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 
 public class BomToolTimekeeper {
+    private final Map<Detector, Long> startedNanos = new ConcurrentHashMap<>();
+    private final Map<Detector, Long> elapsedNanos = new ConcurrentHashMap<>();
 
-    private final Map<Detector, StopWatch> bomToolMap = new HashMap<>();
-
-    private StopWatch getStopWatch(final Detector detector) {
-        if (bomToolMap.containsKey(detector)) {
-            return bomToolMap.get(detector);
-        } else {
-            final StopWatch sw = new StopWatch();
-            bomToolMap.put(detector, sw);
-            return sw;
-        }
-    }
-
-    public void started(final Detector detector) {
-        getStopWatch(detector).start();
+    public void started(final Detector detector, final long nanoTime) {
+        startedNanos.put(detector, nanoTime);
     }
 
-    public void ended(final Detector detector) {
-        getStopWatch(detector).stop();
+    public void ended(final Detector detector, final long nanoTime) {
+        final Long started = startedNanos.remove(detector);
+        if (started != null) {
+            elapsedNanos.merge(detector, nanoTime - started, Long::sum);
+        }
     }
 
     public List<BomToolTime> getTimings() {
+        final long now = System.nanoTime();
+        final Map<Detector, Long> timings = new HashMap<>(elapsedNanos);
+        // a detector that is still running is reported with the time it has taken so far
+        startedNanos.forEach((detector, started) -> timings.merge(detector, now - started, Long::sum));
+
         final List<BomToolTime> bomToolTimings = new ArrayList<>();
-        for (final Detector detector : bomToolMap.keySet()) {
-            final StopWatch sw = bomToolMap.get(detector);
-            final long ms = sw.getTime();
-            final BomToolTime bomToolTime = new BomToolTime(detector, ms);
-            bomToolTimings.add(bomToolTime);
-        }
+        timings.forEach((detector, nanos) -> bomToolTimings.add(new BomToolTime(detector, TimeUnit.NANOSECONDS.toMillis(nanos))));
         return bomToolTimings;
     }
 }
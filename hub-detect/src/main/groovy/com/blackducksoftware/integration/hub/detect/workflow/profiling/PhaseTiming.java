@@ -0,0 +1,80 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.profiling;
+
+public class PhaseTiming {
+    private final RunPhase phase;
+    private final String detail;
+    private final long count;
+    private final long totalNanos;
+    private final long minNanos;
+    private final long maxNanos;
+    private final long firstStartNanos;
+    private final long lastEndNanos;
+
+    public PhaseTiming(final RunPhase phase, final String detail, final long count, final long totalNanos, final long minNanos, final long maxNanos, final long firstStartNanos, final long lastEndNanos) {
+        this.phase = phase;
+        this.detail = detail;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.minNanos = minNanos;
+        this.maxNanos = maxNanos;
+        this.firstStartNanos = firstStartNanos;
+        this.lastEndNanos = lastEndNanos;
+    }
+
+    public RunPhase getPhase() {
+        return phase;
+    }
+
+    // what was timed within the phase, for example the detector of an extraction, or an empty string for the phase as a whole
+    public String getDetail() {
+        return detail;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMinNanos() {
+        return minNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    // relative to the start of the run, so overlapping work shows a wall time shorter than its total
+    public long getFirstStartNanos() {
+        return firstStartNanos;
+    }
+
+    public long getLastEndNanos() {
+        return lastEndNanos;
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.profiling;
+
+public enum RunPhase {
+    RUN("run"),
+    DOCKER("docker"),
+    DETECTORS("detectors"),
+    SEARCH("search"),
+    PREPARATION("preparation"),
+    EXTRACTION("extraction"),
+    PROJECT("project"),
+    BDIO_CREATION("bdio creation"),
+    BDIO_UPLOAD_WAIT("bdio upload wait"),
+    SIGNATURE_SCAN("signature scan"),
+    BINARY_SCAN("binary scan"),
+    SWIP("swip"),
+    BLACKDUCK_POST_ACTIONS("black duck post actions"),
+    BOM_UPDATE_WAIT("bom update wait"),
+    POLICY_CHECK("policy check"),
+    REPORT("report");
+
+    private final String displayName;
+
+    RunPhase(final String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
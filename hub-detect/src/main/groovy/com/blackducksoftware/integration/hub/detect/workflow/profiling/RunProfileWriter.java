@@ -0,0 +1,102 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.profiling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Writes the phase timings of a run as JSON and as CSV so runs of different Detect versions can be compared by tooling. Durations are in milliseconds.
+ */
+public class RunProfileWriter {
+    public static final String JSON_FILE_NAME = "run_profile.json";
+    public static final String CSV_FILE_NAME = "run_profile.csv";
+    public static final String CSV_HEADER = "phase,detail,count,total_ms,min_ms,max_ms,first_start_ms,last_end_ms";
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    private final Gson gson;
+
+    public RunProfileWriter(final Gson gson) {
+        this.gson = gson;
+    }
+
+    public void writeProfile(final File directory, final String runId, final String detectVersion, final List<PhaseTiming> timings) throws IOException {
+        writeJson(new File(directory, JSON_FILE_NAME), runId, detectVersion, timings);
+        writeCsv(new File(directory, CSV_FILE_NAME), timings);
+    }
+
+    private void writeJson(final File jsonFile, final String runId, final String detectVersion, final List<PhaseTiming> timings) throws IOException {
+        final JsonArray phases = new JsonArray();
+        for (final PhaseTiming timing : timings) {
+            final JsonObject phase = new JsonObject();
+            phase.addProperty("phase", timing.getPhase().getDisplayName());
+            phase.addProperty("detail", timing.getDetail());
+            phase.addProperty("count", timing.getCount());
+            phase.addProperty("totalMs", toMillis(timing.getTotalNanos()));
+            phase.addProperty("minMs", toMillis(timing.getMinNanos()));
+            phase.addProperty("maxMs", toMillis(timing.getMaxNanos()));
+            phase.addProperty("firstStartMs", toMillis(timing.getFirstStartNanos()));
+            phase.addProperty("lastEndMs", toMillis(timing.getLastEndNanos()));
+            phases.add(phase);
+        }
+
+        final JsonObject profile = new JsonObject();
+        profile.addProperty("runId", runId);
+        profile.addProperty("detectVersion", detectVersion);
+        profile.add("phases", phases);
+
+        try (Writer writer = Files.newBufferedWriter(jsonFile.toPath(), StandardCharsets.UTF_8)) {
+            gson.toJson(profile, writer);
+        }
+    }
+
+    private void writeCsv(final File csvFile, final List<PhaseTiming> timings) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(csvFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            for (final PhaseTiming timing : timings) {
+                writer.write(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f\n", timing.getPhase().getDisplayName(), quote(timing.getDetail()), timing.getCount(), toMillis(timing.getTotalNanos()),
+                    toMillis(timing.getMinNanos()), toMillis(timing.getMaxNanos()), toMillis(timing.getFirstStartNanos()), toMillis(timing.getLastEndNanos())));
+            }
+        }
+    }
+
+    private String quote(final String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private double toMillis(final long nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long every phase of a run takes. Timings are taken with System.nanoTime and added to lock free accumulators, so extraction threads and
+ * Black Duck requests can time themselves concurrently without contending. A phase can be split by a detail, such as the detector of an extraction.
+ */
+public class RunProfiler {
+    private final long runStartNanos = System.nanoTime();
+    private final Map<PhaseKey, PhaseAccumulator> accumulators = new ConcurrentHashMap<>();
+
+    public PhaseTimer start(final RunPhase phase) {
+        return start(phase, "");
+    }
+
+    public PhaseTimer start(final RunPhase phase, final String detail) {
+        return new PhaseTimer(phase, detail == null ? "" : detail);
+    }
+
+    public void record(final RunPhase phase, final String detail, final long startNanos, final long endNanos) {
+        final PhaseAccumulator accumulator = accumulators.computeIfAbsent(new PhaseKey(phase, detail == null ? "" : detail), key -> new PhaseAccumulator());
+        accumulator.add(startNanos - runStartNanos, endNanos - runStartNanos);
+    }
+
+    public List<PhaseTiming> getTimings() {
+        final List<PhaseTiming> timings = new ArrayList<>();
+        accumulators.forEach((key, accumulator) -> {
+            final PhaseTiming timing = accumulator.toTiming(key);
+            // an accumulator can be seen before its first timing has been added
+            if (timing.getCount() > 0) {
+                timings.add(timing);
+            }
+        });
+        timings.sort(Comparator.comparingLong(PhaseTiming::getFirstStartNanos).thenComparing(timing -> timing.getPhase().ordinal()).thenComparing(PhaseTiming::getDetail));
+        return timings;
+    }
+
+    public class PhaseTimer implements AutoCloseable {
+        private final RunPhase phase;
+        private final String detail;
+        private final long startNanos = System.nanoTime();
+        private boolean stopped = false;
+
+        private PhaseTimer(final RunPhase phase, final String detail) {
+            this.phase = phase;
+            this.detail = detail;
+        }
+
+        @Override
+        public void close() {
+            if (!stopped) {
+                stopped = true;
+                record(phase, detail, startNanos, System.nanoTime());
+            }
+        }
+    }
+
+    private static class PhaseAccumulator {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator minNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator firstStartNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator lastEndNanos = new LongAccumulator(Math::max, 0);
+
+        private void add(final long startNanos, final long endNanos) {
+            final long elapsed = endNanos - startNanos;
+            count.increment();
+            totalNanos.add(elapsed);
+            minNanos.accumulate(elapsed);
+            maxNanos.accumulate(elapsed);
+            firstStartNanos.accumulate(startNanos);
+            lastEndNanos.accumulate(endNanos);
+        }
+
+        private PhaseTiming toTiming(final PhaseKey key) {
+            return new PhaseTiming(key.phase, key.detail, count.sum(), totalNanos.sum(), minNanos.get(), maxNanos.get(), firstStartNanos.get(), lastEndNanos.get());
+        }
+    }
+
+    private static class PhaseKey {
+        private final RunPhase phase;
+        private final String detail;
+
+        private PhaseKey(final RunPhase phase, final String detail) {
+            this.phase = phase;
+            this.detail = detail;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PhaseKey)) {
+                return false;
+            }
+            final PhaseKey otherKey = (PhaseKey) other;
+            return phase == otherKey.phase && detail.equals(otherKey.detail);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(phase, detail);
+        }
+    }
+}
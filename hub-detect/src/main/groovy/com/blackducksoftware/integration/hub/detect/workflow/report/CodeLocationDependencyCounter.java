@@ -24,11 +24,15 @@
 package com.blackducksoftware.integration.hub.detect.workflow.report;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
@@ -48,30 +52,85 @@ public class CodeLocationDependencyCounter {
         return dependencyCounts;
     }
 
-    public Map<DetectCodeLocation, Integer> countCodeLocations(final List<DetectCodeLocation> codeLocations) {
+    public Map<DetectCodeLocation, Integer> countCodeLocations(final Map<DetectCodeLocation, DependencyGraphStatistics> statistics) {
         final Map<DetectCodeLocation, Integer> dependencyCounts = new HashMap<>();
-        for (final DetectCodeLocation codeLocation : codeLocations) {
-            if (!dependencyCounts.containsKey(codeLocation)) {
-                dependencyCounts.put(codeLocation, 0);
-            }
-            dependencyCounts.put(codeLocation, dependencyCounts.get(codeLocation) + countCodeLocationDependencies(codeLocation));
+        for (final Entry<DetectCodeLocation, DependencyGraphStatistics> statisticsEntry : statistics.entrySet()) {
+            dependencyCounts.put(statisticsEntry.getKey(), statisticsEntry.getValue().getDependencyCount());
         }
         return dependencyCounts;
     }
 
-    private int countCodeLocationDependencies(final DetectCodeLocation codeLocation) {
-        return countDependencies(new ArrayList<ExternalId>(), codeLocation.getDependencyGraph().getRootDependencyExternalIds(), codeLocation.getDependencyGraph());
+    public Map<DetectCodeLocation, DependencyGraphStatistics> calculateStatistics(final Collection<DetectCodeLocation> codeLocations) {
+        final Map<DetectCodeLocation, DependencyGraphStatistics> statistics = new HashMap<>();
+        for (final DetectCodeLocation codeLocation : codeLocations) {
+            statistics.computeIfAbsent(codeLocation, it -> calculateStatistics(it.getDependencyGraph()));
+        }
+        return statistics;
     }
 
-    private int countDependencies(final List<ExternalId> processed, final Set<ExternalId> remaining, final DependencyGraph graph) {
-        int sum = 0;
-        for (final ExternalId dependency : remaining) {
-            if (processed.contains(dependency)) {
-                continue;
+    /*
+     * Visits every dependency once, a level at a time, so the work is linear in the size of the graph and deep graphs cannot overflow the stack.
+     */
+    public DependencyGraphStatistics calculateStatistics(final DependencyGraph graph) {
+        if (graph == null) {
+            return DependencyGraphStatistics.empty();
+        }
+
+        final Set<ExternalId> visited = new HashSet<>();
+        final SortedMap<Integer, Integer> fanOutHistogram = new TreeMap<>();
+        final Map<String, Set<String>> versionsByComponent = new HashMap<>();
+        int relationshipCount = 0;
+        int depth = 0;
+
+        List<ExternalId> level = new ArrayList<>();
+        for (final ExternalId root : graph.getRootDependencyExternalIds()) {
+            if (visited.add(root)) {
+                level.add(root);
+            }
+        }
+        final int rootDependencyCount = level.size();
+
+        while (!level.isEmpty()) {
+            depth++;
+            final List<ExternalId> nextLevel = new ArrayList<>();
+            for (final ExternalId dependency : level) {
+                versionsByComponent.computeIfAbsent(componentKey(dependency), it -> new HashSet<>()).add(dependency.version);
+                final Set<ExternalId> children = graph.getChildrenExternalIdsForParent(dependency);
+                final int childCount = children == null ? 0 : children.size();
+                relationshipCount += childCount;
+                fanOutHistogram.merge(fanOutBucket(childCount), 1, Integer::sum);
+                if (children != null) {
+                    for (final ExternalId child : children) {
+                        if (visited.add(child)) {
+                            nextLevel.add(child);
+                        }
+                    }
+                }
             }
-            processed.add(dependency);
-            sum += 1 + countDependencies(processed, graph.getChildrenExternalIdsForParent(dependency), graph);
+            level = nextLevel;
+        }
+
+        final Map<String, Integer> duplicateVersions = new TreeMap<>();
+        for (final Entry<String, Set<String>> versions : versionsByComponent.entrySet()) {
+            if (versions.getValue().size() > 1) {
+                duplicateVersions.put(versions.getKey(), versions.getValue().size());
+            }
+        }
+
+        return new DependencyGraphStatistics(visited.size(), rootDependencyCount, relationshipCount, depth, fanOutHistogram, duplicateVersions);
+    }
+
+    private String componentKey(final ExternalId externalId) {
+        if (externalId.group == null) {
+            return String.valueOf(externalId.name);
+        }
+        return externalId.group + ":" + externalId.name;
+    }
+
+    private int fanOutBucket(final int childCount) {
+        if (childCount <= 1) {
+            return childCount;
         }
-        return sum;
+        return Integer.highestOneBit(childCount);
     }
 }
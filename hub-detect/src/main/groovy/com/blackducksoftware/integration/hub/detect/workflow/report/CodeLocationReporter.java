@@ -30,7 +30,6 @@ import java.util.stream.Collectors;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
-import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
 
 public class CodeLocationReporter {
     public void writeCodeLocationReport(final ReportWriter writer, final ReportWriter writer2, final List<DetectorEvaluation> detectorEvaluations, final Map<DetectCodeLocation, String> codeLocationNameMap) {
@@ -43,21 +42,23 @@ public class CodeLocationReporter {
                                                                   .collect(Collectors.toList());
 
         final CodeLocationDependencyCounter counter = new CodeLocationDependencyCounter();
-        final Map<DetectCodeLocation, Integer> dependencyCounts = counter.countCodeLocations(codeLocationsToCount);
+        final Map<DetectCodeLocation, DependencyGraphStatistics> statistics = counter.calculateStatistics(codeLocationsToCount);
+        final Map<DetectCodeLocation, Integer> dependencyCounts = counter.countCodeLocations(statistics);
         final Map<DetectCodeLocationType, Integer> dependencyAggregates = counter.aggregateCountsByGroup(dependencyCounts);
 
-        succesfullDetectorEvaluations.forEach(it -> writeBomToolEvaluationDetails(writer, it, dependencyCounts, codeLocationNameMap));
+        succesfullDetectorEvaluations.forEach(it -> writeBomToolEvaluationDetails(writer, it, statistics, codeLocationNameMap));
         writeBomToolCounts(writer2, dependencyAggregates);
 
     }
 
-    private void writeBomToolEvaluationDetails(final ReportWriter writer, final DetectorEvaluation evaluation, final Map<DetectCodeLocation, Integer> dependencyCounts, final Map<DetectCodeLocation, String> codeLocationNameMap) {
+    private void writeBomToolEvaluationDetails(final ReportWriter writer, final DetectorEvaluation evaluation, final Map<DetectCodeLocation, DependencyGraphStatistics> statistics,
+        final Map<DetectCodeLocation, String> codeLocationNameMap) {
         for (final DetectCodeLocation codeLocation : evaluation.getExtraction().codeLocations) {
-            writeCodeLocationDetails(writer, codeLocation, dependencyCounts.get(codeLocation), codeLocationNameMap.get(codeLocation), evaluation.getExtractionId().toUniqueString());
+            writeCodeLocationDetails(writer, codeLocation, statistics.get(codeLocation), codeLocationNameMap.get(codeLocation), evaluation.getExtractionId().toUniqueString());
         }
     }
 
-    private void writeCodeLocationDetails(final ReportWriter writer, final DetectCodeLocation codeLocation, final Integer dependencyCount, final String codeLocationName, final String extractionId) {
+    private void writeCodeLocationDetails(final ReportWriter writer, final DetectCodeLocation codeLocation, final DependencyGraphStatistics statistics, final String codeLocationName, final String extractionId) {
 
         writer.writeSeperator();
         writer.writeLine("Name : " + codeLocationName);
@@ -65,10 +66,13 @@ public class CodeLocationReporter {
         writer.writeLine("Extraction : " + extractionId);
         writer.writeLine("Detect Code Location Type : " + codeLocation.getCodeLocationType());
 
-        final DependencyGraph graph = codeLocation.getDependencyGraph();
-
-        writer.writeLine("Root Dependencies : " + graph.getRootDependencies().size());
-        writer.writeLine("Total Dependencies : " + dependencyCount);
+        writer.writeLine("Root Dependencies : " + statistics.getRootDependencyCount());
+        writer.writeLine("Total Dependencies : " + statistics.getDependencyCount());
+        writer.writeLine("Relationships : " + statistics.getRelationshipCount());
+        writer.writeLine("Min Depth To Deepest Dependency : " + statistics.getMinDepthToDeepestDependency());
+        writer.writeLine("Children Per Dependency : " + statistics.describeFanOut());
+        writer.writeLine("Components With Multiple Versions : " + statistics.getDuplicateVersions().size());
+        statistics.getDuplicateVersions().forEach((component, versions) -> writer.writeLine("\t" + component + " : " + versions + " versions"));
 
     }
 
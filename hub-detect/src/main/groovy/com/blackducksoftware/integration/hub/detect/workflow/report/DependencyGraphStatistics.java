@@ -0,0 +1,99 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.report;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+public class DependencyGraphStatistics {
+    private final int dependencyCount;
+    private final int rootDependencyCount;
+    private final int relationshipCount;
+    private final int minDepthToDeepestDependency;
+    private final SortedMap<Integer, Integer> fanOutHistogram;
+    private final Map<String, Integer> duplicateVersions;
+
+    public DependencyGraphStatistics(final int dependencyCount, final int rootDependencyCount, final int relationshipCount, final int minDepthToDeepestDependency, final SortedMap<Integer, Integer> fanOutHistogram,
+        final Map<String, Integer> duplicateVersions) {
+        this.dependencyCount = dependencyCount;
+        this.rootDependencyCount = rootDependencyCount;
+        this.relationshipCount = relationshipCount;
+        this.minDepthToDeepestDependency = minDepthToDeepestDependency;
+        this.fanOutHistogram = fanOutHistogram;
+        this.duplicateVersions = duplicateVersions;
+    }
+
+    public static DependencyGraphStatistics empty() {
+        return new DependencyGraphStatistics(0, 0, 0, 0, Collections.emptySortedMap(), Collections.emptyMap());
+    }
+
+    public int getDependencyCount() {
+        return dependencyCount;
+    }
+
+    public int getRootDependencyCount() {
+        return rootDependencyCount;
+    }
+
+    public int getRelationshipCount() {
+        return relationshipCount;
+    }
+
+    /*
+     * The deepest breadth first level of the graph, root dependencies are at depth 1. This is the length of the shortest path to the dependency furthest from
+     * the roots, not the longest path, which a graph with cycles does not have.
+     */
+    public int getMinDepthToDeepestDependency() {
+        return minDepthToDeepestDependency;
+    }
+
+    /*
+     * The number of dependencies by how many children they have. Keys are the lower bound of each bucket: 0, 1, 2-3, 4-7, 8-15 and so on.
+     */
+    public SortedMap<Integer, Integer> getFanOutHistogram() {
+        return fanOutHistogram;
+    }
+
+    /*
+     * Components that appear in the graph with more than one version, with the number of versions found.
+     */
+    public Map<String, Integer> getDuplicateVersions() {
+        return duplicateVersions;
+    }
+
+    public String describeFanOut() {
+        return fanOutHistogram.entrySet().stream()
+                   .map(it -> describeBucket(it.getKey()) + ": " + it.getValue())
+                   .collect(Collectors.joining(", "));
+    }
+
+    private String describeBucket(final int lowerBound) {
+        if (lowerBound <= 1) {
+            return Integer.toString(lowerBound);
+        }
+        return lowerBound + "-" + (lowerBound * 2 - 1);
+    }
+}
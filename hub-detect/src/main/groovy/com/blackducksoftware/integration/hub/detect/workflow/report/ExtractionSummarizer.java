@@ -33,10 +33,11 @@ import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extracti
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 
 public class ExtractionSummarizer extends DetectorEvaluationSummarizer {
-    public List<ExtractionSummaryData> summarize(final List<DetectorEvaluation> results, final Map<DetectCodeLocation, String> codeLocationNameMap) {
+    public List<ExtractionSummaryData> summarize(final List<DetectorEvaluation> results, final Map<DetectCodeLocation, String> codeLocationNameMap,
+        final Map<DetectCodeLocation, DependencyGraphStatistics> dependencyGraphStatistics) {
         final Map<File, List<DetectorEvaluation>> byDirectory = groupByDirectory(results);
 
-        final List<ExtractionSummaryData> data = createSummaries(byDirectory, codeLocationNameMap);
+        final List<ExtractionSummaryData> data = createSummaries(byDirectory, codeLocationNameMap, dependencyGraphStatistics);
 
         final List<ExtractionSummaryData> sorted = data.stream()
                                                        .sorted((o1, o2) -> filesystemCompare(o1.getDirectory(), o2.getDirectory()))
@@ -45,14 +46,16 @@ public class ExtractionSummarizer extends DetectorEvaluationSummarizer {
         return sorted;
     }
 
-    private List<ExtractionSummaryData> createSummaries(final Map<File, List<DetectorEvaluation>> byDirectory, final Map<DetectCodeLocation, String> codeLocationNameMap) {
+    private List<ExtractionSummaryData> createSummaries(final Map<File, List<DetectorEvaluation>> byDirectory, final Map<DetectCodeLocation, String> codeLocationNameMap,
+        final Map<DetectCodeLocation, DependencyGraphStatistics> dependencyGraphStatistics) {
         return byDirectory.entrySet().stream()
-                   .map(it -> createData(it.getKey().toString(), it.getValue(), codeLocationNameMap))
+                   .map(it -> createData(it.getKey().toString(), it.getValue(), codeLocationNameMap, dependencyGraphStatistics))
                    .collect(Collectors.toList());
 
     }
 
-    private ExtractionSummaryData createData(final String directory, final List<DetectorEvaluation> evaluations, final Map<DetectCodeLocation, String> codeLocationNameMap) {
+    private ExtractionSummaryData createData(final String directory, final List<DetectorEvaluation> evaluations, final Map<DetectCodeLocation, String> codeLocationNameMap,
+        final Map<DetectCodeLocation, DependencyGraphStatistics> dependencyGraphStatistics) {
         final List<DetectorEvaluation> extractions = evaluations.stream()
                                                          .filter(it -> it.getExtraction() != null)
                                                          .collect(Collectors.toList());
@@ -69,12 +72,19 @@ public class ExtractionSummarizer extends DetectorEvaluationSummarizer {
                                                        .filter(it -> it.getExtraction().result == ExtractionResultType.EXCEPTION)
                                                        .collect(Collectors.toList());
 
-        final List<String> codeLocationNames = extractions.stream()
-                                                   .flatMap(it -> it.getExtraction().codeLocations.stream())
+        final List<DetectCodeLocation> codeLocations = extractions.stream()
+                                                           .flatMap(it -> it.getExtraction().codeLocations.stream())
+                                                           .collect(Collectors.toList());
+
+        final List<String> codeLocationNames = codeLocations.stream()
                                                    .map(codeLocation -> codeLocationNameMap.get(codeLocation))
                                                    .collect(Collectors.toList());
 
-        return new ExtractionSummaryData(directory, success, failure, exception, codeLocationNames);
+        final List<DependencyGraphStatistics> codeLocationStatistics = codeLocations.stream()
+                                                                           .map(codeLocation -> dependencyGraphStatistics.get(codeLocation))
+                                                                           .collect(Collectors.toList());
+
+        return new ExtractionSummaryData(directory, success, failure, exception, codeLocationNames, codeLocationStatistics);
     }
 
 }
@@ -34,13 +34,16 @@ public class ExtractionSummaryData {
     private final List<DetectorEvaluation> failed;
     private final List<DetectorEvaluation> exception;
     private final List<String> codeLocationNames;
+    private final List<DependencyGraphStatistics> codeLocationStatistics;
 
-    public ExtractionSummaryData(final String directory, final List<DetectorEvaluation> success, final List<DetectorEvaluation> failed, final List<DetectorEvaluation> exception, final List<String> codeLocationNames) {
+    public ExtractionSummaryData(final String directory, final List<DetectorEvaluation> success, final List<DetectorEvaluation> failed, final List<DetectorEvaluation> exception, final List<String> codeLocationNames,
+        final List<DependencyGraphStatistics> codeLocationStatistics) {
         this.directory = directory;
         this.success = success;
         this.failed = failed;
         this.exception = exception;
         this.codeLocationNames = codeLocationNames;
+        this.codeLocationStatistics = codeLocationStatistics;
     }
 
     public String getDirectory() {
@@ -62,4 +65,11 @@ public class ExtractionSummaryData {
     public List<String> getCodeLocationNames() {
         return codeLocationNames;
     }
+
+    /*
+     * The statistics of each code location in the same order as the names, null when the code location was not valid for bdio.
+     */
+    public List<DependencyGraphStatistics> getCodeLocationStatistics() {
+        return codeLocationStatistics;
+    }
 }
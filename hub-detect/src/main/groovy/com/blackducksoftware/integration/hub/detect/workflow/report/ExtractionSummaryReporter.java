@@ -34,8 +34,9 @@ public class ExtractionSummaryReporter {
 
     public void writeSummary(ReportWriter writer, final List<DetectorEvaluation> results, final Map<DetectCodeLocation, String> codeLocationNameMap) {
         final ExtractionSummarizer summarizer = new ExtractionSummarizer();
+        final Map<DetectCodeLocation, DependencyGraphStatistics> dependencyGraphStatistics = new CodeLocationDependencyCounter().calculateStatistics(codeLocationNameMap.keySet());
 
-        final List<ExtractionSummaryData> summaries = summarizer.summarize(results, codeLocationNameMap);
+        final List<ExtractionSummaryData> summaries = summarizer.summarize(results, codeLocationNameMap, dependencyGraphStatistics);
 
         writeSummaries(writer, summaries);
     }
@@ -46,7 +47,9 @@ public class ExtractionSummaryReporter {
             if (it.getSuccess().size() > 0 || it.getException().size() > 0 || it.getFailed().size() > 0) {
                 writer.writeLine(it.getDirectory());
                 writer.writeLine("\tCode locations: " + it.getCodeLocationNames().size());
-                it.getCodeLocationNames().stream().forEach(name -> writer.writeLine("\t\t" + name));
+                for (int i = 0; i < it.getCodeLocationNames().size(); i++) {
+                    writer.writeLine("\t\t" + it.getCodeLocationNames().get(i) + describeStatistics(it.getCodeLocationStatistics().get(i)));
+                }
                 writeEvaluationsIfNotEmpty(writer, "\tSuccess: ", it.getSuccess());
                 writeEvaluationsIfNotEmpty(writer, "\tFailure: ", it.getFailed());
                 writeEvaluationsIfNotEmpty(writer, "\tException: ", it.getException());
@@ -55,6 +58,13 @@ public class ExtractionSummaryReporter {
         ReporterUtils.printFooter(writer);
     }
 
+    private String describeStatistics(final DependencyGraphStatistics statistics) {
+        if (statistics == null) {
+            return "";
+        }
+        return String.format(" (%d dependencies, %d relationships, min depth to deepest %d)", statistics.getDependencyCount(), statistics.getRelationshipCount(), statistics.getMinDepthToDeepestDependency());
+    }
+
     private void writeEvaluationsIfNotEmpty(final ReportWriter writer, final String prefix, final List<DetectorEvaluation> evaluations) {
         if (evaluations.size() > 0) {
             writer.writeLine(prefix + evaluations.stream().map(evaluation -> evaluation.getDetector().getDescriptiveName()).collect(Collectors.joining(", ")));
@@ -25,15 +25,14 @@ package com.blackducksoftware.integration.hub.detect.workflow.search;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
@@ -42,45 +41,77 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
-import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
-import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
 
 public class DetectorFinder {
     private final Logger logger = LoggerFactory.getLogger(DetectorFinder.class);
 
     public List<DetectorEvaluation> findApplicableBomTools(final File initialDirectory, final DetectorFinderOptions options) throws DetectorException, DetectUserFriendlyException {
-        final List<File> subDirectories = new ArrayList<>();
-        subDirectories.add(initialDirectory);
-        return findApplicableBomTools(subDirectories, new HashSet<Detector>(), 0, options);
+        final boolean parallel = options.getParallelProcessors() > 1;
+        final DirectorySearchTask searchTask = new DirectorySearchTask(initialDirectory, new HashSet<Detector>(), 0, options, parallel);
+        try {
+            if (parallel) {
+                final ForkJoinPool forkJoinPool = new ForkJoinPool(options.getParallelProcessors());
+                try {
+                    return forkJoinPool.invoke(searchTask);
+                } finally {
+                    forkJoinPool.shutdown();
+                }
+            } else {
+                return searchTask.compute();
+            }
+        } catch (final DirectorySearchException e) {
+            // The fork join pool may rethrow a copy of the exception, so look for the original cause.
+            Throwable cause = e;
+            while (cause != null) {
+                if (cause instanceof DetectUserFriendlyException) {
+                    throw (DetectUserFriendlyException) cause;
+                }
+                cause = cause.getCause();
+            }
+            throw e;
+        }
     }
 
-    private List<DetectorEvaluation> findApplicableBomTools(final List<File> directoriesToSearch, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options)
-        throws DetectorException, DetectUserFriendlyException {
-
-        final List<DetectorEvaluation> results = new ArrayList<>();
-
-        if (depth > options.getMaximumDepth()) {
-            return results;
+    // Each directory lists its contents once, evaluates its detectors against that listing and then searches its subdirectories, in parallel when allowed.
+    // Results are joined in directory order so they match a depth first search.
+    private class DirectorySearchTask extends RecursiveTask<List<DetectorEvaluation>> {
+        private static final long serialVersionUID = 1L;
+
+        private final File directory;
+        private final Set<Detector> appliedBefore;
+        private final int depth;
+        private final DetectorFinderOptions options;
+        private final boolean parallel;
+
+        public DirectorySearchTask(final File directory, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options, final boolean parallel) {
+            this.directory = directory;
+            this.appliedBefore = appliedBefore;
+            this.depth = depth;
+            this.options = options;
+            this.parallel = parallel;
         }
 
-        if (null == directoriesToSearch || directoriesToSearch.size() == 0) {
-            return results;
-        }
+        @Override
+        protected List<DetectorEvaluation> compute() {
+            final List<DetectorEvaluation> results = new ArrayList<>();
+
+            if (depth > options.getMaximumDepth()) {
+                return results;
+            }
 
-        for (final File directory : directoriesToSearch) {
             if (depth > 0 && options.getExcludedDirectories().contains(directory.getName())) { // NEVER skip at depth 0.
                 logger.info("Skipping excluded directory: " + directory.getPath());
-                continue;
+                return results;
             }
 
             logger.info("Searching directory: " + directory.getPath());
 
-            final Set<DetectorType> applicableTypes = new HashSet<>();
-            final Set<Detector> applied = new HashSet<>();
-            final List<DetectorEvaluation> evaluations = processDirectory(directory, appliedBefore, depth, options);
+            final DirectoryListing directoryListing = listDirectory(directory);
+            final List<DetectorEvaluation> evaluations = processDirectory(directoryListing, appliedBefore, depth, options);
             results.addAll(evaluations);
 
             final List<Detector> appliedBomTools = evaluations.stream()
@@ -88,56 +119,73 @@ public class DetectorFinder {
                                                        .map(it -> it.getDetector())
                                                        .collect(Collectors.toList());
 
-            applied.addAll(appliedBomTools);
-
             // TODO: Used to have a remaining detectors and would bail early here, not sure how to go about that?
             final Set<Detector> everApplied = new HashSet<>();
-            everApplied.addAll(applied);
+            everApplied.addAll(appliedBomTools);
             everApplied.addAll(appliedBefore);
-            final List<File> subdirectories = getSubDirectories(directory, options.getExcludedDirectories());
-            final List<DetectorEvaluation> recursiveResults = findApplicableBomTools(subdirectories, everApplied, depth + 1, options);
-            results.addAll(recursiveResults);
 
-            logger.debug(directory + ": " + applicableTypes.stream().map(it -> it.toString()).collect(Collectors.joining(", ")));
-        }
+            final List<DirectorySearchTask> subdirectoryTasks = new ArrayList<>();
+            if (depth + 1 <= options.getMaximumDepth()) {
+                for (final File subdirectory : getSubDirectories(directoryListing, options.getExcludedDirectories())) {
+                    subdirectoryTasks.add(new DirectorySearchTask(subdirectory, everApplied, depth + 1, options, parallel));
+                }
+            }
 
-        return results;
+            if (parallel) {
+                invokeAll(subdirectoryTasks);
+                for (final DirectorySearchTask subdirectoryTask : subdirectoryTasks) {
+                    results.addAll(subdirectoryTask.join());
+                }
+            } else {
+                for (final DirectorySearchTask subdirectoryTask : subdirectoryTasks) {
+                    results.addAll(subdirectoryTask.compute());
+                }
+            }
+
+            logger.debug(directory + ": " + appliedBomTools.stream().map(it -> it.getDetectorType().toString()).collect(Collectors.joining(", ")));
+
+            return results;
+        }
     }
 
-    private List<DetectorEvaluation> processDirectory(final File directory, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options) {
-        final DetectorEnvironment environment = new DetectorEnvironment(directory, appliedBefore, depth, options.getBomToolFilter(), options.getForceNestedSearch());
-        final DetectorSearchRuleSet bomToolSet = options.getDetectorSearchProvider().createBomToolSearchRuleSet(environment);
-        final List<DetectorEvaluation> evaluations = options.getDetectorSearchEvaluator().evaluate(bomToolSet, options.getEventSystem());
+    private List<DetectorEvaluation> processDirectory(final DirectoryListing directoryListing, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options) {
+        final DetectorEnvironment environment = new DetectorEnvironment(directoryListing.getDirectory(), directoryListing, appliedBefore, depth, options.getBomToolFilter(), options.getForceNestedSearch());
+        final List<DetectorEvaluation> evaluations = options.getDetectorSearchEvaluator().evaluate(options.getDetectorSearchRuleSet(), environment, options.getEventSystem());
         return evaluations;
     }
 
-    private List<File> getSubDirectories(final File directory, final List<String> excludedDirectories) throws DetectUserFriendlyException {
-        Stream<Path> stream = null;
+    private DirectoryListing listDirectory(final File directory) {
         try {
-            // only include directories that do not match the excluded directories
-            final Predicate<File> excludeDirectoriesPredicate = file -> {
-                boolean matchesExcludedDirectory = false;
-                for (final String excludedDirectory : excludedDirectories) {
-                    if (FilenameUtils.wildcardMatchOnSystem(file.getName(), excludedDirectory)) {
-                        matchesExcludedDirectory = true;
-                        break;
-                    }
+            return DirectoryListing.read(directory);
+        } catch (final IOException e) {
+            throw new DirectorySearchException(
+                new DetectUserFriendlyException(String.format("Could not get the subdirectories for %s. %s", directory.getAbsolutePath(), e.getMessage()), e, ExitCodeType.FAILURE_GENERAL_ERROR));
+        }
+    }
+
+    private List<File> getSubDirectories(final DirectoryListing directoryListing, final List<String> excludedDirectories) {
+        // only include directories that do not match the excluded directories
+        final Predicate<File> excludeDirectoriesPredicate = file -> {
+            boolean matchesExcludedDirectory = false;
+            for (final String excludedDirectory : excludedDirectories) {
+                if (FilenameUtils.wildcardMatchOnSystem(file.getName(), excludedDirectory)) {
+                    matchesExcludedDirectory = true;
+                    break;
                 }
-                return !matchesExcludedDirectory;
-            };
+            }
+            return !matchesExcludedDirectory;
+        };
 
-            stream = Files.list(directory.toPath());
-            return stream.map(path -> path.toFile())
-                       .filter(file -> file.isDirectory())
-                       .filter(excludeDirectoriesPredicate)
-                       .collect(Collectors.toList());
+        return directoryListing.getSubDirectories().stream()
+                   .filter(excludeDirectoriesPredicate)
+                   .collect(Collectors.toList());
+    }
 
-        } catch (final IOException e) {
-            throw new DetectUserFriendlyException(String.format("Could not get the subdirectories for %s. %s", directory.getAbsolutePath(), e.getMessage()), e, ExitCodeType.FAILURE_GENERAL_ERROR);
-        } finally {
-            if (stream != null) {
-                stream.close();
-            }
+    private static class DirectorySearchException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public DirectorySearchException(final DetectUserFriendlyException cause) {
+            super(cause);
         }
     }
 }
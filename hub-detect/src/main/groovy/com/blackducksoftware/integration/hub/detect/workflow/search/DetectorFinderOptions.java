@@ -27,7 +27,7 @@ import java.util.List;
 
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchEvaluator;
-import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchProvider;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
 import com.synopsys.integration.util.ExcludedIncludedFilter;
 
 public class DetectorFinderOptions {
@@ -36,19 +36,21 @@ public class DetectorFinderOptions {
     private final Boolean forceNestedSearch;
     private final int maximumDepth;
     private final ExcludedIncludedFilter bomToolFilter;
-    private final DetectorSearchProvider detectorSearchProvider;
+    private final DetectorSearchRuleSet detectorSearchRuleSet;
     private final DetectorSearchEvaluator detectorSearchEvaluator;
     private final EventSystem eventSystem;
+    private final int parallelProcessors;
 
     public DetectorFinderOptions(final List<String> excludedDirectories, final Boolean forceNestedSearch, final int maximumDepth, final ExcludedIncludedFilter bomToolFilter,
-        final DetectorSearchProvider detectorSearchProvider, final DetectorSearchEvaluator detectorSearchEvaluator, EventSystem eventSystem) {
+        final DetectorSearchRuleSet detectorSearchRuleSet, final DetectorSearchEvaluator detectorSearchEvaluator, EventSystem eventSystem, final int parallelProcessors) {
         this.excludedDirectories = excludedDirectories;
         this.forceNestedSearch = forceNestedSearch;
         this.maximumDepth = maximumDepth;
         this.bomToolFilter = bomToolFilter;
-        this.detectorSearchProvider = detectorSearchProvider;
+        this.detectorSearchRuleSet = detectorSearchRuleSet;
         this.detectorSearchEvaluator = detectorSearchEvaluator;
         this.eventSystem = eventSystem;
+        this.parallelProcessors = parallelProcessors;
     }
 
     public List<String> getExcludedDirectories() {
@@ -67,8 +69,8 @@ public class DetectorFinderOptions {
         return maximumDepth;
     }
 
-    public DetectorSearchProvider getDetectorSearchProvider() {
-        return detectorSearchProvider;
+    public DetectorSearchRuleSet getDetectorSearchRuleSet() {
+        return detectorSearchRuleSet;
     }
 
     public DetectorSearchEvaluator getDetectorSearchEvaluator() {
@@ -78,4 +80,8 @@ public class DetectorFinderOptions {
     public EventSystem getEventSystem() {
         return eventSystem;
     }
+
+    public int getParallelProcessors() {
+        return parallelProcessors;
+    }
 }
@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.workflow.search;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -31,6 +32,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
@@ -38,6 +40,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchEvaluator;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchProvider;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
 
 public class SearchManager {
     private final Logger logger = LoggerFactory.getLogger(SearchManager.class);
@@ -57,8 +60,10 @@ public class SearchManager {
     public SearchResult performSearch() {
         List<DetectorEvaluation> searchResults = new ArrayList<>();
         try {
-            final DetectorFinderOptions findOptions = new DetectorFinderOptions(searchOptions.excludedDirectories, searchOptions.forceNestedSearch, searchOptions.maxDepth, searchOptions.bomToolFilter, detectorSearchProvider,
-                detectorSearchEvaluator, eventSystem);
+            final DetectorEnvironment ruleEnvironment = new DetectorEnvironment(searchOptions.searchPath, Collections.emptySet(), 0, searchOptions.bomToolFilter, searchOptions.forceNestedSearch);
+            final DetectorSearchRuleSet detectorSearchRuleSet = detectorSearchProvider.createBomToolSearchRuleSet(ruleEnvironment);
+            final DetectorFinderOptions findOptions = new DetectorFinderOptions(searchOptions.excludedDirectories, searchOptions.forceNestedSearch, searchOptions.maxDepth, searchOptions.bomToolFilter, detectorSearchRuleSet,
+                detectorSearchEvaluator, eventSystem, searchOptions.parallelProcessors);
 
             logger.info("Starting search for detectors.");
             final DetectorFinder bomToolTreeWalker = new DetectorFinder();
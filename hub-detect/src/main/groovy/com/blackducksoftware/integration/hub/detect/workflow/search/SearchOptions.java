@@ -34,12 +34,14 @@ public class SearchOptions {
     public final boolean forceNestedSearch;
     public final int maxDepth;
     public final ExcludedIncludedFilter bomToolFilter;
+    public final int parallelProcessors;
 
-    public SearchOptions(File searchPath, List<String> excludedDirectories, boolean forceNestedSearch, int maxDepth, ExcludedIncludedFilter bomToolFilter) {
+    public SearchOptions(File searchPath, List<String> excludedDirectories, boolean forceNestedSearch, int maxDepth, ExcludedIncludedFilter bomToolFilter, int parallelProcessors) {
         this.searchPath = searchPath;
         this.excludedDirectories = excludedDirectories;
         this.forceNestedSearch = forceNestedSearch;
         this.maxDepth = maxDepth;
         this.bomToolFilter = bomToolFilter;
+        this.parallelProcessors = parallelProcessors;
     }
 }
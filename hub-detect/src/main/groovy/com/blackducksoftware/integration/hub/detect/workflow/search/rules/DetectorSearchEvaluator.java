@@ -31,6 +31,7 @@ import java.util.stream.Collectors;
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.workflow.event.DetectorEvent;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
@@ -45,28 +46,38 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Yield
 
 public class DetectorSearchEvaluator {
 
-    public List<DetectorEvaluation> evaluate(DetectorSearchRuleSet rules, EventSystem eventSystem) {
+    public List<DetectorEvaluation> evaluate(DetectorSearchRuleSet rules, DetectorEnvironment environment, EventSystem eventSystem) {
         final List<DetectorEvaluation> evaluations = new ArrayList<>();
-        final List<Detector> appliedSoFar = new ArrayList<>();
+        final List<DetectorSearchRule> appliedSoFar = new ArrayList<>();
         for (final DetectorSearchRule searchRule : rules.getOrderedBomToolRules()) {
-            final Detector detector = searchRule.getDetector();
-            final DetectorEvaluation evaluation = new DetectorEvaluation(detector, rules.getEnvironment());
-            evaluations.add(evaluation);
-            evaluation.setSearchable(searchable(searchRule, appliedSoFar, rules.getEnvironment()));
-            if (evaluation.isSearchable()) {
-                eventSystem.publishEvent(Event.ApplicableStarted, detector);
-                evaluation.setApplicable(detector.applicable());
-                eventSystem.publishEvent(Event.ApplicableEnded, detector);
-                if (evaluation.isApplicable()) {
-                    appliedSoFar.add(detector);
+            final DetectorResult searchable = searchable(searchRule, appliedSoFar, environment);
+            if (!searchable.getPassed() || !searchRule.mightApply(environment.getDirectoryListing())) {
+                // no detector is created for this directory, the rule's descriptive detector stands in for reporting
+                final DetectorEvaluation evaluation = new DetectorEvaluation(searchRule.getDescriptiveDetector(), environment);
+                evaluation.setSearchable(searchable);
+                if (searchable.getPassed()) {
+                    evaluation.setApplicable(searchRule.createNotApplicableResult());
                 }
+                evaluations.add(evaluation);
+                continue;
+            }
+
+            final Detector detector = searchRule.createDetector(environment);
+            final DetectorEvaluation evaluation = new DetectorEvaluation(detector, environment);
+            evaluations.add(evaluation);
+            evaluation.setSearchable(searchable);
+            eventSystem.publishEvent(Event.ApplicableStarted, new DetectorEvent(evaluation));
+            evaluation.setApplicable(detector.applicable());
+            eventSystem.publishEvent(Event.ApplicableEnded, new DetectorEvent(evaluation));
+            if (evaluation.isApplicable()) {
+                appliedSoFar.add(searchRule);
             }
         }
         return evaluations;
     }
 
-    public DetectorResult searchable(final DetectorSearchRule searchRules, final List<Detector> appliedSoFar, DetectorEnvironment environment) {
-        Detector detector = searchRules.getDetector();
+    public DetectorResult searchable(final DetectorSearchRule searchRules, final List<DetectorSearchRule> appliedSoFar, DetectorEnvironment environment) {
+        Detector detector = searchRules.getDescriptiveDetector();
         final DetectorType detectorType = detector.getDetectorType();
         if (!environment.getBomToolFilter().shouldInclude(detectorType.toString())) {
             return new ExcludedDetectorResult();
@@ -79,6 +90,7 @@ public class DetectorSearchEvaluator {
 
         final Set<Detector> yieldTo = appliedSoFar.stream()
                                           .filter(it -> searchRules.getYieldsTo().contains(it))
+                                          .map(it -> it.getDescriptiveDetector())
                                           .collect(Collectors.toSet());
 
         if (yieldTo.size() > 0) {
@@ -23,9 +23,31 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
-import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
+import com.blackducksoftware.integration.hub.detect.detector.clang.ClangDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cocoapods.PodlockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.conda.CondaCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cpan.CpanCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cran.PackratLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoVndrDetector;
+import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleInspectorDetector;
+import com.blackducksoftware.integration.hub.detect.detector.hex.RebarDetector;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenPomDetector;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenPomWrapperDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmPackageLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmShrinkwrapDetector;
+import com.blackducksoftware.integration.hub.detect.detector.nuget.NugetProjectDetector;
+import com.blackducksoftware.integration.hub.detect.detector.nuget.NugetSolutionDetector;
+import com.blackducksoftware.integration.hub.detect.detector.packagist.ComposerLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.pear.PearCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.pip.PipenvDetector;
+import com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.sbt.SbtResolutionCacheDetector;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockDetector;
 
 public class DetectorSearchProvider {
     private final DetectorFactory detectorFactory;
@@ -34,42 +56,38 @@ public class DetectorSearchProvider {
         this.detectorFactory = detectorFactory;
     }
 
+    /*
+     * Build the rules once for the whole search. The environment is only used to create the descriptive detector of each rule, every searched directory creates its own detectors.
+     * The applicable file patterns let a directory reject a detector without creating it, so they must match what the detector's applicable() looks for.
+     */
     public DetectorSearchRuleSet createBomToolSearchRuleSet(final DetectorEnvironment environment) {
         final DetectorSearchRuleSetBuilder searchRuleSet = new DetectorSearchRuleSetBuilder(environment);
 
-        searchRuleSet.addBomTool(detectorFactory.createBitbakeBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory::createBitbakeBomTool).defaultNotNested();
 
-        searchRuleSet.addBomTool(detectorFactory.createPodLockBomTool(environment)).defaultNested();
-        searchRuleSet.addBomTool(detectorFactory.createCondaBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createCpanCliBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createPackratLockBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory::createPodLockBomTool).defaultNested().applicableWithAnyFile(PodlockDetector.PODFILE_LOCK_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory::createCondaBomTool).defaultNotNested().applicableWithAnyFile(CondaCliDetector.ENVIRONEMNT_YML);
+        searchRuleSet.addBomTool(detectorFactory::createCpanCliBomTool).defaultNotNested().applicableWithAnyFile(CpanCliDetector.MAKEFILE);
+        searchRuleSet.addBomTool(detectorFactory::createPackratLockBomTool).defaultNotNested().applicableWithAnyFile(PackratLockDetector.PACKRATLOCK_FILE_NAME);
 
-        Detector goCli = detectorFactory.createGoCliBomTool(environment);
-        Detector goLock = detectorFactory.createGoLockBomTool(environment);
-        Detector goVnd = detectorFactory.createGoVndrBomTool(environment);
-        searchRuleSet.addBomTool(goCli).defaultNotNested();
-        searchRuleSet.addBomTool(goLock).defaultNotNested();
-        searchRuleSet.addBomTool(goVnd).defaultNotNested();
+        final DetectorSearchRuleBuilder goCli = searchRuleSet.addBomTool(detectorFactory::createGoCliBomTool).defaultNotNested().applicableWithAnyFile(GoCliDetector.GOFILE_FILENAME_PATTERN);
+        final DetectorSearchRuleBuilder goLock = searchRuleSet.addBomTool(detectorFactory::createGoLockBomTool).defaultNotNested().applicableWithAnyFile(GoLockDetector.GOPKG_LOCK_FILENAME);
+        final DetectorSearchRuleBuilder goVnd = searchRuleSet.addBomTool(detectorFactory::createGoVndrBomTool).defaultNotNested().applicableWithAnyFile(GoVndrDetector.VNDR_CONF_FILENAME);
 
         searchRuleSet.yield(goCli).to(goLock);
         searchRuleSet.yield(goCli).to(goVnd);
 
-        searchRuleSet.addBomTool(detectorFactory.createGradleInspectorBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createRebarBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory::createGradleInspectorBomTool).defaultNotNested().applicableWithAnyFile(GradleInspectorDetector.BUILD_GRADLE_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory::createRebarBomTool).defaultNotNested().applicableWithAnyFile(RebarDetector.REBAR_CONFIG);
 
-        searchRuleSet.addBomTool(detectorFactory.createMavenPomBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createMavenPomWrapperBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory::createMavenPomBomTool).defaultNotNested().applicableWithAnyFile(MavenPomDetector.POM_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory::createMavenPomWrapperBomTool).defaultNotNested().applicableWithAnyFile(MavenPomWrapperDetector.POM_WRAPPER_FILENAME);
 
-        Detector yarnLock = detectorFactory.createYarnLockBomTool(environment);
-        searchRuleSet.addBomTool(yarnLock).defaultNested();
+        final DetectorSearchRuleBuilder yarnLock = searchRuleSet.addBomTool(detectorFactory::createYarnLockBomTool).defaultNested().applicableWithAnyFile(YarnLockDetector.YARN_LOCK_FILENAME);
 
-        Detector npmPackageLock = detectorFactory.createNpmPackageLockBomTool(environment);
-        Detector npmShrinkwrap = detectorFactory.createNpmShrinkwrapBomTool(environment);
-        Detector npmCli = detectorFactory.createNpmCliBomTool(environment);
-
-        searchRuleSet.addBomTool(npmPackageLock).defaultNested();
-        searchRuleSet.addBomTool(npmShrinkwrap).defaultNested();
-        searchRuleSet.addBomTool(npmCli).defaultNested();
+        final DetectorSearchRuleBuilder npmPackageLock = searchRuleSet.addBomTool(detectorFactory::createNpmPackageLockBomTool).defaultNested().applicableWithAnyFile(NpmPackageLockDetector.PACKAGE_LOCK_JSON);
+        final DetectorSearchRuleBuilder npmShrinkwrap = searchRuleSet.addBomTool(detectorFactory::createNpmShrinkwrapBomTool).defaultNested().applicableWithAnyFile(NpmShrinkwrapDetector.SHRINKWRAP_JSON);
+        final DetectorSearchRuleBuilder npmCli = searchRuleSet.addBomTool(detectorFactory::createNpmCliBomTool).defaultNested().applicableWithAnyFile(NpmCliDetector.PACKAGE_JSON);
 
         searchRuleSet.yield(npmShrinkwrap).to(npmPackageLock);
         searchRuleSet.yield(npmCli).to(npmPackageLock);
@@ -79,27 +97,23 @@ public class DetectorSearchProvider {
         searchRuleSet.yield(npmPackageLock).to(yarnLock);
         searchRuleSet.yield(npmShrinkwrap).to(yarnLock);
 
-        Detector nugetSolution = detectorFactory.createNugetSolutionBomTool(environment);
-        Detector nugetProject = detectorFactory.createNugetProjectBomTool(environment);
-        searchRuleSet.addBomTool(nugetSolution).defaultNested();
-        searchRuleSet.addBomTool(nugetProject).defaultNotNested();
+        final DetectorSearchRuleBuilder nugetSolution = searchRuleSet.addBomTool(detectorFactory::createNugetSolutionBomTool).defaultNested().applicableWithAnyFile(NugetSolutionDetector.SUPPORTED_SOLUTION_PATTERNS);
+        final DetectorSearchRuleBuilder nugetProject = searchRuleSet.addBomTool(detectorFactory::createNugetProjectBomTool).defaultNotNested().applicableWithAnyFile(NugetProjectDetector.SUPPORTED_PROJECT_PATTERNS);
 
         searchRuleSet.yield(nugetProject).to(nugetSolution);
 
-        searchRuleSet.addBomTool(detectorFactory.createComposerLockBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory::createComposerLockBomTool).defaultNotNested().applicableWithAnyFile(ComposerLockDetector.COMPOSER_LOCK);
 
-        Detector pipEnv = detectorFactory.createPipenvBomTool(environment);
-        Detector pipInspector = detectorFactory.createPipInspectorBomTool(environment);
-        searchRuleSet.addBomTool(pipEnv).defaultNotNested();
-        searchRuleSet.addBomTool(pipInspector).defaultNotNested();
+        final DetectorSearchRuleBuilder pipEnv = searchRuleSet.addBomTool(detectorFactory::createPipenvBomTool).defaultNotNested().applicableWithAnyFile(PipenvDetector.PIPFILE_FILE_NAME, PipenvDetector.PIPFILE_DOT_LOCK_FILE_NAME);
+        final DetectorSearchRuleBuilder pipInspector = searchRuleSet.addBomTool(detectorFactory::createPipInspectorBomTool).defaultNotNested();
 
         searchRuleSet.yield(pipInspector).to(pipEnv);
 
-        searchRuleSet.addBomTool(detectorFactory.createGemlockBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createSbtResolutionCacheBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createPearCliBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory::createGemlockBomTool).defaultNotNested().applicableWithAnyFile(GemlockDetector.GEMFILE_LOCK_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory::createSbtResolutionCacheBomTool).defaultNotNested().applicableWithAnyFile(SbtResolutionCacheDetector.BUILD_SBT_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory::createPearCliBomTool).defaultNotNested().applicableWithAnyFile(PearCliDetector.PACKAGE_XML_FILENAME);
 
-        searchRuleSet.addBomTool(detectorFactory.createClangBomTool(environment)).defaultNested();
+        searchRuleSet.addBomTool(detectorFactory::createClangBomTool).defaultNested().applicableWithAnyFile(ClangDetector.JSON_COMPILATION_DATABASE_FILENAME);
 
         return searchRuleSet.build();
     }
@@ -23,25 +23,73 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
+import java.io.File;
 import java.util.List;
+import java.util.function.Function;
+
+import org.apache.commons.io.FilenameUtils;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FilesNotFoundDetectorResult;
 
 public class DetectorSearchRule {
-    private final Detector detector;
+    private final Function<DetectorEnvironment, Detector> detectorCreator;
+    private final Detector descriptiveDetector;
     private final int maxDepth;
     private final boolean nestable;
-    private final List<Detector> yieldsTo;
+    private final List<String> applicableFilePatterns;
+    private final List<DetectorSearchRule> yieldsTo;
 
-    public DetectorSearchRule(final Detector detector, final int maxDepth, final boolean nestable, final List<Detector> yieldsTo) {
-        this.detector = detector;
+    public DetectorSearchRule(final Function<DetectorEnvironment, Detector> detectorCreator, final Detector descriptiveDetector, final int maxDepth, final boolean nestable, final List<String> applicableFilePatterns,
+        final List<DetectorSearchRule> yieldsTo) {
+        this.detectorCreator = detectorCreator;
+        this.descriptiveDetector = descriptiveDetector;
         this.maxDepth = maxDepth;
         this.nestable = nestable;
+        this.applicableFilePatterns = applicableFilePatterns;
         this.yieldsTo = yieldsTo;
     }
 
-    public Detector getDetector() {
-        return detector;
+    /*
+     * Creates the detector that will evaluate a single directory. Detectors keep the files they found while applicable so every directory needs its own.
+     */
+    public Detector createDetector(final DetectorEnvironment environment) {
+        return detectorCreator.apply(environment);
+    }
+
+    /*
+     * A detector created once when the rules were built. It only describes the detector (type, name, class) for directories where no detector was created.
+     */
+    public Detector getDescriptiveDetector() {
+        return descriptiveDetector;
+    }
+
+    /*
+     * When the rule knows which files the detector needs, a directory containing none of them can be rejected without creating the detector.
+     */
+    public boolean mightApply(final DirectoryListing directoryListing) {
+        if (applicableFilePatterns.isEmpty()) {
+            return true;
+        }
+        for (final File file : directoryListing.getFiles()) {
+            for (final String filePattern : applicableFilePatterns) {
+                if (FilenameUtils.wildcardMatchOnSystem(file.getName(), filePattern)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public DetectorResult createNotApplicableResult() {
+        if (applicableFilePatterns.size() == 1) {
+            return new FileNotFoundDetectorResult(applicableFilePatterns.get(0));
+        }
+        return new FilesNotFoundDetectorResult(applicableFilePatterns.toArray(new String[applicableFilePatterns.size()]));
     }
 
     public int getMaxDepth() {
@@ -52,7 +100,7 @@ public class DetectorSearchRule {
         return nestable;
     }
 
-    public List<Detector> getYieldsTo() {
+    public List<DetectorSearchRule> getYieldsTo() {
         return yieldsTo;
     }
 }
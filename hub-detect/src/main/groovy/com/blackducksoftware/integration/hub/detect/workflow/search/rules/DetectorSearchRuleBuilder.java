@@ -24,19 +24,22 @@
 package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 
 public class DetectorSearchRuleBuilder {
-    private final Detector detector;
+    private final Function<DetectorEnvironment, Detector> detectorCreator;
     private int maxDepth;
     private boolean nestable;
-    private final List<Detector> yieldsTo;
+    private final List<String> applicableFilePatterns;
 
-    public DetectorSearchRuleBuilder(final Detector detector) {
-        this.detector = detector;
-        yieldsTo = new ArrayList<>();
+    public DetectorSearchRuleBuilder(final Function<DetectorEnvironment, Detector> detectorCreator) {
+        this.detectorCreator = detectorCreator;
+        applicableFilePatterns = new ArrayList<>();
     }
 
     public DetectorSearchRuleBuilder defaultNotNested() {
@@ -59,12 +62,15 @@ public class DetectorSearchRuleBuilder {
         return this;
     }
 
-    public DetectorSearchRuleBuilder yield(final Detector type) {
-        this.yieldsTo.add(type);
+    /*
+     * The detector can only be applicable when one of these file patterns matches in the directory. Must agree with the detector's own applicable check.
+     */
+    public DetectorSearchRuleBuilder applicableWithAnyFile(final String... filePatterns) {
+        this.applicableFilePatterns.addAll(Arrays.asList(filePatterns));
         return this;
     }
 
-    public DetectorSearchRule build() {
-        return new DetectorSearchRule(detector, maxDepth, nestable, yieldsTo);
+    public DetectorSearchRule build(final DetectorEnvironment environment, final List<DetectorSearchRule> yieldsTo) {
+        return new DetectorSearchRule(detectorCreator, detectorCreator.apply(environment), maxDepth, nestable, applicableFilePatterns, yieldsTo);
     }
 }
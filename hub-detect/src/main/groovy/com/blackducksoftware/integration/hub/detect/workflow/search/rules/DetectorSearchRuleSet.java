@@ -25,22 +25,17 @@ package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
 import java.util.List;
 
-import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
-
+/*
+ * The detector rules are built once per search and shared by every directory, including directories searched in parallel.
+ */
 public class DetectorSearchRuleSet {
     private final List<DetectorSearchRule> orderedBomToolRules;
-    private final DetectorEnvironment environment;
 
-    public DetectorSearchRuleSet(final List<DetectorSearchRule> orderedBomToolRules, final DetectorEnvironment environment) {
+    public DetectorSearchRuleSet(final List<DetectorSearchRule> orderedBomToolRules) {
         this.orderedBomToolRules = orderedBomToolRules;
-        this.environment = environment;
     }
 
     public List<DetectorSearchRule> getOrderedBomToolRules() {
         return orderedBomToolRules;
     }
-
-    public DetectorEnvironment getEnvironment() {
-        return environment;
-    }
 }
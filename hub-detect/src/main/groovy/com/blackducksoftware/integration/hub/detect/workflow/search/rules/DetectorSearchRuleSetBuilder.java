@@ -27,13 +27,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 
 public class DetectorSearchRuleSetBuilder {
-    private final List<Detector> desiredDetectorOrder = new ArrayList<>();
-    private final Map<Detector, DetectorSearchRuleBuilder> builderMap = new HashMap<>();
+    private final List<DetectorSearchRuleBuilder> desiredDetectorOrder = new ArrayList<>();
     private final List<DetectorYieldBuilder> yieldBuilders = new ArrayList<>();
     private final DetectorEnvironment environment;
 
@@ -41,31 +41,34 @@ public class DetectorSearchRuleSetBuilder {
         this.environment = environment;
     }
 
-    public DetectorSearchRuleBuilder addBomTool(final Detector detector) {
-        final DetectorSearchRuleBuilder builder = new DetectorSearchRuleBuilder(detector);
-        desiredDetectorOrder.add(detector);
-        builderMap.put(detector, builder);
+    public DetectorSearchRuleBuilder addBomTool(final Function<DetectorEnvironment, Detector> detectorCreator) {
+        final DetectorSearchRuleBuilder builder = new DetectorSearchRuleBuilder(detectorCreator);
+        desiredDetectorOrder.add(builder);
         return builder;
     }
 
-    public DetectorYieldBuilder yield(final Detector bomToolType) {
-        final DetectorYieldBuilder builder = new DetectorYieldBuilder(bomToolType);
+    public DetectorYieldBuilder yield(final DetectorSearchRuleBuilder detector) {
+        final DetectorYieldBuilder builder = new DetectorYieldBuilder(detector);
         yieldBuilders.add(builder);
         return builder;
     }
 
     public DetectorSearchRuleSet build() {
+        final Map<DetectorSearchRuleBuilder, List<DetectorSearchRule>> yieldsToMap = new HashMap<>();
+        final Map<DetectorSearchRuleBuilder, DetectorSearchRule> ruleMap = new HashMap<>();
         final List<DetectorSearchRule> bomToolRules = new ArrayList<>();
-        for (final Detector detector : desiredDetectorOrder) {
-            final DetectorSearchRuleBuilder builder = builderMap.get(detector);
-            for (final DetectorYieldBuilder yieldBuilder : yieldBuilders) {
-                if (yieldBuilder.getYieldingDetector() == detector) {
-                    builder.yield(yieldBuilder.getYieldingToDetector());
-                }
-            }
-            bomToolRules.add(builder.build());
+        for (final DetectorSearchRuleBuilder builder : desiredDetectorOrder) {
+            final List<DetectorSearchRule> yieldsTo = new ArrayList<>();
+            final DetectorSearchRule rule = builder.build(environment, yieldsTo);
+            yieldsToMap.put(builder, yieldsTo);
+            ruleMap.put(builder, rule);
+            bomToolRules.add(rule);
         }
 
-        return new DetectorSearchRuleSet(bomToolRules, environment);
+        for (final DetectorYieldBuilder yieldBuilder : yieldBuilders) {
+            yieldsToMap.get(yieldBuilder.getYieldingDetector()).add(ruleMap.get(yieldBuilder.getYieldingToDetector()));
+        }
+
+        return new DetectorSearchRuleSet(bomToolRules);
     }
 }
@@ -23,27 +23,25 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
-import com.blackducksoftware.integration.hub.detect.detector.Detector;
-
 public class DetectorYieldBuilder {
 
-    private final Detector yieldingDetector;
-    private Detector yieldingToDetector;
+    private final DetectorSearchRuleBuilder yieldingDetector;
+    private DetectorSearchRuleBuilder yieldingToDetector;
 
-    public DetectorYieldBuilder(final Detector yieldingDetector) {
+    public DetectorYieldBuilder(final DetectorSearchRuleBuilder yieldingDetector) {
         this.yieldingDetector = yieldingDetector;
     }
 
-    public DetectorYieldBuilder to(final Detector Detector) {
-        this.yieldingToDetector = Detector;
+    public DetectorYieldBuilder to(final DetectorSearchRuleBuilder detector) {
+        this.yieldingToDetector = detector;
         return this;
     }
 
-    public Detector getYieldingDetector() {
+    public DetectorSearchRuleBuilder getYieldingDetector() {
         return yieldingDetector;
     }
 
-    public Detector getYieldingToDetector() {
+    public DetectorSearchRuleBuilder getYieldingToDetector() {
         return yieldingToDetector;
     }
 }
@@ -52,7 +52,11 @@ public class DetectStatusLogger {
             if (previousSummaryClass != null && !previousSummaryClass.equals(status.getClass())) {
                 logger.info("");
             }
-            logger.info(String.format("%s: %s", status.getDescriptionKey(), status.getStatusType().toString()));
+            if (status.getDetails().isPresent()) {
+                logger.info(String.format("%s: %s (%s)", status.getDescriptionKey(), status.getStatusType().toString(), status.getDetails().get()));
+            } else {
+                logger.info(String.format("%s: %s", status.getDescriptionKey(), status.getStatusType().toString()));
+            }
 
             previousSummaryClass = status.getClass();
         }
@@ -33,4 +33,8 @@ public class SignatureScanStatus extends Status {
     public SignatureScanStatus(final String scanTargetPath, final StatusType statusType) {
         super("Scan Target " + scanTargetPath, statusType);
     }
+
+    public SignatureScanStatus(final String scanTargetPath, final StatusType statusType, final String details) {
+        super("Scan Target " + scanTargetPath, statusType, details);
+    }
 }
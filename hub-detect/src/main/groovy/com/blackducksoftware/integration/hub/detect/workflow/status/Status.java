@@ -23,13 +23,21 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.status;
 
+import java.util.Optional;
+
 public class Status {
     private final String descriptionKey;
     private final StatusType statusType;
+    private final String details;
 
     public Status(final String descriptionKey, final StatusType statusType) {
+        this(descriptionKey, statusType, null);
+    }
+
+    public Status(final String descriptionKey, final StatusType statusType, final String details) {
         this.descriptionKey = descriptionKey;
         this.statusType = statusType;
+        this.details = details;
     }
 
     public String getDescriptionKey() {
@@ -40,4 +48,8 @@ public class Status {
         return statusType;
     }
 
+    public Optional<String> getDetails() {
+        return Optional.ofNullable(details);
+    }
+
 }
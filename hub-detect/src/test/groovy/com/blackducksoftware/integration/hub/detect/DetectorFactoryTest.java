@@ -25,6 +25,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapManager;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchProvider;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRule;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
 import com.google.gson.Gson;
 import com.google.gson.JsonParser;
@@ -75,16 +76,17 @@ public class DetectorFactoryTest {
 
         DetectorEnvironment mockEnv = Mockito.mock(DetectorEnvironment.class);
 
-        DetectorSearchRuleSet ruleSet1 = provider.createBomToolSearchRuleSet(mockEnv);
-        DetectorSearchRuleSet ruleSet2 = provider.createBomToolSearchRuleSet(mockEnv);
+        DetectorSearchRuleSet ruleSet = provider.createBomToolSearchRuleSet(mockEnv);
+        DetectorSearchRule rule = ruleSet.getOrderedBomToolRules().get(0);
 
-        Detector detector1 = ruleSet1.getOrderedBomToolRules().get(0).getDetector();
-        Detector detector2 = ruleSet2.getOrderedBomToolRules().get(0).getDetector();
+        Detector detector1 = rule.createDetector(mockEnv);
+        Detector detector2 = rule.createDetector(mockEnv);
 
         //Sanity check they are the same class
         Assert.assertTrue(detector1.getClass().isInstance(detector2));
         //And check they are not the same instance
         Assert.assertFalse(detector1 == detector2);
+        Assert.assertFalse(detector1 == rule.getDescriptiveDetector());
     }
 
 }
@@ -6,6 +6,7 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang3.SystemUtils;
 import org.junit.Assume;
@@ -32,7 +33,7 @@ public class ApkPackageManagerTest {
         final String pkgMgrOwnedByOutput = sb.toString();
 
         File depFile = new File("/usr/include/stdlib.h");
-        final ApkPackageManager pkgMgr = new ApkPackageManager();
+        final ApkPackageManager pkgMgr = new ApkPackageManager(new File("src/test/resources/clang/apk/missing"));
         final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
         Mockito.when(executableRunner.executeQuietly(null, "apk", "info", "--print-arch")).thenReturn(new ExecutableOutput(0, "x86_64\n", ""));
         Mockito.when(executableRunner.executeQuietly(null, "apk", Arrays.asList("info", "--who-owns", depFile.getAbsolutePath()))).thenReturn(new ExecutableOutput(0, pkgMgrOwnedByOutput, ""));
@@ -45,4 +46,24 @@ public class ApkPackageManagerTest {
         assertEquals("x86_64", pkgs.get(0).getPackageArch());
     }
 
+    @Test
+    public void testInstalledDatabaseIndex() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final ApkPackageManager pkgMgr = new ApkPackageManager(new File("src/test/resources/clang/apk/installed"));
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+
+        final Set<File> unManagedDependencyFiles = new HashSet<>();
+        final List<PackageDetails> pkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, new DependencyFileDetails(false, new File("/usr/include/stdlib.h")));
+        assertEquals(1, pkgs.size());
+        assertEquals("musl-dev", pkgs.get(0).getPackageName());
+        assertEquals("1.1.18-r3", pkgs.get(0).getPackageVersion());
+        assertEquals("x86_64", pkgs.get(0).getPackageArch());
+
+        final List<PackageDetails> virtualPkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, new DependencyFileDetails(false, new File("/usr/include/virtual.h")));
+        assertEquals(0, virtualPkgs.size());
+        assertEquals(1, unManagedDependencyFiles.size());
+        Mockito.verifyZeroInteractions(executableRunner);
+    }
+
 }
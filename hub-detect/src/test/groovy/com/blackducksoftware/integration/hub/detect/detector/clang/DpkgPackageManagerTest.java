@@ -1,6 +1,41 @@
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+
 public class DpkgPackageManagerTest {
+    @Test
+    public void testDatabaseIndex() {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final DpkgPackageManager pkgMgr = new DpkgPackageManager(new File("src/test/resources/clang/dpkg"));
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+
+        final Set<File> unManagedDependencyFiles = new HashSet<>();
+        final List<PackageDetails> pkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, new DependencyFileDetails(false, new File("/usr/include/stdlib.h")));
+        assertEquals(1, pkgs.size());
+        assertEquals("libc6-dev", pkgs.get(0).getPackageName());
+        assertEquals("2.27-3ubuntu1", pkgs.get(0).getPackageVersion());
+        assertEquals("amd64", pkgs.get(0).getPackageArch());
+
+        // removed-dev is only config-files, so it no longer owns its headers
+        final List<PackageDetails> removedPkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, new DependencyFileDetails(false, new File("/usr/include/removed.h")));
+        assertEquals(0, removedPkgs.size());
+        assertEquals(1, unManagedDependencyFiles.size());
+        Mockito.verifyZeroInteractions(executableRunner);
+    }
+
 /*
     @Test
     public void test() throws ExecutableRunnerException {
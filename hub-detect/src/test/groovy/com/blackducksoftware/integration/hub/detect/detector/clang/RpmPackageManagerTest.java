@@ -1,6 +1,85 @@
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
+
 public class RpmPackageManagerTest {
+    @Test
+    public void testDatabaseIndex() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final List<String> allFilesLines = Arrays.asList(
+            "glibc-headers\t2.17-222.el7\tx86_64\t/usr/include/stdlib.h",
+            "glibc-headers\t2.17-222.el7\tx86_64\t/usr/include/stdio.h",
+            "zlib-devel\t1.2.7-17.el7\tx86_64\t/usr/include/zlib.h",
+            "zlib-devel\t1.2.7-17.el7\ti686\t/usr/include/zlib.h",
+            "not a file line",
+            "");
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeStreamingQuietly(Mockito.any(Executable.class), Mockito.any())).thenAnswer(invocation -> {
+            final Executable executable = invocation.getArgument(0);
+            assertTrue(executable.getExecutableDescription().contains("rpm -qa --queryformat"));
+            final Consumer<String> lineConsumer = invocation.getArgument(1);
+            allFilesLines.forEach(lineConsumer);
+            return new ExecutableOutput(0, "", "");
+        });
+
+        final RpmPackageManager pkgMgr = new RpmPackageManager();
+        final Set<File> unManagedDependencyFiles = new HashSet<>();
+        final List<PackageDetails> pkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, new DependencyFileDetails(false, new File("/usr/include/stdlib.h")));
+        assertEquals(1, pkgs.size());
+        assertEquals("glibc-headers", pkgs.get(0).getPackageName());
+        assertEquals("2.17-222.el7", pkgs.get(0).getPackageVersion());
+        assertEquals("x86_64", pkgs.get(0).getPackageArch());
+
+        // a multilib header is owned by the package of every installed architecture
+        final List<PackageDetails> multilibPkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, new DependencyFileDetails(false, new File("/usr/include/zlib.h")));
+        assertEquals(2, multilibPkgs.size());
+        assertEquals("x86_64", multilibPkgs.get(0).getPackageArch());
+        assertEquals("i686", multilibPkgs.get(1).getPackageArch());
+
+        final List<PackageDetails> unownedPkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, new DependencyFileDetails(false, new File("/opt/project/hello.h")));
+        assertEquals(0, unownedPkgs.size());
+        assertEquals(1, unManagedDependencyFiles.size());
+
+        // the database is only read once, and no file falls back to its own owner query
+        Mockito.verify(executableRunner, Mockito.times(1)).executeStreamingQuietly(Mockito.any(Executable.class), Mockito.any());
+        Mockito.verifyNoMoreInteractions(executableRunner);
+    }
+
+    @Test
+    public void testOwnerQueryWhenDatabaseCannotBeRead() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeStreamingQuietly(Mockito.any(Executable.class), Mockito.any())).thenReturn(new ExecutableOutput(1, "", "error: rpmdb open failed"));
+        Mockito.when(executableRunner.executeQuietly(Mockito.any(), Mockito.eq("rpm"), Mockito.eq(Arrays.asList("-qf", "/usr/include/stdlib.h")))).thenReturn(new ExecutableOutput(0, "glibc-headers-2.17-222.el7.x86_64\n", ""));
+
+        final RpmPackageManager pkgMgr = new RpmPackageManager();
+        final List<PackageDetails> pkgs = pkgMgr.getPackages(null, executableRunner, new HashSet<>(), new DependencyFileDetails(false, new File("/usr/include/stdlib.h")));
+        assertEquals(1, pkgs.size());
+        assertEquals("glibc-headers", pkgs.get(0).getPackageName());
+        assertEquals("2.17-222.el7", pkgs.get(0).getPackageVersion());
+        assertEquals("x86_64", pkgs.get(0).getPackageArch());
+    }
+
 /*
     @Test
     public void testValid() throws ExecutableRunnerException {
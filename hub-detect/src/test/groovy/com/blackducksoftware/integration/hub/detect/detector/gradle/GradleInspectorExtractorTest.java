@@ -0,0 +1,107 @@
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+
+public class GradleInspectorExtractorTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testDaemonIsRequestedWhenEnabled() throws Exception {
+        final List<String> command = runInspector(true, "");
+
+        assertTrue(command.contains("--daemon"));
+        assertEquals(command.indexOf("--daemon") + 1, command.indexOf("dependencies"));
+    }
+
+    @Test
+    public void testDaemonIsNotRequestedWhenDisabled() throws Exception {
+        final List<String> command = runInspector(false, "");
+
+        assertFalse(command.contains("--daemon"));
+    }
+
+    @Test
+    public void testBuildCommandDaemonSettingWins() throws Exception {
+        final List<String> command = runInspector(true, "--no-daemon dependencies");
+
+        assertFalse(command.contains("--daemon"));
+        assertTrue(command.contains("--no-daemon"));
+    }
+
+    @Test
+    public void testFailureReasonIsReported() throws Exception {
+        final List<String> output = Arrays.asList("BUILD FAILED", "", "* What went wrong:", "Could not resolve all dependencies for configuration ':compile'.", "> Could not find foo:bar:1.0.",
+            "", "* Try:", "Run with --stacktrace option to get the stack trace.");
+        final Extraction extraction = runInspector(false, "", output, new ArrayList<>());
+
+        assertEquals(Extraction.ExtractionResultType.FAILURE, extraction.result);
+        assertEquals("The gradle inspector returned a non-zero exit code: 1 - Could not resolve all dependencies for configuration ':compile'. > Could not find foo:bar:1.0.", extraction.description);
+    }
+
+    private List<String> runInspector(final boolean daemon, final String buildCommand) throws IOException, ExecutableRunnerException {
+        final List<String> command = new ArrayList<>();
+        runInspector(daemon, buildCommand, Arrays.asList("BUILD FAILED"), command);
+
+        assertEquals("gradle", command.get(0));
+        assertTrue(command.contains("--init-script=init-detect.gradle"));
+        return command;
+    }
+
+    private Extraction runInspector(final boolean daemon, final String buildCommand, final List<String> outputLines, final List<String> command) throws IOException, ExecutableRunnerException {
+        final File outputDirectory = temporaryFolder.newFolder();
+        final DirectoryManager directoryManager = Mockito.mock(DirectoryManager.class);
+        Mockito.when(directoryManager.getExtractionOutputDirectory(Mockito.any(ExtractionId.class))).thenReturn(outputDirectory);
+
+        final DetectConfiguration detectConfiguration = Mockito.mock(DetectConfiguration.class);
+        Mockito.when(detectConfiguration.getProperty(Mockito.any(DetectProperty.class), Mockito.any(PropertyAuthority.class))).thenAnswer(invocation -> {
+            if (invocation.getArguments()[0] == DetectProperty.DETECT_GRADLE_BUILD_COMMAND) {
+                return buildCommand;
+            }
+            return null;
+        });
+        Mockito.when(detectConfiguration.getBooleanProperty(Mockito.any(DetectProperty.class), Mockito.any(PropertyAuthority.class))).thenAnswer(invocation -> {
+            return invocation.getArguments()[0] == DetectProperty.DETECT_GRADLE_DAEMON && daemon;
+        });
+
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeStreaming(Mockito.any(Executable.class), Mockito.any())).thenAnswer(invocation -> {
+            final Executable executable = (Executable) invocation.getArguments()[0];
+            command.addAll(executable.createProcessBuilder().command());
+            @SuppressWarnings("unchecked")
+            final Consumer<String> standardOutputConsumer = (Consumer<String>) invocation.getArguments()[1];
+            outputLines.forEach(standardOutputConsumer);
+            return new ExecutableOutput(1, "", "");
+        });
+
+        final GradleInspectorExtractor extractor = new GradleInspectorExtractor(executableRunner, new DetectFileFinder(), directoryManager, Mockito.mock(GradleReportParser.class), detectConfiguration);
+        return extractor.extract(temporaryFolder.getRoot(), "gradle", "init-detect.gradle", new ExtractionId(DetectorType.GRADLE, "test"), 1);
+    }
+}
@@ -0,0 +1,160 @@
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
+import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapManager;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+
+import freemarker.template.Configuration;
+
+public class GradleInspectorManagerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File gradleDirectory;
+    private DirectoryManager directoryManager;
+    private AirGapManager airGapManager;
+    private Configuration configuration;
+
+    @Before
+    public void setup() throws IOException {
+        final File permanentDirectory = temporaryFolder.newFolder("tools");
+        gradleDirectory = new File(permanentDirectory, "gradle");
+        directoryManager = Mockito.mock(DirectoryManager.class);
+        Mockito.when(directoryManager.getPermanentDirectory()).thenReturn(permanentDirectory);
+        airGapManager = Mockito.mock(AirGapManager.class);
+        configuration = new Configuration(Configuration.VERSION_2_3_26);
+        configuration.setClassForTemplateLoading(GradleScriptCreator.class, "/");
+    }
+
+    @Test
+    public void testConfiguredVersionDoesNotAskArtifactory() throws Exception {
+        final ArtifactResolver artifactResolver = artifactResolver(Optional.of("9.9.9"));
+
+        final File script = new File(createManager("0.5.0", artifactResolver).getGradleInspector());
+
+        assertTrue(script.isFile());
+        assertEquals("0.5.0", script.getParentFile().getName());
+        Mockito.verify(artifactResolver, Mockito.never()).resolveArtifactVersion(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testGeneratedScriptIsReused() throws Exception {
+        final File script = new File(createManager("0.5.0", artifactResolver(Optional.empty())).getGradleInspector());
+        Files.write(script.toPath(), "previously generated".getBytes(StandardCharsets.UTF_8));
+
+        final File reused = new File(createManager("0.5.0", artifactResolver(Optional.empty())).getGradleInspector());
+
+        assertEquals(script, reused);
+        assertEquals("previously generated", new String(Files.readAllBytes(reused.toPath()), StandardCharsets.UTF_8));
+        assertEquals(1, script.getParentFile().listFiles().length);
+    }
+
+    @Test
+    public void testScriptIsRegeneratedForADifferentVersion() throws Exception {
+        final String first = createManager("0.5.0", artifactResolver(Optional.empty())).getGradleInspector();
+        final String second = createManager("0.6.0", artifactResolver(Optional.empty())).getGradleInspector();
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void testResolvedVersionIsReusedForADay() throws Exception {
+        final File script = new File(createManager("", artifactResolver(Optional.of("1.0.0"))).getGradleInspector());
+        assertEquals("1.0.0", script.getParentFile().getName());
+        assertEquals("1.0.0", readResolvedVersion());
+
+        final ArtifactResolver secondResolver = artifactResolver(Optional.of("2.0.0"));
+        final File reused = new File(createManager("", secondResolver).getGradleInspector());
+
+        assertEquals("1.0.0", reused.getParentFile().getName());
+        Mockito.verify(secondResolver, Mockito.never()).resolveArtifactVersion(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testStaleResolvedVersionIsRefreshed() throws Exception {
+        writeStaleResolvedVersion("1.0.0");
+
+        final File script = new File(createManager("", artifactResolver(Optional.of("2.0.0"))).getGradleInspector());
+
+        assertEquals("2.0.0", script.getParentFile().getName());
+        assertEquals("2.0.0", readResolvedVersion());
+    }
+
+    @Test
+    public void testStaleResolvedVersionIsUsedWhenArtifactoryIsUnavailable() throws Exception {
+        writeStaleResolvedVersion("1.0.0");
+
+        final File script = new File(createManager("", artifactResolver(Optional.empty())).getGradleInspector());
+
+        assertEquals("1.0.0", script.getParentFile().getName());
+    }
+
+    @Test(expected = DetectorException.class)
+    public void testFailsWithoutAnyVersion() throws Exception {
+        createManager("", artifactResolver(Optional.empty())).getGradleInspector();
+    }
+
+    @Test
+    public void testTemporaryScriptIsDeletedWhenGenerationFails() throws Exception {
+        final File templateDirectory = temporaryFolder.newFolder("templates");
+        Files.write(new File(templateDirectory, "init-script-gradle.ftl").toPath(), "${notInTheScriptData}".getBytes(StandardCharsets.UTF_8));
+        configuration.setDirectoryForTemplateLoading(templateDirectory);
+
+        try {
+            createManager("0.5.0", artifactResolver(Optional.empty())).getGradleInspector();
+            fail("The broken template should have failed the script generation.");
+        } catch (final DetectorException e) {
+            assertEquals(0, new File(gradleDirectory, "0.5.0").listFiles().length);
+        }
+    }
+
+    private GradleInspectorManager createManager(final String inspectorVersion, final ArtifactResolver artifactResolver) {
+        final DetectConfiguration detectConfiguration = Mockito.mock(DetectConfiguration.class);
+        Mockito.when(detectConfiguration.getProperty(Mockito.any(DetectProperty.class), Mockito.any(PropertyAuthority.class))).thenAnswer(invocation -> {
+            if (invocation.getArguments()[0] == DetectProperty.DETECT_GRADLE_INSPECTOR_VERSION) {
+                return inspectorVersion;
+            }
+            return "";
+        });
+        return new GradleInspectorManager(directoryManager, airGapManager, configuration, detectConfiguration, artifactResolver);
+    }
+
+    private ArtifactResolver artifactResolver(final Optional<String> resolvedVersion) {
+        final ArtifactResolver artifactResolver = Mockito.mock(ArtifactResolver.class);
+        Mockito.when(artifactResolver.resolveArtifactVersion(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(resolvedVersion);
+        return artifactResolver;
+    }
+
+    private String readResolvedVersion() throws IOException {
+        return new String(Files.readAllBytes(new File(gradleDirectory, "inspector-version.txt").toPath()), StandardCharsets.UTF_8);
+    }
+
+    private void writeStaleResolvedVersion(final String version) throws IOException {
+        gradleDirectory.mkdirs();
+        final File resolvedVersionFile = new File(gradleDirectory, "inspector-version.txt");
+        Files.write(resolvedVersionFile.toPath(), version.getBytes(StandardCharsets.UTF_8));
+        resolvedVersionFile.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(25));
+    }
+}
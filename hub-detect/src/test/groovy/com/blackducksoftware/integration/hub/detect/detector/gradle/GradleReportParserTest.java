@@ -16,11 +16,19 @@ import static com.blackducksoftware.integration.hub.detect.testutils.DependencyG
 import static com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphAssertions.assertHasRootMavenGavs;
 import static com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphAssertions.assertParentHasChildMavenGav;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.Test;
 
@@ -28,6 +36,7 @@ import com.blackducksoftware.integration.hub.detect.testutils.TestUtil;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.google.gson.GsonBuilder;
 import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
 import com.synopsys.integration.util.NameVersion;
 
@@ -101,6 +110,54 @@ public class GradleReportParserTest {
         System.out.println(new GsonBuilder().setPrettyPrinting().create().toJson(result.get()));
     }
 
+    @Test
+    public void testParallelSpringFrameworkReports() throws InterruptedException, ExecutionException {
+        final File[] files = new File("src/test/resources/gradle/spring-framework").listFiles((dir, name) -> name.endsWith("_dependencyGraph.txt"));
+        Arrays.sort(files);
+        final GradleReportParser gradleReportParser = new GradleReportParser(new ExternalIdFactory());
+
+        final List<DetectCodeLocation> sequential = gradleReportParser.parseDependencies(Arrays.asList(files), 1);
+        final List<DetectCodeLocation> parallel = gradleReportParser.parseDependencies(Arrays.asList(files), 4);
+
+        assertEquals(files.length, sequential.size());
+        assertEquals(files.length, parallel.size());
+        for (int i = 0; i < files.length; i++) {
+            assertEquals(sequential.get(i).getExternalId(), parallel.get(i).getExternalId());
+            assertEquals(collectRelationships(sequential.get(i).getDependencyGraph()), collectRelationships(parallel.get(i).getDependencyGraph()));
+        }
+
+        final ExternalId junit = new ExternalIdFactory().createMavenExternalId("junit", "junit", "4.12");
+        final DependencyGraph beans = findCodeLocation(parallel, "spring-beans").getDependencyGraph();
+        final DependencyGraph context = findCodeLocation(parallel, "spring-context").getDependencyGraph();
+        assertTrue(beans.hasDependency(junit));
+        assertSame(beans.getDependency(junit), context.getDependency(junit));
+    }
+
+    private DetectCodeLocation findCodeLocation(final List<DetectCodeLocation> codeLocations, final String projectName) {
+        return codeLocations.stream().filter(it -> projectName.equals(it.getExternalId().name)).findFirst().get();
+    }
+
+    private Set<String> collectRelationships(final DependencyGraph graph) {
+        final Set<String> relationships = new HashSet<>();
+        final Deque<ExternalId> remaining = new ArrayDeque<>();
+        graph.getRootDependencyExternalIds().forEach(it -> {
+            relationships.add("root -> " + it.createExternalId());
+            remaining.add(it);
+        });
+        final Set<ExternalId> visited = new HashSet<>();
+        while (!remaining.isEmpty()) {
+            final ExternalId parent = remaining.pop();
+            if (!visited.add(parent)) {
+                continue;
+            }
+            for (final ExternalId child : graph.getChildrenExternalIdsForParent(parent)) {
+                relationships.add(parent.createExternalId() + " -> " + child.createExternalId());
+                remaining.add(child);
+            }
+        }
+        return relationships;
+    }
+
     private void createNewCodeLocationTest(final String gradleInspectorOutputFilePath, final String expectedResourcePath, final String rootProjectFilePath, final String rootProjectName, final String rootProjectVersionName)
         throws IOException {
         final GradleReportParser gradleReportParser = new GradleReportParser(new ExternalIdFactory());
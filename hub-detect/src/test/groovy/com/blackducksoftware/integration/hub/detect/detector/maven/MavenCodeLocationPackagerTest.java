@@ -66,6 +66,19 @@ public class MavenCodeLocationPackagerTest {
         createNewCodeLocationTest(mavenOutputText, "/maven/webgoatCodeLocation.json", 1, "", "");
     }
 
+    @Test
+    public void extractCodeLocationsLineByLineTest() {
+        final String mavenOutputText = testUtil.getResourceAsUTF8String("/maven/hubTeamcityOutput.txt");
+        final MavenCodeLocationPackager mavenCodeLocationPackager = new MavenCodeLocationPackager(new ExternalIdFactory());
+        mavenCodeLocationPackager.startParsing("/test/path", "", "");
+        for (final String line : mavenOutputText.split("\r?\n")) {
+            mavenCodeLocationPackager.parseLine(line);
+        }
+        final List<MavenParseResult> result = mavenCodeLocationPackager.finishParsing();
+        assertEquals(5, result.size());
+        testUtil.testJsonResource("/maven/hubTeamCityCodeLocation.json", result.get(0).codeLocation);
+    }
+
     @Test
     public void testParseProject() {
         final MavenCodeLocationPackager mavenCodeLocationPackager = new MavenCodeLocationPackager(new ExternalIdFactory());
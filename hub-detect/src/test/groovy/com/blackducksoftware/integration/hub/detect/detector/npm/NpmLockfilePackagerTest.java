@@ -1,12 +1,16 @@
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.IOException;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphResourceTestUtil;
 import com.blackducksoftware.integration.hub.detect.testutils.TestUtil;
-import com.google.gson.GsonBuilder;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.Forge;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
 
 public class NpmLockfilePackagerTest {
@@ -16,11 +20,11 @@ public class NpmLockfilePackagerTest {
     @Before
     public void init() {
         testUtil = new TestUtil();
-        npmLockfilePackager = new NpmLockfilePackager(new GsonBuilder().setPrettyPrinting().create(), new ExternalIdFactory());
+        npmLockfilePackager = new NpmLockfilePackager(new ExternalIdFactory());
     }
 
     @Test
-    public void parseLockFileTest() {
+    public void parseLockFileTest() throws IOException {
         final String lockFileText = testUtil.getResourceAsUTF8String("/npm/package-lock.json");
         final NpmParseResult result = npmLockfilePackager.parse("source", lockFileText, true);
 
@@ -30,7 +34,7 @@ public class NpmLockfilePackagerTest {
     }
 
     @Test
-    public void parseShrinkwrapTest() {
+    public void parseShrinkwrapTest() throws IOException {
         final String shrinkwrapText = testUtil.getResourceAsUTF8String("/npm/npm-shrinkwrap.json");
         final NpmParseResult result = npmLockfilePackager.parse("source", shrinkwrapText, true);
 
@@ -38,4 +42,23 @@ public class NpmLockfilePackagerTest {
         Assert.assertEquals(result.projectVersion, "1.3.7");
         DependencyGraphResourceTestUtil.assertGraph("/npm/shrinkwrapExpected_graph.json", result.codeLocation.getDependencyGraph());
     }
+
+    @Test
+    public void parseNestedDependenciesTest() throws IOException {
+        final String lockFileText = testUtil.getResourceAsUTF8String("/npm/package-lock-nested.json");
+        final NpmParseResult result = npmLockfilePackager.parse("source", lockFileText, false);
+        final DependencyGraph graph = result.codeLocation.getDependencyGraph();
+
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        final Dependency express = graph.getDependency(externalIdFactory.createNameVersionExternalId(Forge.NPM, "express", "4.16.3"));
+        final Dependency debug = graph.getDependency(externalIdFactory.createNameVersionExternalId(Forge.NPM, "debug", "2.6.9"));
+        Assert.assertNotNull(express);
+        Assert.assertNotNull(debug);
+        Assert.assertEquals(3, graph.getRootDependencies().size());
+        Assert.assertTrue(graph.getChildrenForParent(express).contains(debug));
+        Assert.assertEquals(1, graph.getChildrenForParent(debug).size());
+        Assert.assertNotNull(graph.getDependency(externalIdFactory.createNameVersionExternalId(Forge.NPM, "ms", "2.0.0")));
+        Assert.assertNull(graph.getDependency(externalIdFactory.createNameVersionExternalId(Forge.NPM, "mocha", "5.2.0")));
+        Assert.assertNull(graph.getDependency(externalIdFactory.createNameVersionExternalId(Forge.NPM, "left-pad", "1.3.0")));
+    }
 }
@@ -11,6 +11,9 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphResourceTestUtil;
 import com.blackducksoftware.integration.hub.detect.testutils.TestUtil;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.Forge;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
 
 public class PackagistTest {
@@ -32,4 +35,47 @@ public class PackagistTest {
 
         DependencyGraphResourceTestUtil.assertGraph("/packagist/PackagistTestDependencyNode_graph.json", result.codeLocation.getDependencyGraph());
     }
+
+    @Test
+    public void packagistParserIncludesDevPackagesTest() throws IOException {
+        final DependencyGraph graph = parseDevProject(true);
+
+        Assert.assertEquals(2, graph.getRootDependencyExternalIds().size());
+        Assert.assertTrue(graph.getRootDependencyExternalIds().contains(packagistId("monolog/monolog", "1.24.0")));
+        Assert.assertTrue(graph.getRootDependencyExternalIds().contains(packagistId("phpunit/phpunit", "7.5.1")));
+        Assert.assertTrue(graph.getChildrenExternalIdsForParent(packagistId("monolog/monolog", "1.24.0")).contains(packagistId("psr/log", "1.1.0")));
+        Assert.assertTrue(graph.getChildrenExternalIdsForParent(packagistId("phpunit/phpunit", "7.5.1")).contains(packagistId("sebastian/version", "2.0.1")));
+        // monolog's own require-dev on phpunit is not installed, only the project's is
+        Assert.assertFalse(graph.getChildrenExternalIdsForParent(packagistId("monolog/monolog", "1.24.0")).contains(packagistId("phpunit/phpunit", "7.5.1")));
+    }
+
+    @Test
+    public void packagistParserExcludesDevPackagesTest() throws IOException {
+        final DependencyGraph graph = parseDevProject(false);
+
+        Assert.assertEquals(1, graph.getRootDependencyExternalIds().size());
+        Assert.assertTrue(graph.getRootDependencyExternalIds().contains(packagistId("monolog/monolog", "1.24.0")));
+        Assert.assertEquals(1, graph.getChildrenExternalIdsForParent(packagistId("monolog/monolog", "1.24.0")).size());
+        Assert.assertFalse(graph.hasDependency(packagistId("phpunit/phpunit", "7.5.1")));
+        Assert.assertFalse(graph.hasDependency(packagistId("sebastian/version", "2.0.1")));
+    }
+
+    private DependencyGraph parseDevProject(final boolean includeDev) throws IOException {
+        final DetectConfiguration detectConfiguration = Mockito.mock(DetectConfiguration.class);
+        Mockito.when(detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PACKAGIST_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None)).thenReturn(includeDev);
+
+        final PackagistParser packagistParser = new PackagistParser(new ExternalIdFactory(), detectConfiguration);
+
+        final String composerLockText = testUtil.getResourceAsUTF8String("/packagist/composer-dev.lock");
+        final String composerJsonText = testUtil.getResourceAsUTF8String("/packagist/composer-dev.json");
+        final PackagistParseResult result = packagistParser.getDependencyGraphFromProject("source", composerJsonText, composerLockText);
+
+        Assert.assertEquals("acme/dev-project", result.projectName);
+        Assert.assertEquals("2.0.0", result.projectVersion);
+        return result.codeLocation.getDependencyGraph();
+    }
+
+    private ExternalId packagistId(final String name, final String version) {
+        return new ExternalIdFactory().createNameVersionExternalId(Forge.PACKAGIST, name, version);
+    }
 }
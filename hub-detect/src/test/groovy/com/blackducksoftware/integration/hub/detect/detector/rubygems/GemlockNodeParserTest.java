@@ -1,6 +1,7 @@
 
 package com.blackducksoftware.integration.hub.detect.detector.rubygems;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.util.Arrays;
@@ -62,4 +63,22 @@ public class GemlockNodeParserTest {
         Dependency newrelic_rpm = dependencyGraph.getDependency(new ExternalIdFactory().createNameVersionExternalId(Forge.RUBYGEMS, "newrelic_rpm", ""));
         assertNotNull(newrelic_rpm);
     }
+
+    @Test
+    public void testGitAndPathSectionsGemfileLock() {
+        final String text = testUtils.getResourceAsUTF8String("/rubygems/Gemfile_git_path.lock");
+        final List<String> gemfileLockContents = Arrays.asList(text.split("\n"));
+        final GemlockParser gemlockNodeParser = new GemlockParser(new ExternalIdFactory());
+        final DependencyGraph dependencyGraph = gemlockNodeParser.parseProjectDependencies(gemfileLockContents);
+
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        final Dependency rails = dependencyGraph.getDependency(externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, "rails", "5.2.1"));
+        final Dependency billing = dependencyGraph.getDependency(externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, "billing", "0.1.0"));
+        assertNotNull(rails);
+        assertNotNull(billing);
+        assertNotNull(dependencyGraph.getDependency(externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, "rack", "2.0.5")));
+        assertEquals(2, dependencyGraph.getRootDependencies().size());
+        assertEquals(1, dependencyGraph.getChildrenForParent(billing).size());
+        assertEquals(1, dependencyGraph.getChildrenForParent(rails).size());
+    }
 }
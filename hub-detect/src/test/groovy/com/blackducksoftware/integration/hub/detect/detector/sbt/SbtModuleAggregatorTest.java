@@ -0,0 +1,60 @@
+package com.blackducksoftware.integration.hub.detect.detector.sbt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+public class SbtModuleAggregatorTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void testConfigurationsOfTheSameModuleAreMerged() {
+        final SbtReport compile = new SbtReport("com.example", "example", "1.0.0", "compile", Arrays.asList(
+            module("org.example", "library", "2.0.0", caller("com.example", "example", "1.0.0")),
+            module("org.example", "transitive", "3.0.0", caller("org.example", "library", "2.0.0"))));
+        final SbtReport test = new SbtReport("com.example", "example", "1.0.0", "test", Arrays.asList(
+            module("org.example", "library", "2.0.0", caller("com.example", "example", "1.0.0")),
+            module("junit", "junit", "4.12", caller("com.example", "example", "1.0.0"))));
+        final SbtReport other = new SbtReport("com.example", "other", "1.0.0", "compile", Collections.singletonList(
+            module("org.example", "library", "2.0.0", caller("com.example", "other", "1.0.0"))));
+
+        final List<SbtDependencyModule> modules = new SbtModuleAggregator().aggregateReports(Arrays.asList(compile, other, test), new SbtDependencyResolver(externalIdFactory));
+
+        assertEquals(2, modules.size());
+
+        final SbtDependencyModule example = modules.get(0);
+        assertEquals("com.example", example.org);
+        assertEquals("example", example.name);
+        assertEquals("1.0.0", example.version);
+
+        final DependencyGraph graph = example.graph;
+        final ExternalId library = externalIdFactory.createMavenExternalId("org.example", "library", "2.0.0");
+        final ExternalId junit = externalIdFactory.createMavenExternalId("junit", "junit", "4.12");
+        final ExternalId transitive = externalIdFactory.createMavenExternalId("org.example", "transitive", "3.0.0");
+        assertEquals(2, graph.getRootDependencyExternalIds().size());
+        assertTrue(graph.getRootDependencyExternalIds().contains(library));
+        assertTrue(graph.getRootDependencyExternalIds().contains(junit));
+        assertEquals(Collections.singleton(transitive), graph.getChildrenExternalIdsForParent(library));
+
+        final SbtDependencyModule otherModule = modules.get(1);
+        assertEquals("other", otherModule.name);
+        assertEquals(Collections.singleton(library), otherModule.graph.getRootDependencyExternalIds());
+    }
+
+    private SbtModule module(final String organisation, final String name, final String revision, final SbtCaller caller) {
+        return new SbtModule(organisation, name, Collections.singletonList(new SbtRevision(revision, Collections.singletonList(caller))));
+    }
+
+    private SbtCaller caller(final String organisation, final String name, final String revision) {
+        return new SbtCaller(organisation, name, revision);
+    }
+}
@@ -0,0 +1,116 @@
+package com.blackducksoftware.integration.hub.detect.detector.sbt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Test;
+
+public class SbtReportParserTest {
+    @Test
+    public void testParseReportKeepsEveryRevisionAndCaller() throws Exception {
+        final SbtReport report = new SbtReportParser().parseReport(new File("src/test/resources/sbt/example-compile.xml"));
+
+        assertEquals("com.example", report.getOrganisation());
+        assertEquals("example_2.12", report.getModule());
+        assertEquals("1.0.0", report.getRevision());
+        assertEquals("compile", report.getConfiguration());
+        assertEquals(3, report.getDependencies().size());
+
+        final SbtModule scalaLibrary = report.getDependencies().get(0);
+        assertEquals("org.scala-lang", scalaLibrary.getOrganisation());
+        assertEquals("scala-library", scalaLibrary.getName());
+        assertEquals(2, scalaLibrary.getRevisions().size());
+
+        final SbtRevision selected = scalaLibrary.getRevisions().get(0);
+        assertEquals("2.12.6", selected.getName());
+        assertEquals(2, selected.getCallers().size());
+        assertCaller(selected.getCallers().get(0), "com.example", "example_2.12", "1.0.0");
+        assertCaller(selected.getCallers().get(1), "com.typesafe.akka", "akka-actor_2.12", "2.5.17");
+
+        final SbtRevision evicted = scalaLibrary.getRevisions().get(1);
+        assertEquals("2.12.4", evicted.getName());
+        assertEquals(1, evicted.getCallers().size());
+        assertCaller(evicted.getCallers().get(0), "com.typesafe", "config", "1.3.3");
+
+        final SbtModule akka = report.getDependencies().get(1);
+        assertEquals("akka-actor_2.12", akka.getName());
+        assertEquals(1, akka.getRevisions().size());
+        assertCaller(akka.getRevisions().get(0).getCallers().get(0), "com.example", "example_2.12", "1.0.0");
+
+        final SbtModule config = report.getDependencies().get(2);
+        assertEquals("config", config.getName());
+        assertEquals("1.3.3", config.getRevisions().get(0).getName());
+        assertCaller(config.getRevisions().get(0).getCallers().get(0), "com.typesafe.akka", "akka-actor_2.12", "2.5.17");
+    }
+
+    @Test
+    public void testMissingCallerAttributeFails() {
+        final String xml = "<ivy-report version=\"1.0\">"
+                               + "<info organisation=\"com.example\" module=\"example\" revision=\"1.0.0\" conf=\"compile\"/>"
+                               + "<dependencies><module organisation=\"org.example\" name=\"library\"><revision name=\"2.0.0\">"
+                               + "<caller organisation=\"com.example\" name=\"example\"/>"
+                               + "</revision></module></dependencies>"
+                               + "</ivy-report>";
+
+        assertParseFails(xml, "callerrev");
+    }
+
+    @Test
+    public void testMissingInfoAttributeFails() {
+        final String xml = "<ivy-report version=\"1.0\">"
+                               + "<info organisation=\"com.example\" revision=\"1.0.0\" conf=\"compile\"/>"
+                               + "<dependencies/>"
+                               + "</ivy-report>";
+
+        assertParseFails(xml, "module");
+    }
+
+    @Test
+    public void testMissingInfoFails() {
+        final String xml = "<ivy-report version=\"1.0\">"
+                               + "<dependencies><module organisation=\"org.example\" name=\"library\"/></dependencies>"
+                               + "</ivy-report>";
+
+        assertParseFails(xml, "info");
+    }
+
+    @Test
+    public void testReportWithoutDependencies() throws Exception {
+        final String xml = "<ivy-report version=\"1.0\">"
+                               + "<info organisation=\"com.example\" module=\"example\" revision=\"1.0.0\" conf=\"test\"/>"
+                               + "<dependencies/>"
+                               + "</ivy-report>";
+
+        final SbtReport report = new SbtReportParser().parseReport(toStream(xml));
+
+        assertEquals("test", report.getConfiguration());
+        assertTrue(report.getDependencies().isEmpty());
+    }
+
+    private void assertParseFails(final String xml, final String expectedInMessage) {
+        try {
+            new SbtReportParser().parseReport(toStream(xml));
+            fail("Expected the report to be rejected.");
+        } catch (final XMLStreamException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(expectedInMessage));
+        }
+    }
+
+    private void assertCaller(final SbtCaller caller, final String organisation, final String name, final String revision) {
+        assertEquals(organisation, caller.getOrganisation());
+        assertEquals(name, caller.getName());
+        assertEquals(revision, caller.getRevision());
+    }
+
+    private InputStream toStream(final String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
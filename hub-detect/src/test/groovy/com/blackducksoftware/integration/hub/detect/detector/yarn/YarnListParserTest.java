@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -40,6 +41,19 @@ public class YarnListParserTest {
         DependencyGraphResourceTestUtil.assertGraph("/yarn/list_expected_graph.json", dependencyGraph);
     }
 
+    @Test
+    public void parseYarnListOneLineAtATime() {
+        final YarnListParser yarnListParser = new YarnListParser(new ExternalIdFactory(), new YarnLockParser());
+        final List<String> yarnList = Arrays.asList(testUtil.getResourceAsUTF8String("/yarn/yarn.list.txt").split(System.lineSeparator()));
+
+        final YarnListParser.YarnListParse yarnListParse = yarnListParser.startParsing(Collections.emptyMap());
+        for (final String line : yarnList) {
+            yarnListParse.parseLine(line);
+        }
+
+        DependencyGraphResourceTestUtil.assertGraph(yarnListParser.parseYarnList(Collections.emptyMap(), yarnList), yarnListParse.finishParsing());
+    }
+
     @Test
     public void parseYarnListWithResolvableVersions() {
         final List<String> designedYarnLock = new ArrayList<>();
@@ -211,6 +225,31 @@ public class YarnListParserTest {
         assertListContainsDependency("ms", "0.7.2", grandchildDependencies);
     }
 
+    @Test
+    public void testThatScopedPackageNamesKeepTheirScope() {
+        final List<String> designedYarnLock = new ArrayList<>();
+        designedYarnLock.add("\"@babel/code-frame@^7.0.0\", \"@babel/code-frame@^7.0.0-beta.35\":");
+        designedYarnLock.add("  version \"7.0.0\"");
+        designedYarnLock.add("");
+
+        final List<String> testLines = new ArrayList<>();
+        testLines.add("yarn list v1.9.4");
+        testLines.add("├─ @babel/code-frame@^7.0.0");
+        testLines.add("│  └─ @babel/highlight@7.0.0");
+
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        final YarnLockParser yarnLockParser = new YarnLockParser();
+        final YarnListParser yarnListParser = new YarnListParser(externalIdFactory, yarnLockParser);
+        final DependencyGraph dependencyGraph = yarnListParser.parseYarnList(designedYarnLock, testLines);
+
+        final List<ExternalId> rootDependencies = new ArrayList<>(dependencyGraph.getRootDependencyExternalIds());
+        assertEquals(1, rootDependencies.size());
+        assertListContainsDependency("@babel/code-frame", "7.0.0", rootDependencies);
+
+        final List<ExternalId> childDependencies = new ArrayList<>(dependencyGraph.getChildrenExternalIdsForParent(rootDependencies.get(0)));
+        assertListContainsDependency("@babel/highlight", "7.0.0", childDependencies);
+    }
+
     private void assertListContainsDependency(final String name, final String version, final List<ExternalId> list) {
         System.out.println(name);
         assertTrue(list.stream().anyMatch(externalId -> name.equals(externalId.name) && version.equals(externalId.version)));
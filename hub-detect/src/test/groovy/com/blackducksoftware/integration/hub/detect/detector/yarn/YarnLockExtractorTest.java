@@ -0,0 +1,94 @@
+package com.blackducksoftware.integration.hub.detect.detector.yarn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphResourceTestUtil;
+import com.blackducksoftware.integration.hub.detect.testutils.TestUtil;
+import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+public class YarnLockExtractorTest {
+    private final TestUtil testUtil = new TestUtil();
+    private final List<String> yarnLock = Arrays.asList(testUtil.getResourceAsUTF8String("/yarn/yarn.lock").split(System.lineSeparator()));
+    private final List<String> yarnList = Arrays.asList(testUtil.getResourceAsUTF8String("/yarn/yarn.list.txt").split(System.lineSeparator()));
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testYarnListIsParsedAsItIsStreamed() throws Exception {
+        final List<String> command = new ArrayList<>();
+        final Extraction extraction = extract(false, 0, command);
+
+        assertEquals(Extraction.ExtractionResultType.SUCCESS, extraction.result);
+        assertEquals(1, extraction.codeLocations.size());
+        final YarnListParser yarnListParser = new YarnListParser(new ExternalIdFactory(), new YarnLockParser());
+        DependencyGraphResourceTestUtil.assertGraph(yarnListParser.parseYarnList(yarnLock, yarnList), extraction.codeLocations.get(0).getDependencyGraph());
+        assertEquals(Arrays.asList("yarn", "list", "--emoji", "false"), command);
+    }
+
+    @Test
+    public void testProductionOnly() throws Exception {
+        final List<String> command = new ArrayList<>();
+        extract(true, 0, command);
+
+        assertTrue(command.contains("--prod"));
+    }
+
+    @Test
+    public void testNonZeroExitCodeFails() throws Exception {
+        final Extraction extraction = extract(false, 1, new ArrayList<>());
+
+        assertEquals(Extraction.ExtractionResultType.FAILURE, extraction.result);
+        assertFalse(extraction.description.isEmpty());
+    }
+
+    private Extraction extract(final boolean productionOnly, final int returnCode, final List<String> command) throws IOException, ExecutableRunnerException {
+        final File directory = temporaryFolder.newFolder();
+        final File yarnLockFile = new File(directory, "yarn.lock");
+        Files.write(yarnLockFile.toPath(), yarnLock, StandardCharsets.UTF_8);
+
+        final DetectConfiguration detectConfiguration = Mockito.mock(DetectConfiguration.class);
+        Mockito.when(detectConfiguration.getBooleanProperty(Mockito.any(DetectProperty.class), Mockito.any(PropertyAuthority.class))).thenAnswer(invocation -> {
+            return invocation.getArguments()[0] == DetectProperty.DETECT_YARN_PROD_ONLY && productionOnly;
+        });
+
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeStreaming(Mockito.any(Executable.class), Mockito.any())).thenAnswer(invocation -> {
+            final Executable executable = (Executable) invocation.getArguments()[0];
+            command.addAll(executable.createProcessBuilder().command());
+            @SuppressWarnings("unchecked")
+            final Consumer<String> standardOutputConsumer = (Consumer<String>) invocation.getArguments()[1];
+            yarnList.forEach(standardOutputConsumer);
+            return new ExecutableOutput(returnCode, "", "");
+        });
+
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        final YarnLockParser yarnLockParser = new YarnLockParser();
+        final YarnLockExtractor yarnLockExtractor = new YarnLockExtractor(externalIdFactory, yarnLockParser, new YarnListParser(externalIdFactory, yarnLockParser), executableRunner, detectConfiguration);
+        return yarnLockExtractor.extract(directory, yarnLockFile, "yarn");
+    }
+}
@@ -0,0 +1,104 @@
+package com.blackducksoftware.integration.hub.detect.tool.signaturescanner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScanTargetSplitterTest {
+    private static final String[] EXCLUSION_NAME_PATTERNS = new String[] { "node_modules" };
+    private static final String[] PROVIDED_EXCLUSION_PATTERNS = new String[] { "/docs/api/" };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testTargetsAreNotSplitWhenTurnedOff() throws IOException {
+        final File root = createTree();
+        final File other = temporaryFolder.newFolder("other");
+
+        final Map<String, Set<String>> targetExclusions = new ScanTargetSplitter(0, EXCLUSION_NAME_PATTERNS, PROVIDED_EXCLUSION_PATTERNS).splitScanPaths(Arrays.asList(root.getPath(), other.getPath()));
+
+        final Map<String, Set<String>> expected = new HashMap<>();
+        expected.put(root.getPath(), exclusions("/docs/api/"));
+        expected.put(other.getPath(), exclusions("/docs/api/"));
+        assertEquals(expected, targetExclusions);
+        assertEquals(Arrays.asList(root.getPath(), other.getPath()), Arrays.asList(targetExclusions.keySet().toArray()));
+    }
+
+    @Test
+    public void testTargetsWithTooManyFilesAreSplitIntoSubdirectories() throws IOException {
+        final File root = createTree();
+
+        final Map<String, Set<String>> targetExclusions = new ScanTargetSplitter(3, EXCLUSION_NAME_PATTERNS, PROVIDED_EXCLUSION_PATTERNS).splitScanPaths(Arrays.asList(root.getPath()));
+
+        final Map<String, Set<String>> expected = new HashMap<>();
+        // node_modules matches an exclusion name pattern and the provided exclusion reaches into docs, so both stay with the root
+        expected.put(root.getPath(), exclusions("/docs/api/", "/app/", "/lib/"));
+        expected.put(new File(root, "app").getPath(), exclusions("/deep/"));
+        expected.put(new File(root, "app/deep").getPath(), exclusions());
+        expected.put(new File(root, "lib").getPath(), exclusions());
+        assertEquals(expected, targetExclusions);
+        assertEquals(root.getPath(), targetExclusions.keySet().iterator().next());
+    }
+
+    @Test
+    public void testSmallTargetsAndFilesAreNotSplit() throws IOException {
+        final File root = createTree();
+        final File file = new File(root, "top.txt");
+
+        final Map<String, Set<String>> targetExclusions = new ScanTargetSplitter(100, EXCLUSION_NAME_PATTERNS, null).splitScanPaths(Arrays.asList(root.getPath(), file.getPath()));
+
+        final Map<String, Set<String>> expected = new HashMap<>();
+        expected.put(root.getPath(), exclusions());
+        expected.put(file.getPath(), exclusions());
+        assertEquals(expected, targetExclusions);
+    }
+
+    @Test
+    public void testSubdirectoriesThatAreAlreadyTargetsAreNotSplitAgain() throws IOException {
+        final File root = createTree();
+        final File app = new File(root, "app");
+
+        final Map<String, Set<String>> targetExclusions = new ScanTargetSplitter(3, EXCLUSION_NAME_PATTERNS, null).splitScanPaths(Arrays.asList(app.getPath(), root.getPath()));
+
+        final Map<String, Set<String>> expected = new HashMap<>();
+        expected.put(app.getPath(), exclusions("/deep/"));
+        expected.put(new File(root, "app/deep").getPath(), exclusions());
+        expected.put(root.getPath(), exclusions("/lib/", "/docs/"));
+        expected.put(new File(root, "lib").getPath(), exclusions());
+        expected.put(new File(root, "docs").getPath(), exclusions());
+        assertEquals(expected, targetExclusions);
+    }
+
+    private File createTree() throws IOException {
+        final File root = temporaryFolder.newFolder("root");
+        createFiles(root, "top.txt");
+        createFiles(root, "app/a1.txt", "app/a2.txt", "app/a3.txt", "app/a4.txt", "app/deep/d1.txt", "app/deep/d2.txt");
+        createFiles(root, "lib/b1.txt");
+        createFiles(root, "node_modules/n1.js", "node_modules/n2.js", "node_modules/n3.js", "node_modules/n4.js");
+        createFiles(root, "docs/api/x1.html", "docs/api/x2.html");
+        return root;
+    }
+
+    private void createFiles(final File root, final String... paths) throws IOException {
+        for (final String path : paths) {
+            final File file = new File(root, path);
+            file.getParentFile().mkdirs();
+            file.createNewFile();
+        }
+    }
+
+    private Set<String> exclusions(final String... exclusions) {
+        return new HashSet<>(Arrays.asList(exclusions));
+    }
+}
@@ -0,0 +1,154 @@
+package com.blackducksoftware.integration.hub.detect.tool.signaturescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.blackduck.signaturescanner.ScanJob;
+import com.synopsys.integration.blackduck.signaturescanner.ScanJobManager;
+import com.synopsys.integration.blackduck.signaturescanner.ScanJobOutput;
+import com.synopsys.integration.blackduck.signaturescanner.command.ScanCommandOutput;
+import com.synopsys.integration.exception.IntegrationException;
+
+public class SignatureScanSchedulerTest {
+    private final Map<ScanJob, String> scanJobTargets = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Function<SignatureScanPath, ScanJob> scanJobCreator = signatureScanPath -> {
+        final ScanJob scanJob = Mockito.mock(ScanJob.class);
+        scanJobTargets.put(scanJob, signatureScanPath.targetPath);
+        return scanJob;
+    };
+
+    @Test
+    public void testConcurrentScansAreLimitedByProcessors() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final SignatureScanScheduler signatureScanScheduler = new SignatureScanScheduler(processors + 4, 1024);
+        assertTrue(signatureScanScheduler.getConcurrentScans() >= 1);
+        assertTrue(signatureScanScheduler.getConcurrentScans() <= processors);
+
+        assertEquals(1, new SignatureScanScheduler(0, 1024).getConcurrentScans());
+        assertEquals(1, new SignatureScanScheduler(1, 0).getConcurrentScans());
+    }
+
+    @Test
+    public void testNoTargets() throws Exception {
+        final ScanJobManager scanJobManager = Mockito.mock(ScanJobManager.class);
+
+        final List<SignatureScanOutput> signatureScanOutputs = new SignatureScanScheduler(4, 1024).scan(Collections.emptyList(), scanJobManager, scanJobCreator);
+
+        assertTrue(signatureScanOutputs.isEmpty());
+        Mockito.verifyZeroInteractions(scanJobManager);
+    }
+
+    @Test
+    public void testEveryTargetIsScannedAndReportedInOrder() throws Exception {
+        final ScanJobManager scanJobManager = Mockito.mock(ScanJobManager.class);
+        Mockito.when(scanJobManager.executeScans(Mockito.any())).thenAnswer(invocation -> scanOutput(targetOf(invocation.getArguments()[0])));
+        final List<SignatureScanPath> signatureScanPaths = scanPaths("first", "second", "third", "fourth", "fifth");
+
+        final List<SignatureScanOutput> signatureScanOutputs = new SignatureScanScheduler(4, 1024).scan(signatureScanPaths, scanJobManager, scanJobCreator);
+
+        assertEquals(signatureScanPaths.size(), signatureScanOutputs.size());
+        for (int i = 0; i < signatureScanPaths.size(); i++) {
+            final SignatureScanOutput signatureScanOutput = signatureScanOutputs.get(i);
+            assertEquals(signatureScanPaths.get(i), signatureScanOutput.getSignatureScanPath());
+            assertEquals(1, signatureScanOutput.getScanCommandOutputs().size());
+            assertEquals(signatureScanPaths.get(i).targetPath, signatureScanOutput.getScanCommandOutputs().get(0).getScanTarget());
+        }
+        Mockito.verify(scanJobManager, Mockito.times(signatureScanPaths.size())).executeScans(Mockito.any());
+    }
+
+    @Test
+    public void testFirstTargetRunsAloneAndScansStayWithinTheLimit() throws Exception {
+        final SignatureScanScheduler signatureScanScheduler = new SignatureScanScheduler(4, 1024);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger mostRunning = new AtomicInteger();
+        final AtomicBoolean firstFinished = new AtomicBoolean(false);
+        final AtomicBoolean startedBeforeFirstFinished = new AtomicBoolean(false);
+        final ScanJobManager scanJobManager = Mockito.mock(ScanJobManager.class);
+        Mockito.when(scanJobManager.executeScans(Mockito.any())).thenAnswer(invocation -> {
+            final String target = targetOf(invocation.getArguments()[0]);
+            if (!"first".equals(target) && !firstFinished.get()) {
+                startedBeforeFirstFinished.set(true);
+            }
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            if ("first".equals(target)) {
+                firstFinished.set(true);
+            }
+            return scanOutput(target);
+        });
+
+        signatureScanScheduler.scan(scanPaths("first", "second", "third", "fourth", "fifth", "sixth"), scanJobManager, scanJobCreator);
+
+        assertFalse(startedBeforeFirstFinished.get());
+        assertTrue(mostRunning.get() <= signatureScanScheduler.getConcurrentScans());
+    }
+
+    @Test
+    public void testFailedTargetsDoNotStopTheOtherTargets() throws Exception {
+        final Set<String> scannedTargets = ConcurrentHashMap.newKeySet();
+        final ScanJobManager scanJobManager = Mockito.mock(ScanJobManager.class);
+        Mockito.when(scanJobManager.executeScans(Mockito.any())).thenAnswer(invocation -> {
+            final String target = targetOf(invocation.getArguments()[0]);
+            scannedTargets.add(target);
+            if (target.startsWith("integration-failure")) {
+                throw new IntegrationException("The scanner could not be installed.");
+            } else if (target.startsWith("io-failure")) {
+                throw new IOException("The scan output could not be written.");
+            }
+            return scanOutput(target);
+        });
+        final List<SignatureScanPath> signatureScanPaths = scanPaths("integration-failure-first", "second", "io-failure-third", "fourth", "integration-failure-fifth");
+
+        final List<SignatureScanOutput> signatureScanOutputs = new SignatureScanScheduler(4, 1024).scan(signatureScanPaths, scanJobManager, scanJobCreator);
+
+        assertEquals(signatureScanPaths.size(), scannedTargets.size());
+        assertEquals(signatureScanPaths.size(), signatureScanOutputs.size());
+        for (int i = 0; i < signatureScanPaths.size(); i++) {
+            final SignatureScanOutput signatureScanOutput = signatureScanOutputs.get(i);
+            final boolean failed = signatureScanPaths.get(i).targetPath.contains("failure");
+            assertEquals(signatureScanPaths.get(i), signatureScanOutput.getSignatureScanPath());
+            assertEquals(failed, signatureScanOutput.getScanCommandOutputs().isEmpty());
+            assertFalse(signatureScanOutput.getScanTargetSize().isPresent() && failed);
+        }
+    }
+
+    private String targetOf(final Object scanJob) {
+        return scanJobTargets.get(scanJob);
+    }
+
+    private ScanJobOutput scanOutput(final String target) {
+        final ScanCommandOutput scanCommandOutput = Mockito.mock(ScanCommandOutput.class);
+        Mockito.when(scanCommandOutput.getScanTarget()).thenReturn(target);
+        final ScanJobOutput scanJobOutput = Mockito.mock(ScanJobOutput.class);
+        Mockito.when(scanJobOutput.getScanCommandOutputs()).thenReturn(Arrays.asList(scanCommandOutput));
+        return scanJobOutput;
+    }
+
+    private List<SignatureScanPath> scanPaths(final String... targetPaths) {
+        final List<SignatureScanPath> signatureScanPaths = new ArrayList<>();
+        for (final String targetPath : targetPaths) {
+            final SignatureScanPath signatureScanPath = new SignatureScanPath();
+            signatureScanPath.targetPath = targetPath;
+            signatureScanPaths.add(signatureScanPath);
+        }
+        return signatureScanPaths;
+    }
+}
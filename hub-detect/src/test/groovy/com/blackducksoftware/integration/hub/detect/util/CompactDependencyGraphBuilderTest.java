@@ -0,0 +1,69 @@
+package com.blackducksoftware.integration.hub.detect.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.model.Forge;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+public class CompactDependencyGraphBuilderTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void testNodesAreInterned() {
+        final CompactDependencyGraphBuilder builder = new CompactDependencyGraphBuilder(externalIdFactory);
+
+        final int first = builder.addNameVersionNode(Forge.NPM, "left-pad", "1.0.0");
+        final int second = builder.addNameVersionNode(Forge.NPM, new String("left-pad"), new String("1.0.0"));
+        final int otherForge = builder.addNameVersionNode(Forge.NUGET, "left-pad", "1.0.0");
+        final int maven = builder.addMavenNode("org.example", "left-pad", "1.0.0");
+
+        assertEquals(first, second);
+        assertEquals(1, otherForge);
+        assertEquals(2, maven);
+        assertEquals(3, builder.getNodeCount());
+    }
+
+    @Test
+    public void testBuildMatchesAddedEdges() {
+        final CompactDependencyGraphBuilder builder = new CompactDependencyGraphBuilder(externalIdFactory);
+        final int parent = builder.addMavenNode("org.example", "parent", "1.0");
+        builder.addChildToRoot(parent);
+        builder.addChildToRoot(parent);
+        for (int i = 0; i < 100; i++) {
+            final int child = builder.addMavenNode("org.example", "child-" + i, "1.0");
+            builder.addParentWithChild(parent, child);
+            builder.addParentWithChild(parent, child);
+        }
+
+        final DependencyGraph graph = builder.build();
+
+        assertEquals(1, graph.getRootDependencies().size());
+        final Dependency root = graph.getRootDependencies().iterator().next();
+        final ExternalId expectedRootId = externalIdFactory.createMavenExternalId("org.example", "parent", "1.0");
+        assertEquals(expectedRootId, root.externalId);
+        assertEquals("parent", root.name);
+        assertEquals(100, graph.getChildrenForParent(root).size());
+    }
+
+    @Test
+    public void testLargeChildListsStayFreeOfDuplicates() {
+        final CompactDependencyGraphBuilder builder = new CompactDependencyGraphBuilder(externalIdFactory);
+        final int parent = builder.addMavenNode("org.example", "parent", "1.0");
+        final int[] children = new int[500];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = builder.addMavenNode("org.example", "child-" + i, "1.0");
+        }
+        for (int pass = 0; pass < 10; pass++) {
+            for (final int child : children) {
+                builder.addParentWithChild(parent, child);
+            }
+        }
+
+        assertEquals(children.length, builder.getChildCount(parent));
+    }
+}
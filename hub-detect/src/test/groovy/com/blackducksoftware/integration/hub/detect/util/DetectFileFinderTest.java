@@ -6,10 +6,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
 
 import org.junit.Test;
 
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
 
 public class DetectFileFinderTest {
 
@@ -32,6 +35,17 @@ public class DetectFileFinderTest {
         assertFalse(finder.isFileUnderDir(targetDir, new File("src/test/groovy")));
     }
 
+    @Test
+    public void testFindFilesInDirectoryListing() throws IOException {
+        final DetectFileFinder finder = new DetectFileFinder();
+        File targetDir = new File("src/test/resources/fileFinder");
+        DirectoryListing directoryListing = DirectoryListing.read(targetDir);
+        assertEquals(2, directoryListing.getSubDirectories().size());
+        assertEquals(finder.findFiles(targetDir, "*.txt"), finder.findFiles(directoryListing, "*.txt"));
+        assertEquals(new File(targetDir, "test0.txt"), finder.findFile(directoryListing, "test0.txt"));
+        assertEquals(null, finder.findFile(directoryListing, "test1.txt"));
+    }
+
     @Test
     public void testFindAllFilesToMaxDepth() {
         final DetectFileFinder finder = new DetectFileFinder();
@@ -54,4 +68,13 @@ public class DetectFileFinderTest {
         List<File> filesFound = finder.findAllFilesToDepth(targetDir, new StringBuilder("Maximum search depth hit during test"), 2,"*.txt");
         assertEquals(1, filesFound.size());
     }
+
+    @Test
+    public void testFindAllFilesToDepthSkipsExcludedDirectories() {
+        final DetectFileFinder finder = new DetectFileFinder();
+        File targetDir = new File("src/test/resources/fileFinder");
+        assertEquals(1, finder.findAllFilesToDepth(targetDir, 2, Collections.emptySet(), "*.txt").size());
+        assertEquals(4, finder.findAllFilesToDepth(targetDir, 3, Collections.emptySet(), "*.txt").size());
+        assertEquals(2, finder.findAllFilesToDepth(targetDir, 3, Collections.singleton("sub1"), "*.txt").size());
+    }
 }
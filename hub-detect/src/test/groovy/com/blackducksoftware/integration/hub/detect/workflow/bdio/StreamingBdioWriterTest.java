@@ -0,0 +1,102 @@
+package com.blackducksoftware.integration.hub.detect.workflow.bdio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.hub.bdio.BdioNodeFactory;
+import com.synopsys.integration.hub.bdio.BdioPropertyHelper;
+import com.synopsys.integration.hub.bdio.BdioReader;
+import com.synopsys.integration.hub.bdio.SimpleBdioFactory;
+import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.hub.bdio.model.SimpleBdioDocument;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+public class StreamingBdioWriterTest {
+    private static final int MODULES = 20;
+    private static final int DEPENDENCIES_PER_MODULE = 10;
+    private static final int SHARED_DEPENDENCIES = 200;
+
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+    private File outputDirectory;
+
+    @Before
+    public void setup() throws IOException {
+        outputDirectory = Files.createTempDirectory("streaming-bdio").toFile();
+    }
+
+    @After
+    public void cleanup() {
+        FileUtils.deleteQuietly(outputDirectory);
+    }
+
+    @Test
+    public void testStreamedDocumentMatchesSimpleBdioDocument() throws IOException {
+        // a monorepo shaped graph: many modules that each pull in a slice of a shared dependency pool
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final Dependency[] shared = new Dependency[SHARED_DEPENDENCIES];
+        for (int i = 0; i < SHARED_DEPENDENCIES; i++) {
+            shared[i] = createDependency("shared", "library-" + i);
+            if (i > 0) {
+                graph.addParentWithChild(shared[i], shared[i / 2]);
+            }
+        }
+        for (int module = 0; module < MODULES; module++) {
+            final Dependency moduleDependency = createDependency("module", "module-" + module);
+            graph.addChildToRoot(moduleDependency);
+            for (int i = 0; i < DEPENDENCIES_PER_MODULE; i++) {
+                graph.addParentWithChild(moduleDependency, shared[(module * 37 + i * 11) % SHARED_DEPENDENCIES]);
+            }
+        }
+        final ExternalId projectExternalId = externalIdFactory.createMavenExternalId("com.example", "monorepo", "1.0");
+
+        final SimpleBdioFactory simpleBdioFactory = new SimpleBdioFactory();
+        final SimpleBdioDocument simpleBdioDocument = simpleBdioFactory.createSimpleBdioDocument("monorepo", "monorepo", "1.0", projectExternalId, graph);
+
+        final BdioPropertyHelper bdioPropertyHelper = new BdioPropertyHelper();
+        final BdioNodeFactory bdioNodeFactory = new BdioNodeFactory(bdioPropertyHelper);
+        final StreamingBdioWriter streamingBdioWriter = new StreamingBdioWriter(bdioNodeFactory, bdioPropertyHelper, new Gson());
+
+        final File streamedFile = new File(outputDirectory, "streamed.jsonld");
+        streamingBdioWriter.writeBdioFile(streamedFile, false, bdioNodeFactory.createBillOfMaterials("monorepo", "monorepo", "1.0"),
+            bdioNodeFactory.createProject("monorepo", "1.0", projectExternalId.createBdioId(), projectExternalId), graph);
+
+        final File compressedFile = new File(outputDirectory, "streamed.jsonld.gz");
+        streamingBdioWriter.writeBdioFile(compressedFile, true, bdioNodeFactory.createBillOfMaterials("monorepo", "monorepo", "1.0"),
+            bdioNodeFactory.createProject("monorepo", "1.0", projectExternalId.createBdioId(), projectExternalId), graph);
+
+        final SimpleBdioDocument streamedDocument = readDocument(new FileInputStream(streamedFile));
+        final SimpleBdioDocument compressedDocument = readDocument(new GZIPInputStream(new FileInputStream(compressedFile)));
+
+        assertEquals(MODULES + SHARED_DEPENDENCIES, simpleBdioDocument.components.size());
+        assertEquals(simpleBdioDocument.components.size(), streamedDocument.components.size());
+        assertEquals(simpleBdioDocument.components.size(), compressedDocument.components.size());
+        assertEquals(MODULES, streamedDocument.project.relationships.size());
+        assertTrue(compressedFile.length() < streamedFile.length());
+    }
+
+    private Dependency createDependency(final String group, final String name) {
+        return new Dependency(name, "1.0", externalIdFactory.createMavenExternalId(group, name, "1.0"));
+    }
+
+    private SimpleBdioDocument readDocument(final InputStream inputStream) throws IOException {
+        try (BdioReader bdioReader = new BdioReader(new Gson(), inputStream)) {
+            return bdioReader.readSimpleBdioDocument();
+        }
+    }
+}
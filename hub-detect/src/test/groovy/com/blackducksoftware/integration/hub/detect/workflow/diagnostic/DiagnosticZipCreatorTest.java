@@ -0,0 +1,167 @@
+package com.blackducksoftware.integration.hub.detect.workflow.diagnostic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DiagnosticZipCreatorTest {
+    private static final String RUN_ID = "2018-07-16-run";
+    private static final String UTF8_NAME = "scan/\u00fcn\u00efc\u00f8d\u00e9-\u65e5\u672c\u8a9e.txt";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testStoredAndDeflatedEntriesRoundTrip() throws IOException {
+        final File outputDirectory = temporaryFolder.newFolder("output");
+        final File runDirectory = new File(new File(outputDirectory, "logs"), RUN_ID);
+        final byte[] text = repeat("dependency tree line for the diagnostics zip\n", 2000);
+        final byte[] archive = random(8 * 1024, 1);
+        final byte[] noise = random(4 * 1024, 2);
+        writeFile(new File(runDirectory, "log.txt"), text);
+        writeFile(new File(runDirectory, "nested/archive.gz"), archive);
+        writeFile(new File(runDirectory, "noise.bin"), noise);
+        writeFile(new File(runDirectory, "empty.txt"), new byte[0]);
+
+        final File zip = createZip(outputDirectory, Long.MAX_VALUE, new File(outputDirectory, "logs"));
+
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals(4, zipFile.size());
+            assertEntry(zipFile, "logs/log.txt", ZipEntry.DEFLATED, text);
+            assertEntry(zipFile, "logs/nested/archive.gz", ZipEntry.STORED, archive);
+            assertEntry(zipFile, "logs/noise.bin", ZipEntry.STORED, noise);
+            assertEntry(zipFile, "logs/empty.txt", ZipEntry.STORED, new byte[0]);
+            assertTrue(zipFile.getEntry("logs/log.txt").getCompressedSize() < text.length);
+        }
+        assertFalse(hasTemporaryParts(outputDirectory));
+    }
+
+    @Test
+    public void testUtf8EntryNames() throws IOException {
+        final File outputDirectory = temporaryFolder.newFolder("output");
+        assumeTrue("The file system cannot encode UTF-8 file names.", canEncode(new File(outputDirectory, UTF8_NAME)));
+        final byte[] content = "r\u00e9sum\u00e9".getBytes(StandardCharsets.UTF_8);
+        writeFile(new File(outputDirectory, UTF8_NAME), content);
+
+        final File zip = createZip(outputDirectory, Long.MAX_VALUE, new File(outputDirectory, "scan"));
+
+        try (ZipFile zipFile = new ZipFile(zip, StandardCharsets.UTF_8)) {
+            assertEquals(1, zipFile.size());
+            assertEntry(zipFile, UTF8_NAME, ZipEntry.STORED, content);
+        }
+    }
+
+    @Test
+    public void testEntriesPastMaxSizeAreLeftOut() throws IOException {
+        final File outputDirectory = temporaryFolder.newFolder("output");
+        final byte[] small = "small".getBytes(StandardCharsets.UTF_8);
+        final byte[] large = random(64 * 1024, 3);
+        writeFile(new File(outputDirectory, "files/a.txt"), small);
+        writeFile(new File(outputDirectory, "files/b.bin"), large);
+        writeFile(new File(outputDirectory, "files/c.txt"), small);
+
+        final long maxZipSize = 4 * 1024;
+        final File zip = createZip(outputDirectory, maxZipSize, new File(outputDirectory, "files"));
+
+        assertTrue(zip.length() <= maxZipSize);
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals(2, zipFile.size());
+            assertEntry(zipFile, "files/a.txt", ZipEntry.STORED, small);
+            assertEntry(zipFile, "files/c.txt", ZipEntry.STORED, small);
+            assertNull(zipFile.getEntry("files/b.bin"));
+        }
+    }
+
+    @Test
+    public void testEmptyArchive() throws IOException {
+        final File outputDirectory = temporaryFolder.newFolder("output");
+
+        final DiagnosticZipCreator creator = new DiagnosticZipCreator(2, Long.MAX_VALUE);
+        assertTrue(creator.createDiagnosticZip(RUN_ID, outputDirectory, Collections.emptyList()));
+
+        final File zip = new File(outputDirectory, "detect-run-" + RUN_ID + ".zip");
+        assertEquals(22, zip.length());
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals(0, zipFile.size());
+        }
+    }
+
+    private File createZip(final File outputDirectory, final long maxZipSize, final File... compress) {
+        final DiagnosticZipCreator creator = new DiagnosticZipCreator(2, maxZipSize);
+        assertTrue(creator.createDiagnosticZip(RUN_ID, outputDirectory, Arrays.asList(compress)));
+        final File zip = new File(outputDirectory, "detect-run-" + RUN_ID + ".zip");
+        assertTrue(zip.isFile());
+        return zip;
+    }
+
+    private void assertEntry(final ZipFile zipFile, final String name, final int method, final byte[] expected) throws IOException {
+        final ZipEntry entry = zipFile.getEntry(name);
+        assertNotNull("Missing entry " + name, entry);
+        assertEquals(method, entry.getMethod());
+        assertEquals(expected.length, entry.getSize());
+        if (method == ZipEntry.STORED) {
+            assertEquals(expected.length, entry.getCompressedSize());
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(expected);
+        assertEquals(crc.getValue(), entry.getCrc());
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            assertArrayEquals(expected, IOUtils.toByteArray(inputStream));
+        }
+    }
+
+    private boolean hasTemporaryParts(final File outputDirectory) {
+        final File[] files = outputDirectory.listFiles();
+        return files != null && Arrays.stream(files).anyMatch(file -> file.getName().endsWith("-zip"));
+    }
+
+    private boolean canEncode(final File file) {
+        try {
+            file.toPath();
+            return true;
+        } catch (final InvalidPathException e) {
+            return false;
+        }
+    }
+
+    private void writeFile(final File file, final byte[] content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content);
+    }
+
+    private byte[] repeat(final String line, final int times) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(line);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] random(final int size, final long seed) {
+        final byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,129 @@
+package com.blackducksoftware.integration.hub.detect.workflow.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class EventSystemTest {
+    @Test
+    public void testSynchronousListenerRunsOnPublishingThread() {
+        final EventSystem eventSystem = new EventSystem();
+        final List<Thread> threads = new ArrayList<>();
+        eventSystem.registerListener(Event.OutputFileOfInterest, event -> threads.add(Thread.currentThread()));
+
+        eventSystem.publishEvent(Event.OutputFileOfInterest, new File("a"));
+        eventSystem.publishEvent(Event.CustomerFileOfInterest, new File("b"));
+
+        assertEquals(Collections.singletonList(Thread.currentThread()), threads);
+    }
+
+    @Test(timeout = 60000L)
+    public void testAsynchronousListenerSeesEventsInOrder() {
+        final EventSystem eventSystem = new EventSystem();
+        final List<String> delivered = new ArrayList<>();
+        eventSystem.registerAsyncListener(Event.OutputFileOfInterest, event -> delivered.add(event.getName()));
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(String.valueOf(i));
+            eventSystem.publishEvent(Event.OutputFileOfInterest, new File(String.valueOf(i)));
+        }
+        eventSystem.flush();
+
+        assertEquals(expected, delivered);
+        eventSystem.shutdown();
+    }
+
+    @Test(timeout = 60000L)
+    public void testAsynchronousListenerCanPublish() {
+        final EventSystem eventSystem = new EventSystem();
+        final List<File> customerFiles = Collections.synchronizedList(new ArrayList<>());
+        eventSystem.registerAsyncListener(Event.OutputFileOfInterest, event -> eventSystem.publishEvent(Event.CustomerFileOfInterest, event));
+        eventSystem.registerAsyncListener(Event.CustomerFileOfInterest, customerFiles::add);
+
+        for (int i = 0; i < 5000; i++) {
+            eventSystem.publishEvent(Event.OutputFileOfInterest, new File(String.valueOf(i)));
+        }
+        eventSystem.shutdown();
+
+        assertEquals(5000, customerFiles.size());
+    }
+
+    @Test(timeout = 60000L)
+    public void testAsynchronousListenerErrorDoesNotStopDelivery() {
+        final EventSystem eventSystem = new EventSystem();
+        final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        eventSystem.registerAsyncListener(Event.OutputFileOfInterest, event -> {
+            if ("error".equals(event.getName())) {
+                throw new AssertionError("listener failed");
+            }
+            delivered.add(event.getName());
+        });
+
+        eventSystem.publishEvent(Event.OutputFileOfInterest, new File("error"));
+        for (int i = 0; i < 5000; i++) {
+            eventSystem.publishEvent(Event.OutputFileOfInterest, new File(String.valueOf(i)));
+        }
+        eventSystem.flush();
+
+        assertEquals(5000, delivered.size());
+        eventSystem.shutdown();
+    }
+
+    @Test(timeout = 60000L)
+    public void testPublishRacingShutdownDeliversEveryEvent() throws InterruptedException {
+        final EventSystem eventSystem = new EventSystem();
+        final AtomicInteger delivered = new AtomicInteger(0);
+        eventSystem.registerAsyncListener(Event.OutputFileOfInterest, event -> delivered.incrementAndGet());
+
+        final CountDownLatch started = new CountDownLatch(4);
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executorService.submit(() -> {
+                started.countDown();
+                for (int i = 0; i < 5000; i++) {
+                    eventSystem.publishEvent(Event.OutputFileOfInterest, new File(String.valueOf(i)));
+                }
+            });
+        }
+        started.await();
+        eventSystem.shutdown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(20000, delivered.get());
+    }
+
+    @Test(timeout = 60000L)
+    public void testConcurrentPublishAndRegister() throws InterruptedException {
+        final EventSystem eventSystem = new EventSystem();
+        final List<File> delivered = Collections.synchronizedList(new ArrayList<>());
+        eventSystem.registerListener(Event.OutputFileOfInterest, delivered::add);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executorService.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    eventSystem.publishEvent(Event.OutputFileOfInterest, new File(String.valueOf(i)));
+                    eventSystem.registerListener(Event.CustomerFileOfInterest, event -> {
+                    });
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(4000, delivered.size());
+    }
+}
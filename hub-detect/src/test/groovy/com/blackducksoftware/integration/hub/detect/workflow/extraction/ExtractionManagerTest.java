@@ -0,0 +1,140 @@
+package com.blackducksoftware.integration.hub.detect.workflow.extraction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.cache.ExtractionCache;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.RunProfiler;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
+
+public class ExtractionManagerTest {
+    private static final int PARALLEL_PROCESSORS = 4;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(timeout = 60000L)
+    public void testParallelExtractionsKeepTheirOrderAndResults() throws Exception {
+        // every extraction waits until the first batch of workers is running, which only happens when they run side by side
+        final CountDownLatch allWorkersBusy = new CountDownLatch(PARALLEL_PROCESSORS);
+        final List<TestDetector> detectors = new ArrayList<>();
+        final List<DetectorEvaluation> evaluations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final TestDetector detector = new TestDetector(createEnvironment(), "detector-" + i, allWorkersBusy, i == 3);
+            detectors.add(detector);
+            evaluations.add(createExtractableEvaluation(detector));
+        }
+
+        final ExtractionResult result = createExtractionManager(PARALLEL_PROCESSORS).performExtractions(evaluations);
+
+        assertEquals(0, allWorkersBusy.getCount());
+        for (int i = 0; i < evaluations.size(); i++) {
+            final DetectorEvaluation evaluation = evaluations.get(i);
+            assertEquals(DetectorType.NPM + "-" + i, evaluation.getExtractionId().toUniqueString());
+            assertEquals(1, detectors.get(i).parallelProcessors.get());
+            if (i == 3) {
+                assertEquals(ExtractionResultType.EXCEPTION, evaluation.getExtraction().result);
+            } else {
+                assertEquals(ExtractionResultType.SUCCESS, evaluation.getExtraction().result);
+                assertEquals("detector-" + i, evaluation.getExtraction().projectName);
+            }
+        }
+        assertEquals(Collections.singleton(DetectorType.NPM), result.getSuccessfulBomToolTypes());
+        assertEquals(Collections.singleton(DetectorType.NPM), result.getFailedBomToolTypes());
+    }
+
+    @Test(timeout = 60000L)
+    public void testSingleExtractionGetsEveryProcessor() throws Exception {
+        final TestDetector detector = new TestDetector(createEnvironment(), "detector", new CountDownLatch(0), false);
+        final DetectorEvaluation evaluation = createExtractableEvaluation(detector);
+
+        createExtractionManager(PARALLEL_PROCESSORS).performExtractions(Collections.singletonList(evaluation));
+
+        assertEquals(ExtractionResultType.SUCCESS, evaluation.getExtraction().result);
+        assertEquals(PARALLEL_PROCESSORS, detector.parallelProcessors.get());
+    }
+
+    private ExtractionManager createExtractionManager(final int parallelProcessors) throws Exception {
+        final ExtractionOptions extractionOptions = new ExtractionOptions(parallelProcessors, false, 0);
+        final ExtractionCache extractionCache = new ExtractionCache(temporaryFolder.newFolder("cache"), false, 0, "test", null, null);
+        return new ExtractionManager(extractionOptions, extractionCache, new EventSystem(), new RunProfiler());
+    }
+
+    private DetectorEnvironment createEnvironment() {
+        return new DetectorEnvironment(temporaryFolder.getRoot(), Collections.emptySet(), 0, null, false);
+    }
+
+    private DetectorEvaluation createExtractableEvaluation(final TestDetector detector) {
+        final DetectorEvaluation evaluation = new DetectorEvaluation(detector, detector.getEnvironment());
+        evaluation.setSearchable(new PassedDetectorResult());
+        evaluation.setApplicable(new PassedDetectorResult());
+        evaluation.setExtractable(new PassedDetectorResult());
+        return evaluation;
+    }
+
+    private static class TestDetector extends Detector {
+        private final CountDownLatch allWorkersBusy;
+        private final boolean fails;
+        private final AtomicInteger parallelProcessors = new AtomicInteger(-1);
+
+        public TestDetector(final DetectorEnvironment environment, final String name, final CountDownLatch allWorkersBusy, final boolean fails) {
+            super(environment, name, DetectorType.NPM);
+            this.allWorkersBusy = allWorkersBusy;
+            this.fails = fails;
+        }
+
+        public DetectorEnvironment getEnvironment() {
+            return environment;
+        }
+
+        @Override
+        public DetectorResult applicable() {
+            return new PassedDetectorResult();
+        }
+
+        @Override
+        public DetectorResult extractable() {
+            return new PassedDetectorResult();
+        }
+
+        @Override
+        public Extraction extract(final ExtractionId extractionId) {
+            return extract(extractionId, 1);
+        }
+
+        @Override
+        public Extraction extract(final ExtractionId extractionId, final int parallelProcessors) {
+            this.parallelProcessors.set(parallelProcessors);
+            allWorkersBusy.countDown();
+            try {
+                allWorkersBusy.await(30, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fails) {
+                throw new IllegalStateException("The extraction failed.");
+            }
+            return new Extraction.Builder().success().projectName(getName()).build();
+        }
+    }
+}
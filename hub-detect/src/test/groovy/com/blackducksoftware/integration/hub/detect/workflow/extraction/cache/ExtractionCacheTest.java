@@ -0,0 +1,132 @@
+package com.blackducksoftware.integration.hub.detect.workflow.extraction.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.google.gson.Gson;
+import com.synopsys.integration.hub.bdio.graph.DependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+public class ExtractionCacheTest {
+    private File directory;
+    private File lockFile;
+    private Detector detector;
+    private ExtractionCache extractionCache;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("extraction-cache-test").toFile();
+        lockFile = new File(directory, "package-lock.json");
+        FileUtils.writeStringToFile(lockFile, "{ \"lockfileVersion\": 1 }", StandardCharsets.UTF_8);
+
+        detector = mock(Detector.class);
+        when(detector.getDetectorType()).thenReturn(DetectorType.NPM);
+        when(detector.getExtractionCacheInputs()).thenReturn(Collections.singletonList(lockFile));
+
+        extractionCache = new ExtractionCache(new File(directory, "cache"), true, 1024 * 1024, "test", mock(DetectConfiguration.class), new Gson());
+    }
+
+    @After
+    public void cleanup() {
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test
+    public void testStoredExtractionIsFound() {
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        final Dependency parent = new Dependency("parent", "1.0", externalIdFactory.createMavenExternalId("group", "parent", "1.0"));
+        final Dependency child = new Dependency("child", "2.0", externalIdFactory.createMavenExternalId("group", "child", "2.0"));
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        graph.addChildToRoot(parent);
+        graph.addParentWithChild(parent, child);
+        final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.NPM, directory.getAbsolutePath(), externalIdFactory.createMavenExternalId("group", "project", "3.0"), graph).build();
+
+        final String key = extractionCache.createKey(detector, directory).get();
+        assertFalse(extractionCache.findExtraction(key).isPresent());
+        extractionCache.storeExtraction(key, new Extraction.Builder().success(codeLocation).projectName("project").projectVersion("3.0").build());
+
+        final Optional<Extraction> cached = extractionCache.findExtraction(extractionCache.createKey(detector, directory).get());
+        assertTrue(cached.isPresent());
+        assertEquals(ExtractionResultType.SUCCESS, cached.get().result);
+        assertEquals("project", cached.get().projectName);
+        assertEquals("3.0", cached.get().projectVersion);
+
+        final DependencyGraph cachedGraph = cached.get().codeLocations.get(0).getDependencyGraph();
+        assertEquals(1, cachedGraph.getRootDependencies().size());
+        assertEquals(parent.externalId, cachedGraph.getRootDependencies().iterator().next().externalId);
+        assertEquals(child.externalId, cachedGraph.getChildrenForParent(parent).iterator().next().externalId);
+
+        assertEquals(1, extractionCache.getHits());
+        assertEquals(1, extractionCache.getMisses());
+        assertEquals(1, extractionCache.getStored());
+    }
+
+    @Test
+    public void testKeyChangesWithInputContents() throws IOException {
+        final String before = extractionCache.createKey(detector, directory).get();
+        FileUtils.writeStringToFile(lockFile, "{ \"lockfileVersion\": 2 }", StandardCharsets.UTF_8);
+        final String after = extractionCache.createKey(detector, directory).get();
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    public void testKeyChangesWithListedPropertiesOnly() {
+        final DetectConfiguration detectConfiguration = mock(DetectConfiguration.class);
+        final ExtractionCache propertyCache = new ExtractionCache(new File(directory, "cache"), true, 1024 * 1024, "test", detectConfiguration, new Gson());
+        when(detector.getExtractionCacheProperties()).thenReturn(Collections.singletonList(DetectProperty.DETECT_NPM_ARGUMENTS));
+
+        when(detectConfiguration.getPropertyValueAsString(DetectProperty.DETECT_NPM_ARGUMENTS, PropertyAuthority.None)).thenReturn("--depth=0");
+        final String before = propertyCache.createKey(detector, directory).get();
+        when(detectConfiguration.getPropertyValueAsString(DetectProperty.DETECT_NPM_ARGUMENTS, PropertyAuthority.None)).thenReturn("--production");
+        final String after = propertyCache.createKey(detector, directory).get();
+        assertNotEquals(before, after);
+
+        when(detectConfiguration.getPropertyValueAsString(DetectProperty.DETECT_NPM_PATH, PropertyAuthority.None)).thenReturn("/usr/local/bin/npm");
+        assertEquals(after, propertyCache.createKey(detector, directory).get());
+    }
+
+    @Test
+    public void testNoKeyWithoutInputs() {
+        when(detector.getExtractionCacheInputs()).thenReturn(Collections.emptyList());
+
+        assertFalse(extractionCache.createKey(detector, directory).isPresent());
+    }
+
+    @Test
+    public void testOldestEntriesEvicted() {
+        final ExtractionCache smallCache = new ExtractionCache(new File(directory, "small-cache"), true, 1, "test", mock(DetectConfiguration.class), new Gson());
+        smallCache.storeExtraction("first", new Extraction.Builder().success().build());
+
+        assertFalse(smallCache.findExtraction("first").isPresent());
+        assertEquals(1, smallCache.getEvicted());
+    }
+}
@@ -0,0 +1,146 @@
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.blackduck.service.CodeLocationService;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+public class BdioUploadQueueTest {
+    private static final File FIRST = new File("first.jsonld");
+    private static final File SECOND = new File("second.jsonld");
+    private static final File THIRD = new File("third.jsonld");
+
+    @Test
+    public void testUploadsInSubmissionOrder() throws Exception {
+        final CodeLocationService codeLocationService = Mockito.mock(CodeLocationService.class);
+        final List<String> uploaded = Collections.synchronizedList(new ArrayList<>());
+        Mockito.doAnswer(invocation -> {
+            uploaded.add(((File) invocation.getArguments()[0]).getName());
+            return null;
+        }).when(codeLocationService).importBomFile(Mockito.any(File.class));
+
+        final BdioUploadQueue queue = new BdioUploadQueue(codeLocationService, "url", 1, 0, 1);
+        queue.submit(FIRST);
+        queue.submit(SECOND);
+        queue.submit(THIRD);
+        queue.awaitUploads();
+
+        assertEquals(Arrays.asList(FIRST.getName(), SECOND.getName(), THIRD.getName()), uploaded);
+    }
+
+    @Test
+    public void testRetriesServerErrors() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CodeLocationService codeLocationService = failingService(attempts, 2, new IntegrationRestException(503, "Service Unavailable", "unavailable"));
+
+        final BdioUploadQueue queue = new BdioUploadQueue(codeLocationService, "url", 1, 3, 1);
+        queue.submit(FIRST);
+        queue.awaitUploads();
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testRetriesIoErrors() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CodeLocationService codeLocationService = failingService(attempts, 1, new IntegrationException(new IOException("connection reset")));
+
+        final BdioUploadQueue queue = new BdioUploadQueue(codeLocationService, "url", 1, 3, 1);
+        queue.submit(FIRST);
+        queue.awaitUploads();
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testDoesNotRetryClientErrors() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final IntegrationRestException badRequest = new IntegrationRestException(400, "Bad Request", "bad bdio");
+        final CodeLocationService codeLocationService = failingService(attempts, 1, badRequest);
+
+        final BdioUploadQueue queue = new BdioUploadQueue(codeLocationService, "url", 1, 3, 1);
+        queue.submit(FIRST);
+        try {
+            queue.awaitUploads();
+            fail("The client error should have failed the upload.");
+        } catch (final IntegrationException e) {
+            assertEquals(badRequest, e);
+        }
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testGivesUpAfterConfiguredRetries() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CodeLocationService codeLocationService = failingService(attempts, Integer.MAX_VALUE, new IntegrationRestException(502, "Bad Gateway", "bad gateway"));
+
+        final BdioUploadQueue queue = new BdioUploadQueue(codeLocationService, "url", 1, 2, 1);
+        queue.submit(FIRST);
+        try {
+            queue.awaitUploads();
+            fail("The upload should have failed once the retries ran out.");
+        } catch (final IntegrationException e) {
+            assertEquals(3, attempts.get());
+        }
+    }
+
+    @Test
+    public void testCancelStopsRunningAndQueuedUploads() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CodeLocationService codeLocationService = Mockito.mock(CodeLocationService.class);
+        Mockito.doAnswer(invocation -> {
+            attempts.incrementAndGet();
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }).when(codeLocationService).importBomFile(Mockito.any(File.class));
+
+        final BdioUploadQueue queue = new BdioUploadQueue(codeLocationService, "url", 1, 0, 1);
+        queue.submit(FIRST);
+        queue.submit(SECOND);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        queue.cancel();
+
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        try {
+            queue.awaitUploads();
+            fail("Waiting on cancelled uploads should fail rather than block.");
+        } catch (final IntegrationException e) {
+            assertEquals(1, attempts.get());
+        }
+    }
+
+    private CodeLocationService failingService(final AtomicInteger attempts, final int failures, final IntegrationException failure) throws IntegrationException {
+        final CodeLocationService codeLocationService = Mockito.mock(CodeLocationService.class);
+        Mockito.doAnswer(invocation -> {
+            if (attempts.incrementAndGet() <= failures) {
+                throw failure;
+            }
+            return null;
+        }).when(codeLocationService).importBomFile(Mockito.any(File.class));
+        return codeLocationService;
+    }
+}
@@ -0,0 +1,107 @@
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+
+public class ExclusionPatternCreatorTest {
+    private static final String[] EXCLUSION_NAME_PATTERNS = new String[] { "node_modules", "*.tmp", ".git", "build" };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testOverlappingTargetsMatchBaseline() throws IOException {
+        final File root = createTree();
+        final List<File> scanTargets = Arrays.asList(root, new File(root, "app"), new File(root, "app/module"), new File(root, "lib"), new File(root, "lib"));
+
+        for (final int parallelProcessors : new int[] { 1, 4 }) {
+            for (final int maxDepth : new int[] { 1, 2, 3, 100 }) {
+                final Map<File, Set<String>> exclusionPatterns = new ExclusionPatternCreator(parallelProcessors).determineExclusionPatterns(scanTargets, "", maxDepth, EXCLUSION_NAME_PATTERNS);
+                assertEquals(new HashSet<>(scanTargets), exclusionPatterns.keySet());
+                for (final File scanTarget : scanTargets) {
+                    assertEquals(String.format("%s with %d processors to depth %d", scanTarget, parallelProcessors, maxDepth), baseline(scanTarget, maxDepth), exclusionPatterns.get(scanTarget));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMatchedDirectoriesAreNotSearched() throws IOException {
+        final File root = createTree();
+
+        final Set<String> exclusionPatterns = new ExclusionPatternCreator(2).determineExclusionPatterns(Arrays.asList(root), "", 100, EXCLUSION_NAME_PATTERNS).get(root);
+
+        assertTrue(exclusionPatterns.contains("/node_modules/"));
+        assertTrue(exclusionPatterns.contains("/app/module/build/"));
+        assertTrue(exclusionPatterns.contains("/app/module/src/cache.tmp/"));
+        assertFalse(exclusionPatterns.contains("/node_modules/dep/node_modules/"));
+        assertFalse(exclusionPatterns.contains("/app/module/build/out.tmp/"));
+    }
+
+    @Test
+    public void testNoPatternsAndFileTargets() throws IOException {
+        final File root = createTree();
+        final File fileTarget = new File(root, "app/readme.txt");
+        final List<File> scanTargets = Arrays.asList(root, fileTarget);
+
+        final Map<File, Set<String>> withoutPatterns = new ExclusionPatternCreator(2).determineExclusionPatterns(scanTargets, "", 100);
+        assertTrue(withoutPatterns.get(root).isEmpty());
+        assertTrue(withoutPatterns.get(fileTarget).isEmpty());
+
+        final Map<File, Set<String>> withPatterns = new ExclusionPatternCreator(2).determineExclusionPatterns(scanTargets, "", 100, EXCLUSION_NAME_PATTERNS);
+        assertFalse(withPatterns.get(root).isEmpty());
+        assertTrue(withPatterns.get(fileTarget).isEmpty());
+    }
+
+    // The walk ExclusionPatternCreator did for each target before it searched every target at once.
+    private Set<String> baseline(final File scanTarget, final int maxDepth) throws IOException {
+        final Set<String> scanExclusionPatterns = new HashSet<>();
+        final String scanTargetPath = scanTarget.getCanonicalPath();
+        for (final File matchingFile : new DetectFileFinder().findAllFilesToDepth(scanTarget, new StringBuilder(""), maxDepth, EXCLUSION_NAME_PATTERNS)) {
+            String scanExclusionPattern = matchingFile.getCanonicalPath().replace(scanTargetPath, "/").replace("\\", "/").replace("//", "/");
+            if (!scanExclusionPattern.endsWith("/")) {
+                scanExclusionPattern = scanExclusionPattern + "/";
+            }
+            scanExclusionPatterns.add(scanExclusionPattern);
+        }
+        return scanExclusionPatterns;
+    }
+
+    private File createTree() throws IOException {
+        final File root = temporaryFolder.newFolder("root");
+        createFile(root, "package.json");
+        createFile(root, "node_modules/dep/index.js");
+        createFile(root, "node_modules/dep/node_modules/inner/index.js");
+        createFile(root, ".git/HEAD");
+        createFile(root, "app/readme.txt");
+        createFile(root, "app/session.tmp");
+        createFile(root, "app/module/pom.xml");
+        createFile(root, "app/module/build/out.tmp");
+        createFile(root, "app/module/src/cache.tmp/entry");
+        createFile(root, "app/module/src/main/deep/node_modules/dep/index.js");
+        createFile(root, "lib/a/b/c/d/build/output.jar");
+        createFile(root, "lib/a/b/c/d/e/f/scratch.tmp");
+        return root;
+    }
+
+    private void createFile(final File root, final String path) throws IOException {
+        final File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+    }
+}
@@ -0,0 +1,144 @@
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.blackduck.api.view.ScanSummaryView;
+import com.synopsys.integration.blackduck.exception.HubTimeoutExceededException;
+import com.synopsys.integration.blackduck.service.HubService;
+import com.synopsys.integration.exception.IntegrationException;
+
+public class ScanStatusPollerTest {
+    private static final long TIMEOUT = 5000;
+    private static final long POLL_DELAY = 5;
+
+    private ExecutorService executorService;
+    private HubService hubService;
+    private final Deque<String> refreshedStatuses = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger refreshCount = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IntegrationException {
+        executorService = Executors.newFixedThreadPool(2);
+        hubService = Mockito.mock(HubService.class);
+        Mockito.when(hubService.getHref(Mockito.any())).thenReturn("https://blackduck/api/scan-summaries/1");
+        Mockito.when(hubService.getResponse(Mockito.anyString(), Mockito.eq(ScanSummaryView.class))).thenAnswer(invocation -> {
+            refreshCount.incrementAndGet();
+            final String status = refreshedStatuses.size() > 1 ? refreshedStatuses.poll() : refreshedStatuses.peek();
+            return scanSummary(status);
+        });
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testStatusTypes() {
+        assertTrue(ScanStatusType.COMPLETE.isDone());
+        assertFalse(ScanStatusType.COMPLETE.isError());
+        assertTrue(ScanStatusType.CLONED.isDone());
+        assertFalse(ScanStatusType.CLONED.isError());
+        assertTrue(ScanStatusType.CANCELLED.isDone());
+        assertTrue(ScanStatusType.CANCELLED.isError());
+        assertTrue(ScanStatusType.ERROR_BUILDING_BOM.isError());
+        assertFalse(ScanStatusType.BUILDING_BOM.isDone());
+        assertFalse(ScanStatusType.UNSTARTED.isDone());
+        assertFalse(ScanStatusType.UNSTARTED.isError());
+    }
+
+    @Test
+    public void testDoneScansAreNotPolled() throws Exception {
+        createPoller(TIMEOUT).waitForScans(Arrays.asList(scanSummary("COMPLETE"), scanSummary("CLONED")));
+        createPoller(TIMEOUT).waitForScans(Collections.emptyList());
+
+        assertEquals(0, refreshCount.get());
+    }
+
+    @Test
+    public void testOnlyPendingScansAreRefreshedUntilDone() throws Exception {
+        refreshedStatuses.addAll(Arrays.asList("SCANNING", "BUILDING_BOM", "COMPLETE"));
+
+        createPoller(TIMEOUT).waitForScans(Arrays.asList(scanSummary("COMPLETE"), scanSummary("UNSTARTED"), scanSummary("CLONED")));
+
+        assertEquals(3, refreshCount.get());
+    }
+
+    @Test
+    public void testErrorStatusesFailTheWait() throws Exception {
+        for (final String status : Arrays.asList("CANCELLED", "ERROR", "ERROR_SCANNING", "ERROR_SAVING_SCAN_DATA", "ERROR_MATCHING", "ERROR_BUILDING_BOM")) {
+            assertFails(status, scanSummary(status));
+        }
+
+        refreshedStatuses.addAll(Arrays.asList("MATCHING", "ERROR_MATCHING"));
+        assertFails("ERROR_MATCHING", scanSummary("SCANNING"));
+    }
+
+    @Test
+    public void testPendingScansTimeOut() throws Exception {
+        refreshedStatuses.add("BUILDING_BOM");
+
+        try {
+            createPoller(50).waitForScans(Arrays.asList(scanSummary("SCANNING"), scanSummary("COMPLETE")));
+            fail("Expected the wait to time out.");
+        } catch (final HubTimeoutExceededException e) {
+            assertTrue(e.getMessage().contains("1 of them are still pending"));
+        }
+        assertTrue(refreshCount.get() > 0);
+    }
+
+    @Test
+    public void testRefreshFailuresAreRethrown() throws Exception {
+        final IntegrationException failure = new IntegrationException("Black Duck could not be reached.");
+        Mockito.doThrow(failure).when(hubService).getResponse(Mockito.anyString(), Mockito.eq(ScanSummaryView.class));
+
+        try {
+            createPoller(TIMEOUT).waitForScans(Arrays.asList(scanSummary("SCANNING")));
+            fail("Expected the refresh failure.");
+        } catch (final IntegrationException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    private void assertFails(final String expectedStatus, final ScanSummaryView scanSummaryView) throws InterruptedException {
+        try {
+            createPoller(TIMEOUT).waitForScans(Arrays.asList(scanSummaryView));
+            fail("Expected " + expectedStatus + " to fail the wait.");
+        } catch (final HubTimeoutExceededException e) {
+            fail("Expected " + expectedStatus + " to fail the wait before the timeout.");
+        } catch (final IntegrationException e) {
+            assertTrue(e.getMessage().endsWith(expectedStatus));
+        }
+    }
+
+    private ScanStatusPoller createPoller(final long timeout) {
+        return new ScanStatusPoller(hubService, executorService, timeout, POLL_DELAY);
+    }
+
+    // the status is set by name, which is how the poller reads it
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private ScanSummaryView scanSummary(final String status) throws ReflectiveOperationException {
+        final ScanSummaryView scanSummaryView = new ScanSummaryView();
+        final Field statusField = ScanSummaryView.class.getField("status");
+        statusField.set(scanSummaryView, Enum.valueOf((Class<? extends Enum>) statusField.getType(), status));
+        return scanSummaryView;
+    }
+}
@@ -0,0 +1,69 @@
+package com.blackducksoftware.integration.hub.detect.workflow.profiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.workflow.event.DetectorEvent;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+
+public class BomToolProfilerTest {
+    @Test
+    public void testTimingsUseThePublishTimeNotTheDeliveryTime() throws InterruptedException {
+        final EventSystem eventSystem = new EventSystem();
+        // a slow listener ahead of the profiler delays every delivery after it
+        eventSystem.registerAsyncListener(Event.ApplicableStarted, event -> sleep(500));
+        final BomToolProfiler bomToolProfiler = new BomToolProfiler(eventSystem);
+
+        final DetectorEvaluation evaluation = new DetectorEvaluation(new TestDetector(), null);
+        eventSystem.publishEvent(Event.ApplicableStarted, new DetectorEvent(evaluation));
+        Thread.sleep(50);
+        eventSystem.publishEvent(Event.ApplicableEnded, new DetectorEvent(evaluation));
+        eventSystem.flush();
+
+        final List<BomToolTime> timings = bomToolProfiler.getApplicableTimings();
+        assertEquals(1, timings.size());
+        assertTrue(timings.get(0).getMs() >= 50);
+        assertTrue(timings.get(0).getMs() < 500);
+        eventSystem.shutdown();
+    }
+
+    private void sleep(final long milliseconds) {
+        try {
+            Thread.sleep(milliseconds);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class TestDetector extends Detector {
+        TestDetector() {
+            super(null, "Test", DetectorType.NPM);
+        }
+
+        @Override
+        public DetectorResult applicable() {
+            return null;
+        }
+
+        @Override
+        public DetectorResult extractable() {
+            return null;
+        }
+
+        @Override
+        public Extraction extract(final ExtractionId extractionId) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.blackducksoftware.integration.hub.detect.workflow.profiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+public class RunProfilerTest {
+    @Test
+    public void testTimingsAreGroupedByPhaseAndDetail() {
+        final RunProfiler runProfiler = new RunProfiler();
+        runProfiler.record(RunPhase.EXTRACTION, "NPM - Package Lock", 0, 10);
+        runProfiler.record(RunPhase.EXTRACTION, "NPM - Package Lock", 0, 30);
+        runProfiler.record(RunPhase.EXTRACTION, "GRADLE - Gradle Inspector", 0, 20);
+
+        final List<PhaseTiming> timings = runProfiler.getTimings();
+        assertEquals(2, timings.size());
+
+        final PhaseTiming npm = timings.stream().filter(it -> it.getDetail().startsWith("NPM")).findFirst().get();
+        assertEquals(2, npm.getCount());
+        assertEquals(40, npm.getTotalNanos());
+        assertEquals(10, npm.getMinNanos());
+        assertEquals(30, npm.getMaxNanos());
+    }
+
+    @Test
+    public void testTimerOnlyRecordsOnce() {
+        final RunProfiler runProfiler = new RunProfiler();
+        final RunProfiler.PhaseTimer timer = runProfiler.start(RunPhase.SEARCH);
+        timer.close();
+        timer.close();
+
+        final List<PhaseTiming> timings = runProfiler.getTimings();
+        assertEquals(1, timings.size());
+        assertEquals(RunPhase.SEARCH, timings.get(0).getPhase());
+        assertEquals(1, timings.get(0).getCount());
+    }
+
+    @Test(timeout = 60000L)
+    public void testConcurrentTimersAreAllCounted() throws InterruptedException {
+        final RunProfiler runProfiler = new RunProfiler();
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1000; i++) {
+            executorService.submit(() -> runProfiler.start(RunPhase.EXTRACTION, "detector").close());
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        assertEquals(1000, runProfiler.getTimings().get(0).getCount());
+    }
+
+    @Test
+    public void testProfileIsWrittenAsJsonAndCsv() throws IOException {
+        final RunProfiler runProfiler = new RunProfiler();
+        runProfiler.record(RunPhase.REPORT, "notices \"report\"", 0, 2500000);
+
+        final File directory = Files.createTempDirectory("run-profile").toFile();
+        final Gson gson = new Gson();
+        new RunProfileWriter(gson).writeProfile(directory, "run-id", "5.0.0", runProfiler.getTimings());
+
+        final String json = new String(Files.readAllBytes(new File(directory, RunProfileWriter.JSON_FILE_NAME).toPath()), StandardCharsets.UTF_8);
+        final JsonObject profile = gson.fromJson(json, JsonObject.class);
+        assertEquals("run-id", profile.get("runId").getAsString());
+        assertEquals(2.5, profile.getAsJsonArray("phases").get(0).getAsJsonObject().get("totalMs").getAsDouble(), 0.0);
+
+        final List<String> csv = Files.readAllLines(new File(directory, RunProfileWriter.CSV_FILE_NAME).toPath(), StandardCharsets.UTF_8);
+        assertEquals(RunProfileWriter.CSV_HEADER, csv.get(0));
+        assertTrue(csv.get(1).startsWith("report,\"notices \"\"report\"\"\",1,2.500,"));
+    }
+}
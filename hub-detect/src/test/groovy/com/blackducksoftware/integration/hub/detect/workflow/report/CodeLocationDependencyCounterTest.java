@@ -0,0 +1,63 @@
+package com.blackducksoftware.integration.hub.detect.workflow.report;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.synopsys.integration.hub.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.hub.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.hub.bdio.model.Forge;
+import com.synopsys.integration.hub.bdio.model.dependency.Dependency;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+public class CodeLocationDependencyCounterTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void calculateStatisticsTest() {
+        final Dependency a = createDependency("a", "1.0");
+        final Dependency b = createDependency("b", "1.0");
+        final Dependency c1 = createDependency("c", "1.0");
+        final Dependency c2 = createDependency("c", "2.0");
+        final Dependency d = createDependency("d", "1.0");
+
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        graph.addChildrenToRoot(a, b);
+        graph.addParentWithChildren(a, c1, c2, d);
+        graph.addParentWithChild(b, c1);
+        graph.addParentWithChild(c1, d);
+        graph.addParentWithChild(d, a);
+
+        final DependencyGraphStatistics statistics = new CodeLocationDependencyCounter().calculateStatistics(graph);
+
+        assertEquals(5, statistics.getDependencyCount());
+        assertEquals(2, statistics.getRootDependencyCount());
+        assertEquals(6, statistics.getRelationshipCount());
+        assertEquals(2, statistics.getMinDepthToDeepestDependency());
+        assertEquals("0: 1, 1: 3, 2-3: 1", statistics.describeFanOut());
+        assertEquals(1, statistics.getDuplicateVersions().size());
+        assertEquals(Integer.valueOf(2), statistics.getDuplicateVersions().get("c"));
+    }
+
+    @Test
+    public void deepGraphTest() {
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        Dependency parent = createDependency("node", "0");
+        graph.addChildToRoot(parent);
+        for (int i = 1; i < 100000; i++) {
+            final Dependency child = createDependency("node", Integer.toString(i));
+            graph.addParentWithChild(parent, child);
+            parent = child;
+        }
+
+        final DependencyGraphStatistics statistics = new CodeLocationDependencyCounter().calculateStatistics(graph);
+
+        assertEquals(100000, statistics.getDependencyCount());
+        assertEquals(99999, statistics.getRelationshipCount());
+        assertEquals(100000, statistics.getMinDepthToDeepestDependency());
+    }
+
+    private Dependency createDependency(final String name, final String version) {
+        return new Dependency(name, version, externalIdFactory.createNameVersionExternalId(Forge.NPM, name, version));
+    }
+}
@@ -0,0 +1,171 @@
+package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.blackducksoftware.integration.hub.detect.DetectInfo;
+import com.blackducksoftware.integration.hub.detect.DetectorBeanConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.ConnectionManager;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
+import com.blackducksoftware.integration.hub.detect.detector.clang.ClangDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cocoapods.PodlockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.conda.CondaCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cpan.CpanCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cran.PackratLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoVndrDetector;
+import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleInspectorDetector;
+import com.blackducksoftware.integration.hub.detect.detector.hex.RebarDetector;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenPomDetector;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenPomWrapperDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmPackageLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmShrinkwrapDetector;
+import com.blackducksoftware.integration.hub.detect.detector.nuget.NugetProjectDetector;
+import com.blackducksoftware.integration.hub.detect.detector.nuget.NugetSolutionDetector;
+import com.blackducksoftware.integration.hub.detect.detector.packagist.ComposerLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.pear.PearCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.pip.PipInspectorDetector;
+import com.blackducksoftware.integration.hub.detect.detector.pip.PipenvDetector;
+import com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.sbt.SbtResolutionCacheDetector;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockDetector;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.CacheableExecutableFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapManager;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.synopsys.integration.hub.bdio.model.externalid.ExternalIdFactory;
+
+import freemarker.template.Configuration;
+
+/**
+ * The search rules reject a directory before creating a detector when none of the rule's applicable file patterns are present. These tests make sure that pre-filter never rejects
+ * a directory the detector's own applicable() would have accepted.
+ */
+public class DetectorSearchProviderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AnnotationConfigApplicationContext runContext;
+    private DetectorSearchRuleSet ruleSet;
+
+    @Before
+    public void createRuleSet() {
+        runContext = new AnnotationConfigApplicationContext();
+        runContext.setDisplayName("Detect Search Rule Test");
+        runContext.register(DetectorBeanConfiguration.class);
+        runContext.getBeanFactory().registerSingleton(Gson.class.getSimpleName(), new Gson());
+        runContext.getBeanFactory().registerSingleton(JsonParser.class.getSimpleName(), new JsonParser());
+        // the real file finder, the detectors' applicable() must look at the directories the test creates
+        runContext.getBeanFactory().registerSingleton(DetectFileFinder.class.getSimpleName(), new DetectFileFinder());
+        registerMock(Configuration.class);
+        registerMock(DocumentBuilder.class);
+        registerMock(ExecutableRunner.class);
+        registerMock(AirGapManager.class);
+        registerMock(ExecutableFinder.class);
+        registerMock(ExternalIdFactory.class);
+        registerMock(DirectoryManager.class);
+        registerMock(DetectConfiguration.class);
+        registerMock(ConnectionManager.class);
+        registerMock(CacheableExecutableFinder.class);
+        registerMock(ArtifactResolver.class);
+        registerMock(DetectInfo.class);
+        runContext.refresh();
+
+        final DetectorSearchProvider provider = new DetectorSearchProvider(runContext.getBean(DetectorFactory.class));
+        ruleSet = provider.createBomToolSearchRuleSet(Mockito.mock(DetectorEnvironment.class));
+    }
+
+    @After
+    public void closeContext() {
+        runContext.close();
+    }
+
+    private <T> void registerMock(final Class<T> bean) {
+        runContext.getBeanFactory().registerSingleton(bean.getSimpleName(), Mockito.mock(bean));
+    }
+
+    @Test
+    public void testPreFilterNeverRejectsAnApplicableDirectoryWithOneFile() throws IOException {
+        for (final String filename : knownDetectorFiles()) {
+            final File directory = temporaryFolder.newFolder();
+            new File(directory, filename).createNewFile();
+            assertPreFilterAgreesWithApplicable(directory);
+        }
+    }
+
+    @Test
+    public void testPreFilterNeverRejectsAnApplicableDirectoryWithEveryFile() throws IOException {
+        final File directory = temporaryFolder.newFolder();
+        for (final String filename : knownDetectorFiles()) {
+            new File(directory, filename).createNewFile();
+        }
+        assertPreFilterAgreesWithApplicable(directory);
+    }
+
+    @Test
+    public void testPreFilterNeverRejectsAnApplicableEmptyDirectory() throws IOException {
+        assertPreFilterAgreesWithApplicable(temporaryFolder.newFolder());
+    }
+
+    private void assertPreFilterAgreesWithApplicable(final File directory) throws IOException {
+        final DirectoryListing directoryListing = DirectoryListing.read(directory);
+        final DetectorEnvironment environment = new DetectorEnvironment(directory, directoryListing, Collections.emptySet(), 0, null, false);
+        for (final DetectorSearchRule rule : ruleSet.getOrderedBomToolRules()) {
+            final Detector detector = rule.createDetector(environment);
+            if (detector.applicable().getPassed()) {
+                final String message = String.format("%s is applicable to %s but the search rule would have rejected the directory.", detector.getDescriptiveName(), directoryListing.getFiles());
+                assertTrue(message, rule.mightApply(directoryListing));
+            }
+        }
+    }
+
+    /*
+     * Every file name a detector's applicable() looks for. Wildcard patterns are turned into a matching file name.
+     */
+    private Set<String> knownDetectorFiles() {
+        final List<String> patterns = new ArrayList<>();
+        patterns.addAll(Arrays.asList(ClangDetector.JSON_COMPILATION_DATABASE_FILENAME, PodlockDetector.PODFILE_LOCK_FILENAME, CondaCliDetector.ENVIRONEMNT_YML, CpanCliDetector.MAKEFILE,
+            PackratLockDetector.PACKRATLOCK_FILE_NAME, GoCliDetector.GOFILE_FILENAME_PATTERN, GoLockDetector.GOPKG_LOCK_FILENAME, GoVndrDetector.VNDR_CONF_FILENAME,
+            GradleInspectorDetector.BUILD_GRADLE_FILENAME, RebarDetector.REBAR_CONFIG, MavenPomDetector.POM_FILENAME, MavenPomWrapperDetector.POM_WRAPPER_FILENAME, NpmCliDetector.PACKAGE_JSON,
+            NpmPackageLockDetector.PACKAGE_LOCK_JSON, NpmShrinkwrapDetector.SHRINKWRAP_JSON, ComposerLockDetector.COMPOSER_LOCK, ComposerLockDetector.COMPOSER_JSON,
+            PearCliDetector.PACKAGE_XML_FILENAME, PipInspectorDetector.SETUPTOOLS_DEFAULT_FILE_NAME, PipenvDetector.PIPFILE_FILE_NAME, PipenvDetector.PIPFILE_DOT_LOCK_FILE_NAME,
+            GemlockDetector.GEMFILE_LOCK_FILENAME, SbtResolutionCacheDetector.BUILD_SBT_FILENAME, YarnLockDetector.YARN_LOCK_FILENAME));
+        patterns.addAll(Arrays.asList(NugetSolutionDetector.SUPPORTED_SOLUTION_PATTERNS));
+        patterns.addAll(Arrays.asList(NugetProjectDetector.SUPPORTED_PROJECT_PATTERNS));
+
+        final Set<String> filenames = new LinkedHashSet<>();
+        for (final String pattern : patterns) {
+            filenames.add(pattern.replace("*", "sample"));
+        }
+        return filenames;
+    }
+}
@@ -0,0 +1,148 @@
+package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.ExcludedDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FilesNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
+import com.synopsys.integration.util.ExcludedIncludedFilter;
+
+public class DetectorSearchRuleTest {
+    private static final File DIRECTORY = new File("project");
+
+    @Test
+    public void testMightApplyWithoutPatternsAlwaysApplies() {
+        final DetectorSearchRule rule = createRule(Collections.emptyList(), new AtomicInteger());
+
+        assertTrue(rule.mightApply(listing()));
+        assertTrue(rule.mightApply(listing("README.md")));
+    }
+
+    @Test
+    public void testMightApplyMatchesAnyPattern() {
+        final DetectorSearchRule rule = createRule(Arrays.asList("Pipfile", "*.lock"), new AtomicInteger());
+
+        assertTrue(rule.mightApply(listing("README.md", "Pipfile")));
+        assertTrue(rule.mightApply(listing("Pipfile.lock")));
+        assertFalse(rule.mightApply(listing("README.md", "setup.py")));
+        assertFalse(rule.mightApply(listing()));
+    }
+
+    @Test
+    public void testNotApplicableResultNamesThePatterns() {
+        final DetectorResult single = createRule(Collections.singletonList("pom.xml"), new AtomicInteger()).createNotApplicableResult();
+        assertTrue(single instanceof FileNotFoundDetectorResult);
+        assertFalse(single.getPassed());
+        assertTrue(single.toDescription().contains("pom.xml"));
+
+        final DetectorResult multiple = createRule(Arrays.asList("Pipfile", "Pipfile.lock"), new AtomicInteger()).createNotApplicableResult();
+        assertTrue(multiple instanceof FilesNotFoundDetectorResult);
+        assertFalse(multiple.getPassed());
+        assertTrue(multiple.toDescription().contains("Pipfile.lock"));
+    }
+
+    @Test
+    public void testEvaluateDoesNotCreateDetectorWhenNoFileMatches() {
+        final AtomicInteger created = new AtomicInteger();
+        final DetectorSearchRule rule = createRule(Collections.singletonList("pom.xml"), created);
+
+        final List<DetectorEvaluation> evaluations = evaluate(rule, new ExcludedIncludedFilter("", ""), "build.gradle");
+
+        assertEquals(0, created.get());
+        assertEquals(1, evaluations.size());
+        final DetectorEvaluation evaluation = evaluations.get(0);
+        assertSame(rule.getDescriptiveDetector(), evaluation.getDetector());
+        assertTrue(evaluation.isSearchable());
+        assertFalse(evaluation.isApplicable());
+        assertEquals(rule.createNotApplicableResult().toDescription(), evaluation.getApplicabilityMessage());
+    }
+
+    @Test
+    public void testEvaluateCreatesDetectorWhenAFileMatches() {
+        final AtomicInteger created = new AtomicInteger();
+        final DetectorSearchRule rule = createRule(Collections.singletonList("pom.xml"), created);
+
+        final List<DetectorEvaluation> evaluations = evaluate(rule, new ExcludedIncludedFilter("", ""), "pom.xml");
+
+        assertEquals(1, created.get());
+        assertEquals(1, evaluations.size());
+        assertTrue(evaluations.get(0).isApplicable());
+    }
+
+    @Test
+    public void testEvaluateDoesNotCreateDetectorWhenNotSearchable() {
+        final AtomicInteger created = new AtomicInteger();
+        final DetectorSearchRule rule = createRule(Collections.singletonList("pom.xml"), created);
+
+        final List<DetectorEvaluation> evaluations = evaluate(rule, new ExcludedIncludedFilter(DetectorType.MAVEN.toString(), ""), "pom.xml");
+
+        assertEquals(0, created.get());
+        final DetectorEvaluation evaluation = evaluations.get(0);
+        assertSame(rule.getDescriptiveDetector(), evaluation.getDetector());
+        assertFalse(evaluation.isSearchable());
+        assertEquals(new ExcludedDetectorResult().toDescription(), evaluation.getSearchabilityMessage());
+        assertEquals(DetectorEvaluation.NO_MESSAGE, evaluation.getApplicabilityMessage());
+    }
+
+    private List<DetectorEvaluation> evaluate(final DetectorSearchRule rule, final ExcludedIncludedFilter filter, final String... filenames) {
+        final DetectorEnvironment environment = new DetectorEnvironment(DIRECTORY, listing(filenames), Collections.emptySet(), 0, filter, false);
+        final DetectorSearchRuleSet ruleSet = new DetectorSearchRuleSet(Collections.singletonList(rule));
+        return new DetectorSearchEvaluator().evaluate(ruleSet, environment, new EventSystem());
+    }
+
+    private DetectorSearchRule createRule(final List<String> applicableFilePatterns, final AtomicInteger created) {
+        final Detector descriptiveDetector = new PomDetector(null);
+        return new DetectorSearchRule(environment -> {
+            created.incrementAndGet();
+            return new PomDetector(environment);
+        }, descriptiveDetector, Integer.MAX_VALUE, false, applicableFilePatterns, Collections.emptyList());
+    }
+
+    private DirectoryListing listing(final String... filenames) {
+        return new DirectoryListing(DIRECTORY, Arrays.stream(filenames).map(filename -> new File(DIRECTORY, filename)).collect(Collectors.toList()), Collections.emptyList());
+    }
+
+    private static class PomDetector extends Detector {
+        PomDetector(final DetectorEnvironment environment) {
+            super(environment, "Pom file", DetectorType.MAVEN);
+        }
+
+        @Override
+        public DetectorResult applicable() {
+            final boolean found = environment.getDirectoryListing().getFiles().stream().anyMatch(file -> file.getName().equals("pom.xml"));
+            return found ? new PassedDetectorResult() : new FileNotFoundDetectorResult("pom.xml");
+        }
+
+        @Override
+        public DetectorResult extractable() {
+            return new PassedDetectorResult();
+        }
+
+        @Override
+        public Extraction extract(final ExtractionId extractionId) {
+            return null;
+        }
+    }
+}